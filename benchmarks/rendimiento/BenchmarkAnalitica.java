@@ -0,0 +1,91 @@
+package rendimiento;
+
+import modelo.Pedido;
+import servicio.AnaliticaVentas;
+import servicio.GestorFacturas;
+import servicio.GestorPedidos;
+import servicio.ReporteVentas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la analitica de ventas sobre 1k a 1M facturas con distintos
+ * niveles de paralelismo, para medir la escalabilidad con los nucleos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkAnalitica {
+
+    /**
+     * Numero de facturas analizadas.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    /**
+     * Numero de hilos del pool de fork-join.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int paralelismo;
+
+    private AnaliticaVentas analitica;
+    private ForkJoinPool pool;
+
+    /**
+     * Crea y factura la cantidad indicada de pedidos y el pool de hilos.
+     */
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        GestorPedidos gestorPedidos = new GestorPedidos();
+        GestorFacturas gestor = new GestorFacturas(gestorPedidos);
+        gestorPedidos.ingresarLote(DatosBenchmark.lote(tamano, DatosBenchmark.catalogo(), aleatorio));
+        List<Pedido> pendientes = gestorPedidos.getPedidosPendientes();
+        for (int i = 0; i < tamano; i++) {
+            String cliente = DatosBenchmark.CLIENTES[aleatorio.nextInt(DatosBenchmark.CLIENTES.length)];
+            gestor.generarFactura(pendientes.get(i).getId(), cliente);
+        }
+        analitica = new AnaliticaVentas(gestor);
+        pool = new ForkJoinPool(paralelismo);
+    }
+
+    /**
+     * Cierra el pool de hilos.
+     */
+    @TearDown
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    /**
+     * Reporte completo de ventas en una pasada paralela.
+     *
+     * @return el reporte
+     */
+    @Benchmark
+    public ReporteVentas analizar() {
+        return analitica.analizar(pool);
+    }
+}
\ No newline at end of file
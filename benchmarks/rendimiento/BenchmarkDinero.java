@@ -0,0 +1,208 @@
+package rendimiento;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Producto;
+import utilidades.Dinero;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los montos en centavos (long) frente a la ruta anterior con double:
+ * precio de bebidas y combos, total de lineas de pedido y suma de totales de
+ * 1k a 1M facturas.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkDinero {
+
+    /**
+     * Numero de lineas y de facturas sumadas.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private Bebida bebida;
+    private Combo combo;
+    private Producto[] componentesCombo;
+    private double[] preciosDecimales;
+    private long[] preciosCentavos;
+    private int[] cantidades;
+    private double[] totalesDecimales;
+    private long[] totalesCentavos;
+
+    /**
+     * Prepara lineas con productos del catalogo y los totales de facturas de ejemplo.
+     */
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        List<Producto> catalogo = DatosBenchmark.catalogo();
+        bebida = new Bebida("Cerveza Artesanal", 5.99, "grande", true);
+        combo = DatosBenchmark.combo();
+        componentesCombo = combo.getProductos().toArray(new Producto[0]);
+        preciosDecimales = new double[tamano];
+        preciosCentavos = new long[tamano];
+        cantidades = new int[tamano];
+        totalesDecimales = new double[tamano];
+        totalesCentavos = new long[tamano];
+        for (int i = 0; i < tamano; i++) {
+            Producto producto = catalogo.get(aleatorio.nextInt(catalogo.size()));
+            preciosDecimales[i] = precioDecimal(producto);
+            preciosCentavos[i] = producto.calcularPrecioCentavos();
+            cantidades[i] = 1 + aleatorio.nextInt(4);
+            totalesCentavos[i] = 100 + aleatorio.nextInt(20_000);
+            totalesDecimales[i] = totalesCentavos[i] / 100.0;
+        }
+    }
+
+    /**
+     * Precio de una bebida grande con la ruta anterior: recargo multiplicando en double.
+     *
+     * @return el precio
+     */
+    @Benchmark
+    public double precioBebidaDecimal() {
+        return precioDecimal(bebida);
+    }
+
+    /**
+     * Precio de una bebida grande en centavos, con el recargo en puntos basicos.
+     *
+     * @return el precio en centavos
+     */
+    @Benchmark
+    public long precioBebidaCentavos() {
+        return bebida.calcularPrecioCentavos();
+    }
+
+    /**
+     * Precio de un combo de tres productos con la ruta anterior en double.
+     *
+     * @return el precio
+     */
+    @Benchmark
+    public double precioComboDecimal() {
+        double total = 0;
+        for (Producto componente : componentesCombo) {
+            total += precioDecimal(componente);
+        }
+        return total * (1 - combo.getDescuento() / 100);
+    }
+
+    /**
+     * Precio de un combo de tres productos en centavos.
+     *
+     * @return el precio en centavos
+     */
+    @Benchmark
+    public long precioComboCentavos() {
+        return combo.calcularPrecioCentavos();
+    }
+
+    /**
+     * Total de las lineas (precio por cantidad) acumulado en double.
+     *
+     * @return el total
+     */
+    @Benchmark
+    public double totalLineasDecimal() {
+        double total = 0;
+        for (int i = 0; i < tamano; i++) {
+            total += preciosDecimales[i] * cantidades[i];
+        }
+        return total;
+    }
+
+    /**
+     * Total de las lineas (precio por cantidad) acumulado en centavos, con
+     * verificacion de desborde como en Pedido.
+     *
+     * @return el total en centavos
+     */
+    @Benchmark
+    public long totalLineasCentavos() {
+        long total = 0;
+        for (int i = 0; i < tamano; i++) {
+            total += Dinero.multiplicar(preciosCentavos[i], cantidades[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Suma de los totales de las facturas en double, como el total facturado anterior.
+     *
+     * @return la suma
+     */
+    @Benchmark
+    public double sumarTotalesDecimal() {
+        double suma = 0;
+        for (int i = 0; i < tamano; i++) {
+            suma += totalesDecimales[i];
+        }
+        return suma;
+    }
+
+    /**
+     * Suma exacta de los totales de las facturas en centavos.
+     *
+     * @return la suma en centavos
+     */
+    @Benchmark
+    public long sumarTotalesCentavos() {
+        long suma = 0;
+        for (int i = 0; i < tamano; i++) {
+            suma += totalesCentavos[i];
+        }
+        return suma;
+    }
+
+    /**
+     * Precio final de un producto calculado como antes de usar centavos.
+     *
+     * @param producto el producto
+     * @return el precio en double
+     */
+    private static double precioDecimal(Producto producto) {
+        if (producto instanceof Bebida) {
+            double precio = producto.getPrecio();
+            switch (((Bebida) producto).getTamano().toLowerCase()) {
+                case "mediano":
+                    return precio * 1.2;
+                case "grande":
+                    return precio * 1.4;
+                default:
+                    return precio;
+            }
+        }
+        if (producto instanceof Combo) {
+            Combo combo = (Combo) producto;
+            double total = 0;
+            for (Producto componente : combo.getProductos()) {
+                total += precioDecimal(componente);
+            }
+            return total * (1 - combo.getDescuento() / 100);
+        }
+        return producto.getPrecio();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package rendimiento;
+
+import modelo.Factura;
+import modelo.Pedido;
+import servicio.GestorFacturas;
+import servicio.GestorPedidos;
+import servicio.ReporteZ;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las consultas de GestorFacturas sobre 1k a 1M facturas.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkFacturas {
+
+    /**
+     * Numero de facturas en el gestor.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private GestorFacturas gestor;
+    private int[] numeros;
+    private int[] idsPedido;
+    private LocalDateTime[] fechas;
+    private int siguiente;
+
+    /**
+     * Crea y factura la cantidad indicada de pedidos.
+     */
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        GestorPedidos gestorPedidos = new GestorPedidos();
+        gestor = new GestorFacturas(gestorPedidos);
+        gestorPedidos.ingresarLote(DatosBenchmark.lote(tamano, DatosBenchmark.catalogo(), aleatorio));
+        List<Pedido> pendientes = gestorPedidos.getPedidosPendientes();
+        numeros = new int[tamano];
+        idsPedido = new int[tamano];
+        fechas = new LocalDateTime[tamano];
+        for (int i = 0; i < tamano; i++) {
+            Pedido pedido = pendientes.get(i);
+            String cliente = DatosBenchmark.CLIENTES[aleatorio.nextInt(DatosBenchmark.CLIENTES.length)];
+            Factura factura = gestor.generarFactura(pedido.getId(), cliente);
+            numeros[i] = factura.getNumero();
+            fechas[i] = factura.getFecha();
+            idsPedido[i] = pedido.getId();
+        }
+    }
+
+    /**
+     * Siguiente posicion pseudoaleatoria dentro de los datos.
+     *
+     * @return una posicion valida
+     */
+    private int siguientePosicion() {
+        siguiente = (siguiente + 7919) % tamano;
+        return siguiente;
+    }
+
+    /**
+     * Busqueda de una factura por numero.
+     *
+     * @return la factura encontrada
+     */
+    @Benchmark
+    public Optional<Factura> buscarFacturaPorNumero() {
+        return gestor.buscarFacturaPorNumero(numeros[siguientePosicion()]);
+    }
+
+    /**
+     * Verificacion de doble facturacion de un pedido.
+     *
+     * @return si el pedido ya tiene factura
+     */
+    @Benchmark
+    public boolean existeFacturaParaPedido() {
+        return gestor.existeFacturaParaPedido(idsPedido[siguientePosicion()]);
+    }
+
+    /**
+     * Facturas de un cliente.
+     *
+     * @return las facturas del cliente
+     */
+    @Benchmark
+    public List<Factura> getFacturasPorCliente() {
+        return gestor.getFacturasPorCliente(DatosBenchmark.CLIENTES[siguientePosicion() % DatosBenchmark.CLIENTES.length]);
+    }
+
+    /**
+     * Total facturado de todas las facturas.
+     *
+     * @return el total
+     */
+    @Benchmark
+    public double getTotalFacturado() {
+        return gestor.getTotalFacturado();
+    }
+
+    /**
+     * Total facturado a un cliente.
+     *
+     * @return el total del cliente
+     */
+    @Benchmark
+    public double getTotalFacturadoPorCliente() {
+        return gestor.getTotalFacturadoPorCliente(DatosBenchmark.CLIENTES[siguientePosicion() % DatosBenchmark.CLIENTES.length]);
+    }
+
+    /**
+     * Factura de mayor monto.
+     *
+     * @return la factura
+     */
+    @Benchmark
+    public Factura getFacturaMayorMonto() {
+        return gestor.getFacturaMayorMonto();
+    }
+
+    /**
+     * Factura de menor monto.
+     *
+     * @return la factura
+     */
+    @Benchmark
+    public Factura getFacturaMenorMonto() {
+        return gestor.getFacturaMenorMonto();
+    }
+
+    /**
+     * Las diez facturas de mayor monto.
+     *
+     * @return las facturas
+     */
+    @Benchmark
+    public List<Factura> getFacturasMayorMonto() {
+        return gestor.getFacturasMayorMonto(10);
+    }
+
+    /**
+     * Percentil 95 del monto de las facturas.
+     *
+     * @return el monto del percentil
+     */
+    @Benchmark
+    public double getPercentilMonto() {
+        return gestor.getPercentilMonto(95);
+    }
+
+    /**
+     * Reporte Z de un rango de tiempo que abarca unas cien facturas.
+     *
+     * @return el reporte
+     */
+    @Benchmark
+    public ReporteZ generarReporteZ() {
+        int inicio = siguientePosicion();
+        int fin = Math.min(inicio + 100, tamano - 1);
+        return gestor.generarReporteZ(fechas[inicio], fechas[fin]);
+    }
+}
\ No newline at end of file
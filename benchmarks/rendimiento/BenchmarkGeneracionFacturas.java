@@ -0,0 +1,69 @@
+package rendimiento;
+
+import modelo.Factura;
+import modelo.Pedido;
+import servicio.GestorFacturas;
+import servicio.GestorPedidos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link GestorFacturas#generarFactura(int, String)}. Cada iteracion
+ * usa un gestor nuevo y factura un bloque fijo de pedidos pendientes, ya que un
+ * pedido solo puede facturarse una vez.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = BenchmarkGeneracionFacturas.FACTURAS_POR_ITERACION)
+@Measurement(iterations = 10, batchSize = BenchmarkGeneracionFacturas.FACTURAS_POR_ITERACION)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkGeneracionFacturas {
+
+    /**
+     * Numero de pedidos facturados en cada iteracion.
+     */
+    static final int FACTURAS_POR_ITERACION = 10_000;
+
+    private GestorFacturas gestor;
+    private int[] ids;
+    private int siguiente;
+
+    /**
+     * Crea los pedidos pendientes de la iteracion.
+     */
+    @Setup(Level.Iteration)
+    public void preparar() {
+        GestorPedidos gestorPedidos = new GestorPedidos();
+        gestor = new GestorFacturas(gestorPedidos);
+        gestorPedidos.ingresarLote(DatosBenchmark.lote(FACTURAS_POR_ITERACION, DatosBenchmark.catalogo(),
+                                                       new SplittableRandom(DatosBenchmark.SEMILLA)));
+        ids = gestorPedidos.getPedidosPendientes().stream().mapToInt(Pedido::getId).toArray();
+        siguiente = 0;
+    }
+
+    /**
+     * Facturacion del siguiente pedido pendiente del bloque.
+     *
+     * @return la factura generada
+     */
+    @Benchmark
+    public Factura generarFactura() {
+        return gestor.generarFactura(ids[siguiente++], "Cliente");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package rendimiento;
+
+import modelo.Producto;
+import servicio.GestorPedidos;
+import servicio.ResultadoLote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del ingreso de pedidos: un lote con {@link GestorPedidos#ingresarLote(List)}
+ * frente al mismo lote ingresado pedido por pedido.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkIngresoPedidos {
+
+    /**
+     * Numero de pedidos por lote.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int tamano;
+
+    private List<List<Producto>> lote;
+    private GestorPedidos gestor;
+
+    /**
+     * Genera el lote una sola vez.
+     */
+    @Setup
+    public void prepararLote() {
+        lote = DatosBenchmark.lote(tamano, DatosBenchmark.catalogo(), new SplittableRandom(DatosBenchmark.SEMILLA));
+    }
+
+    /**
+     * Usa un gestor vacio en cada iteracion para que no crezca sin limite.
+     */
+    @Setup(Level.Iteration)
+    public void prepararGestor() {
+        gestor = new GestorPedidos();
+    }
+
+    /**
+     * Ingreso del lote completo en una sola operacion.
+     *
+     * @return el resultado del lote
+     */
+    @Benchmark
+    public ResultadoLote ingresarLote() {
+        return gestor.ingresarLote(lote);
+    }
+
+    /**
+     * Ingreso del mismo lote creando cada pedido y agregando sus productos uno a uno.
+     *
+     * @return el resultado del ingreso
+     */
+    @Benchmark
+    public ResultadoLote ingresarUnoAUno() {
+        return gestor.ingresarUnoAUno(lote);
+    }
+}
\ No newline at end of file
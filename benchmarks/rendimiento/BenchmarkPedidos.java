@@ -0,0 +1,148 @@
+package rendimiento;
+
+import modelo.Pedido;
+import modelo.Producto;
+import servicio.GestorPedidos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las consultas de GestorPedidos sobre 1k a 1M pedidos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkPedidos {
+
+    /**
+     * Numero de pedidos en el gestor.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private GestorPedidos gestor;
+    private List<Producto> catalogo;
+    private int[] ids;
+    private int siguiente;
+
+    /**
+     * Llena el gestor con pedidos en distintos estados.
+     */
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        gestor = new GestorPedidos();
+        catalogo = DatosBenchmark.catalogo();
+        ids = DatosBenchmark.llenarPedidos(gestor, tamano, catalogo, aleatorio);
+        // Recorrer los IDs en orden aleatorio para no favorecer la cache
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int temporal = ids[i];
+            ids[i] = ids[j];
+            ids[j] = temporal;
+        }
+    }
+
+    /**
+     * Siguiente ID de la secuencia aleatoria.
+     *
+     * @return un ID existente
+     */
+    private int siguienteId() {
+        int id = ids[siguiente];
+        siguiente = siguiente + 1 == ids.length ? 0 : siguiente + 1;
+        return id;
+    }
+
+    /**
+     * Busqueda de un pedido por ID.
+     *
+     * @return el pedido encontrado
+     */
+    @Benchmark
+    public Optional<Pedido> buscarPedidoPorId() {
+        return gestor.buscarPedidoPorId(siguienteId());
+    }
+
+    /**
+     * Total de un pedido buscado por ID.
+     *
+     * @return el total
+     */
+    @Benchmark
+    public double calcularTotalPedido() {
+        return gestor.calcularTotalPedido(siguienteId());
+    }
+
+    /**
+     * Verificacion previa a la facturacion.
+     *
+     * @return si el pedido puede facturarse
+     */
+    @Benchmark
+    public boolean pedidoPuedeSerFacturado() {
+        return gestor.pedidoPuedeSerFacturado(siguienteId());
+    }
+
+    /**
+     * Agregar un producto a un pedido (solo tiene efecto en los pendientes).
+     *
+     * @return si el producto se agrego
+     */
+    @Benchmark
+    public boolean agregarProductoAPedido() {
+        return gestor.agregarProductoAPedido(siguienteId(), catalogo.get(siguiente % catalogo.size()));
+    }
+
+    /**
+     * Conteo de pedidos pendientes.
+     *
+     * @return el conteo
+     */
+    @Benchmark
+    public int getTotalPedidosPendientes() {
+        return gestor.getTotalPedidosPendientes();
+    }
+
+    /**
+     * Lista ordenada de pedidos pendientes, como la pide la interfaz grafica.
+     *
+     * @return los pedidos pendientes
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Pedido> getPedidosPendientes() {
+        return gestor.getPedidosPendientes();
+    }
+
+    /**
+     * Lista ordenada de todos los pedidos.
+     *
+     * @return todos los pedidos
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Pedido> getTodosLosPedidos() {
+        return gestor.getTodosLosPedidos();
+    }
+}
\ No newline at end of file
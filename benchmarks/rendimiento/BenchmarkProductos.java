@@ -0,0 +1,182 @@
+package rendimiento;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Producto;
+import servicio.FiltroProductos;
+import servicio.GestorProductos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del catalogo: calculo de precios de cada subclase de Producto y
+ * consultas de GestorProductos sobre catalogos de distintos tamanos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BenchmarkProductos {
+
+    /**
+     * Numero de productos agregados al catalogo de ejemplo.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamano;
+
+    private GestorProductos gestor;
+    private Comida comida;
+    private Bebida bebida;
+    private Combo combo;
+    private String[] nombres;
+    private String[] prefijos;
+    private String[] consultasDifusas;
+    private FiltroProductos principalesVegetarianas;
+    private int siguiente;
+
+    /**
+     * Prepara un catalogo con la cantidad indicada de comidas y bebidas.
+     */
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        String[] tipos = {"entrada", "principal", "postre"};
+        String[] tamanos = {"pequeno", "mediano", "grande"};
+        gestor = new GestorProductos();
+        nombres = new String[1024];
+        for (int i = 0; i < tamano; i++) {
+            String nombre = "Producto " + i;
+            double precio = 1 + aleatorio.nextInt(3000) / 100.0;
+            if (i % 3 == 0) {
+                gestor.agregarBebida(nombre, precio, tamanos[i % tamanos.length], i % 2 == 0);
+            } else {
+                gestor.agregarComida(nombre, precio, tipos[i % tipos.length], i % 2 == 0);
+            }
+        }
+        for (int i = 0; i < nombres.length; i++) {
+            nombres[i] = "producto " + aleatorio.nextInt(tamano);
+        }
+        prefijos = new String[nombres.length];
+        for (int i = 0; i < prefijos.length; i++) {
+            prefijos[i] = nombres[i].substring(0, 9 + aleatorio.nextInt(nombres[i].length() - 8));
+        }
+        consultasDifusas = new String[nombres.length];
+        for (int i = 0; i < consultasDifusas.length; i++) {
+            // Una letra de menos y sin mayusculas: "prodcto 123"
+            consultasDifusas[i] = nombres[i].substring(0, 4) + nombres[i].substring(5);
+        }
+        principalesVegetarianas = FiltroProductos.tipoComida("principal").y(FiltroProductos.vegetarianos());
+        comida = new Comida("Pizza Margarita", 15.99, "principal", true);
+        bebida = new Bebida("Cerveza Artesanal", 5.99, "grande", true);
+        combo = DatosBenchmark.combo();
+    }
+
+    /**
+     * Precio de una comida.
+     *
+     * @return el precio calculado
+     */
+    @Benchmark
+    public double calcularPrecioComida() {
+        return comida.calcularPrecio();
+    }
+
+    /**
+     * Precio de una bebida (con recargo por tamano y alcohol).
+     *
+     * @return el precio calculado
+     */
+    @Benchmark
+    public double calcularPrecioBebida() {
+        return bebida.calcularPrecio();
+    }
+
+    /**
+     * Precio de un combo de tres productos con descuento.
+     *
+     * @return el precio calculado
+     */
+    @Benchmark
+    public double calcularPrecioCombo() {
+        return combo.calcularPrecio();
+    }
+
+    /**
+     * Busqueda de un producto por nombre sin distinguir mayusculas.
+     *
+     * @return el producto encontrado
+     */
+    @Benchmark
+    public Producto buscarProductoPorNombre() {
+        return gestor.buscarProductoPorNombre(nombres[siguiente++ & (nombres.length - 1)]);
+    }
+
+    /**
+     * Autocompletado: los diez primeros productos que empiezan con un prefijo.
+     *
+     * @return los productos encontrados
+     */
+    @Benchmark
+    public List<Producto> buscarPorPrefijo() {
+        return gestor.buscarPorPrefijo(prefijos[siguiente++ & (prefijos.length - 1)], 10);
+    }
+
+    /**
+     * Busqueda aproximada de un nombre con un error de tipeo.
+     *
+     * @return los cinco productos mas parecidos
+     */
+    @Benchmark
+    public List<Producto> buscarDifuso() {
+        return gestor.buscarDifuso(consultasDifusas[siguiente++ & (consultasDifusas.length - 1)], 5);
+    }
+
+    /**
+     * Filtrado del catalogo por tipo de producto.
+     *
+     * @return los productos del tipo
+     */
+    @Benchmark
+    public List<Producto> getProductosPorTipo() {
+        return gestor.getProductosPorTipo("Bebida");
+    }
+
+    /**
+     * Filtro combinado de atributos: comidas principales vegetarianas.
+     *
+     * @return los productos aceptados
+     */
+    @Benchmark
+    public List<Producto> filtrarPrincipalesVegetarianas() {
+        return gestor.filtrar(principalesVegetarianas);
+    }
+
+    /**
+     * Copia del catalogo completo, como la pide la interfaz grafica.
+     *
+     * @return los productos disponibles
+     */
+    @Benchmark
+    public List<Producto> getProductosDisponibles() {
+        return gestor.getProductosDisponibles();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package rendimiento;
+
+import modelo.Factura;
+import modelo.Pedido;
+import modelo.RenderizadorFactura;
+import servicio.GestorFacturas;
+import servicio.GestorPedidos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del renderizado de facturas. Para medir las asignaciones por factura
+ * ejecutar con el perfilador de memoria: {@code java -jar target/benchmarks.jar Renderizado -prof gc}
+ * (columna gc.alloc.rate.norm).
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkRenderizado {
+
+    /**
+     * Numero de facturas distintas que se renderizan en rotacion.
+     */
+    private static final int FACTURAS = 1024;
+
+    private Factura[] facturas;
+    private RenderizadorFactura renderizador;
+    private StringBuilder texto;
+    private ByteBuffer bytes;
+    private int siguiente;
+
+    /**
+     * Factura un bloque de pedidos y prepara los destinos reutilizables.
+     */
+    @Setup
+    public void preparar() {
+        GestorPedidos gestorPedidos = new GestorPedidos();
+        GestorFacturas gestorFacturas = new GestorFacturas(gestorPedidos);
+        gestorPedidos.ingresarLote(DatosBenchmark.lote(FACTURAS, DatosBenchmark.catalogo(),
+                                                       new SplittableRandom(DatosBenchmark.SEMILLA)));
+        List<Pedido> pendientes = gestorPedidos.getPedidosPendientes();
+        facturas = new Factura[FACTURAS];
+        for (int i = 0; i < FACTURAS; i++) {
+            facturas[i] = gestorFacturas.generarFactura(pendientes.get(i).getId(), DatosBenchmark.CLIENTES[i % DatosBenchmark.CLIENTES.length]);
+        }
+        renderizador = new RenderizadorFactura();
+        texto = new StringBuilder(4096);
+        bytes = ByteBuffer.allocateDirect(4096);
+    }
+
+    /**
+     * Renderizado en un StringBuilder reutilizado.
+     *
+     * @return el texto renderizado
+     * @throws IOException nunca, el destino es un StringBuilder
+     */
+    @Benchmark
+    public StringBuilder renderizarTexto() throws IOException {
+        texto.setLength(0);
+        renderizador.renderizar(facturas[siguiente++ & (FACTURAS - 1)], texto);
+        return texto;
+    }
+
+    /**
+     * Renderizado en UTF-8 en un ByteBuffer reutilizado.
+     *
+     * @return el buffer con la factura
+     */
+    @Benchmark
+    public ByteBuffer renderizarBytes() {
+        bytes.clear();
+        renderizador.renderizar(facturas[siguiente++ & (FACTURAS - 1)], bytes);
+        return bytes;
+    }
+}
\ No newline at end of file
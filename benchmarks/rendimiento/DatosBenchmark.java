@@ -0,0 +1,136 @@
+package rendimiento;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Pedido;
+import modelo.Producto;
+import servicio.GestorPedidos;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos compartidos por los benchmarks: un catalogo fijo de productos y
+ * generadores de pedidos con una mezcla realista de estados.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+final class DatosBenchmark {
+
+    /**
+     * Semilla fija para que todas las ejecuciones usen los mismos datos.
+     */
+    static final long SEMILLA = 20250101L;
+
+    /**
+     * Clientes usados al generar facturas.
+     */
+    static final String[] CLIENTES = {
+        "Ana Torres", "Luis Perez", "Maria Gomez", "Carlos Ruiz", "Sofia Diaz",
+        "Jorge Rios", "Elena Vega", "Pablo Mora", "Lucia Sanz", "Diego Leon"
+    };
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Crea el catalogo de productos usado por los pedidos.
+     *
+     * @return lista con comidas, bebidas y un combo
+     */
+    static List<Producto> catalogo() {
+        List<Producto> productos = new ArrayList<>();
+        productos.add(new Comida("Hamburguesa Clasica", 12.99, "principal", false));
+        productos.add(new Comida("Ensalada Cesar", 8.50, "entrada", true));
+        productos.add(new Comida("Pizza Margarita", 15.99, "principal", true));
+        productos.add(new Comida("Tiramisu", 6.99, "postre", true));
+        productos.add(new Bebida("Coca-Cola", 2.50, "mediano", false));
+        productos.add(new Bebida("Cerveza Artesanal", 5.99, "grande", true));
+        productos.add(new Bebida("Agua Mineral", 1.50, "pequeno", false));
+        productos.add(combo());
+        return productos;
+    }
+
+    /**
+     * Crea un combo de tres productos con descuento.
+     *
+     * @return el combo
+     */
+    static Combo combo() {
+        Combo combo = new Combo("Combo Familiar", 15);
+        combo.agregarProducto(new Comida("Pizza Familiar", 25.99, "principal", true));
+        combo.agregarProducto(new Bebida("Refresco", 3.50, "grande", false));
+        combo.agregarProducto(new Comida("Helado", 4.99, "postre", true));
+        return combo;
+    }
+
+    /**
+     * Genera las listas de productos de una cantidad de pedidos, de 1 a 6 productos cada uno.
+     *
+     * @param cantidad el numero de pedidos
+     * @param catalogo los productos disponibles
+     * @param aleatorio el generador de numeros aleatorios
+     * @return una lista de productos por pedido
+     */
+    static List<List<Producto>> lote(int cantidad, List<Producto> catalogo, SplittableRandom aleatorio) {
+        List<List<Producto>> lote = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int productos = 1 + aleatorio.nextInt(6);
+            List<Producto> pedido = new ArrayList<>(productos);
+            for (int j = 0; j < productos; j++) {
+                pedido.add(catalogo.get(aleatorio.nextInt(catalogo.size())));
+            }
+            lote.add(pedido);
+        }
+        return lote;
+    }
+
+    /**
+     * Llena un gestor con pedidos: aproximadamente la mitad quedan pendientes,
+     * un tercio completados y el resto cancelados.
+     *
+     * @param gestor el gestor a llenar
+     * @param cantidad el numero de pedidos
+     * @param catalogo los productos disponibles
+     * @param aleatorio el generador de numeros aleatorios
+     * @return los IDs de los pedidos creados
+     */
+    static int[] llenarPedidos(GestorPedidos gestor, int cantidad, List<Producto> catalogo, SplittableRandom aleatorio) {
+        int[] ids = new int[cantidad];
+        int creados = 0;
+        // Ingresar en lotes para no crear todas las listas a la vez
+        while (creados < cantidad) {
+            int tamano = Math.min(10_000, cantidad - creados);
+            for (Pedido pedido : ingresar(gestor, lote(tamano, catalogo, aleatorio))) {
+                ids[creados++] = pedido.getId();
+                int dado = aleatorio.nextInt(6);
+                if (dado == 0) {
+                    pedido.setEstado("cancelado");
+                } else if (dado <= 2) {
+                    pedido.setEstado("completado");
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Ingresa un lote y devuelve los pedidos aceptados.
+     *
+     * @param gestor el gestor de pedidos
+     * @param lote los productos de cada pedido
+     * @return los pedidos creados
+     */
+    private static List<Pedido> ingresar(GestorPedidos gestor, List<List<Producto>> lote) {
+        List<Pedido> pedidos = new ArrayList<>(lote.size());
+        gestor.ingresarLote(lote).getResultados().forEach(r ->
+            pedidos.add(gestor.buscarPedidoPorId(r.getIdPedido()).orElseThrow()));
+        return pedidos;
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package modelo;
 
+import utilidades.Dinero;
+
 /**
  * Subclase que representa un producto de tipo Bebida en el restaurante.
  * Hereda de la clase Producto y aplica recargos segun el tamano.
- * Implementa el principio de polimorfismo al sobreescribir calcularPrecio().
+ * Implementa el principio de polimorfismo al sobreescribir calcularPrecioCentavos().
  * 
  * @author Grupo 1 Desarrollo Software
  * @version 2.1
@@ -22,6 +24,12 @@ public class Bebida extends Producto {
      */
     private boolean conAlcohol;
     
+    /**
+     * Proporcion del precio base que se cobra segun el tamano, en puntos basicos
+     * (10000 sin recargo). Se calcula una vez al crear la bebida.
+     */
+    private long proporcionTamano;
+    
     /**
      * Constructor para crear una nueva Bebida.
      * 
@@ -34,28 +42,37 @@ public class Bebida extends Producto {
         super(nombre, precio);
         this.tamano = tamano;
         this.conAlcohol = conAlcohol;
+        this.proporcionTamano = proporcionTamano(tamano);
     }
     
     /**
      * Calcula el precio final de la bebida aplicando recargos por tamano.
-     * Mediano: 20% de recargo, Grande: 40% de recargo.
+     * Mediano: 20% de recargo, Grande: 40% de recargo. El resultado se redondea
+     * al centavo con las mitades hacia arriba.
      * 
-     * @return El precio final de la bebida con recargos aplicados
+     * @return El precio final de la bebida con recargos aplicados, en centavos
      */
     @Override
-    public double calcularPrecio() {
+    public long calcularPrecioCentavos() {
+        return Dinero.aplicar(precioCentavos, proporcionTamano);
+    }
+    
+    /**
+     * Obtiene la proporcion del precio base que corresponde a un tamano.
+     * 
+     * @param tamano El tamano de la bebida
+     * @return La proporcion en puntos basicos
+     */
+    private static long proporcionTamano(String tamano) {
         // Aplicar recargo por tamano usando switch-case
-        double precioFinal = precio;
-        switch(tamano.toLowerCase()) {
+        switch (tamano.toLowerCase()) {
             case "mediano":
-                precioFinal *= 1.2; // 20% de recargo
-                break;
+                return 12_000; // 20% de recargo
             case "grande":
-                precioFinal *= 1.4; // 40% de recargo
-                break;
-            // Para tamano "pequeno" no se aplica recargo
+                return 14_000; // 40% de recargo
+            default:
+                return Dinero.PUNTOS_BASICOS; // Para tamano "pequeno" no se aplica recargo
         }
-        return precioFinal;
     }
     
     /**
@@ -76,6 +93,16 @@ public class Bebida extends Producto {
         return conAlcohol;
     }
     
+    /**
+     * Agrega a la firma del producto el tamano y si tiene alcohol.
+     * 
+     * @return La firma del producto
+     */
+    @Override
+    protected String firma() {
+        return super.firma() + '\u0000' + tamano + '\u0000' + conAlcohol;
+    }
+    
     /**
      * Representacion detallada en String de la bebida.
      * Incluye informacion sobre el contenido de alcohol.
@@ -1,5 +1,6 @@
 package modelo;
 
+import utilidades.Dinero;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +26,11 @@ public class Combo extends Producto {
      */
     private double descuento;
     
+    /**
+     * Proporcion del total que se cobra tras el descuento, en puntos basicos.
+     */
+    private long proporcionCobrada;
+    
     /**
      * Constructor para crear un nuevo Combo.
      * 
@@ -35,33 +41,43 @@ public class Combo extends Producto {
         super(nombre, 0); // Precio se calculara dinamicamente
         this.productos = new ArrayList<>();
         this.descuento = descuento;
+        this.proporcionCobrada = Dinero.PUNTOS_BASICOS - Dinero.puntosBasicos(descuento);
     }
     
     /**
      * Agrega un producto al combo.
+     * Solo se puede mientras el combo no tenga ID de catalogo: al registrarse se
+     * fija su firma con sus componentes, y cambiarlos despues haria que el ID
+     * designara un combo distinto del registrado.
      * 
      * @param producto El producto a agregar al combo, no puede ser nulo
+     * @throws IllegalStateException si el combo ya fue registrado con {@link #getId()}
      */
-    public void agregarProducto(Producto producto) {
+    public synchronized void agregarProducto(Producto producto) {
+        if (estaRegistrado()) {
+            throw new IllegalStateException("El combo " + nombre + " ya fue registrado y no admite mas productos.");
+        }
         if (producto != null) {
             productos.add(producto);
+            invalidarDescripcion();
         }
     }
     
     /**
      * Calcula el precio total del combo aplicando el descuento.
-     * Suma los precios de todos los productos y aplica el porcentaje de descuento.
+     * Suma los precios de todos los productos y aplica el porcentaje de descuento
+     * una sola vez sobre la suma, redondeando al centavo con las mitades hacia arriba.
      * 
-     * @return El precio final del combo con descuento aplicado
+     * @return El precio final del combo con descuento aplicado, en centavos
      */
     @Override
-    public double calcularPrecio() {
-        double total = 0;
+    public long calcularPrecioCentavos() {
+        long total = 0;
         // Usando for-each para recorrer todos los productos del combo
         for (Producto producto : productos) {
-            total += producto.calcularPrecio();
+            total += producto.calcularPrecioCentavos();
         }
-        return total * (1 - descuento / 100);
+        return Dinero.aplicar(total, proporcionCobrada);
     }
     
     /**
@@ -82,6 +98,21 @@ public class Combo extends Producto {
         return descuento;
     }
     
+    /**
+     * Agrega a la firma del producto el descuento y la firma de cada componente, en orden.
+     * 
+     * @return La firma del producto
+     */
+    @Override
+    protected String firma() {
+        StringBuilder firma = new StringBuilder(super.firma()).append('\u0000').append(proporcionCobrada);
+        for (Producto producto : productos) {
+            // Delimitar cada componente para que las firmas anidadas no se confundan
+            firma.append('\u0001').append(producto.firma()).append('\u0002');
+        }
+        return firma.toString();
+    }
+    
     /**
      * Representacion detallada en String del combo.
      * Muestra el descuento aplicado y el precio final.
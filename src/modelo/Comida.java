@@ -40,11 +40,11 @@ public class Comida extends Producto {
      * Calcula el precio final de la comida.
      * Para comidas simples, devuelve el precio base sin modificaciones.
      * 
-     * @return El precio final de la comida
+     * @return El precio final de la comida, en centavos
      */
     @Override
-    public double calcularPrecio() {
-        return precio; // Precio base para comida sin modificaciones
+    public long calcularPrecioCentavos() {
+        return precioCentavos; // Precio base para comida sin modificaciones
     }
     
     /**
@@ -65,6 +65,16 @@ public class Comida extends Producto {
         return esVegetariano;
     }
     
+    /**
+     * Agrega a la firma del producto el tipo y si es vegetariana.
+     * 
+     * @return La firma del producto
+     */
+    @Override
+    protected String firma() {
+        return super.firma() + '\u0000' + tipo + '\u0000' + esVegetariano;
+    }
+    
     /**
      * Representacion detallada en String de la comida.
      * Incluye informacion sobre si es vegetariana.
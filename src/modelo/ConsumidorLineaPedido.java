@@ -0,0 +1,21 @@
+package modelo;
+
+/**
+ * Interfaz para recorrer las lineas de un Pedido sin copiar su contenido.
+ * Cada linea es un producto con la cantidad de unidades pedidas.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see Pedido#recorrerLineas(ConsumidorLineaPedido)
+ */
+public interface ConsumidorLineaPedido {
+    
+    /**
+     * Se invoca una vez por cada linea del pedido, en orden de insercion.
+     * 
+     * @param producto el producto de la linea
+     * @param cantidad las unidades pedidas del producto, siempre positiva
+     */
+    void aceptar(Producto producto, int cantidad);
+}
\ No newline at end of file
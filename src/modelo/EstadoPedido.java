@@ -0,0 +1,111 @@
+package modelo;
+
+/**
+ * Enumeracion que representa los estados posibles de un Pedido.
+ * Define la maquina de estados del pedido: un pedido nace pendiente, puede
+ * enviarse a la cocina (en preparacion) y termina completado o cancelado;
+ * estos dos ultimos estados son finales. Los estados se guardan en disco por
+ * su posicion, por lo que los nuevos se agregan siempre al final.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see Pedido
+ */
+public enum EstadoPedido {
+    
+    /**
+     * Pedido creado que aun no ha sido facturado.
+     */
+    PENDIENTE("pendiente"),
+    
+    /**
+     * Pedido facturado o entregado.
+     */
+    COMPLETADO("completado"),
+    
+    /**
+     * Pedido anulado antes de completarse.
+     */
+    CANCELADO("cancelado"),
+    
+    /**
+     * Pedido enviado a la cocina que aun no ha sido facturado.
+     */
+    EN_PREPARACION("en preparacion");
+    
+    /**
+     * Nombre del estado tal como se muestra al usuario.
+     */
+    private final String nombre;
+    
+    /**
+     * Constructor del estado.
+     * 
+     * @param nombre el nombre visible del estado
+     */
+    EstadoPedido(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    /**
+     * Obtiene el nombre visible del estado.
+     * 
+     * @return el nombre del estado (pendiente, en preparacion, completado, cancelado)
+     */
+    public String getNombre() {
+        return nombre;
+    }
+    
+    /**
+     * Verifica si la transicion desde este estado hacia otro es valida.
+     * 
+     * @param destino el estado al que se quiere pasar
+     * @return true si la transicion esta permitida, false en caso contrario
+     */
+    public boolean puedeCambiarA(EstadoPedido destino) {
+        switch (this) {
+            case PENDIENTE:
+                return destino == EN_PREPARACION || destino == COMPLETADO || destino == CANCELADO;
+            case EN_PREPARACION:
+                return destino == COMPLETADO || destino == CANCELADO;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Verifica si el estado es final, es decir, si ya no admite transiciones.
+     * 
+     * @return true si el pedido esta completado o cancelado
+     */
+    public boolean esFinal() {
+        return this == COMPLETADO || this == CANCELADO;
+    }
+    
+    /**
+     * Obtiene el estado correspondiente a un nombre, sin distinguir mayusculas.
+     * 
+     * @param nombre el nombre del estado
+     * @return el estado correspondiente
+     * @throws IllegalArgumentException si el nombre no corresponde a ningun estado
+     */
+    public static EstadoPedido desdeNombre(String nombre) {
+        for (EstadoPedido estado : values()) {
+            if (estado.nombre.equalsIgnoreCase(nombre)) {
+                return estado;
+            }
+        }
+        throw new IllegalArgumentException("Estado de pedido invalido: " + nombre);
+    }
+    
+    /**
+     * Representacion en String del estado.
+     * 
+     * @return el nombre visible del estado
+     */
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
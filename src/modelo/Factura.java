@@ -1,12 +1,14 @@
 package modelo;
 
+import utilidades.Dinero;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Clase que representa una Factura en el sistema del restaurante.
- * Una factura se genera a partir de un pedido completado.
- * Implementa el principio de composicion al contener un Pedido.
+ * Una factura se genera a partir de un pedido completado y conserva solo el ID
+ * del pedido, su total y una copia de sus lineas (IDs de catalogo y cantidades),
+ * de modo que el pedido facturado puede trasladarse a disco y liberarse.
  * 
  * @author Grupo 1 Desarrollo Software
  * @version 2.1
@@ -16,8 +18,17 @@ public class Factura {
     
     /**
      * Contador estatico para generar numeros de factura unicos automaticamente.
+     * Es atomico para que dos facturaciones simultaneas no repitan numero, y solo
+     * se incrementa cuando la facturacion ya no puede fallar, para que la
+     * numeracion no tenga huecos.
      */
-    private static int contadorNumero = 1;
+    private static final AtomicInteger contadorNumero = new AtomicInteger(1);
+    
+    /**
+     * Renderizador de cada hilo que imprime facturas; reutiliza sus buffers entre facturas.
+     */
+    private static final ThreadLocal<RenderizadorFactura> renderizador = 
+        ThreadLocal.withInitial(RenderizadorFactura::new);
     
     /**
      * Numero unico de la factura.
@@ -25,9 +36,24 @@ public class Factura {
     private int numero;
     
     /**
-     * Pedido asociado a la factura.
+     * ID del pedido facturado.
+     */
+    private int idPedido;
+    
+    /**
+     * Fecha de creacion del pedido facturado.
+     */
+    private LocalDateTime fechaPedido;
+    
+    /**
+     * IDs de catalogo de los productos facturados, uno por linea.
+     */
+    private int[] idsProducto;
+    
+    /**
+     * Unidades facturadas de cada linea, en paralelo a {@link #idsProducto}.
      */
-    private Pedido pedido;
+    private int[] cantidades;
     
     /**
      * Nombre del cliente para la factura.
@@ -40,16 +66,27 @@ public class Factura {
     private LocalDateTime fecha;
     
     /**
-     * Total de la factura.
+     * Total de la factura en centavos.
      */
-    private double total;
+    private long totalCentavos;
+    
+    /**
+     * Indica si la factura fue anulada.
+     */
+    private volatile boolean anulada;
     
     /**
      * Constructor para crear una nueva Factura.
+     * La facturacion es atomica: con el candado del pedido tomado se verifica que
+     * tenga productos, se cambia de pendiente (o en preparacion) a completado con compareAndSet y se
+     * toma el total. Solo entonces se asigna el numero de factura, de modo que de
+     * dos facturaciones simultaneas del mismo pedido solo una tiene exito y la
+     * otra no consume numero.
      * 
      * @param pedido El pedido a facturar, no puede ser nulo
      * @param cliente El nombre del cliente, no puede ser nulo o vacio
      * @throws IllegalArgumentException si el pedido es nulo o el cliente esta vacio
+     * @throws IllegalStateException si el pedido esta vacio o ya esta finalizado
      */
     public Factura(Pedido pedido, String cliente) {
         if (pedido == null) {
@@ -59,38 +96,35 @@ public class Factura {
             throw new IllegalArgumentException("El nombre del cliente no puede estar vacio.");
         }
         
-        this.numero = contadorNumero++;
-        this.pedido = pedido;
+        // El candado del pedido impide que se agreguen productos entre el cambio
+        // de estado y la lectura del total
+        synchronized (pedido) {
+            if (pedido.estaVacio()) {
+                throw new IllegalStateException("El pedido #" + pedido.getId() + " no tiene productos.");
+            }
+            if (!pedido.cambiarEstado(EstadoPedido.COMPLETADO)) {
+                throw new IllegalStateException("El pedido #" + pedido.getId() + " no puede ser facturado porque esta " + 
+                                                pedido.getEstado() + ".");
+            }
+            this.totalCentavos = pedido.calcularTotalCentavos();
+            this.idsProducto = pedido.copiarIdsProducto();
+            this.cantidades = pedido.copiarCantidades();
+        }
+        this.numero = contadorNumero.getAndIncrement();
+        this.idPedido = pedido.getId();
+        this.fechaPedido = pedido.getFecha();
         this.cliente = cliente.trim();
         this.fecha = LocalDateTime.now();
-        this.total = pedido.calcularTotal();
-        pedido.setEstado("completado");
     }
     
     /**
      * Imprime la factura en formato legible en la consola.
      * Muestra todos los detalles del pedido y el total a pagar.
-     * Utiliza estructuras de control para formatear la salida.
+     * 
+     * @see RenderizadorFactura
      */
     public void imprimirFactura() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("           FACTURA #" + numero);
-        System.out.println("=".repeat(50));
-        System.out.println("Cliente: " + cliente);
-        System.out.println("Fecha: " + fecha.format(formatter));
-        System.out.println("Pedido #: " + pedido.getId());
-        System.out.println("-".repeat(50));
-        
-        // Usando for-each para recorrer y mostrar todos los productos
-        for (Producto producto : pedido.getProductos()) {
-            System.out.printf("- %s\n", producto.toString());
-        }
-        
-        System.out.println("-".repeat(50));
-        System.out.printf("TOTAL: $%.2f\n", total);
-        System.out.println("=".repeat(50));
+        renderizador.get().imprimir(this, System.out);
     }
     
     /**
@@ -103,14 +137,44 @@ public class Factura {
     }
     
     /**
-     * Obtiene el pedido asociado a la factura.
+     * Obtiene el ID del pedido facturado.
+     * 
+     * @return El ID del pedido
+     */
+    public int getIdPedido() {
+        return idPedido;
+    }
+    
+    /**
+     * Obtiene el pedido facturado.
+     * La factura ya no retiene el pedido (para que pueda trasladarse a disco y
+     * liberarse), por lo que devuelve una copia independiente reconstruida con las
+     * lineas facturadas: modificarla no afecta al pedido original, y su total usa
+     * los precios actuales del catalogo, que pueden diferir de {@link #getTotal()}.
      * 
-     * @return El pedido facturado
+     * @return Una copia completada del pedido facturado
+     * @deprecated Usar {@link #getIdPedido()} para buscar el pedido, o
+     *             {@link #recorrerLineas(ConsumidorLineaPedido)} para sus lineas.
      */
+    @Deprecated
     public Pedido getPedido() {
+        Pedido pedido = new Pedido(idPedido, fechaPedido, EstadoPedido.COMPLETADO);
+        recorrerLineas(pedido::agregarProducto);
         return pedido;
     }
     
+    /**
+     * Recorre las lineas facturadas, en el orden que tenian en el pedido.
+     * Las lineas son inmutables, por lo que el recorrido no toma candados.
+     * 
+     * @param consumidor El consumidor que recibe cada producto con su cantidad
+     */
+    public void recorrerLineas(ConsumidorLineaPedido consumidor) {
+        for (int i = 0; i < idsProducto.length; i++) {
+            consumidor.aceptar(Producto.buscarPorId(idsProducto[i]), cantidades[i]);
+        }
+    }
+    
     /**
      * Obtiene el nombre del cliente de la factura.
      * 
@@ -133,9 +197,42 @@ public class Factura {
      * Obtiene el total de la factura.
      * 
      * @return El total a pagar
+     * @see #getTotalCentavos()
      */
     public double getTotal() {
-        return total;
+        return Dinero.aDecimal(totalCentavos);
+    }
+    
+    /**
+     * Obtiene el total de la factura en centavos, para sumarlo sin perdida de precision.
+     * 
+     * @return El total a pagar, en centavos
+     */
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+    
+    /**
+     * Marca la factura como anulada. Una factura anulada se conserva para auditoria,
+     * pero deja de contar en los totales.
+     * 
+     * @return true si la factura se anulo, false si ya estaba anulada
+     */
+    public synchronized boolean anular() {
+        if (anulada) {
+            return false;
+        }
+        anulada = true;
+        return true;
+    }
+    
+    /**
+     * Verifica si la factura fue anulada.
+     * 
+     * @return true si la factura esta anulada, false en caso contrario
+     */
+    public boolean isAnulada() {
+        return anulada;
     }
     
     /**
@@ -146,8 +243,8 @@ public class Factura {
      */
     @Override
     public String toString() {
-        return String.format("Factura #%d - Cliente: %s - Total: $%.2f", 
-                           numero, cliente, total);
+        return String.format("Factura #%d - Cliente: %s - Total: $%.2f%s", 
+                           numero, cliente, getTotal(), anulada ? " (ANULADA)" : "");
     }
     
     /**
@@ -157,6 +254,6 @@ public class Factura {
      */
     public String generarResumen() {
         return String.format("Factura #%d | Cliente: %s | Pedido: #%d | Total: $%.2f", 
-                           numero, cliente, pedido.getId(), total);
+                           numero, cliente, idPedido, getTotal());
     }
 }
\ No newline at end of file
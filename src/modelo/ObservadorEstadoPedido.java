@@ -0,0 +1,25 @@
+package modelo;
+
+/**
+ * Interfaz para ser notificado de los cambios de estado de un Pedido.
+ * Permite a los servicios mantener sus indices por estado sin recorrer
+ * todos los pedidos.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see Pedido
+ */
+public interface ObservadorEstadoPedido {
+    
+    /**
+     * Se invoca despues de que un pedido cambia de estado exitosamente, con el
+     * monitor del pedido tomado: las notificaciones de un mismo pedido llegan en
+     * el orden de sus transiciones y nunca se solapan.
+     * 
+     * @param pedido el pedido que cambio de estado
+     * @param anterior el estado anterior
+     * @param nuevo el nuevo estado
+     */
+    void estadoCambiado(Pedido pedido, EstadoPedido anterior, EstadoPedido nuevo);
+}
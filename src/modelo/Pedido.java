@@ -1,12 +1,16 @@
 package modelo;
 
+import utilidades.Dinero;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Clase que representa un Pedido en el sistema del restaurante.
- * Un pedido contiene una lista de productos y gestiona su estado.
+ * Un pedido contiene lineas de productos (producto y cantidad) y gestiona su estado.
  * Implementa el principio de encapsulamiento en POO.
  * 
  * @author Grupo 1 Desarrollo Software
@@ -17,8 +21,20 @@ public class Pedido {
     
     /**
      * Contador estatico para generar IDs unicos automaticamente.
+     * Es atomico para que varias terminales puedan crear pedidos a la vez.
      */
-    private static int contadorId = 1;
+    private static final AtomicInteger contadorId = new AtomicInteger(1);
+    
+    /**
+     * Modo de depuracion: si la propiedad del sistema "restaurante.verificarTotales"
+     * es true, cada consulta del total se compara con un recalculo completo.
+     */
+    private static final boolean VERIFICAR_TOTALES = Boolean.getBoolean("restaurante.verificarTotales");
+    
+    /**
+     * Capacidad inicial de lineas de un pedido.
+     */
+    private static final int LINEAS_INICIALES = 4;
     
     /**
      * ID unico del pedido.
@@ -26,9 +42,30 @@ public class Pedido {
     private int id;
     
     /**
-     * Lista de productos en el pedido.
+     * IDs de catalogo de los productos, uno por linea.
+     * Las lineas estan protegidas por el monitor del propio pedido (bloqueo por pedido).
+     */
+    private int[] idsProducto;
+    
+    /**
+     * Unidades pedidas de cada linea, en paralelo a {@link #idsProducto}.
      */
-    private List<Producto> productos;
+    private int[] cantidades;
+    
+    /**
+     * Numero de lineas usadas en los arreglos.
+     */
+    private int lineas;
+    
+    /**
+     * Total acumulado del pedido en centavos, actualizado al agregar o quitar productos.
+     */
+    private volatile long totalCentavos;
+    
+    /**
+     * Cantidad acumulada de productos, actualizada al agregar o quitar productos.
+     */
+    private volatile int cantidad;
     
     /**
      * Fecha y hora en que se creo el pedido.
@@ -36,9 +73,15 @@ public class Pedido {
     private LocalDateTime fecha;
     
     /**
-     * Estado actual del pedido: "pendiente", "completado" o "cancelado".
+     * Estado actual del pedido. Se lee sin candado; las transiciones se hacen con
+     * compareAndSet y con el monitor del pedido tomado (ver {@link #cambiarEstado(EstadoPedido)}).
+     */
+    private final AtomicReference<EstadoPedido> estado;
+    
+    /**
+     * Observador notificado en cada cambio de estado, o null si no hay ninguno.
      */
-    private String estado;
+    private volatile ObservadorEstadoPedido observador;
     
     /**
      * Constructor para crear un nuevo Pedido.
@@ -46,36 +89,260 @@ public class Pedido {
      * Inicializa el estado como "pendiente".
      */
     public Pedido() {
-        this.id = contadorId++;
-        this.productos = new ArrayList<>();
+        this(contadorId.getAndIncrement());
+    }
+    
+    /**
+     * Constructor para crear un Pedido con un ID ya reservado.
+     * El ID debe provenir de {@link #reservarIds(int)} para garantizar su unicidad.
+     * 
+     * @param id El ID reservado para el pedido
+     */
+    public Pedido(int id) {
+        this.id = id;
+        this.idsProducto = new int[LINEAS_INICIALES];
+        this.cantidades = new int[LINEAS_INICIALES];
         this.fecha = LocalDateTime.now();
-        this.estado = "pendiente";
+        this.estado = new AtomicReference<>(EstadoPedido.PENDIENTE);
+    }
+    
+    /**
+     * Constructor para restaurar un Pedido persistido con su ID, fecha y estado originales.
+     * El pedido restaurado no tiene productos; se agregan despues con
+     * {@link #agregarProducto(Producto)}.
+     * 
+     * @param id El ID original del pedido
+     * @param fecha La fecha original de creacion
+     * @param estado El estado del pedido al momento de persistirlo
+     */
+    public Pedido(int id, LocalDateTime fecha, EstadoPedido estado) {
+        this(id);
+        this.fecha = fecha;
+        this.estado.set(estado);
     }
     
     /**
-     * Agrega un producto al pedido.
+     * Agrega una unidad de un producto al pedido y actualiza el total acumulado.
      * 
      * @param producto El producto a agregar al pedido, no puede ser nulo
      */
-    public void agregarProducto(Producto producto) {
+    public synchronized void agregarProducto(Producto producto) {
         if (producto != null) {
-            productos.add(producto);
+            agregarProducto(producto, 1);
+        }
+    }
+    
+    /**
+     * Agrega varias unidades de un producto al pedido. Si el producto ya tiene
+     * una linea en el pedido, se suma a su cantidad.
+     * 
+     * @param producto El producto a agregar al pedido
+     * @param unidades El numero de unidades a agregar, debe ser positivo
+     * @throws IllegalArgumentException si el producto es nulo o las unidades no son positivas
+     */
+    public synchronized void agregarProducto(Producto producto, int unidades) {
+        if (producto == null) {
+            throw new IllegalArgumentException("El producto no puede ser nulo.");
+        }
+        if (unidades <= 0) {
+            throw new IllegalArgumentException("La cantidad de unidades debe ser positiva.");
+        }
+        int idProducto = producto.getId();
+        int linea = buscarLinea(idProducto);
+        if (linea < 0) {
+            if (lineas == idsProducto.length) {
+                idsProducto = Arrays.copyOf(idsProducto, lineas * 2);
+                cantidades = Arrays.copyOf(cantidades, lineas * 2);
+            }
+            linea = lineas++;
+            idsProducto[linea] = idProducto;
+        }
+        cantidades[linea] += unidades;
+        totalCentavos += Dinero.multiplicar(producto.calcularPrecioCentavos(), unidades);
+        cantidad += unidades;
+    }
+    
+    /**
+     * Agrega varios productos al pedido tomando el candado una sola vez.
+     * Los productos nulos se ignoran.
+     * 
+     * @param nuevos Los productos a agregar al pedido
+     */
+    public synchronized void agregarProductos(List<Producto> nuevos) {
+        for (Producto producto : nuevos) {
+            agregarProducto(producto);
+        }
+    }
+    
+    /**
+     * Quita una unidad de un producto del pedido y actualiza el total acumulado.
+     * 
+     * @param producto El producto a quitar del pedido
+     * @return true si el producto estaba en el pedido, false en caso contrario
+     */
+    public synchronized boolean quitarProducto(Producto producto) {
+        if (producto == null) {
+            return false;
+        }
+        int linea = buscarLinea(producto.getId());
+        if (linea < 0) {
+            return false;
+        }
+        if (--cantidades[linea] == 0) {
+            // Quitar la linea conservando el orden de las demas
+            int siguientes = lineas - linea - 1;
+            System.arraycopy(idsProducto, linea + 1, idsProducto, linea, siguientes);
+            System.arraycopy(cantidades, linea + 1, cantidades, linea, siguientes);
+            lineas--;
+        }
+        totalCentavos -= producto.calcularPrecioCentavos();
+        cantidad--;
+        return true;
+    }
+    
+    /**
+     * Recorre las lineas del pedido sin copiarlas, en orden de insercion.
+     * El recorrido se hace con el candado del pedido tomado, por lo que el
+     * consumidor no debe bloquearse ni modificar este pedido.
+     * 
+     * @param consumidor El consumidor que recibe cada producto con su cantidad
+     */
+    public synchronized void recorrerLineas(ConsumidorLineaPedido consumidor) {
+        for (int i = 0; i < lineas; i++) {
+            consumidor.aceptar(Producto.buscarPorId(idsProducto[i]), cantidades[i]);
+        }
+    }
+    
+    /**
+     * Copia los IDs de catalogo de las lineas, en orden. Quien necesite una copia
+     * coherente con {@link #copiarCantidades()} debe tomar el candado del pedido.
+     * 
+     * @return Arreglo nuevo con un ID por linea
+     */
+    synchronized int[] copiarIdsProducto() {
+        return Arrays.copyOf(idsProducto, lineas);
+    }
+    
+    /**
+     * Copia las unidades de cada linea, en el orden de {@link #copiarIdsProducto()}.
+     * 
+     * @return Arreglo nuevo con las unidades de cada linea
+     */
+    synchronized int[] copiarCantidades() {
+        return Arrays.copyOf(cantidades, lineas);
+    }
+    
+    /**
+     * Obtiene el numero de lineas (productos distintos) del pedido.
+     * 
+     * @return El numero de lineas
+     */
+    public synchronized int getNumeroLineas() {
+        return lineas;
+    }
+    
+    /**
+     * Obtiene las unidades pedidas de un producto.
+     * 
+     * @param producto El producto a consultar
+     * @return Las unidades del producto en el pedido, 0 si no esta
+     */
+    public synchronized int getCantidad(Producto producto) {
+        int linea = buscarLinea(producto.getId());
+        return linea < 0 ? 0 : cantidades[linea];
+    }
+    
+    /**
+     * Busca la linea de un producto. Los pedidos tienen pocas lineas, por lo que
+     * un recorrido lineal sobre el arreglo primitivo es mas rapido que un hash.
+     * 
+     * @param idProducto El ID de catalogo del producto
+     * @return La posicion de la linea, o -1 si el producto no esta en el pedido
+     */
+    private int buscarLinea(int idProducto) {
+        for (int i = 0; i < lineas; i++) {
+            if (idsProducto[i] == idProducto) {
+                return i;
+            }
         }
+        return -1;
     }
     
     /**
-     * Calcula el total del pedido sumando los precios de todos los productos.
-     * Utiliza un bucle for-each para recorrer la lista de productos.
+     * Obtiene el total del pedido como decimal, para mostrarlo.
      * 
-     * @return El total calculado del pedido
+     * @return El total del pedido
+     * @see #calcularTotalCentavos()
      */
     public double calcularTotal() {
-        double total = 0;
-        // Usando for-each para recorrer todos los productos del pedido
-        for (Producto producto : productos) {
-            total += producto.calcularPrecio();
+        return Dinero.aDecimal(calcularTotalCentavos());
+    }
+    
+    /**
+     * Obtiene el total del pedido en centavos, en tiempo constante a partir del
+     * total acumulado. Al ser entero, el acumulado es exacto; en modo de depuracion
+     * se verifica contra un recalculo completo.
+     * 
+     * @return El total del pedido, en centavos
+     * @throws IllegalStateException en modo de depuracion, si el total acumulado
+     *         no coincide con el recalculo
+     */
+    public long calcularTotalCentavos() {
+        long acumulado = totalCentavos;
+        if (VERIFICAR_TOTALES) {
+            long recalculado = recalcularTotalCentavos();
+            if (recalculado != acumulado) {
+                throw new IllegalStateException("Total acumulado del pedido #" + id + " (" + acumulado + 
+                                                " centavos) no coincide con el recalculo (" + recalculado + " centavos).");
+            }
         }
-        return total;
+        return acumulado;
+    }
+    
+    /**
+     * Recalcula el total del pedido sumando precio por cantidad de cada linea.
+     * 
+     * @return El total recalculado del pedido, en centavos
+     */
+    public synchronized long recalcularTotalCentavos() {
+        long suma = 0;
+        for (int i = 0; i < lineas; i++) {
+            suma += Dinero.multiplicar(Producto.buscarPorId(idsProducto[i]).calcularPrecioCentavos(), cantidades[i]);
+        }
+        return suma;
+    }
+    
+    /**
+     * Reserva un bloque contiguo de IDs de pedido en una sola operacion atomica.
+     * 
+     * @param cantidad El numero de IDs a reservar, debe ser positivo
+     * @return El primer ID del bloque; el bloque va de ese ID a ID + cantidad - 1
+     * @throws IllegalArgumentException si la cantidad no es positiva
+     */
+    public static int reservarIds(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad de IDs debe ser positiva.");
+        }
+        return contadorId.getAndAdd(cantidad);
+    }
+    
+    /**
+     * Obtiene el ID que recibira el proximo pedido, sin reservarlo.
+     * 
+     * @return El proximo ID de pedido
+     */
+    public static int getSiguienteId() {
+        return contadorId.get();
+    }
+    
+    /**
+     * Asegura que los proximos IDs generados sean mayores que uno ya usado.
+     * Se usa al restaurar pedidos persistidos para no repetir sus IDs.
+     * 
+     * @param idUsado Un ID que ya pertenece a un pedido existente
+     */
+    public static void avanzarContadorIds(int idUsado) {
+        contadorId.accumulateAndGet(idUsado + 1, Math::max);
     }
     
     /**
@@ -88,12 +355,21 @@ public class Pedido {
     }
     
     /**
-     * Obtiene la lista de productos del pedido.
+     * Obtiene la lista de productos del pedido, con una entrada por unidad.
+     * Se mantiene por compatibilidad; para recorrer el pedido sin copias se
+     * recomienda {@link #recorrerLineas(ConsumidorLineaPedido)}.
      * 
-     * @return Lista de productos en el pedido (copia para proteger encapsulamiento)
+     * @return Lista nueva de productos en el pedido
      */
-    public List<Producto> getProductos() {
-        return new ArrayList<>(productos);
+    public synchronized List<Producto> getProductos() {
+        List<Producto> resultado = new ArrayList<>(cantidad);
+        for (int i = 0; i < lineas; i++) {
+            Producto producto = Producto.buscarPorId(idsProducto[i]);
+            for (int j = 0; j < cantidades[i]; j++) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
     }
     
     /**
@@ -108,19 +384,69 @@ public class Pedido {
     /**
      * Obtiene el estado actual del pedido.
      * 
-     * @return El estado del pedido (pendiente, completado, cancelado)
+     * @return El estado del pedido (pendiente, en preparacion, completado, cancelado)
      */
     public String getEstado() {
-        return estado;
+        return estado.get().getNombre();
+    }
+    
+    /**
+     * Obtiene el estado actual del pedido como valor de la enumeracion.
+     * 
+     * @return El estado del pedido
+     */
+    public EstadoPedido getEstadoPedido() {
+        return estado.get();
+    }
+    
+    /**
+     * Intenta cambiar el estado del pedido respetando la maquina de estados.
+     * La transicion es atomica: si dos hilos intentan completar el mismo pedido,
+     * solo uno lo consigue. El cambio y la notificacion al observador se hacen con
+     * el monitor del pedido tomado, de modo que el observador recibe las
+     * transiciones de un mismo pedido una a una y en el orden en que ocurrieron;
+     * por eso el observador debe ser breve y no debe esperar a otros hilos.
+     * 
+     * @param nuevo El nuevo estado del pedido
+     * @return true si la transicion se realizo, false si no esta permitida
+     */
+    public synchronized boolean cambiarEstado(EstadoPedido nuevo) {
+        EstadoPedido actual = estado.get();
+        while (actual.puedeCambiarA(nuevo)) {
+            if (estado.compareAndSet(actual, nuevo)) {
+                ObservadorEstadoPedido obs = observador;
+                if (obs != null) {
+                    obs.estadoCambiado(this, actual, nuevo);
+                }
+                return true;
+            }
+            actual = estado.get();
+        }
+        return false;
     }
     
     /**
      * Establece el estado del pedido.
      * 
      * @param estado El nuevo estado del pedido
+     * @throws IllegalArgumentException si el estado no existe
+     * @throws IllegalStateException si la transicion no esta permitida
      */
     public void setEstado(String estado) {
-        this.estado = estado;
+        EstadoPedido nuevo = EstadoPedido.desdeNombre(estado);
+        if (!cambiarEstado(nuevo)) {
+            throw new IllegalStateException("No se puede cambiar el pedido #" + id + 
+                                            " de " + getEstado() + " a " + nuevo + ".");
+        }
+    }
+    
+    /**
+     * Establece el observador que sera notificado de los cambios de estado.
+     * 
+     * @param observador El observador, o null para quitarlo
+     */
+    public void setObservador(ObservadorEstadoPedido observador) {
+        this.observador = observador;
     }
     
     /**
@@ -132,7 +458,7 @@ public class Pedido {
     @Override
     public String toString() {
         return String.format("Pedido #%d - Total: $%.2f - Estado: %s", 
-                           id, calcularTotal(), estado);
+                           id, calcularTotal(), getEstado());
     }
     
     /**
@@ -141,7 +467,7 @@ public class Pedido {
      * @return true si el pedido no tiene productos, false en caso contrario
      */
     public boolean estaVacio() {
-        return productos.isEmpty();
+        return cantidad == 0;
     }
     
     /**
@@ -150,6 +476,6 @@ public class Pedido {
      * @return El numero de productos en el pedido
      */
     public int getCantidadProductos() {
-        return productos.size();
+        return cantidad;
     }
 }
\ No newline at end of file
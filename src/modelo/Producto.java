@@ -1,5 +1,10 @@
 package modelo;
 
+import utilidades.Dinero;
+import utilidades.MapaEnteros;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Clase abstracta que representa un Producto generico en el sistema del restaurante.
  * Define la estructura base para todos los tipos de productos disponibles.
@@ -11,35 +16,177 @@ package modelo;
  */
 public abstract class Producto {
     
+    /**
+     * Contador para asignar IDs de catalogo unicos a los productos.
+     */
+    private static final AtomicInteger contadorId = new AtomicInteger(1);
+    
+    /**
+     * Registro de productos por ID de catalogo. Permite a los pedidos guardar
+     * solo el ID de cada producto en lugar de la referencia.
+     * Nunca se quitan entradas, porque pedidos y facturas (incluso las guardadas en
+     * disco) pueden seguir refiriendose a cualquier ID: crece con cada producto
+     * distinto registrado durante la ejecucion, incluida cada version de precio o
+     * composicion de un mismo producto, y solo se libera al terminar el proceso.
+     */
+    private static final MapaEnteros<Producto> registro = new MapaEnteros<>();
+    
+    /**
+     * ID de catalogo de cada producto registrado, por su firma de valor. Una copia
+     * por valor de un producto ya registrado (por ejemplo, la que se lee de disco)
+     * recibe el mismo ID y no se agrega al registro, de modo que el registro crece
+     * con los productos distintos y no con cada copia. Crece igual que
+     * {@link #registro}, sin limite ni desalojo.
+     */
+    private static final ConcurrentHashMap<String, Integer> idsPorFirma = new ConcurrentHashMap<>();
+    
+    /**
+     * ID de catalogo del producto, o 0 si aun no se ha registrado.
+     * Se asigna la primera vez que se solicita.
+     */
+    private volatile int id;
+    
+    /**
+     * Descripcion en texto del producto, calculada una sola vez a partir de toString().
+     */
+    private volatile String descripcion;
+    
     /**
      * Nombre del producto.
      */
     protected String nombre;
     
     /**
-     * Precio base del producto.
+     * Precio base del producto en centavos.
      */
-    protected double precio;
+    protected long precioCentavos;
     
     /**
      * Constructor para crear un nuevo Producto.
      * 
      * @param nombre El nombre del producto, no puede ser nulo o vacio
-     * @param precio El precio base del producto, debe ser positivo
+     * @param precio El precio base del producto, debe ser positivo; se redondea al centavo
      */
     public Producto(String nombre, double precio) {
         this.nombre = nombre;
-        this.precio = precio;
+        this.precioCentavos = Dinero.deDecimal(precio);
     }
     
     /**
-     * Metodo abstracto para calcular el precio final del producto.
+     * Metodo abstracto para calcular el precio final del producto en centavos.
      * Debe ser implementado por las subclases para aplicar logica especifica
      * como descuentos, recargos, etc. (Principio de polimorfismo).
      * 
+     * @return El precio final calculado del producto, en centavos
+     */
+    public abstract long calcularPrecioCentavos();
+    
+    /**
+     * Calcula el precio final del producto como decimal, para mostrarlo.
+     * Los calculos y acumulados deben usar {@link #calcularPrecioCentavos()}.
+     * 
      * @return El precio final calculado del producto
      */
-    public abstract double calcularPrecio();
+    public double calcularPrecio() {
+        return Dinero.aDecimal(calcularPrecioCentavos());
+    }
+    
+    /**
+     * Obtiene el ID de catalogo del producto, registrandolo la primera vez.
+     * Si ya hay registrado un producto con la misma firma, se reutiliza su ID y
+     * {@link #buscarPorId(int)} devuelve ese producto en lugar de este.
+     * 
+     * @return El ID de catalogo del producto
+     */
+    public int getId() {
+        int actual = id;
+        if (actual == 0) {
+            synchronized (this) {
+                actual = id;
+                if (actual == 0) {
+                    // Publicar en el registro antes que el ID, para que quien lea el ID
+                    // siempre pueda resolverlo
+                    actual = idsPorFirma.computeIfAbsent(firma(), firma -> {
+                        int nuevo = contadorId.getAndIncrement();
+                        registro.poner(nuevo, this);
+                        return nuevo;
+                    });
+                    id = actual;
+                }
+            }
+        }
+        return actual;
+    }
+    
+    /**
+     * Indica si el producto ya recibio su ID de catalogo, y con el su firma quedo fija.
+     * 
+     * @return true si el producto ya fue registrado
+     */
+    protected boolean estaRegistrado() {
+        return id != 0;
+    }
+    
+    /**
+     * Calcula la firma de valor del producto: su clase y todos los datos que
+     * definen su descripcion y precio. Dos productos con la misma firma son
+     * intercambiables en un pedido o una factura. Las subclases agregan sus datos.
+     * 
+     * La firma se toma al registrar el producto, por lo que un combo debe tener
+     * todos sus componentes antes de agregarse a un pedido o al catalogo; despues
+     * ya no admite cambios (ver {@link #estaRegistrado()}).
+     * 
+     * @return La firma del producto
+     */
+    protected String firma() {
+        return getClass().getSimpleName() + '\u0000' + nombre + '\u0000' + precioCentavos;
+    }
+    
+    /**
+     * Obtiene la clave estable del producto para agrupar ventas y reportes: su
+     * tipo y su nombre. A diferencia del ID, no cambia si cambia el precio o la
+     * composicion, por lo que las distintas versiones de un mismo producto
+     * comparten la clave.
+     * 
+     * @return La clave del producto, por ejemplo "Comida:Hamburguesa"
+     */
+    public String getClave() {
+        return getClass().getSimpleName() + ':' + nombre;
+    }
+    
+    /**
+     * Busca un producto registrado por su ID de catalogo.
+     * 
+     * @param id El ID de catalogo
+     * @return El producto, o null si no hay ninguno registrado con ese ID
+     */
+    public static Producto buscarPorId(int id) {
+        return registro.obtener(id);
+    }
+    
+    /**
+     * Obtiene la descripcion en texto del producto (la de toString()), calculandola
+     * solo la primera vez. La usan los renderizadores para no formatear el mismo
+     * producto en cada factura.
+     * 
+     * @return La descripcion del producto
+     */
+    public String getDescripcion() {
+        String actual = descripcion;
+        if (actual == null) {
+            actual = toString();
+            descripcion = actual;
+        }
+        return actual;
+    }
+    
+    /**
+     * Descarta la descripcion calculada; las subclases la invocan cuando cambia
+     * algun dato que aparece en toString().
+     */
+    protected void invalidarDescripcion() {
+        descripcion = null;
+    }
     
     /**
      * Obtiene el nombre del producto.
@@ -56,7 +203,16 @@ public abstract class Producto {
      * @return El precio base del producto
      */
     public double getPrecio() {
-        return precio;
+        return Dinero.aDecimal(precioCentavos);
+    }
+    
+    /**
+     * Obtiene el precio base del producto en centavos.
+     * 
+     * @return El precio base del producto, en centavos
+     */
+    public long getPrecioCentavos() {
+        return precioCentavos;
     }
     
     /**
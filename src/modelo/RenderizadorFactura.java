@@ -0,0 +1,348 @@
+package modelo;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Renderizador reutilizable de facturas en texto. Escribe en cualquier Appendable
+ * (StringBuilder, Writer, PrintStream) o directamente en un ByteBuffer en UTF-8.
+ *
+ * Los separadores y etiquetas son constantes precalculadas, la fecha y los montos
+ * se escriben digito a digito y cada producto usa su descripcion ya calculada
+ * ({@link Producto#getDescripcion()}), de modo que renderizar una factura no crea
+ * objetos nuevos. Sirve para imprimir miles de facturas al cierre del dia.
+ *
+ * Cada instancia reutiliza sus buffers internos, por lo que no es segura para uso
+ * concurrente: se recomienda una instancia por hilo.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class RenderizadorFactura implements ConsumidorLineaPedido {
+
+    /**
+     * Ancho de los separadores.
+     */
+    private static final int ANCHO = 50;
+
+    private static final String SEPARADOR_DOBLE = "=".repeat(ANCHO) + "\n";
+    private static final String SEPARADOR_SIMPLE = "-".repeat(ANCHO) + "\n";
+    private static final String TITULO = "           FACTURA #";
+    private static final String ANULADA = "                 *** ANULADA ***\n";
+    private static final String CLIENTE = "Cliente: ";
+    private static final String FECHA = "Fecha: ";
+    private static final String PEDIDO = "Pedido #: ";
+    private static final String VINETA = "- ";
+    private static final String TOTAL = "TOTAL: $";
+
+    /**
+     * Destino que escribe en un Appendable.
+     */
+    private final DestinoTexto destinoTexto = new DestinoTexto();
+
+    /**
+     * Destino que escribe en un ByteBuffer.
+     */
+    private final DestinoBytes destinoBytes = new DestinoBytes();
+
+    /**
+     * Texto reutilizable donde se arma una factura antes de imprimirla de una vez.
+     */
+    private final StringBuilder impresion = new StringBuilder(512);
+
+    /**
+     * Buffer para escribir numeros sin crear cadenas.
+     */
+    private final char[] digitos = new char[20];
+
+    /**
+     * Destino en uso mientras se recorren las lineas del pedido.
+     */
+    private Destino actual;
+
+    /**
+     * Error de escritura ocurrido mientras se recorrian las lineas del pedido.
+     */
+    private IOException errorLineas;
+
+    /**
+     * Renderiza una factura en un Appendable.
+     *
+     * @param factura la factura a renderizar
+     * @param destino el destino del texto
+     * @throws IOException si el destino falla al escribir
+     */
+    public void renderizar(Factura factura, Appendable destino) throws IOException {
+        destinoTexto.salida = destino;
+        try {
+            renderizar(factura, destinoTexto);
+        } finally {
+            destinoTexto.salida = null;
+        }
+    }
+
+    /**
+     * Renderiza una factura en un ByteBuffer, codificada en UTF-8.
+     *
+     * @param factura la factura a renderizar
+     * @param destino el buffer de destino
+     * @throws java.nio.BufferOverflowException si la factura no cabe en el espacio restante
+     */
+    public void renderizar(Factura factura, ByteBuffer destino) {
+        destinoBytes.salida = destino;
+        try {
+            renderizar(factura, destinoBytes);
+        } catch (IOException e) {
+            // Un ByteBuffer no produce errores de E/S
+            throw new UncheckedIOException(e);
+        } finally {
+            destinoBytes.salida = null;
+        }
+    }
+
+    /**
+     * Renderiza una factura en una cadena nueva.
+     *
+     * @param factura la factura a renderizar
+     * @return el texto de la factura
+     */
+    public String renderizar(Factura factura) {
+        StringBuilder texto = new StringBuilder(512);
+        try {
+            renderizar(factura, texto);
+        } catch (IOException e) {
+            // Un StringBuilder no produce errores de E/S
+            throw new UncheckedIOException(e);
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Imprime una factura en un PrintStream con una sola escritura. La factura se
+     * arma primero en un texto reutilizable, porque un PrintStream convierte cada
+     * caracter que recibe por separado en una cadena nueva.
+     *
+     * @param factura la factura a imprimir
+     * @param salida el flujo de impresion, por ejemplo System.out
+     */
+    public void imprimir(Factura factura, PrintStream salida) {
+        impresion.setLength(0);
+        try {
+            renderizar(factura, impresion);
+        } catch (IOException e) {
+            // Un StringBuilder no produce errores de E/S
+            throw new UncheckedIOException(e);
+        }
+        salida.append(impresion);
+        salida.flush();
+        if (impresion.capacity() > 64 * 1024) {
+            // No retener el texto de una factura excepcionalmente grande
+            impresion.setLength(0);
+            impresion.trimToSize();
+        }
+    }
+
+    /**
+     * Renderiza varias facturas seguidas en el mismo destino, por ejemplo al
+     * imprimir todas las facturas al cierre del dia.
+     *
+     * @param facturas las facturas a renderizar
+     * @param destino el destino del texto
+     * @return el numero de facturas renderizadas
+     * @throws IOException si el destino falla al escribir
+     */
+    public int renderizarLote(Iterable<Factura> facturas, Appendable destino) throws IOException {
+        int cantidad = 0;
+        for (Factura factura : facturas) {
+            renderizar(factura, destino);
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Escribe una linea del pedido como una fila por unidad, igual que el formato
+     * original de la factura. Se invoca desde las lineas de la factura.
+     *
+     * @param producto el producto de la linea
+     * @param cantidad las unidades pedidas
+     */
+    @Override
+    public void aceptar(Producto producto, int cantidad) {
+        if (errorLineas != null) {
+            return;
+        }
+        try {
+            String descripcion = producto.getDescripcion();
+            for (int i = 0; i < cantidad; i++) {
+                actual.texto(VINETA);
+                actual.texto(descripcion);
+                actual.caracter('\n');
+            }
+        } catch (IOException e) {
+            errorLineas = e;
+        }
+    }
+
+    /**
+     * Escribe la factura completa con el formato de {@link Factura#imprimirFactura()}.
+     */
+    private void renderizar(Factura factura, Destino destino) throws IOException {
+        destino.caracter('\n');
+        destino.texto(SEPARADOR_DOBLE);
+        destino.texto(TITULO);
+        entero(destino, factura.getNumero());
+        destino.caracter('\n');
+        if (factura.isAnulada()) {
+            destino.texto(ANULADA);
+        }
+        destino.texto(SEPARADOR_DOBLE);
+        destino.texto(CLIENTE);
+        destino.texto(factura.getCliente());
+        destino.caracter('\n');
+        destino.texto(FECHA);
+        fecha(destino, factura.getFecha());
+        destino.caracter('\n');
+        destino.texto(PEDIDO);
+        entero(destino, factura.getIdPedido());
+        destino.caracter('\n');
+        destino.texto(SEPARADOR_SIMPLE);
+
+        actual = destino;
+        errorLineas = null;
+        try {
+            factura.recorrerLineas(this);
+        } finally {
+            actual = null;
+        }
+        if (errorLineas != null) {
+            IOException error = errorLineas;
+            errorLineas = null;
+            throw error;
+        }
+
+        destino.texto(SEPARADOR_SIMPLE);
+        destino.texto(TOTAL);
+        monto(destino, factura.getTotalCentavos());
+        destino.caracter('\n');
+        destino.texto(SEPARADOR_DOBLE);
+    }
+
+    /**
+     * Escribe una fecha con el formato dd/MM/yyyy HH:mm.
+     */
+    private void fecha(Destino destino, LocalDateTime fecha) throws IOException {
+        dosDigitos(destino, fecha.getDayOfMonth());
+        destino.caracter('/');
+        dosDigitos(destino, fecha.getMonthValue());
+        destino.caracter('/');
+        entero(destino, fecha.getYear());
+        destino.caracter(' ');
+        dosDigitos(destino, fecha.getHour());
+        destino.caracter(':');
+        dosDigitos(destino, fecha.getMinute());
+    }
+
+    /**
+     * Escribe un monto en centavos con dos decimales.
+     */
+    private void monto(Destino destino, long centavos) throws IOException {
+        if (centavos < 0) {
+            destino.caracter('-');
+            centavos = -centavos;
+        }
+        entero(destino, centavos / 100);
+        destino.caracter('.');
+        dosDigitos(destino, (int) (centavos % 100));
+    }
+
+    private void dosDigitos(Destino destino, int valor) throws IOException {
+        destino.caracter((char) ('0' + valor / 10));
+        destino.caracter((char) ('0' + valor % 10));
+    }
+
+    /**
+     * Escribe un entero no negativo sin crear cadenas.
+     */
+    private void entero(Destino destino, long valor) throws IOException {
+        int posicion = digitos.length;
+        do {
+            digitos[--posicion] = (char) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor > 0);
+        for (int i = posicion; i < digitos.length; i++) {
+            destino.caracter(digitos[i]);
+        }
+    }
+
+    /**
+     * Destino de escritura del renderizador.
+     */
+    private interface Destino {
+        void texto(String texto) throws IOException;
+
+        void caracter(char c) throws IOException;
+    }
+
+    /**
+     * Destino que escribe en un Appendable.
+     */
+    private static final class DestinoTexto implements Destino {
+        Appendable salida;
+
+        @Override
+        public void texto(String texto) throws IOException {
+            salida.append(texto);
+        }
+
+        @Override
+        public void caracter(char c) throws IOException {
+            salida.append(c);
+        }
+    }
+
+    /**
+     * Destino que codifica en UTF-8 directamente sobre un ByteBuffer.
+     */
+    private static final class DestinoBytes implements Destino {
+        ByteBuffer salida;
+
+        @Override
+        public void texto(String texto) {
+            int longitud = texto.length();
+            for (int i = 0; i < longitud; i++) {
+                char c = texto.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < longitud && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    int punto = Character.toCodePoint(c, texto.charAt(++i));
+                    salida.put((byte) (0xF0 | (punto >> 18)));
+                    salida.put((byte) (0x80 | ((punto >> 12) & 0x3F)));
+                    salida.put((byte) (0x80 | ((punto >> 6) & 0x3F)));
+                    salida.put((byte) (0x80 | (punto & 0x3F)));
+                } else {
+                    caracter(c);
+                }
+            }
+        }
+
+        @Override
+        public void caracter(char c) {
+            if (c < 0x80) {
+                salida.put((byte) c);
+            } else if (c < 0x800) {
+                salida.put((byte) (0xC0 | (c >> 6)));
+                salida.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Sustituto sin pareja: se escribe '?' como hace el codificador estandar
+                salida.put((byte) '?');
+            } else {
+                salida.put((byte) (0xE0 | (c >> 12)));
+                salida.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                salida.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,460 @@
+package persistencia;
+
+import modelo.EstadoPedido;
+import modelo.Pedido;
+import utilidades.MapaEnterosLargos;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Almacen en disco para pedidos finalizados (completados o cancelados).
+ * Los pedidos se escriben en segmentos de solo anexado y un indice compacto en
+ * memoria (ID a segmento y posicion, con claves y valores primitivos) permite
+ * recuperarlos con una sola lectura.
+ *
+ * Al abrirlo se recorren los segmentos que ya haya en el directorio para
+ * reconstruir el indice, de modo que los pedidos finalizados de ejecuciones
+ * anteriores siguen disponibles; si el ultimo segmento termina en un registro
+ * incompleto (por una caida durante la escritura), se recorta. Los pedidos de
+ * cada estado se decodifican en cada consulta y no se retienen; la consulta puede
+ * limitarse a los IDs desde uno dado (por ejemplo, los de la sesion actual) para
+ * no decodificar todo el historial.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class AlmacenPedidosDisco implements Closeable {
+
+    /**
+     * Tamano maximo de un segmento antes de abrir el siguiente.
+     */
+    private static final long TAMANO_MAXIMO_SEGMENTO = 64L * 1024 * 1024;
+
+    /**
+     * Prefijo del nombre de los archivos de segmento.
+     */
+    private static final String PREFIJO_SEGMENTO = "pedidos-";
+
+    /**
+     * Extension de los archivos de segmento.
+     */
+    private static final String EXTENSION_SEGMENTO = ".seg";
+
+    /**
+     * Posicion del byte de estado dentro de un registro (tras ID y fecha).
+     */
+    private static final int POSICION_ESTADO = 4 + 8 + 4;
+
+    /**
+     * Bits reservados para la posicion dentro del segmento en la ubicacion codificada.
+     */
+    private static final int BITS_POSICION = 40;
+
+    /**
+     * Capacidad inicial de la lista de ubicaciones de cada estado.
+     */
+    private static final int UBICACIONES_INICIALES = 64;
+
+    /**
+     * Directorio donde se guardan los segmentos.
+     */
+    private final Path directorio;
+
+    /**
+     * Canales de los segmentos abiertos, indexados por numero de segmento.
+     */
+    private final List<FileChannel> segmentos;
+
+    /**
+     * Posicion de escritura en el segmento actual.
+     */
+    private long posicionActual;
+
+    /**
+     * Numero que llevara en su nombre el proximo segmento que se abra.
+     */
+    private int siguienteSegmento;
+
+    /**
+     * Mayor ID de pedido almacenado, o 0 si no hay ninguno.
+     */
+    private int idMaximo;
+
+    /**
+     * Indice de ID de pedido a ubicacion (segmento y posicion) codificada en un long.
+     */
+    private final MapaEnterosLargos indice;
+
+    /**
+     * Conteo de pedidos almacenados por estado.
+     */
+    private final int[] conteoPorEstado;
+
+    /**
+     * Ubicaciones de los pedidos de cada estado, en orden de escritura; en cada
+     * arreglo se usan las primeras {@link #conteoPorEstado} posiciones.
+     */
+    private final long[][] ubicacionesPorEstado;
+
+    /**
+     * IDs de los pedidos de cada estado, en paralelo a {@link #ubicacionesPorEstado},
+     * para filtrar por ID sin leer los registros.
+     */
+    private final int[][] idsPorEstado;
+
+    /**
+     * Buffer reutilizable para codificar cada registro.
+     */
+    private final ByteArrayOutputStream buffer;
+
+    /**
+     * Flujo de datos sobre el buffer de codificacion.
+     */
+    private final DataOutputStream salida;
+
+    /**
+     * Constructor que prepara el directorio, reabre los segmentos existentes y
+     * reconstruye el indice a partir de ellos. Si no hay segmentos, abre el primero.
+     *
+     * @param directorio el directorio de los segmentos; se crea si no existe
+     * @throws IOException si no se puede preparar el directorio o leer los segmentos
+     */
+    public AlmacenPedidosDisco(Path directorio) throws IOException {
+        this.directorio = directorio;
+        this.segmentos = new ArrayList<>();
+        this.indice = new MapaEnterosLargos();
+        this.conteoPorEstado = new int[EstadoPedido.values().length];
+        this.ubicacionesPorEstado = new long[EstadoPedido.values().length][UBICACIONES_INICIALES];
+        this.idsPorEstado = new int[EstadoPedido.values().length][UBICACIONES_INICIALES];
+        this.buffer = new ByteArrayOutputStream(512);
+        this.salida = new DataOutputStream(buffer);
+
+        Files.createDirectories(directorio);
+        try {
+            for (Map.Entry<Integer, Path> segmento : segmentosExistentes().entrySet()) {
+                FileChannel canal = FileChannel.open(segmento.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                segmentos.add(canal);
+                posicionActual = indexarSegmento(canal, segmentos.size() - 1);
+                siguienteSegmento = segmento.getKey() + 1;
+            }
+            if (segmentos.isEmpty()) {
+                abrirSegmento();
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda un pedido al final del segmento actual. Si el pedido ya estaba
+     * almacenado no se vuelve a escribir.
+     *
+     * @param pedido el pedido a guardar
+     * @throws IOException si ocurre un error de escritura
+     */
+    public synchronized void guardar(Pedido pedido) throws IOException {
+        if (indice.obtener(pedido.getId()) != MapaEnterosLargos.AUSENTE) {
+            return;
+        }
+        buffer.reset();
+        CodecPedidos.escribirPedido(salida, pedido);
+        int longitud = buffer.size();
+
+        if (posicionActual > 0 && posicionActual + 4 + longitud > TAMANO_MAXIMO_SEGMENTO) {
+            abrirSegmento();
+        }
+        ByteBuffer registro = ByteBuffer.allocate(4 + longitud);
+        registro.putInt(longitud).put(buffer.toByteArray()).flip();
+        FileChannel canal = segmentos.get(segmentos.size() - 1);
+        long posicion = posicionActual;
+        while (registro.hasRemaining()) {
+            posicion += canal.write(registro, posicion);
+        }
+
+        long ubicacion = ((long) (segmentos.size() - 1) << BITS_POSICION) | posicionActual;
+        indexar(pedido.getId(), pedido.getEstadoPedido().ordinal(), ubicacion);
+        posicionActual = posicion;
+    }
+
+    /**
+     * Carga un pedido almacenado con una lectura directa a su posicion.
+     *
+     * @param id el ID del pedido
+     * @return Optional con el pedido restaurado o vacio si no esta almacenado
+     * @throws IOException si ocurre un error de lectura
+     */
+    public synchronized Optional<Pedido> cargar(int id) throws IOException {
+        long ubicacion = indice.obtener(id);
+        if (ubicacion == MapaEnterosLargos.AUSENTE) {
+            return Optional.empty();
+        }
+        return Optional.of(leer(ubicacion));
+    }
+
+    /**
+     * Verifica si un pedido esta almacenado en disco.
+     *
+     * @param id el ID del pedido
+     * @return true si esta almacenado, false en caso contrario
+     */
+    public synchronized boolean contiene(int id) {
+        return indice.obtener(id) != MapaEnterosLargos.AUSENTE;
+    }
+
+    /**
+     * Obtiene el numero de pedidos almacenados.
+     *
+     * @return el conteo de pedidos en disco
+     */
+    public synchronized int tamano() {
+        return indice.tamano();
+    }
+
+    /**
+     * Obtiene el mayor ID de pedido almacenado, incluidos los de ejecuciones
+     * anteriores, para que los pedidos nuevos no repitan IDs.
+     *
+     * @return el mayor ID almacenado, o 0 si el almacen esta vacio
+     */
+    public synchronized int getIdMaximo() {
+        return idMaximo;
+    }
+
+    /**
+     * Obtiene el numero de pedidos almacenados en un estado.
+     *
+     * @param estado el estado a contar
+     * @return el conteo de pedidos en disco con ese estado
+     */
+    public synchronized int contarPorEstado(EstadoPedido estado) {
+        return conteoPorEstado[estado.ordinal()];
+    }
+
+    /**
+     * Carga todos los pedidos almacenados en un estado, en orden de escritura.
+     * Decodifica todo el historial de ese estado, por lo que para listados
+     * frecuentes conviene {@link #cargarPorEstado(EstadoPedido, int)}.
+     *
+     * @param estado el estado a filtrar
+     * @return lista de pedidos restaurados
+     * @throws IOException si ocurre un error de lectura
+     */
+    public List<Pedido> cargarPorEstado(EstadoPedido estado) throws IOException {
+        return cargarPorEstado(estado, 0);
+    }
+
+    /**
+     * Carga los pedidos almacenados en un estado con ID mayor o igual a uno dado,
+     * en orden de escritura. Filtra por los IDs que guarda en memoria y solo lee y
+     * decodifica los registros seleccionados.
+     *
+     * @param estado el estado a filtrar
+     * @param idMinimo el menor ID a cargar
+     * @return lista de pedidos restaurados
+     * @throws IOException si ocurre un error de lectura
+     */
+    public synchronized List<Pedido> cargarPorEstado(EstadoPedido estado, int idMinimo) throws IOException {
+        int total = conteoPorEstado[estado.ordinal()];
+        long[] ubicaciones = ubicacionesPorEstado[estado.ordinal()];
+        int[] ids = idsPorEstado[estado.ordinal()];
+        List<Pedido> resultado = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (ids[i] >= idMinimo) {
+                resultado.add(leer(ubicaciones[i]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Sincroniza con el disco los pedidos guardados. Los segmentos anteriores ya se
+     * sincronizaron al abrir el siguiente, por lo que basta con el actual.
+     *
+     * @throws IOException si ocurre un error al sincronizar
+     */
+    public synchronized void sincronizar() throws IOException {
+        segmentos.get(segmentos.size() - 1).force(false);
+    }
+
+    /**
+     * Cierra todos los segmentos abiertos.
+     *
+     * @throws IOException si ocurre un error al cerrar
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (FileChannel canal : segmentos) {
+            canal.close();
+        }
+    }
+
+    /**
+     * Lista los segmentos del directorio por su numero.
+     *
+     * @return los segmentos existentes, ordenados por numero
+     * @throws IOException si no se puede leer el directorio
+     */
+    private TreeMap<Integer, Path> segmentosExistentes() throws IOException {
+        TreeMap<Integer, Path> existentes = new TreeMap<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO_SEGMENTO + "*" + EXTENSION_SEGMENTO)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                String numero = nombre.substring(PREFIJO_SEGMENTO.length(), nombre.length() - EXTENSION_SEGMENTO.length());
+                if (!numero.isEmpty() && numero.chars().allMatch(Character::isDigit)) {
+                    existentes.put(Integer.parseInt(numero), archivo);
+                }
+            }
+        }
+        return existentes;
+    }
+
+    /**
+     * Agrega al indice todos los registros completos de un segmento existente.
+     * Si el segmento termina en un registro incompleto, se recorta en el ultimo
+     * registro valido para que las escrituras siguientes continuen desde ahi.
+     *
+     * @param canal el canal del segmento
+     * @param numero la posicion del segmento en {@link #segmentos}
+     * @return la posicion donde termina el ultimo registro valido
+     * @throws IOException si no se puede leer el segmento
+     */
+    private long indexarSegmento(FileChannel canal, int numero) throws IOException {
+        long tamano = canal.size();
+        int estados = EstadoPedido.values().length;
+        byte[] cabecera = new byte[POSICION_ESTADO + 1];
+        ByteBuffer vista = ByteBuffer.wrap(cabecera);
+        // Se lee con un flujo y no con un mapa, porque en algunos sistemas no se
+        // puede recortar un archivo mapeado
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal.position(0)), 64 * 1024));
+        long posicion = 0;
+        while (tamano - posicion >= 4) {
+            int longitud = entrada.readInt();
+            long inicio = posicion + 4;
+            if (longitud <= POSICION_ESTADO || longitud > tamano - inicio) {
+                break;
+            }
+            entrada.readFully(cabecera);
+            int estado = cabecera[POSICION_ESTADO];
+            if (estado < 0 || estado >= estados) {
+                break;
+            }
+            entrada.skipNBytes(longitud - cabecera.length);
+            indexar(vista.getInt(0), estado, ((long) numero << BITS_POSICION) | posicion);
+            posicion = inicio + longitud;
+        }
+        if (posicion < tamano) {
+            canal.truncate(posicion);
+        }
+        return posicion;
+    }
+
+    /**
+     * Registra la ubicacion de un pedido en el indice y en la lista de su estado.
+     *
+     * @param id el ID del pedido
+     * @param estado el ordinal del estado del pedido
+     * @param ubicacion la ubicacion codificada del registro
+     */
+    private void indexar(int id, int estado, long ubicacion) {
+        if (indice.obtener(id) != MapaEnterosLargos.AUSENTE) {
+            return;
+        }
+        indice.poner(id, ubicacion);
+        long[] ubicaciones = ubicacionesPorEstado[estado];
+        int conteo = conteoPorEstado[estado];
+        if (conteo == ubicaciones.length) {
+            ubicaciones = Arrays.copyOf(ubicaciones, conteo * 2);
+            ubicacionesPorEstado[estado] = ubicaciones;
+            idsPorEstado[estado] = Arrays.copyOf(idsPorEstado[estado], conteo * 2);
+        }
+        ubicaciones[conteo] = ubicacion;
+        idsPorEstado[estado][conteo] = id;
+        conteoPorEstado[estado] = conteo + 1;
+        idMaximo = Math.max(idMaximo, id);
+    }
+
+    /**
+     * Lee y decodifica el registro de una ubicacion.
+     *
+     * @param ubicacion la ubicacion codificada del registro
+     * @return el pedido restaurado
+     * @throws IOException si ocurre un error de lectura
+     */
+    private Pedido leer(long ubicacion) throws IOException {
+        FileChannel canal = segmentos.get((int) (ubicacion >>> BITS_POSICION));
+        long posicion = ubicacion & ((1L << BITS_POSICION) - 1);
+
+        ByteBuffer cabecera = ByteBuffer.allocate(4);
+        leerCompleto(canal, cabecera, posicion);
+        ByteBuffer registro = ByteBuffer.allocate(cabecera.getInt(0));
+        leerCompleto(canal, registro, posicion + 4);
+        return decodificar(registro.array(), 0, registro.capacity());
+    }
+
+    /**
+     * Abre un nuevo segmento y lo convierte en el segmento actual.
+     *
+     * @throws IOException si no se puede crear el archivo
+     */
+    private void abrirSegmento() throws IOException {
+        if (!segmentos.isEmpty()) {
+            segmentos.get(segmentos.size() - 1).force(false);
+        }
+        Path archivo = directorio.resolve(String.format("%s%06d%s", PREFIJO_SEGMENTO, siguienteSegmento, EXTENSION_SEGMENTO));
+        segmentos.add(FileChannel.open(archivo, StandardOpenOption.CREATE_NEW,
+                                       StandardOpenOption.READ, StandardOpenOption.WRITE));
+        siguienteSegmento++;
+        posicionActual = 0;
+    }
+
+    /**
+     * Lee desde un canal hasta llenar el buffer.
+     *
+     * @param canal el canal a leer
+     * @param destino el buffer a llenar
+     * @param posicion la posicion inicial de lectura
+     * @throws IOException si ocurre un error o el archivo termina antes de tiempo
+     */
+    private static void leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, posicion);
+            if (leidos < 0) {
+                throw new IOException("Fin inesperado del segmento de pedidos.");
+            }
+            posicion += leidos;
+        }
+    }
+
+    /**
+     * Decodifica un registro de pedido.
+     *
+     * @param datos los bytes del registro
+     * @param inicio la posicion inicial del registro
+     * @param longitud la longitud del registro
+     * @return el pedido restaurado
+     * @throws IOException si el registro es invalido
+     */
+    private static Pedido decodificar(byte[] datos, int inicio, int longitud) throws IOException {
+        return CodecPedidos.leerPedido(new DataInputStream(new ByteArrayInputStream(datos, inicio, longitud)));
+    }
+}
@@ -0,0 +1,205 @@
+package persistencia;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.EstadoPedido;
+import modelo.Pedido;
+import modelo.Producto;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase utilitaria que codifica pedidos y productos en un formato binario compacto.
+ * Los productos se guardan por valor (tipo, nombre, precio y atributos), de modo
+ * que un registro se puede leer sin depender del catalogo en memoria.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public final class CodecPedidos {
+
+    /**
+     * Marca de tipo para productos de tipo Comida.
+     */
+    private static final byte TIPO_COMIDA = 1;
+
+    /**
+     * Marca de tipo para productos de tipo Bebida.
+     */
+    private static final byte TIPO_BEBIDA = 2;
+
+    /**
+     * Marca de tipo para productos de tipo Combo.
+     */
+    private static final byte TIPO_COMBO = 3;
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private CodecPedidos() {
+    }
+
+    /**
+     * Escribe un pedido completo: ID, fecha, estado y lineas. Cada linea lleva la
+     * cantidad, el ID de catalogo y el producto por valor.
+     *
+     * @param salida el destino de los datos
+     * @param pedido el pedido a escribir
+     * @throws IOException si ocurre un error de escritura
+     */
+    public static void escribirPedido(DataOutput salida, Pedido pedido) throws IOException {
+        salida.writeInt(pedido.getId());
+        escribirFecha(salida, pedido.getFecha());
+        salida.writeByte(pedido.getEstadoPedido().ordinal());
+        // Copiar las lineas bajo el candado del pedido y escribirlas fuera de el
+        List<Producto> productos = new ArrayList<>();
+        List<Integer> cantidades = new ArrayList<>();
+        pedido.recorrerLineas((producto, cantidad) -> {
+            productos.add(producto);
+            cantidades.add(cantidad);
+        });
+        salida.writeInt(productos.size());
+        for (int i = 0; i < productos.size(); i++) {
+            Producto producto = productos.get(i);
+            salida.writeInt(cantidades.get(i));
+            salida.writeInt(producto.getId());
+            escribirProducto(salida, producto);
+        }
+    }
+
+    /**
+     * Lee un pedido completo escrito con {@link #escribirPedido(DataOutput, Pedido)}.
+     *
+     * @param entrada el origen de los datos
+     * @return el pedido restaurado
+     * @throws IOException si ocurre un error de lectura o los datos son invalidos
+     */
+    public static Pedido leerPedido(DataInput entrada) throws IOException {
+        int id = entrada.readInt();
+        LocalDateTime fecha = leerFecha(entrada);
+        EstadoPedido estado = leerEstado(entrada);
+        Pedido pedido = new Pedido(id, fecha, estado);
+        int lineas = entrada.readInt();
+        for (int i = 0; i < lineas; i++) {
+            int cantidad = entrada.readInt();
+            // El ID escrito es el de la sesion que guardo el pedido; el producto
+            // leido se registra por su firma y recibe el ID del producto equivalente
+            // de esta sesion, sin agregar la copia al registro
+            entrada.readInt();
+            pedido.agregarProducto(leerProducto(entrada), cantidad);
+        }
+        return pedido;
+    }
+
+    /**
+     * Escribe un producto por valor, incluyendo los componentes de un combo.
+     *
+     * @param salida el destino de los datos
+     * @param producto el producto a escribir
+     * @throws IOException si ocurre un error de escritura
+     * @throws IllegalArgumentException si el tipo de producto no es soportado
+     */
+    public static void escribirProducto(DataOutput salida, Producto producto) throws IOException {
+        if (producto instanceof Comida) {
+            Comida comida = (Comida) producto;
+            salida.writeByte(TIPO_COMIDA);
+            salida.writeUTF(comida.getNombre());
+            salida.writeDouble(comida.getPrecio());
+            salida.writeUTF(comida.getTipo());
+            salida.writeBoolean(comida.isEsVegetariano());
+        } else if (producto instanceof Bebida) {
+            Bebida bebida = (Bebida) producto;
+            salida.writeByte(TIPO_BEBIDA);
+            salida.writeUTF(bebida.getNombre());
+            salida.writeDouble(bebida.getPrecio());
+            salida.writeUTF(bebida.getTamano());
+            salida.writeBoolean(bebida.isConAlcohol());
+        } else if (producto instanceof Combo) {
+            Combo combo = (Combo) producto;
+            salida.writeByte(TIPO_COMBO);
+            salida.writeUTF(combo.getNombre());
+            salida.writeDouble(combo.getDescuento());
+            List<Producto> componentes = combo.getProductos();
+            salida.writeInt(componentes.size());
+            for (Producto componente : componentes) {
+                escribirProducto(salida, componente);
+            }
+        } else {
+            throw new IllegalArgumentException("Tipo de producto no soportado: " + producto.getClass().getName());
+        }
+    }
+
+    /**
+     * Lee un producto escrito con {@link #escribirProducto(DataOutput, Producto)}.
+     *
+     * @param entrada el origen de los datos
+     * @return el producto reconstruido
+     * @throws IOException si ocurre un error de lectura o el tipo es desconocido
+     */
+    public static Producto leerProducto(DataInput entrada) throws IOException {
+        byte tipo = entrada.readByte();
+        switch (tipo) {
+            case TIPO_COMIDA:
+                return new Comida(entrada.readUTF(), entrada.readDouble(), entrada.readUTF(), entrada.readBoolean());
+            case TIPO_BEBIDA:
+                return new Bebida(entrada.readUTF(), entrada.readDouble(), entrada.readUTF(), entrada.readBoolean());
+            case TIPO_COMBO:
+                Combo combo = new Combo(entrada.readUTF(), entrada.readDouble());
+                int cantidad = entrada.readInt();
+                for (int i = 0; i < cantidad; i++) {
+                    combo.agregarProducto(leerProducto(entrada));
+                }
+                return combo;
+            default:
+                throw new IOException("Tipo de producto desconocido: " + tipo);
+        }
+    }
+
+    /**
+     * Escribe una fecha como segundos y nanosegundos desde la epoca (UTC).
+     *
+     * @param salida el destino de los datos
+     * @param fecha la fecha a escribir
+     * @throws IOException si ocurre un error de escritura
+     */
+    public static void escribirFecha(DataOutput salida, LocalDateTime fecha) throws IOException {
+        salida.writeLong(fecha.toEpochSecond(ZoneOffset.UTC));
+        salida.writeInt(fecha.getNano());
+    }
+
+    /**
+     * Lee una fecha escrita con {@link #escribirFecha(DataOutput, LocalDateTime)}.
+     *
+     * @param entrada el origen de los datos
+     * @return la fecha leida
+     * @throws IOException si ocurre un error de lectura
+     */
+    public static LocalDateTime leerFecha(DataInput entrada) throws IOException {
+        long segundos = entrada.readLong();
+        int nanos = entrada.readInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Lee un estado de pedido escrito como su ordinal.
+     *
+     * @param entrada el origen de los datos
+     * @return el estado leido
+     * @throws IOException si ocurre un error de lectura o el estado es desconocido
+     */
+    public static EstadoPedido leerEstado(DataInput entrada) throws IOException {
+        int ordinal = entrada.readUnsignedByte();
+        EstadoPedido[] estados = EstadoPedido.values();
+        if (ordinal >= estados.length) {
+            throw new IOException("Estado de pedido desconocido: " + ordinal);
+        }
+        return estados[ordinal];
+    }
+}
@@ -0,0 +1,939 @@
+package persistencia;
+
+import modelo.EstadoPedido;
+import modelo.Pedido;
+import modelo.Producto;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de solo anexado de los eventos de pedidos, en un archivo mapeado en memoria.
+ * Cada creacion de pedido, producto agregado, cambio de estado y lote de pedidos
+ * se guarda como un evento binario compacto; al iniciar, el diario se reproduce para reconstruir los
+ * pedidos del dia.
+ *
+ * Cada registro tiene la forma [longitud][crc][cuerpo]. La longitud se escribe al
+ * final, de modo que un registro a medio escribir se ve como fin del diario. Las
+ * escrituras van a la memoria mapeada y un hilo de fondo las sincroniza con el disco
+ * en grupo (commit agrupado) cada pocos milisegundos. La sincronizacion toma bajo el
+ * candado solo la posicion escrita y fuerza la ventana fuera de el, de modo que no
+ * detiene a quienes registran eventos. Cada registro devuelve la posicion donde
+ * termina, y quien necesite que ya este en disco espera con
+ * {@link #esperarDurable(long)}.
+ *
+ * Para que el diario no crezca sin limite, {@link #compactar(IntPredicate)} lo
+ * reescribe en una generacion nueva del archivo (ver {@link GeneracionesArchivo})
+ * con solo los pedidos que aun lo necesitan. Al abrirlo se usa la generacion mas
+ * reciente, o el archivo sin sufijo si nunca se compacto.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class DiarioPedidos implements Closeable {
+
+    /**
+     * Tamano de cada ventana mapeada del archivo. Ningun registro cruza dos ventanas.
+     */
+    private static final int TAMANO_VENTANA = 64 * 1024 * 1024;
+
+    /**
+     * Longitud especial que indica que el resto de la ventana esta vacio.
+     */
+    private static final int SALTO_VENTANA = -1;
+
+    /**
+     * Tamano de la cabecera de cada registro: longitud y crc.
+     */
+    private static final int CABECERA = 8;
+
+    /**
+     * Intervalo entre sincronizaciones agrupadas con el disco.
+     */
+    private static final long INTERVALO_SINCRONIZACION_MS = 5;
+
+    /**
+     * Evento de creacion de un pedido.
+     */
+    private static final byte EVENTO_CREACION = 1;
+
+    /**
+     * Evento de producto agregado a un pedido.
+     */
+    private static final byte EVENTO_PRODUCTO = 2;
+
+    /**
+     * Evento de cambio de estado de un pedido.
+     */
+    private static final byte EVENTO_ESTADO = 3;
+
+    /**
+     * Evento de creacion de un lote de pedidos con sus productos.
+     */
+    private static final byte EVENTO_LOTE = 4;
+
+    /**
+     * Interfaz que recibe los eventos durante la reproduccion del diario.
+     */
+    public interface Receptor {
+
+        /**
+         * Se invoca por cada pedido creado.
+         *
+         * @param idPedido el ID del pedido
+         * @param fecha la fecha de creacion
+         */
+        void pedidoCreado(int idPedido, LocalDateTime fecha);
+
+        /**
+         * Se invoca por cada producto agregado a un pedido.
+         *
+         * @param idPedido el ID del pedido
+         * @param producto el producto agregado
+         * @param cantidad las unidades agregadas
+         */
+        void productoAgregado(int idPedido, Producto producto, int cantidad);
+
+        /**
+         * Se invoca por cada cambio de estado de un pedido.
+         *
+         * @param idPedido el ID del pedido
+         * @param estado el nuevo estado
+         */
+        void estadoCambiado(int idPedido, EstadoPedido estado);
+    }
+
+    /**
+     * Interfaz que recibe el cuerpo de cada registro al recorrer el archivo.
+     */
+    private interface ConsumidorRegistro {
+
+        /**
+         * Se invoca por cada registro.
+         *
+         * @param cuerpo el buffer con el cuerpo del registro al inicio; se reutiliza
+         * @param longitud la longitud del cuerpo
+         * @throws IOException si el registro no se puede procesar
+         */
+        void aceptar(byte[] cuerpo, int longitud) throws IOException;
+    }
+
+    /**
+     * Ruta base del diario, sin sufijo de generacion.
+     */
+    private final Path archivo;
+
+    /**
+     * Numero de la generacion en uso, o 0 si se usa el archivo sin sufijo.
+     */
+    private long generacion;
+
+    /**
+     * Canal de la generacion en uso del diario. Cambia al compactar.
+     */
+    private FileChannel canal;
+
+    /**
+     * Posicion logica donde empieza la generacion en uso: la suma de lo escrito en
+     * las generaciones anteriores de esta ejecucion. Mantiene crecientes las
+     * posiciones devueltas a los escritores aunque el archivo cambie.
+     */
+    private long desplazamiento;
+
+    /**
+     * Monitor que impide dos compactaciones simultaneas.
+     */
+    private final Object candadoCompactacion;
+
+    /**
+     * Ventana mapeada donde se escribe actualmente.
+     */
+    private MappedByteBuffer ventana;
+
+    /**
+     * Posicion en el archivo donde empieza la ventana actual.
+     */
+    private long inicioVentana;
+
+    /**
+     * Buffer reutilizable para codificar el cuerpo de cada evento.
+     */
+    private final ByteArrayOutputStream buffer;
+
+    /**
+     * Flujo de datos sobre el buffer de codificacion.
+     */
+    private final DataOutputStream salida;
+
+    /**
+     * Calculador de crc reutilizable.
+     */
+    private final CRC32 crc;
+
+    /**
+     * Posicion logica en el archivo donde termina el ultimo registro escrito.
+     * Se modifica bajo el monitor del diario.
+     */
+    private volatile long escrito;
+
+    /**
+     * Posicion logica hasta la que los registros ya estan sincronizados con el disco.
+     * Se modifica bajo {@link #avisoDurable}.
+     */
+    private volatile long durable;
+
+    /**
+     * Error de la ultima sincronizacion fallida, o null si no hubo ninguno.
+     */
+    private volatile IOException errorSincronizacion;
+
+    /**
+     * Monitor donde esperan quienes necesitan que sus registros esten en disco.
+     * Es distinto del monitor del diario para que la espera no bloquee las escrituras.
+     */
+    private final Object avisoDurable;
+
+    /**
+     * Numero de eventos escritos en el diario (incluidos los existentes al abrirlo).
+     */
+    private long eventos;
+
+    /**
+     * Hilo de fondo de sincronizacion agrupada.
+     */
+    private final Thread sincronizador;
+
+    /**
+     * Constructor que abre (o crea) el diario y se posiciona al final de los eventos existentes.
+     *
+     * @param archivo la ruta del archivo del diario, sin sufijo de generacion
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public DiarioPedidos(Path archivo) throws IOException {
+        this.archivo = archivo;
+        this.buffer = new ByteArrayOutputStream(256);
+        this.salida = new DataOutputStream(buffer);
+        this.crc = new CRC32();
+        this.avisoDurable = new Object();
+        this.candadoCompactacion = new Object();
+
+        TreeMap<Long, Path> generaciones = GeneracionesArchivo.listar(archivo);
+        if (generaciones.isEmpty()) {
+            abrir(archivo);
+        } else {
+            this.generacion = generaciones.lastKey();
+            abrir(generaciones.lastEntry().getValue());
+            // Quedan si una compactacion anterior no pudo borrarlas
+            GeneracionesArchivo.borrarAnteriores(archivo, generacion);
+        }
+        this.durable = escrito;
+
+        this.sincronizador = new Thread(this::sincronizarPeriodicamente, "diario-pedidos-sync");
+        sincronizador.setDaemon(true);
+        sincronizador.start();
+    }
+
+    /**
+     * Registra la creacion de un pedido.
+     *
+     * @param pedido el pedido creado
+     * @return la posicion donde termina el registro, para {@link #esperarDurable(long)}
+     * @throws IOException si ocurre un error de escritura
+     */
+    public synchronized long registrarCreacion(Pedido pedido) throws IOException {
+        buffer.reset();
+        codificarCreacion(salida, pedido.getId(), pedido.getFecha());
+        return anexar();
+    }
+
+    /**
+     * Registra una unidad de un producto agregada a un pedido.
+     *
+     * @param idPedido el ID del pedido
+     * @param producto el producto agregado
+     * @return la posicion donde termina el registro, para {@link #esperarDurable(long)}
+     * @throws IOException si ocurre un error de escritura
+     */
+    public long registrarProducto(int idPedido, Producto producto) throws IOException {
+        return registrarProducto(idPedido, producto, 1);
+    }
+
+    /**
+     * Registra una linea de producto agregada a un pedido, con sus unidades.
+     *
+     * @param idPedido el ID del pedido
+     * @param producto el producto agregado
+     * @param cantidad las unidades agregadas
+     * @return la posicion donde termina el registro, para {@link #esperarDurable(long)}
+     * @throws IOException si ocurre un error de escritura
+     */
+    public synchronized long registrarProducto(int idPedido, Producto producto, int cantidad) throws IOException {
+        buffer.reset();
+        codificarProducto(salida, idPedido, producto, cantidad);
+        return anexar();
+    }
+
+    /**
+     * Registra la creacion de varios pedidos con todos sus productos en un solo
+     * evento, de modo que al reproducir el diario aparecen todos o ninguno. El lote
+     * se codifica antes de tomar el candado del diario.
+     *
+     * @param pedidos los pedidos creados, con sus productos
+     * @return la posicion donde termina el registro, para {@link #esperarDurable(long)}
+     * @throws IOException si ocurre un error de escritura o el lote no cabe en un evento
+     */
+    public long registrarLote(List<Pedido> pedidos) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * pedidos.size() + 16);
+        DataOutputStream datos = new DataOutputStream(bytes);
+        datos.writeByte(EVENTO_LOTE);
+        datos.writeInt(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            // Mismo formato que un pedido del almacen en disco, sin el estado:
+            // los pedidos de un lote se crean pendientes
+            datos.writeInt(pedido.getId());
+            CodecPedidos.escribirFecha(datos, pedido.getFecha());
+            List<Producto> productos = new ArrayList<>();
+            List<Integer> cantidades = new ArrayList<>();
+            pedido.recorrerLineas((producto, cantidad) -> {
+                productos.add(producto);
+                cantidades.add(cantidad);
+            });
+            datos.writeInt(productos.size());
+            for (int i = 0; i < productos.size(); i++) {
+                datos.writeInt(cantidades.get(i));
+                CodecPedidos.escribirProducto(datos, productos.get(i));
+            }
+        }
+        synchronized (this) {
+            return anexar(bytes.toByteArray(), bytes.size());
+        }
+    }
+
+    /**
+     * Registra un cambio de estado de un pedido.
+     *
+     * @param idPedido el ID del pedido
+     * @param estado el nuevo estado
+     * @return la posicion donde termina el registro, para {@link #esperarDurable(long)}
+     * @throws IOException si ocurre un error de escritura
+     */
+    public synchronized long registrarEstado(int idPedido, EstadoPedido estado) throws IOException {
+        buffer.reset();
+        codificarEstado(salida, idPedido, estado);
+        return anexar();
+    }
+
+    /**
+     * Reproduce todos los eventos del diario en orden, desde el inicio del archivo.
+     * Los productos identicos se decodifican una sola vez y se comparten.
+     *
+     * @param receptor el receptor de los eventos
+     * @return el numero de eventos reproducidos
+     * @throws IOException si un evento no se puede decodificar
+     */
+    public synchronized long reproducir(Receptor receptor) throws IOException {
+        return reproducirHasta(receptor, inicioVentana + ventana.position());
+    }
+
+    /**
+     * Compacta el diario para que no crezca sin limite ni haya que reproducir todo
+     * el historial en cada inicio. Escribe una generacion nueva del archivo con la
+     * creacion, una linea por producto y el estado de cada pedido que aun importa,
+     * seguidos de los eventos registrados mientras se compactaba, y pasa a escribir
+     * en ella. Los pedidos finalizados que el predicado indica como descartables
+     * (por ejemplo, porque ya estan en el almacen en disco) no se copian.
+     *
+     * El historial se pliega sin el candado del diario; solo la copia de los eventos
+     * recientes y el cambio de archivo lo toman.
+     *
+     * @param descartable indica, por ID, si un pedido finalizado ya no necesita el diario
+     * @return el numero de pedidos descartados
+     * @throws IOException si no se puede escribir la generacion nueva; en ese caso
+     *         el diario sigue escribiendo en la actual
+     */
+    public long compactar(IntPredicate descartable) throws IOException {
+        synchronized (candadoCompactacion) {
+            long corte;
+            synchronized (this) {
+                corte = inicioVentana + ventana.position();
+            }
+            Map<Integer, Pedido> pedidos = new LinkedHashMap<>();
+            reproducirHasta(new Receptor() {
+                @Override
+                public void pedidoCreado(int idPedido, LocalDateTime fecha) {
+                    pedidos.put(idPedido, new Pedido(idPedido, fecha, EstadoPedido.PENDIENTE));
+                }
+
+                @Override
+                public void productoAgregado(int idPedido, Producto producto, int cantidad) {
+                    Pedido pedido = pedidos.get(idPedido);
+                    if (pedido != null) {
+                        pedido.agregarProducto(producto, cantidad);
+                    }
+                }
+
+                @Override
+                public void estadoCambiado(int idPedido, EstadoPedido estado) {
+                    Pedido pedido = pedidos.get(idPedido);
+                    if (pedido != null) {
+                        pedido.cambiarEstado(estado);
+                    }
+                }
+            }, corte);
+
+            long nuevaGeneracion = generacion + 1;
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            Path destino = GeneracionesArchivo.ruta(archivo, nuevaGeneracion);
+            long descartados = 0;
+            FileChannel nuevo = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                 StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                CopiaRegistros copia = new CopiaRegistros(nuevo);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                DataOutputStream datos = new DataOutputStream(bytes);
+                for (Pedido pedido : pedidos.values()) {
+                    EstadoPedido estado = pedido.getEstadoPedido();
+                    if (estado.esFinal() && descartable.test(pedido.getId())) {
+                        descartados++;
+                        continue;
+                    }
+                    bytes.reset();
+                    codificarCreacion(datos, pedido.getId(), pedido.getFecha());
+                    copia.anexar(bytes.toByteArray(), bytes.size());
+                    List<Producto> productos = new ArrayList<>();
+                    List<Integer> cantidades = new ArrayList<>();
+                    pedido.recorrerLineas((producto, cantidad) -> {
+                        productos.add(producto);
+                        cantidades.add(cantidad);
+                    });
+                    for (int i = 0; i < productos.size(); i++) {
+                        bytes.reset();
+                        codificarProducto(datos, pedido.getId(), productos.get(i), cantidades.get(i));
+                        copia.anexar(bytes.toByteArray(), bytes.size());
+                    }
+                    if (estado != EstadoPedido.PENDIENTE) {
+                        bytes.reset();
+                        codificarEstado(datos, pedido.getId(), estado);
+                        copia.anexar(bytes.toByteArray(), bytes.size());
+                    }
+                }
+
+                synchronized (this) {
+                    recorrerRegistros(corte, inicioVentana + ventana.position(), copia::anexar);
+                    nuevo.force(true);
+                    nuevo.close();
+                    Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+                    cambiarA(destino, nuevaGeneracion);
+                }
+            } finally {
+                nuevo.close();
+            }
+            GeneracionesArchivo.borrarAnteriores(archivo, nuevaGeneracion);
+            return descartados;
+        }
+    }
+
+    /**
+     * Obtiene el numero de eventos escritos en el diario.
+     *
+     * @return el conteo de eventos
+     */
+    public synchronized long getEventos() {
+        return eventos;
+    }
+
+    /**
+     * Espera a que los registros escritos hasta una posicion esten sincronizados
+     * con el disco. Como la sincronizacion es agrupada, varios escritores que
+     * esperan a la vez quedan cubiertos por una sola sincronizacion.
+     *
+     * @param posicion la posicion devuelta por el registro a esperar
+     * @return true si los registros ya estan en disco, false si el hilo fue interrumpido
+     * @throws IOException si la sincronizacion con el disco fallo
+     */
+    public boolean esperarDurable(long posicion) throws IOException {
+        synchronized (avisoDurable) {
+            while (durable < posicion) {
+                if (errorSincronizacion != null) {
+                    throw errorSincronizacion;
+                }
+                try {
+                    avisoDurable.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fuerza la sincronizacion inmediata de los eventos escritos con el disco.
+     * Bajo el monitor del diario solo se toman la ventana y la posicion escrita;
+     * la sincronizacion se hace fuera de el, mientras otros hilos siguen escribiendo.
+     */
+    public void sincronizar() {
+        MappedByteBuffer actual;
+        long hasta;
+        long generacionSincronizada;
+        synchronized (this) {
+            hasta = escrito;
+            if (hasta <= durable || !canal.isOpen()) {
+                return;
+            }
+            // Las ventanas anteriores se sincronizan al cambiar de ventana, por lo
+            // que basta con la actual para cubrir todo lo escrito hasta aqui
+            actual = ventana;
+            generacionSincronizada = generacion;
+        }
+        try {
+            actual.force();
+        } catch (UncheckedIOException e) {
+            synchronized (this) {
+                if (generacion != generacionSincronizada) {
+                    // Una compactacion cerro el archivo, pero ya dejo en disco todo lo escrito
+                    return;
+                }
+            }
+            synchronized (avisoDurable) {
+                errorSincronizacion = e.getCause();
+                avisoDurable.notifyAll();
+            }
+            throw e;
+        }
+        synchronized (avisoDurable) {
+            if (hasta > durable) {
+                durable = hasta;
+            }
+            errorSincronizacion = null;
+            avisoDurable.notifyAll();
+        }
+    }
+
+    /**
+     * Detiene la sincronizacion de fondo, sincroniza lo pendiente y cierra el archivo.
+     *
+     * @throws IOException si ocurre un error al cerrar
+     */
+    @Override
+    public void close() throws IOException {
+        sincronizador.interrupt();
+        try {
+            sincronizador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sincronizar();
+        synchronized (this) {
+            canal.close();
+        }
+    }
+
+    /**
+     * Pasa a escribir en una generacion recien compactada, que ya esta sincronizada
+     * con el disco. Si no se puede abrir, se borra y se sigue con la actual, para que
+     * el proximo inicio no la tome como vigente sin los eventos escritos despues.
+     *
+     * @param destino la ruta de la generacion nueva
+     * @param nuevaGeneracion su numero
+     * @throws IOException si no se puede abrir la generacion nueva
+     */
+    private void cambiarA(Path destino, long nuevaGeneracion) throws IOException {
+        FileChannel anterior = canal;
+        MappedByteBuffer ventanaAnterior = ventana;
+        long inicioAnterior = inicioVentana;
+        long eventosAnteriores = eventos;
+        long desplazamientoAnterior = desplazamiento;
+        desplazamiento = escrito;
+        try {
+            abrir(destino);
+        } catch (IOException | RuntimeException e) {
+            if (canal != anterior) {
+                canal.close();
+            }
+            canal = anterior;
+            ventana = ventanaAnterior;
+            inicioVentana = inicioAnterior;
+            eventos = eventosAnteriores;
+            desplazamiento = desplazamientoAnterior;
+            escrito = desplazamiento + inicioVentana + ventana.position();
+            Files.deleteIfExists(destino);
+            throw e;
+        }
+        generacion = nuevaGeneracion;
+        synchronized (avisoDurable) {
+            durable = escrito;
+            errorSincronizacion = null;
+            avisoDurable.notifyAll();
+        }
+        anterior.close();
+    }
+
+    /**
+     * Abre un archivo del diario y se posiciona al final de sus eventos, descartando
+     * un registro danado al final.
+     *
+     * @param ruta el archivo a abrir; se crea si no existe
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    private void abrir(Path ruta) throws IOException {
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        eventos = 0;
+
+        // Buscar el final de los eventos existentes saltando de registro en registro
+        inicioVentana = 0;
+        ventana = mapear(0);
+        while (true) {
+            if (ventana.remaining() < CABECERA) {
+                siguienteVentana();
+                continue;
+            }
+            int longitud = ventana.getInt(ventana.position());
+            if (longitud == SALTO_VENTANA) {
+                siguienteVentana();
+            } else if (longitud > 0 && longitud <= ventana.remaining() - CABECERA && registroValido(ventana, ventana.position(), longitud)) {
+                ventana.position(ventana.position() + CABECERA + longitud);
+                eventos++;
+            } else {
+                if (longitud != 0) {
+                    // Registro danado (por ejemplo, tras una caida del sistema): descartar
+                    // el resto para que no reaparezcan registros viejos mas adelante
+                    descartarDesde(ventana.position());
+                }
+                break;
+            }
+        }
+        escrito = desplazamiento + inicioVentana + ventana.position();
+    }
+
+    /**
+     * Reproduce los eventos del archivo en uso hasta una posicion.
+     * Los productos identicos se decodifican una sola vez y se comparten.
+     *
+     * @param receptor el receptor de los eventos
+     * @param fin la posicion del archivo donde termina el ultimo registro a reproducir
+     * @return el numero de eventos reproducidos
+     * @throws IOException si un evento no se puede decodificar
+     */
+    private long reproducirHasta(Receptor receptor, long fin) throws IOException {
+        Map<ByteBuffer, Producto> productos = new HashMap<>();
+        long[] reproducidos = new long[1];
+        recorrerRegistros(0, fin, (cuerpo, longitud) -> {
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(cuerpo, 0, longitud));
+            byte tipo = entrada.readByte();
+            int idPedido = entrada.readInt();
+            switch (tipo) {
+                case EVENTO_CREACION:
+                    receptor.pedidoCreado(idPedido, CodecPedidos.leerFecha(entrada));
+                    break;
+                case EVENTO_PRODUCTO:
+                    int cantidad = entrada.readInt();
+                    ByteBuffer clave = ByteBuffer.wrap(cuerpo, 9, longitud - 9);
+                    Producto producto = productos.get(clave);
+                    if (producto == null) {
+                        producto = CodecPedidos.leerProducto(entrada);
+                        byte[] copia = new byte[longitud - 9];
+                        System.arraycopy(cuerpo, 9, copia, 0, copia.length);
+                        productos.put(ByteBuffer.wrap(copia), producto);
+                    }
+                    receptor.productoAgregado(idPedido, producto, cantidad);
+                    break;
+                case EVENTO_ESTADO:
+                    receptor.estadoCambiado(idPedido, CodecPedidos.leerEstado(entrada));
+                    break;
+                case EVENTO_LOTE:
+                    // En un lote, el entero que sigue al tipo es el numero de pedidos
+                    for (int i = 0; i < idPedido; i++) {
+                        int id = entrada.readInt();
+                        receptor.pedidoCreado(id, CodecPedidos.leerFecha(entrada));
+                        int lineas = entrada.readInt();
+                        for (int j = 0; j < lineas; j++) {
+                            int unidades = entrada.readInt();
+                            receptor.productoAgregado(id, CodecPedidos.leerProducto(entrada), unidades);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IOException("Evento desconocido en el diario: " + tipo);
+            }
+            reproducidos[0]++;
+        });
+        return reproducidos[0];
+    }
+
+    /**
+     * Recorre los registros del archivo en uso entre dos posiciones, saltando el
+     * final vacio de cada ventana. Los crc ya se verificaron al abrir el diario.
+     *
+     * @param desde la posicion donde empieza el primer registro
+     * @param hasta la posicion donde termina el ultimo registro
+     * @param consumidor el consumidor que recibe el cuerpo de cada registro
+     * @throws IOException si no se puede leer el archivo o el consumidor falla
+     */
+    private void recorrerRegistros(long desde, long hasta, ConsumidorRegistro consumidor) throws IOException {
+        byte[] cuerpo = new byte[256];
+        long base = desde;
+        while (base < hasta) {
+            long finVentana = Math.min(hasta, (base / TAMANO_VENTANA + 1) * TAMANO_VENTANA);
+            MappedByteBuffer lectura = canal.map(FileChannel.MapMode.READ_ONLY, base, finVentana - base);
+            while (lectura.remaining() >= CABECERA) {
+                int longitud = lectura.getInt();
+                if (longitud == SALTO_VENTANA) {
+                    break;
+                }
+                lectura.getInt(); // crc
+                if (cuerpo.length < longitud) {
+                    cuerpo = new byte[longitud * 2];
+                }
+                lectura.get(cuerpo, 0, longitud);
+                consumidor.aceptar(cuerpo, longitud);
+            }
+            base = finVentana;
+        }
+    }
+
+    /**
+     * Codifica el cuerpo de un evento de creacion de pedido.
+     *
+     * @param salida el destino del cuerpo
+     * @param idPedido el ID del pedido
+     * @param fecha la fecha de creacion
+     * @throws IOException si ocurre un error de escritura
+     */
+    private static void codificarCreacion(DataOutput salida, int idPedido, LocalDateTime fecha) throws IOException {
+        salida.writeByte(EVENTO_CREACION);
+        salida.writeInt(idPedido);
+        CodecPedidos.escribirFecha(salida, fecha);
+    }
+
+    /**
+     * Codifica el cuerpo de un evento de producto agregado.
+     *
+     * @param salida el destino del cuerpo
+     * @param idPedido el ID del pedido
+     * @param producto el producto agregado
+     * @param cantidad las unidades agregadas
+     * @throws IOException si ocurre un error de escritura
+     */
+    private static void codificarProducto(DataOutput salida, int idPedido, Producto producto, int cantidad) throws IOException {
+        salida.writeByte(EVENTO_PRODUCTO);
+        salida.writeInt(idPedido);
+        salida.writeInt(cantidad);
+        CodecPedidos.escribirProducto(salida, producto);
+    }
+
+    /**
+     * Codifica el cuerpo de un evento de cambio de estado.
+     *
+     * @param salida el destino del cuerpo
+     * @param idPedido el ID del pedido
+     * @param estado el nuevo estado
+     * @throws IOException si ocurre un error de escritura
+     */
+    private static void codificarEstado(DataOutput salida, int idPedido, EstadoPedido estado) throws IOException {
+        salida.writeByte(EVENTO_ESTADO);
+        salida.writeInt(idPedido);
+        salida.writeByte(estado.ordinal());
+    }
+
+    /**
+     * Anexa el contenido del buffer de codificacion como un nuevo registro.
+     *
+     * @return la posicion logica donde termina el registro
+     */
+    private long anexar() throws IOException {
+        return anexar(buffer.toByteArray(), buffer.size());
+    }
+
+    /**
+     * Anexa un cuerpo ya codificado como un nuevo registro.
+     * Escribe primero el crc y el cuerpo, y por ultimo la longitud que lo hace visible.
+     *
+     * @param datos el buffer con el cuerpo al inicio
+     * @param longitud la longitud del cuerpo
+     * @return la posicion logica donde termina el registro
+     */
+    private long anexar(byte[] datos, int longitud) throws IOException {
+        if (longitud + CABECERA > TAMANO_VENTANA) {
+            throw new IOException("Evento demasiado grande para el diario: " + longitud + " bytes.");
+        }
+        if (ventana.remaining() < longitud + 2 * CABECERA) {
+            // Marcar el resto de la ventana como vacio y pasar a la siguiente
+            ventana.putInt(ventana.position(), SALTO_VENTANA);
+            ventana.force();
+            siguienteVentana();
+        }
+        int posicion = ventana.position();
+        crc.reset();
+        crc.update(datos, 0, longitud);
+        ventana.putInt(posicion + 4, (int) crc.getValue());
+        ventana.put(posicion + CABECERA, datos, 0, longitud);
+        ventana.putInt(posicion, longitud);
+        ventana.position(posicion + CABECERA + longitud);
+        eventos++;
+        escrito = desplazamiento + inicioVentana + ventana.position();
+        return escrito;
+    }
+
+    /**
+     * Verifica el crc de un registro existente.
+     *
+     * @param datos la ventana que contiene el registro
+     * @param posicion la posicion del registro
+     * @param longitud la longitud del cuerpo
+     * @return true si el crc coincide
+     */
+    private boolean registroValido(ByteBuffer datos, int posicion, int longitud) {
+        crc.reset();
+        crc.update(datos.duplicate().position(posicion + CABECERA).limit(posicion + CABECERA + longitud));
+        return (int) crc.getValue() == datos.getInt(posicion + 4);
+    }
+
+    /**
+     * Borra el contenido de la ventana actual desde una posicion y recorta el archivo
+     * al final de la ventana.
+     *
+     * @param posicion la posicion desde la que se descarta
+     * @throws IOException si no se puede recortar el archivo
+     */
+    private void descartarDesde(int posicion) throws IOException {
+        byte[] ceros = new byte[8192];
+        for (int i = posicion; i < ventana.capacity(); i += ceros.length) {
+            ventana.put(i, ceros, 0, Math.min(ceros.length, ventana.capacity() - i));
+        }
+        ventana.force();
+        canal.truncate(inicioVentana + TAMANO_VENTANA);
+    }
+
+    /**
+     * Avanza a la siguiente ventana del archivo.
+     *
+     * @throws IOException si no se puede mapear la ventana
+     */
+    private void siguienteVentana() throws IOException {
+        inicioVentana += TAMANO_VENTANA;
+        ventana = mapear(inicioVentana);
+    }
+
+    /**
+     * Mapea una ventana del archivo para lectura y escritura, extendiendolo si es necesario.
+     *
+     * @param inicio la posicion de inicio de la ventana
+     * @return la ventana mapeada
+     * @throws IOException si no se puede mapear
+     */
+    private MappedByteBuffer mapear(long inicio) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_WRITE, inicio, TAMANO_VENTANA);
+    }
+
+    /**
+     * Ciclo del hilo de fondo: sincroniza en grupo los eventos pendientes.
+     */
+    private void sincronizarPeriodicamente() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(INTERVALO_SINCRONIZACION_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (escrito > durable) {
+                try {
+                    sincronizar();
+                } catch (UncheckedIOException e) {
+                    // Quienes esperan ya recibieron el error; se reintenta en el proximo ciclo
+                }
+            }
+        }
+    }
+
+    /**
+     * Escritor secuencial de registros en una generacion nueva, con el mismo formato
+     * y las mismas ventanas que el diario, pero sin mapear el archivo.
+     */
+    private static final class CopiaRegistros {
+
+        /**
+         * Canal del archivo nuevo.
+         */
+        private final FileChannel canal;
+
+        /**
+         * Calculador de crc del escritor.
+         */
+        private final CRC32 crc;
+
+        /**
+         * Posicion del archivo donde va el proximo registro.
+         */
+        private long posicion;
+
+        /**
+         * Constructor que escribe desde el inicio del archivo.
+         *
+         * @param canal el canal del archivo nuevo
+         */
+        CopiaRegistros(FileChannel canal) {
+            this.canal = canal;
+            this.crc = new CRC32();
+        }
+
+        /**
+         * Anexa un registro. Si no cabe en la ventana actual, marca el resto como
+         * vacio y lo escribe al inicio de la siguiente, como lo haria el diario.
+         *
+         * @param cuerpo el buffer con el cuerpo al inicio
+         * @param longitud la longitud del cuerpo
+         * @throws IOException si ocurre un error de escritura
+         */
+        void anexar(byte[] cuerpo, int longitud) throws IOException {
+            long libre = TAMANO_VENTANA - posicion % TAMANO_VENTANA;
+            if (libre < longitud + 2L * CABECERA) {
+                escribir(ByteBuffer.allocate(4).putInt(0, SALTO_VENTANA));
+                posicion += libre;
+            }
+            crc.reset();
+            crc.update(cuerpo, 0, longitud);
+            ByteBuffer registro = ByteBuffer.allocate(CABECERA + longitud);
+            registro.putInt(longitud).putInt((int) crc.getValue()).put(cuerpo, 0, longitud).flip();
+            posicion += escribir(registro);
+        }
+
+        /**
+         * Escribe un buffer completo en la posicion actual, sin avanzarla.
+         *
+         * @param datos los datos a escribir
+         * @return el numero de bytes escritos
+         * @throws IOException si ocurre un error de escritura
+         */
+        private int escribir(ByteBuffer datos) throws IOException {
+            int escritos = 0;
+            while (datos.hasRemaining()) {
+                escritos += canal.write(datos, posicion + escritos);
+            }
+            return escritos;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package persistencia;
+
+import java.nio.ByteOrder;
+
+/**
+ * Disposicion de un archivo de catalogo, compartida por el escritor y el lector.
+ * Tras una cabecera fija, cada columna ocupa una region contigua alineada a 8 bytes:
+ *
+ * <pre>
+ * cabecera | clases byte[r] | banderas byte[r] | nombres int[r] | categorias int[r]
+ *          | valores long[r] | porClase int[c] | inicioComponentes int[r+1]
+ *          | componentes int[k] | inicioTextos int[t+1] | textos byte[]
+ * </pre>
+ *
+ * Cada registro es un producto. Los primeros registros son el catalogo, en orden;
+ * les siguen los productos que solo aparecen dentro de algun combo. La columna
+ * porClase tiene las posiciones del catalogo agrupadas por clase (comidas, bebidas
+ * y combos, cada grupo en orden), con el tamano de cada grupo en la cabecera, para
+ * armar las particiones por tipo sin recorrer el catalogo. Los nombres y
+ * categorias (tipo de comida o tamano de bebida) son indices a una tabla de textos
+ * UTF-8 sin repetidos que se decodifican a pedido. Los valores son el precio base
+ * en centavos, o los bits del descuento en los combos. Los componentes de un combo
+ * son indices a otros registros, de modo que un producto compartido se guarda una vez.
+ *
+ * Cada guardado escribe una generacion nueva con su propio nombre (la ruta del
+ * catalogo con un sufijo numerico, por ejemplo catalogo.bin.3) en lugar de
+ * reemplazar el archivo, porque un lector puede tenerlo mapeado (ver
+ * {@link GeneracionesArchivo}).
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+final class DisenoArchivoCatalogo {
+
+    /**
+     * Marca de los archivos de catalogo ("CATA").
+     */
+    static final int MAGICO = 0x43415441;
+
+    /**
+     * Version del formato.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Orden de bytes de todas las columnas (el nativo de x86 y ARM).
+     */
+    static final ByteOrder ORDEN = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Tamano de la cabecera: magico, version, registros, catalogo, componentes, textos
+     * y el numero de productos del catalogo de cada clase.
+     */
+    static final int CABECERA = 9 * 4;
+
+    /**
+     * Clase de los registros de comida; es la primera en la columna porClase.
+     */
+    static final byte COMIDA = 0;
+
+    /**
+     * Clase de los registros de bebida; es la segunda en la columna porClase.
+     */
+    static final byte BEBIDA = 1;
+
+    /**
+     * Clase de los registros de combo; es la ultima en la columna porClase.
+     */
+    static final byte COMBO = 2;
+
+    /**
+     * Bandera de comida vegetariana o bebida con alcohol.
+     */
+    static final byte MARCADO = 1;
+
+    /**
+     * Categoria de los registros que no tienen (los combos).
+     */
+    static final int SIN_CATEGORIA = -1;
+
+    /**
+     * Numero de productos guardados: el catalogo y los que solo estan en combos.
+     */
+    final int registros;
+
+    /**
+     * Numero de productos del catalogo; son los primeros registros.
+     */
+    final int catalogo;
+
+    /**
+     * Numero total de componentes de todos los combos.
+     */
+    final int componentes;
+
+    /**
+     * Numero de textos distintos de la tabla de textos.
+     */
+    final int textos;
+
+    /**
+     * Posicion de la columna de clases (un byte por registro).
+     */
+    final long clases;
+
+    /**
+     * Posicion de la columna de banderas (un byte por registro).
+     */
+    final long banderas;
+
+    /**
+     * Posicion de la columna de indices de nombre (un int por registro).
+     */
+    final long nombres;
+
+    /**
+     * Posicion de la columna de indices de categoria (un int por registro).
+     */
+    final long categorias;
+
+    /**
+     * Posicion de la columna de precios o descuentos (un long por registro).
+     */
+    final long valores;
+
+    /**
+     * Posicion de la columna de posiciones del catalogo agrupadas por clase.
+     */
+    final long porClase;
+
+    /**
+     * Posicion de la columna con el primer componente de cada registro (registros + 1 ints).
+     */
+    final long inicioComponentes;
+
+    /**
+     * Posicion de la lista de componentes de todos los combos (un int por componente).
+     */
+    final long listaComponentes;
+
+    /**
+     * Posicion de la columna con el primer byte de cada texto (textos + 1 ints).
+     */
+    final long inicioTextos;
+
+    /**
+     * Posicion de los bytes UTF-8 de todos los textos, seguidos.
+     */
+    final long bytesTextos;
+
+    /**
+     * Calcula la posicion de cada columna a partir de los conteos.
+     *
+     * @param registros el numero de productos guardados
+     * @param catalogo el numero de productos del catalogo
+     * @param componentes el numero total de componentes de combos
+     * @param textos el numero de textos distintos
+     */
+    DisenoArchivoCatalogo(int registros, int catalogo, int componentes, int textos) {
+        this.registros = registros;
+        this.catalogo = catalogo;
+        this.componentes = componentes;
+        this.textos = textos;
+        this.clases = alinear(CABECERA);
+        this.banderas = alinear(clases + registros);
+        this.nombres = alinear(banderas + registros);
+        this.categorias = alinear(nombres + 4L * registros);
+        this.valores = alinear(categorias + 4L * registros);
+        this.porClase = alinear(valores + 8L * registros);
+        this.inicioComponentes = alinear(porClase + 4L * catalogo);
+        this.listaComponentes = alinear(inicioComponentes + 4L * (registros + 1));
+        this.inicioTextos = alinear(listaComponentes + 4L * componentes);
+        this.bytesTextos = alinear(inicioTextos + 4L * (textos + 1));
+    }
+
+    /**
+     * Redondea una posicion hacia arriba al siguiente multiplo de 8 bytes.
+     *
+     * @param posicion la posicion a alinear
+     * @return la posicion alineada
+     */
+    private static long alinear(long posicion) {
+        return (posicion + 7) & ~7L;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package persistencia;
+
+import java.nio.ByteOrder;
+
+/**
+ * Disposicion de un archivo columnar de facturas, compartida por el exportador y
+ * el lector. Tras una cabecera fija, cada columna ocupa una region contigua
+ * alineada a 8 bytes, de modo que una consulta que solo necesita los totales lee
+ * unicamente esa region:
+ *
+ * <pre>
+ * cabecera | numeros int[n] | idsPedido int[n] | clientes int[n] | anuladas byte[n]
+ *          | fechas long[n] | totales long[n] | inicioLineas int[n+1]
+ *          | cantidades int[l] | productos int[l] | precios long[l]
+ *          | diccionario de clientes | diccionario de productos
+ * </pre>
+ *
+ * Las columnas de clientes y productos guardan indices a los diccionarios, que
+ * contienen cada nombre una sola vez. Los totales y precios van en centavos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+final class DisenoArchivoFacturas {
+
+    /**
+     * Marca de los archivos de facturas ("FACT").
+     */
+    static final int MAGICO = 0x46414354;
+
+    /**
+     * Version del formato. La version 2 guarda los montos en centavos.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Orden de bytes de todas las columnas (el nativo de x86 y ARM).
+     */
+    static final ByteOrder ORDEN = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Tamano de la cabecera: magico, version, facturas, lineas, clientes,
+     * productos (int cada uno) y el dia exportado (long).
+     */
+    static final int CABECERA = 6 * 4 + 8;
+
+    /**
+     * Numero de facturas del archivo.
+     */
+    final int facturas;
+
+    /**
+     * Numero total de lineas de todas las facturas.
+     */
+    final int lineas;
+
+    /**
+     * Posicion de la columna de numeros de factura.
+     */
+    final long numeros;
+
+    /**
+     * Posicion de la columna de IDs de pedido.
+     */
+    final long idsPedido;
+
+    /**
+     * Posicion de la columna de indices de cliente.
+     */
+    final long clientes;
+
+    /**
+     * Posicion de la columna de marcas de anulacion.
+     */
+    final long anuladas;
+
+    /**
+     * Posicion de la columna de fechas de emision, en milisegundos UTC.
+     */
+    final long fechas;
+
+    /**
+     * Posicion de la columna de totales, en centavos.
+     */
+    final long totales;
+
+    /**
+     * Posicion de la columna con la primera linea de cada factura (una entrada extra marca el final).
+     */
+    final long inicioLineas;
+
+    /**
+     * Posicion de la columna de cantidades de cada linea.
+     */
+    final long cantidades;
+
+    /**
+     * Posicion de la columna de indices de producto de cada linea.
+     */
+    final long productos;
+
+    /**
+     * Posicion de la columna de precios unitarios de cada linea, en centavos.
+     */
+    final long precios;
+
+    /**
+     * Posicion de los diccionarios de clientes y productos.
+     */
+    final long diccionarios;
+
+    /**
+     * Calcula la posicion de cada columna a partir de los conteos.
+     *
+     * @param facturas el numero de facturas
+     * @param lineas el numero total de lineas
+     */
+    DisenoArchivoFacturas(int facturas, int lineas) {
+        this.facturas = facturas;
+        this.lineas = lineas;
+        this.numeros = alinear(CABECERA);
+        this.idsPedido = alinear(numeros + 4L * facturas);
+        this.clientes = alinear(idsPedido + 4L * facturas);
+        this.anuladas = alinear(clientes + 4L * facturas);
+        this.fechas = alinear(anuladas + facturas);
+        this.totales = alinear(fechas + 8L * facturas);
+        this.inicioLineas = alinear(totales + 8L * facturas);
+        this.cantidades = alinear(inicioLineas + 4L * (facturas + 1));
+        this.productos = alinear(cantidades + 4L * lineas);
+        this.precios = alinear(productos + 4L * lineas);
+        this.diccionarios = alinear(precios + 8L * lineas);
+    }
+
+    /**
+     * Redondea una posicion al siguiente multiplo de 8.
+     *
+     * @param posicion la posicion
+     * @return la posicion alineada
+     */
+    private static long alinear(long posicion) {
+        return (posicion + 7) & ~7L;
+    }
+}
\ No newline at end of file
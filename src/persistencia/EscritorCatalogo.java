@@ -0,0 +1,196 @@
+package persistencia;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Producto;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Guarda un catalogo de productos en un archivo binario compacto (ver
+ * {@link DisenoArchivoCatalogo}) que {@link LectorCatalogo} carga mapeandolo en memoria.
+ * Se guardan los productos con sus subtipos y la composicion de los combos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public final class EscritorCatalogo {
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private EscritorCatalogo() {
+    }
+
+    /**
+     * Guarda un catalogo como una generacion nueva (ver {@link GeneracionesArchivo}).
+     * El archivo se escribe completo con otro nombre y luego se renombra, de modo que
+     * nunca queda un archivo a medias, y no reemplaza ningun archivo existente, de
+     * modo que un {@link LectorCatalogo} abierto sobre una generacion anterior sigue
+     * siendo valido. Las generaciones anteriores se borran si se puede; las que sigan
+     * mapeadas se borran en un guardado posterior. No debe invocarse a la vez desde
+     * dos hilos para el mismo catalogo.
+     *
+     * @param catalogo los productos del catalogo, en orden
+     * @param archivo la ruta del catalogo, sin sufijo de generacion; su directorio se crea si no existe
+     * @return la ruta de la generacion escrita
+     * @throws IllegalArgumentException si el catalogo o algun producto es nulo o de un tipo desconocido
+     * @throws IOException si no se puede escribir el archivo
+     * @see LectorCatalogo#buscarVigente(Path)
+     */
+    public static Path guardar(List<Producto> catalogo, Path archivo) throws IOException {
+        if (catalogo == null) {
+            throw new IllegalArgumentException("El catalogo no puede ser nulo.");
+        }
+        // Registros: el catalogo en orden y luego los componentes de combos que no esten
+        List<Producto> registros = new ArrayList<>(catalogo);
+        Map<Producto, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            indices.putIfAbsent(registros.get(i), i);
+        }
+        Map<String, Integer> textos = new HashMap<>();
+        int componentes = 0;
+        int[] porClase = new int[3];
+        for (int i = 0; i < registros.size(); i++) {
+            Producto producto = registros.get(i);
+            if (producto == null) {
+                throw new IllegalArgumentException("El catalogo no puede contener productos nulos.");
+            }
+            byte clase = claseDe(producto);
+            if (i < catalogo.size()) {
+                porClase[clase]++;
+            }
+            textos.putIfAbsent(producto.getNombre(), textos.size());
+            if (clase == DisenoArchivoCatalogo.COMIDA) {
+                textos.putIfAbsent(((Comida) producto).getTipo(), textos.size());
+            } else if (clase == DisenoArchivoCatalogo.BEBIDA) {
+                textos.putIfAbsent(((Bebida) producto).getTamano(), textos.size());
+            } else {
+                for (Producto componente : ((Combo) producto).getProductos()) {
+                    componentes++;
+                    if (indices.putIfAbsent(componente, registros.size()) == null) {
+                        registros.add(componente);
+                    }
+                }
+            }
+        }
+
+        DisenoArchivoCatalogo diseno = new DisenoArchivoCatalogo(registros.size(), catalogo.size(), componentes,
+                                                                 textos.size());
+        byte[][] codificados = new byte[textos.size()][];
+        long bytesTextos = 0;
+        for (Map.Entry<String, Integer> entrada : textos.entrySet()) {
+            codificados[entrada.getValue()] = entrada.getKey().getBytes(StandardCharsets.UTF_8);
+            bytesTextos += codificados[entrada.getValue()].length;
+        }
+        long tamano = diseno.bytesTextos + bytesTextos;
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IOException("El catalogo excede el tamano maximo de archivo.");
+        }
+
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        TreeMap<Long, Path> anteriores = GeneracionesArchivo.listar(archivo);
+        long generacion = anteriores.isEmpty() ? 1 : anteriores.lastKey() + 1;
+        Path destino = GeneracionesArchivo.ruta(archivo, generacion);
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            mapa.order(DisenoArchivoCatalogo.ORDEN);
+            mapa.putInt(DisenoArchivoCatalogo.MAGICO)
+                .putInt(DisenoArchivoCatalogo.VERSION)
+                .putInt(diseno.registros)
+                .putInt(diseno.catalogo)
+                .putInt(diseno.componentes)
+                .putInt(diseno.textos)
+                .putInt(porClase[DisenoArchivoCatalogo.COMIDA])
+                .putInt(porClase[DisenoArchivoCatalogo.BEBIDA])
+                .putInt(porClase[DisenoArchivoCatalogo.COMBO]);
+
+            int componente = 0;
+            int[] siguienteDeClase = {0, porClase[0], porClase[0] + porClase[1]};
+            for (int i = 0; i < registros.size(); i++) {
+                Producto producto = registros.get(i);
+                byte clase = claseDe(producto);
+                boolean marcado = false;
+                int categoria = DisenoArchivoCatalogo.SIN_CATEGORIA;
+                long valor = producto.getPrecioCentavos();
+                mapa.putInt((int) (diseno.inicioComponentes + 4L * i), componente);
+                if (i < diseno.catalogo) {
+                    mapa.putInt((int) (diseno.porClase + 4L * siguienteDeClase[clase]++), i);
+                }
+                if (clase == DisenoArchivoCatalogo.COMIDA) {
+                    Comida comida = (Comida) producto;
+                    marcado = comida.isEsVegetariano();
+                    categoria = textos.get(comida.getTipo());
+                } else if (clase == DisenoArchivoCatalogo.BEBIDA) {
+                    Bebida bebida = (Bebida) producto;
+                    marcado = bebida.isConAlcohol();
+                    categoria = textos.get(bebida.getTamano());
+                } else {
+                    Combo combo = (Combo) producto;
+                    valor = Double.doubleToRawLongBits(combo.getDescuento());
+                    for (Producto parte : combo.getProductos()) {
+                        mapa.putInt((int) (diseno.listaComponentes + 4L * componente++), indices.get(parte));
+                    }
+                }
+                mapa.put((int) (diseno.clases + i), clase);
+                mapa.put((int) (diseno.banderas + i), marcado ? DisenoArchivoCatalogo.MARCADO : 0);
+                mapa.putInt((int) (diseno.nombres + 4L * i), textos.get(producto.getNombre()));
+                mapa.putInt((int) (diseno.categorias + 4L * i), categoria);
+                mapa.putLong((int) (diseno.valores + 8L * i), valor);
+            }
+            mapa.putInt((int) (diseno.inicioComponentes + 4L * registros.size()), componente);
+
+            int inicio = 0;
+            mapa.position((int) diseno.bytesTextos);
+            for (int i = 0; i < codificados.length; i++) {
+                mapa.putInt((int) (diseno.inicioTextos + 4L * i), inicio);
+                mapa.put(codificados[i]);
+                inicio += codificados[i].length;
+            }
+            mapa.putInt((int) (diseno.inicioTextos + 4L * codificados.length), inicio);
+            mapa.force();
+        }
+        Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+
+        // La generacion nueva ya es la vigente; las anteriores solo ocupan espacio
+        GeneracionesArchivo.borrarAnteriores(archivo, generacion);
+        return destino;
+    }
+
+    /**
+     * Obtiene la clase de un producto en el archivo.
+     *
+     * @throws IllegalArgumentException si el producto no es comida, bebida ni combo
+     */
+    private static byte claseDe(Producto producto) {
+        if (producto instanceof Comida) {
+            return DisenoArchivoCatalogo.COMIDA;
+        }
+        if (producto instanceof Bebida) {
+            return DisenoArchivoCatalogo.BEBIDA;
+        }
+        if (producto instanceof Combo) {
+            return DisenoArchivoCatalogo.COMBO;
+        }
+        throw new IllegalArgumentException("Tipo de producto desconocido: " + producto.getClass().getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,335 @@
+package persistencia;
+
+import modelo.ConsumidorLineaPedido;
+import modelo.Factura;
+import modelo.Producto;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Exporta las facturas de un dia a un archivo columnar (ver {@link DisenoArchivoFacturas})
+ * escrito a traves de un archivo mapeado en memoria.
+ *
+ * La exportacion recorre su fuente dos veces: una primera pasada cuenta facturas
+ * y lineas y arma los diccionarios, y la segunda escribe cada valor en su columna.
+ * Lo habitual es pasar una copia de las facturas del dia, para no bloquear la
+ * facturacion mientras se escribe el archivo; si la fuente crece entre las dos
+ * pasadas, la segunda se detiene en las mismas facturas que conto la primera.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public final class ExportadorFacturas {
+
+    /**
+     * Prefijo del nombre de los archivos exportados.
+     */
+    static final String PREFIJO = "facturas-";
+
+    /**
+     * Extension de los archivos exportados.
+     */
+    static final String EXTENSION = ".col";
+
+    /**
+     * Fuente de facturas que se recorre en orden de emision, por ejemplo
+     * {@code lista::forEach}. Las facturas solo pueden agregarse al final entre
+     * dos recorridos.
+     */
+    public interface Fuente {
+
+        /**
+         * Recorre todas las facturas en orden de emision.
+         *
+         * @param consumidor el consumidor que recibe cada factura
+         */
+        void recorrer(Consumer<Factura> consumidor);
+    }
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private ExportadorFacturas() {
+    }
+
+    /**
+     * Obtiene la ruta del archivo de un dia dentro de un directorio.
+     *
+     * @param directorio el directorio de exportacion
+     * @param dia el dia
+     * @return la ruta del archivo, por ejemplo facturas-2025-03-31.col
+     */
+    public static Path archivoDelDia(Path directorio, LocalDate dia) {
+        return directorio.resolve(PREFIJO + dia + EXTENSION);
+    }
+
+    /**
+     * Exporta las facturas emitidas en un dia. El archivo se escribe completo con
+     * otro nombre y luego se renombra, de modo que nunca queda un archivo a medias.
+     *
+     * @param fuente la fuente de las facturas
+     * @param dia el dia a exportar
+     * @param directorio el directorio de exportacion; se crea si no existe
+     * @return el numero de facturas exportadas
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static int exportarDia(Fuente fuente, LocalDate dia, Path directorio) throws IOException {
+        // Primera pasada: conteos y diccionarios
+        Conteo conteo = new Conteo(dia);
+        fuente.recorrer(conteo::contar);
+        DisenoArchivoFacturas diseno = new DisenoArchivoFacturas(conteo.facturas, conteo.lineas);
+        byte[][] clientes = codificar(conteo.clientes);
+        byte[][] productos = codificar(conteo.productos);
+        long tamano = diseno.diccionarios + tamanoDiccionario(clientes) + tamanoDiccionario(productos);
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IOException("La exportacion del dia " + dia + " excede el tamano maximo de archivo.");
+        }
+
+        Files.createDirectories(directorio);
+        Path destino = archivoDelDia(directorio, dia);
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            mapa.order(DisenoArchivoFacturas.ORDEN);
+            mapa.putInt(DisenoArchivoFacturas.MAGICO)
+                .putInt(DisenoArchivoFacturas.VERSION)
+                .putInt(diseno.facturas)
+                .putInt(diseno.lineas)
+                .putInt(clientes.length)
+                .putInt(productos.length)
+                .putLong(dia.toEpochDay());
+
+            // Segunda pasada: cada valor a su columna
+            Escritura escritura = new Escritura(dia, diseno, mapa, conteo);
+            fuente.recorrer(escritura::escribir);
+            mapa.putInt((int) (diseno.inicioLineas + 4L * diseno.facturas), escritura.linea);
+
+            mapa.position((int) diseno.diccionarios);
+            escribirDiccionario(mapa, clientes);
+            escribirDiccionario(mapa, productos);
+            mapa.force();
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return diseno.facturas;
+    }
+
+    /**
+     * Codifica en UTF-8 los nombres de un diccionario, en el orden de sus indices.
+     *
+     * @param diccionario el mapa de nombre a indice
+     * @return los nombres codificados, indexados por su indice
+     */
+    private static byte[][] codificar(Map<String, Integer> diccionario) {
+        byte[][] codificados = new byte[diccionario.size()][];
+        for (Map.Entry<String, Integer> entrada : diccionario.entrySet()) {
+            codificados[entrada.getValue()] = entrada.getKey().getBytes(StandardCharsets.UTF_8);
+        }
+        return codificados;
+    }
+
+    /**
+     * Calcula el tamano que ocupa un diccionario en el archivo: cada cadena
+     * precedida de su longitud.
+     *
+     * @param cadenas las cadenas codificadas
+     * @return el tamano en bytes
+     */
+    private static long tamanoDiccionario(byte[][] cadenas) {
+        long tamano = 0;
+        for (byte[] cadena : cadenas) {
+            tamano += 4 + cadena.length;
+        }
+        return tamano;
+    }
+
+    /**
+     * Escribe un diccionario en la posicion actual del mapa.
+     *
+     * @param mapa el archivo mapeado
+     * @param cadenas las cadenas codificadas, en el orden de sus indices
+     */
+    private static void escribirDiccionario(MappedByteBuffer mapa, byte[][] cadenas) {
+        for (byte[] cadena : cadenas) {
+            mapa.putInt(cadena.length).put(cadena);
+        }
+    }
+
+    /**
+     * Verifica si una factura pertenece al dia exportado.
+     *
+     * @param factura la factura
+     * @param dia el dia exportado
+     * @return true si la factura se emitio ese dia
+     */
+    private static boolean esDelDia(Factura factura, LocalDate dia) {
+        return factura.getFecha().toLocalDate().equals(dia);
+    }
+
+    /**
+     * Primera pasada: cuenta facturas y lineas y asigna un indice a cada cliente y producto.
+     */
+    private static final class Conteo implements ConsumidorLineaPedido {
+
+        /**
+         * Dia exportado.
+         */
+        final LocalDate dia;
+
+        /**
+         * Indice de cada cliente en su diccionario, en orden de aparicion.
+         */
+        final Map<String, Integer> clientes = new HashMap<>();
+
+        /**
+         * Indice de cada producto en su diccionario, en orden de aparicion.
+         */
+        final Map<String, Integer> productos = new HashMap<>();
+
+        /**
+         * Facturas del dia contadas.
+         */
+        int facturas;
+
+        /**
+         * Lineas contadas de esas facturas.
+         */
+        int lineas;
+
+        /**
+         * Constructor del conteo de un dia.
+         *
+         * @param dia el dia exportado
+         */
+        Conteo(LocalDate dia) {
+            this.dia = dia;
+        }
+
+        /**
+         * Cuenta una factura y sus lineas si pertenece al dia.
+         *
+         * @param factura la factura recorrida
+         */
+        void contar(Factura factura) {
+            if (esDelDia(factura, dia)) {
+                facturas++;
+                clientes.putIfAbsent(factura.getCliente(), clientes.size());
+                factura.recorrerLineas(this);
+            }
+        }
+
+        /**
+         * Cuenta una linea y registra su producto en el diccionario.
+         *
+         * @param producto el producto de la linea
+         * @param cantidad las unidades
+         */
+        @Override
+        public void aceptar(Producto producto, int cantidad) {
+            lineas++;
+            productos.putIfAbsent(producto.getNombre(), productos.size());
+        }
+    }
+
+    /**
+     * Segunda pasada: escribe las facturas contadas en sus columnas.
+     */
+    private static final class Escritura implements ConsumidorLineaPedido {
+
+        /**
+         * Dia exportado.
+         */
+        final LocalDate dia;
+
+        /**
+         * Posicion de cada columna en el archivo.
+         */
+        final DisenoArchivoFacturas diseno;
+
+        /**
+         * Archivo mapeado donde se escriben las columnas.
+         */
+        final MappedByteBuffer mapa;
+
+        /**
+         * Conteo de la primera pasada, con los diccionarios.
+         */
+        final Conteo conteo;
+
+        /**
+         * Posicion de la proxima factura a escribir.
+         */
+        int factura;
+
+        /**
+         * Posicion de la proxima linea a escribir.
+         */
+        int linea;
+
+        /**
+         * Constructor de la segunda pasada.
+         *
+         * @param dia el dia exportado
+         * @param diseno la posicion de cada columna
+         * @param mapa el archivo mapeado
+         * @param conteo el conteo de la primera pasada
+         */
+        Escritura(LocalDate dia, DisenoArchivoFacturas diseno, MappedByteBuffer mapa, Conteo conteo) {
+            this.dia = dia;
+            this.diseno = diseno;
+            this.mapa = mapa;
+            this.conteo = conteo;
+        }
+
+        /**
+         * Escribe una factura del dia y sus lineas, salvo que ya se hayan escrito
+         * todas las que conto la primera pasada.
+         *
+         * @param actual la factura recorrida
+         */
+        void escribir(Factura actual) {
+            if (factura == diseno.facturas || !esDelDia(actual, dia)) {
+                return;
+            }
+            int i = factura++;
+            mapa.putInt((int) (diseno.numeros + 4L * i), actual.getNumero());
+            mapa.putInt((int) (diseno.idsPedido + 4L * i), actual.getIdPedido());
+            mapa.putInt((int) (diseno.clientes + 4L * i), conteo.clientes.get(actual.getCliente()));
+            mapa.put((int) (diseno.anuladas + i), (byte) (actual.isAnulada() ? 1 : 0));
+            mapa.putLong((int) (diseno.fechas + 8L * i), actual.getFecha().toInstant(ZoneOffset.UTC).toEpochMilli());
+            mapa.putLong((int) (diseno.totales + 8L * i), actual.getTotalCentavos());
+            mapa.putInt((int) (diseno.inicioLineas + 4L * i), linea);
+            actual.recorrerLineas(this);
+        }
+
+        /**
+         * Escribe una linea en las columnas de lineas.
+         *
+         * @param producto el producto de la linea
+         * @param cantidad las unidades
+         * @throws IllegalStateException si hay mas lineas que las contadas
+         */
+        @Override
+        public void aceptar(Producto producto, int cantidad) {
+            if (linea == diseno.lineas) {
+                throw new IllegalStateException("Las lineas de las facturas cambiaron durante la exportacion.");
+            }
+            int j = linea++;
+            mapa.putInt((int) (diseno.cantidades + 4L * j), cantidad);
+            mapa.putInt((int) (diseno.productos + 4L * j), conteo.productos.get(producto.getNombre()));
+            mapa.putLong((int) (diseno.precios + 8L * j), producto.calcularPrecioCentavos());
+        }
+    }
+}
\ No newline at end of file
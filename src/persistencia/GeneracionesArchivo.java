@@ -0,0 +1,84 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+/**
+ * Nombres de las generaciones de un archivo que se reescribe completo (el catalogo
+ * o el diario de pedidos). Cada reescritura va a un archivo nuevo con la ruta base
+ * y un sufijo numerico (por ejemplo, catalogo.bin.3) en lugar de reemplazar el
+ * anterior, porque en Windows un archivo mapeado no se puede reemplazar ni borrar.
+ * La generacion vigente es la de numero mayor.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+final class GeneracionesArchivo {
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private GeneracionesArchivo() {
+    }
+
+    /**
+     * Obtiene las generaciones existentes de un archivo.
+     *
+     * @param archivo la ruta base, sin sufijo de generacion
+     * @return mapa ordenado de numero de generacion a archivo, vacio si no hay ninguna
+     * @throws IOException si no se puede listar el directorio
+     */
+    static TreeMap<Long, Path> listar(Path archivo) throws IOException {
+        TreeMap<Long, Path> generaciones = new TreeMap<>();
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio == null || !Files.isDirectory(directorio)) {
+            return generaciones;
+        }
+        String prefijo = archivo.getFileName() + ".";
+        try (DirectoryStream<Path> candidatos = Files.newDirectoryStream(directorio, prefijo + "*")) {
+            for (Path candidato : candidatos) {
+                String sufijo = candidato.getFileName().toString().substring(prefijo.length());
+                if (!sufijo.isEmpty() && sufijo.length() < 19 && sufijo.chars().allMatch(Character::isDigit)) {
+                    generaciones.put(Long.parseLong(sufijo), candidato);
+                }
+            }
+        }
+        return generaciones;
+    }
+
+    /**
+     * Obtiene la ruta de una generacion de un archivo.
+     *
+     * @param archivo la ruta base, sin sufijo de generacion
+     * @param generacion el numero de generacion
+     * @return la ruta de la generacion
+     */
+    static Path ruta(Path archivo, long generacion) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + generacion);
+    }
+
+    /**
+     * Borra las generaciones anteriores a una y el archivo base sin sufijo, si existe.
+     * Los archivos que no se puedan borrar (por ejemplo, porque siguen mapeados) se
+     * dejan para un intento posterior.
+     *
+     * @param archivo la ruta base, sin sufijo de generacion
+     * @param vigente el numero de la generacion que se conserva
+     * @throws IOException si no se puede listar el directorio
+     */
+    static void borrarAnteriores(Path archivo, long vigente) throws IOException {
+        TreeMap<Long, Path> anteriores = new TreeMap<>(listar(archivo).headMap(vigente));
+        anteriores.put(0L, archivo);
+        for (Path anterior : anteriores.values()) {
+            try {
+                Files.deleteIfExists(anterior);
+            } catch (IOException e) {
+                // Sigue mapeado (en Windows); se borra en otra reescritura
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package persistencia;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Producto;
+import utilidades.Dinero;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lector de un archivo de catalogo escrito por {@link EscritorCatalogo}. Abrirlo solo
+ * mapea el archivo y valida la cabecera; cada Producto se construye la primera vez
+ * que se pide y luego se reutiliza, de modo que un catalogo grande queda disponible
+ * sin recorrerlo. Los textos se decodifican tambien a pedido.
+ *
+ * Es seguro para uso concurrente: si dos hilos piden a la vez el mismo producto,
+ * ambos obtienen la misma instancia.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class LectorCatalogo {
+
+    /**
+     * Numero de productos guardados, incluidos los que solo estan en combos.
+     */
+    private final int registros;
+
+    /**
+     * Numero de productos del catalogo.
+     */
+    private final int catalogo;
+
+    /**
+     * Clase de cada registro (comida, bebida o combo).
+     */
+    private final ByteBuffer clases;
+
+    /**
+     * Bandera de cada registro: vegetariana o con alcohol.
+     */
+    private final ByteBuffer banderas;
+
+    /**
+     * Indice en la tabla de textos del nombre de cada registro.
+     */
+    private final IntBuffer nombres;
+
+    /**
+     * Indice en la tabla de textos del tipo o tamano de cada registro.
+     */
+    private final IntBuffer categorias;
+
+    /**
+     * Precio base en centavos de cada registro, o los bits del descuento en los combos.
+     */
+    private final LongBuffer valores;
+
+    /**
+     * Inicio de cada clase en la columna porClase; la ultima entrada es el tamano del catalogo.
+     */
+    private final int[] inicioPorClase;
+
+    /**
+     * Posiciones del catalogo agrupadas por clase.
+     */
+    private final IntBuffer porClase;
+
+    /**
+     * Primer componente de cada registro en la lista de componentes.
+     */
+    private final IntBuffer inicioComponentes;
+
+    /**
+     * Registros de los componentes de todos los combos, seguidos.
+     */
+    private final IntBuffer listaComponentes;
+
+    /**
+     * Primer byte de cada texto en los bytes de textos.
+     */
+    private final IntBuffer inicioTextos;
+
+    /**
+     * Bytes UTF-8 de todos los textos.
+     */
+    private final ByteBuffer bytesTextos;
+
+    /**
+     * Productos ya construidos, por registro.
+     */
+    private final AtomicReferenceArray<Producto> productos;
+
+    /**
+     * Textos ya decodificados, por indice. Un texto puede decodificarse dos veces si
+     * dos hilos lo piden a la vez; ambas copias son iguales.
+     */
+    private final String[] textos;
+
+    /**
+     * Constructor que mapea un archivo de catalogo. El canal se cierra enseguida;
+     * el mapeo sigue valido mientras el lector este en uso.
+     *
+     * @param archivo la ruta del archivo
+     * @throws IOException si no se puede leer o no es un archivo de catalogo valido
+     */
+    public LectorCatalogo(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            mapa.order(DisenoArchivoCatalogo.ORDEN);
+            if (mapa.remaining() < DisenoArchivoCatalogo.CABECERA || mapa.getInt() != DisenoArchivoCatalogo.MAGICO) {
+                throw new IOException("No es un archivo de catalogo: " + archivo);
+            }
+            int version = mapa.getInt();
+            if (version != DisenoArchivoCatalogo.VERSION) {
+                throw new IOException("Version de archivo de catalogo no soportada: " + version);
+            }
+            this.registros = mapa.getInt();
+            this.catalogo = mapa.getInt();
+            int componentes = mapa.getInt();
+            int cantidadTextos = mapa.getInt();
+            this.inicioPorClase = new int[4];
+            for (int clase = 0; clase < 3; clase++) {
+                inicioPorClase[clase + 1] = inicioPorClase[clase] + mapa.getInt();
+            }
+            if (catalogo < 0 || catalogo > registros || inicioPorClase[3] != catalogo) {
+                throw new IOException("Archivo de catalogo danado: " + archivo);
+            }
+
+            DisenoArchivoCatalogo diseno = new DisenoArchivoCatalogo(registros, catalogo, componentes, cantidadTextos);
+            this.clases = columna(mapa, diseno.clases, registros);
+            this.banderas = columna(mapa, diseno.banderas, registros);
+            this.nombres = columna(mapa, diseno.nombres, 4L * registros).asIntBuffer();
+            this.categorias = columna(mapa, diseno.categorias, 4L * registros).asIntBuffer();
+            this.valores = columna(mapa, diseno.valores, 8L * registros).asLongBuffer();
+            this.porClase = columna(mapa, diseno.porClase, 4L * catalogo).asIntBuffer();
+            this.inicioComponentes = columna(mapa, diseno.inicioComponentes, 4L * (registros + 1)).asIntBuffer();
+            this.listaComponentes = columna(mapa, diseno.listaComponentes, 4L * componentes).asIntBuffer();
+            this.inicioTextos = columna(mapa, diseno.inicioTextos, 4L * (cantidadTextos + 1)).asIntBuffer();
+            this.bytesTextos = columna(mapa, diseno.bytesTextos, mapa.capacity() - diseno.bytesTextos);
+            this.productos = new AtomicReferenceArray<>(registros);
+            this.textos = new String[cantidadTextos];
+        } catch (RuntimeException e) {
+            throw new IOException("Archivo de catalogo danado: " + archivo, e);
+        }
+    }
+
+    /**
+     * Busca la generacion vigente de un catalogo guardado con
+     * {@link EscritorCatalogo#guardar(java.util.List, Path)}. Si no hay generaciones pero existe
+     * un archivo con la ruta exacta (el formato anterior, sin generaciones), se usa ese.
+     *
+     * @param archivo la ruta del catalogo, sin sufijo de generacion
+     * @return la ruta de la generacion vigente, o vacio si el catalogo no se ha guardado
+     * @throws IOException si no se puede listar el directorio
+     */
+    public static Optional<Path> buscarVigente(Path archivo) throws IOException {
+        Map.Entry<Long, Path> ultima = GeneracionesArchivo.listar(archivo).lastEntry();
+        if (ultima != null) {
+            return Optional.of(ultima.getValue());
+        }
+        return Files.exists(archivo) ? Optional.of(archivo) : Optional.empty();
+    }
+
+    /**
+     * Obtiene el numero de productos del catalogo.
+     *
+     * @return el conteo de productos
+     */
+    public int getCantidad() {
+        return catalogo;
+    }
+
+    /**
+     * Obtiene las posiciones en el catalogo de los productos de un tipo, sin
+     * construirlos. Se copian de una columna del archivo, sin recorrer el catalogo.
+     *
+     * @param tipo el tipo de producto ("Comida", "Bebida", "Combo")
+     * @return arreglo nuevo con las posiciones en orden creciente, vacio si el tipo no existe
+     */
+    public int[] getPosicionesDeTipo(String tipo) {
+        int clase;
+        if ("Comida".equals(tipo)) {
+            clase = DisenoArchivoCatalogo.COMIDA;
+        } else if ("Bebida".equals(tipo)) {
+            clase = DisenoArchivoCatalogo.BEBIDA;
+        } else if ("Combo".equals(tipo)) {
+            clase = DisenoArchivoCatalogo.COMBO;
+        } else {
+            return new int[0];
+        }
+        int[] posiciones = new int[inicioPorClase[clase + 1] - inicioPorClase[clase]];
+        porClase.get(inicioPorClase[clase], posiciones);
+        return posiciones;
+    }
+
+    /**
+     * Obtiene un producto del catalogo, construyendolo la primera vez.
+     *
+     * @param posicion la posicion en el catalogo
+     * @return el producto; siempre la misma instancia para la misma posicion
+     * @throws IndexOutOfBoundsException si la posicion esta fuera del catalogo
+     */
+    public Producto getProducto(int posicion) {
+        validar(posicion);
+        return registro(posicion);
+    }
+
+    /**
+     * Obtiene el producto de un registro, construyendolo si hace falta. Los
+     * componentes de un combo se obtienen por el mismo camino, por lo que un
+     * producto compartido entre combos o con el catalogo es una sola instancia.
+     *
+     * @param indice el registro
+     * @return el producto; siempre la misma instancia para el mismo registro
+     */
+    private Producto registro(int indice) {
+        Producto producto = productos.get(indice);
+        if (producto != null) {
+            return producto;
+        }
+        producto = construir(indice);
+        if (!productos.compareAndSet(indice, null, producto)) {
+            producto = productos.get(indice);
+        }
+        return producto;
+    }
+
+    /**
+     * Construye el producto de un registro, con sus componentes si es un combo.
+     *
+     * @param indice el registro
+     * @return el producto nuevo
+     */
+    private Producto construir(int indice) {
+        String nombre = texto(nombres.get(indice));
+        long valor = valores.get(indice);
+        boolean marcado = banderas.get(indice) == DisenoArchivoCatalogo.MARCADO;
+        switch (clases.get(indice)) {
+            case DisenoArchivoCatalogo.COMIDA:
+                return new Comida(nombre, Dinero.aDecimal(valor), texto(categorias.get(indice)), marcado);
+            case DisenoArchivoCatalogo.BEBIDA:
+                return new Bebida(nombre, Dinero.aDecimal(valor), texto(categorias.get(indice)), marcado);
+            default:
+                Combo combo = new Combo(nombre, Double.longBitsToDouble(valor));
+                for (int i = inicioComponentes.get(indice); i < inicioComponentes.get(indice + 1); i++) {
+                    combo.agregarProducto(registro(listaComponentes.get(i)));
+                }
+                return combo;
+        }
+    }
+
+    /**
+     * Obtiene un texto de la tabla, decodificandolo la primera vez.
+     *
+     * @param indice el indice del texto
+     * @return el texto
+     */
+    private String texto(int indice) {
+        String texto = textos[indice];
+        if (texto == null) {
+            int inicio = inicioTextos.get(indice);
+            byte[] bytes = new byte[inicioTextos.get(indice + 1) - inicio];
+            bytesTextos.get(inicio, bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+            textos[indice] = texto;
+        }
+        return texto;
+    }
+
+    /**
+     * Verifica que una posicion pertenezca al catalogo.
+     *
+     * @param posicion la posicion
+     * @throws IndexOutOfBoundsException si esta fuera del catalogo
+     */
+    private void validar(int posicion) {
+        if (posicion < 0 || posicion >= catalogo) {
+            throw new IndexOutOfBoundsException("Posicion " + posicion + " fuera del catalogo de " + catalogo);
+        }
+    }
+
+    /**
+     * Obtiene una vista de una columna del archivo con el orden de bytes del formato.
+     *
+     * @param mapa el archivo mapeado
+     * @param inicio la posicion de la columna
+     * @param longitud el tamano de la columna en bytes
+     * @return la vista de la columna
+     */
+    private static ByteBuffer columna(MappedByteBuffer mapa, long inicio, long longitud) {
+        return mapa.slice((int) inicio, (int) longitud).order(DisenoArchivoCatalogo.ORDEN);
+    }
+}
\ No newline at end of file
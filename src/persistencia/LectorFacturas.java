@@ -0,0 +1,402 @@
+package persistencia;
+
+import utilidades.Dinero;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de un archivo columnar de facturas escrito por {@link ExportadorFacturas}.
+ * El archivo se mapea en memoria y cada columna se expone como una vista primitiva,
+ * de modo que las consultas agregadas recorren solo las columnas que necesitan,
+ * en forma secuencial.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class LectorFacturas implements Closeable {
+
+    /**
+     * Interfaz que recibe las lineas de una factura.
+     */
+    public interface ConsumidorLinea {
+
+        /**
+         * Se invoca por cada linea de la factura.
+         *
+         * @param producto el nombre del producto
+         * @param cantidad las unidades
+         * @param precioUnitarioCentavos el precio final de una unidad, en centavos
+         */
+        void aceptar(String producto, int cantidad, long precioUnitarioCentavos);
+    }
+
+    /**
+     * Canal del archivo, abierto mientras dure el lector.
+     */
+    private final FileChannel canal;
+
+    /**
+     * Dia exportado en el archivo.
+     */
+    private final LocalDate dia;
+
+    /**
+     * Numero de facturas del archivo.
+     */
+    private final int facturas;
+
+    /**
+     * Columna de numeros de factura.
+     */
+    private final IntBuffer numeros;
+
+    /**
+     * Columna de IDs de pedido.
+     */
+    private final IntBuffer idsPedido;
+
+    /**
+     * Columna de indices de cliente en el diccionario de clientes.
+     */
+    private final IntBuffer indicesCliente;
+
+    /**
+     * Columna de marcas de anulacion (1 si la factura estaba anulada).
+     */
+    private final ByteBuffer anuladas;
+
+    /**
+     * Columna de fechas de emision, en milisegundos UTC.
+     */
+    private final LongBuffer fechas;
+
+    /**
+     * Columna de totales, en centavos.
+     */
+    private final LongBuffer totales;
+
+    /**
+     * Columna con la primera linea de cada factura; la entrada extra marca el final.
+     */
+    private final IntBuffer inicioLineas;
+
+    /**
+     * Columna de cantidades de cada linea.
+     */
+    private final IntBuffer cantidades;
+
+    /**
+     * Columna de indices de producto de cada linea en el diccionario de productos.
+     */
+    private final IntBuffer indicesProducto;
+
+    /**
+     * Columna de precios unitarios de cada linea, en centavos.
+     */
+    private final LongBuffer precios;
+
+    /**
+     * Diccionario de clientes: cada nombre una sola vez.
+     */
+    private final String[] clientes;
+
+    /**
+     * Diccionario de productos: cada nombre una sola vez.
+     */
+    private final String[] productos;
+
+    /**
+     * Constructor que abre y mapea un archivo exportado.
+     *
+     * @param archivo la ruta del archivo
+     * @throws IOException si no se puede leer o no es un archivo de facturas valido
+     */
+    public LectorFacturas(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            mapa.order(DisenoArchivoFacturas.ORDEN);
+            if (mapa.remaining() < DisenoArchivoFacturas.CABECERA || mapa.getInt() != DisenoArchivoFacturas.MAGICO) {
+                throw new IOException("No es un archivo de facturas: " + archivo);
+            }
+            int version = mapa.getInt();
+            if (version != DisenoArchivoFacturas.VERSION) {
+                throw new IOException("Version de archivo de facturas no soportada: " + version);
+            }
+            int n = mapa.getInt();
+            int l = mapa.getInt();
+            int numeroClientes = mapa.getInt();
+            int numeroProductos = mapa.getInt();
+            this.dia = LocalDate.ofEpochDay(mapa.getLong());
+            this.facturas = n;
+
+            DisenoArchivoFacturas diseno = new DisenoArchivoFacturas(n, l);
+            this.numeros = columna(mapa, diseno.numeros, 4L * n).asIntBuffer();
+            this.idsPedido = columna(mapa, diseno.idsPedido, 4L * n).asIntBuffer();
+            this.indicesCliente = columna(mapa, diseno.clientes, 4L * n).asIntBuffer();
+            this.anuladas = columna(mapa, diseno.anuladas, n);
+            this.fechas = columna(mapa, diseno.fechas, 8L * n).asLongBuffer();
+            this.totales = columna(mapa, diseno.totales, 8L * n).asLongBuffer();
+            this.inicioLineas = columna(mapa, diseno.inicioLineas, 4L * (n + 1)).asIntBuffer();
+            this.cantidades = columna(mapa, diseno.cantidades, 4L * l).asIntBuffer();
+            this.indicesProducto = columna(mapa, diseno.productos, 4L * l).asIntBuffer();
+            this.precios = columna(mapa, diseno.precios, 8L * l).asLongBuffer();
+
+            mapa.position((int) diseno.diccionarios);
+            this.clientes = leerDiccionario(mapa, numeroClientes);
+            this.productos = leerDiccionario(mapa, numeroProductos);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e instanceof IOException ? (IOException) e : new IOException("Archivo de facturas danado: " + archivo, e);
+        }
+    }
+
+    /**
+     * Abre los archivos exportados de todos los dias de un mes que existan en un directorio.
+     *
+     * Cada lector tiene sus propios diccionarios; para los acumulados del mes
+     * combinados por nombre se usa {@link ResumenMensualFacturas}.
+     *
+     * @param directorio el directorio de exportacion
+     * @param mes el mes
+     * @return los lectores abiertos, en orden de dia; el llamador debe cerrarlos
+     * @throws IOException si algun archivo no se puede abrir
+     */
+    public static List<LectorFacturas> abrirMes(Path directorio, YearMonth mes) throws IOException {
+        List<LectorFacturas> lectores = new ArrayList<>();
+        try {
+            for (int d = 1; d <= mes.lengthOfMonth(); d++) {
+                Path archivo = ExportadorFacturas.archivoDelDia(directorio, mes.atDay(d));
+                if (Files.exists(archivo)) {
+                    lectores.add(new LectorFacturas(archivo));
+                }
+            }
+        } catch (IOException e) {
+            for (LectorFacturas lector : lectores) {
+                lector.close();
+            }
+            throw e;
+        }
+        return lectores;
+    }
+
+    /**
+     * Obtiene el dia exportado en el archivo.
+     *
+     * @return el dia
+     */
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    /**
+     * Obtiene el numero de facturas del archivo.
+     *
+     * @return el conteo de facturas
+     */
+    public int getCantidad() {
+        return facturas;
+    }
+
+    /**
+     * Obtiene el numero de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return el numero de factura
+     */
+    public int getNumero(int i) {
+        return numeros.get(i);
+    }
+
+    /**
+     * Obtiene el ID del pedido de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return el ID del pedido
+     */
+    public int getIdPedido(int i) {
+        return idsPedido.get(i);
+    }
+
+    /**
+     * Obtiene el cliente de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return el nombre del cliente
+     */
+    public String getCliente(int i) {
+        return clientes[indicesCliente.get(i)];
+    }
+
+    /**
+     * Obtiene la fecha de emision de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return la fecha, con precision de milisegundos
+     */
+    public LocalDateTime getFecha(int i) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(fechas.get(i)), ZoneOffset.UTC);
+    }
+
+    /**
+     * Obtiene el total de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return el total
+     */
+    public double getTotal(int i) {
+        return Dinero.aDecimal(totales.get(i));
+    }
+
+    /**
+     * Obtiene el total de una factura en centavos.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return el total, en centavos
+     */
+    public long getTotalCentavos(int i) {
+        return totales.get(i);
+    }
+
+    /**
+     * Verifica si una factura estaba anulada al exportarse.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @return true si estaba anulada
+     */
+    public boolean isAnulada(int i) {
+        return anuladas.get(i) != 0;
+    }
+
+    /**
+     * Recorre las lineas de una factura.
+     *
+     * @param i la posicion de la factura en el archivo
+     * @param consumidor el consumidor que recibe cada linea
+     */
+    public void recorrerLineas(int i, ConsumidorLinea consumidor) {
+        int fin = inicioLineas.get(i + 1);
+        for (int j = inicioLineas.get(i); j < fin; j++) {
+            consumidor.aceptar(productos[indicesProducto.get(j)], cantidades.get(j), precios.get(j));
+        }
+    }
+
+    /**
+     * Suma los totales de las facturas no anuladas recorriendo solo las columnas
+     * de totales y anuladas.
+     *
+     * @return el total facturado del dia, en centavos
+     */
+    public long sumarTotalesCentavos() {
+        long suma = 0;
+        for (int i = 0; i < facturas; i++) {
+            if (anuladas.get(i) == 0) {
+                suma += totales.get(i);
+            }
+        }
+        return suma;
+    }
+
+    /**
+     * Acumula el total de las facturas no anuladas de cada cliente.
+     *
+     * @param destino arreglo indexado por cliente (ver {@link #getClientes()}) donde se suman los totales en centavos
+     */
+    public void sumarTotalesPorCliente(long[] destino) {
+        for (int i = 0; i < facturas; i++) {
+            if (anuladas.get(i) == 0) {
+                destino[indicesCliente.get(i)] += totales.get(i);
+            }
+        }
+    }
+
+    /**
+     * Acumula las unidades vendidas de cada producto en facturas no anuladas.
+     *
+     * @param destino arreglo indexado por producto (ver {@link #getProductos()}) donde se suman las unidades
+     */
+    public void sumarUnidadesPorProducto(long[] destino) {
+        for (int i = 0; i < facturas; i++) {
+            if (anuladas.get(i) == 0) {
+                int fin = inicioLineas.get(i + 1);
+                for (int j = inicioLineas.get(i); j < fin; j++) {
+                    destino[indicesProducto.get(j)] += cantidades.get(j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el diccionario de clientes del archivo.
+     *
+     * @return copia de los nombres de clientes, en el orden de sus indices
+     */
+    public String[] getClientes() {
+        return clientes.clone();
+    }
+
+    /**
+     * Obtiene el diccionario de productos del archivo.
+     *
+     * @return copia de los nombres de productos, en el orden de sus indices
+     */
+    public String[] getProductos() {
+        return productos.clone();
+    }
+
+    /**
+     * Cierra el archivo.
+     *
+     * @throws IOException si ocurre un error al cerrar
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Obtiene la region de una columna como un buffer independiente.
+     *
+     * @param mapa el archivo mapeado
+     * @param inicio la posicion de la columna
+     * @param longitud el tamano de la columna en bytes
+     * @return la vista de la columna, con el orden de bytes del formato
+     */
+    private static ByteBuffer columna(MappedByteBuffer mapa, long inicio, long longitud) {
+        return mapa.slice((int) inicio, (int) longitud).order(DisenoArchivoFacturas.ORDEN);
+    }
+
+    /**
+     * Lee un diccionario desde la posicion actual del mapa.
+     *
+     * @param mapa el archivo mapeado
+     * @param cantidad el numero de cadenas
+     * @return las cadenas, en el orden de sus indices
+     */
+    private static String[] leerDiccionario(MappedByteBuffer mapa, int cantidad) {
+        String[] cadenas = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            byte[] bytes = new byte[mapa.getInt()];
+            mapa.get(bytes);
+            cadenas[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return cadenas;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package persistencia;
+
+import utilidades.Dinero;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resumen de un mes de facturas calculado a partir de los archivos columnares de
+ * sus dias (ver {@link ExportadorFacturas}). Cada dia tiene sus propios
+ * diccionarios de clientes y productos, por lo que los acumulados por dia se
+ * combinan por nombre.
+ *
+ * Los archivos se abren de a uno: cada dia se mapea, se recorre solo en las
+ * columnas que el resumen necesita y se cierra antes de pasar al siguiente.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see LectorFacturas#abrirMes(Path, YearMonth)
+ */
+public final class ResumenMensualFacturas {
+
+    /**
+     * Mes resumido.
+     */
+    private final YearMonth mes;
+
+    /**
+     * Dias del mes que tenian archivo exportado.
+     */
+    private int dias;
+
+    /**
+     * Facturas del mes, incluidas las anuladas.
+     */
+    private int facturas;
+
+    /**
+     * Facturas del mes que estaban anuladas al exportarse.
+     */
+    private int anuladas;
+
+    /**
+     * Total facturado en facturas no anuladas, en centavos.
+     */
+    private long totalCentavos;
+
+    /**
+     * Total de facturas no anuladas de cada cliente, en centavos, ordenado por nombre.
+     */
+    private final Map<String, Long> totalesPorCliente;
+
+    /**
+     * Unidades vendidas de cada producto en facturas no anuladas, ordenadas por nombre.
+     */
+    private final Map<String, Long> unidadesPorProducto;
+
+    /**
+     * Constructor de un resumen vacio.
+     *
+     * @param mes el mes resumido
+     */
+    private ResumenMensualFacturas(YearMonth mes) {
+        this.mes = mes;
+        this.totalesPorCliente = new TreeMap<>();
+        this.unidadesPorProducto = new TreeMap<>();
+    }
+
+    /**
+     * Calcula el resumen de un mes con los archivos exportados de sus dias que
+     * existan en un directorio. Los dias sin archivo no aportan nada.
+     *
+     * @param directorio el directorio de exportacion
+     * @param mes el mes a resumir
+     * @return el resumen del mes
+     * @throws IllegalArgumentException si algun parametro es nulo
+     * @throws IOException si algun archivo no se puede leer
+     */
+    public static ResumenMensualFacturas calcular(Path directorio, YearMonth mes) throws IOException {
+        if (directorio == null || mes == null) {
+            throw new IllegalArgumentException("El directorio y el mes no pueden ser nulos.");
+        }
+        ResumenMensualFacturas resumen = new ResumenMensualFacturas(mes);
+        for (int d = 1; d <= mes.lengthOfMonth(); d++) {
+            Path archivo = ExportadorFacturas.archivoDelDia(directorio, mes.atDay(d));
+            if (Files.exists(archivo)) {
+                try (LectorFacturas lector = new LectorFacturas(archivo)) {
+                    resumen.agregar(lector);
+                }
+            }
+        }
+        return resumen;
+    }
+
+    /**
+     * Suma al resumen los acumulados de un dia, traduciendo sus indices de
+     * cliente y producto a nombres.
+     *
+     * @param lector el lector del archivo del dia
+     */
+    private void agregar(LectorFacturas lector) {
+        dias++;
+        facturas += lector.getCantidad();
+        for (int i = 0; i < lector.getCantidad(); i++) {
+            if (lector.isAnulada(i)) {
+                anuladas++;
+            }
+        }
+        totalCentavos += lector.sumarTotalesCentavos();
+
+        String[] clientes = lector.getClientes();
+        long[] porCliente = new long[clientes.length];
+        lector.sumarTotalesPorCliente(porCliente);
+        combinar(totalesPorCliente, clientes, porCliente);
+
+        String[] productos = lector.getProductos();
+        long[] porProducto = new long[productos.length];
+        lector.sumarUnidadesPorProducto(porProducto);
+        combinar(unidadesPorProducto, productos, porProducto);
+    }
+
+    /**
+     * Suma los valores de un dia a un acumulado por nombre. Los nombres cuyo valor
+     * del dia es cero (por ejemplo, los que solo aparecen en facturas anuladas)
+     * no se agregan.
+     *
+     * @param destino el acumulado del mes
+     * @param nombres el diccionario del dia
+     * @param valores los valores del dia, indexados como el diccionario
+     */
+    private static void combinar(Map<String, Long> destino, String[] nombres, long[] valores) {
+        for (int i = 0; i < nombres.length; i++) {
+            if (valores[i] != 0) {
+                destino.merge(nombres[i], valores[i], Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el mes resumido.
+     *
+     * @return el mes
+     */
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    /**
+     * Obtiene el numero de dias del mes que tenian archivo exportado.
+     *
+     * @return el conteo de dias
+     */
+    public int getDias() {
+        return dias;
+    }
+
+    /**
+     * Obtiene el numero de facturas del mes, incluidas las anuladas.
+     *
+     * @return el conteo de facturas
+     */
+    public int getFacturas() {
+        return facturas;
+    }
+
+    /**
+     * Obtiene el numero de facturas anuladas del mes.
+     *
+     * @return el conteo de facturas anuladas
+     */
+    public int getAnuladas() {
+        return anuladas;
+    }
+
+    /**
+     * Obtiene el total facturado del mes en facturas no anuladas.
+     *
+     * @return el total
+     */
+    public double getTotal() {
+        return Dinero.aDecimal(totalCentavos);
+    }
+
+    /**
+     * Obtiene el total facturado del mes en facturas no anuladas, en centavos.
+     *
+     * @return el total, en centavos
+     */
+    public long getTotalCentavos() {
+        return totalCentavos;
+    }
+
+    /**
+     * Obtiene el total de cada cliente en el mes.
+     *
+     * @return mapa no modificable de cliente a total en centavos, ordenado por nombre
+     */
+    public Map<String, Long> getTotalesPorCliente() {
+        return Collections.unmodifiableMap(totalesPorCliente);
+    }
+
+    /**
+     * Obtiene las unidades vendidas de cada producto en el mes.
+     *
+     * @return mapa no modificable de producto a unidades, ordenado por nombre
+     */
+    public Map<String, Long> getUnidadesPorProducto() {
+        return Collections.unmodifiableMap(unidadesPorProducto);
+    }
+
+    /**
+     * Representacion en String del resumen.
+     *
+     * @return el mes, las facturas y el total
+     */
+    @Override
+    public String toString() {
+        return "Resumen " + mes + ": " + facturas + " facturas (" + anuladas + " anuladas), total $" +
+               String.format("%.2f", getTotal());
+    }
+}
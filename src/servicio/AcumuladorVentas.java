@@ -0,0 +1,424 @@
+package servicio;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.ConsumidorLineaPedido;
+import modelo.Factura;
+import modelo.Producto;
+import utilidades.Dinero;
+import utilidades.MapaEnterosLargos;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumulador parcial de las ventas de un hilo del analisis. Cada hilo suma en su
+ * propio acumulador sin sincronizar y al final los parciales se combinan.
+ *
+ * Las ventas por producto se agrupan por su clave estable (tipo y nombre, ver
+ * {@link Producto#getClave()}), de modo que las versiones de un producto con
+ * distinto precio suman en la misma entrada. Para no buscar la clave en cada
+ * linea, un mapa primitivo asigna a cada ID de producto una descripcion, creada
+ * la primera vez que aparece: su precio, la celda de su categoria, sus marcas y
+ * la posicion de su clave en los arreglos paralelos de ventas.
+ *
+ * Los combos se descomponen en sus productos: el precio de una unidad se reparte
+ * entre ellos en proporcion a sus precios, y cada parte suma en la categoria y
+ * en las participaciones de su producto.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see AnaliticaVentas
+ */
+final class AcumuladorVentas implements ConsumidorLineaPedido {
+
+    /**
+     * Capacidad inicial de los arreglos por producto.
+     */
+    private static final int PRODUCTOS_INICIALES = 64;
+
+    /**
+     * Marca de una comida vegetariana.
+     */
+    private static final byte VEGETARIANO = 1;
+
+    /**
+     * Marca de una bebida con alcohol.
+     */
+    private static final byte CON_ALCOHOL = 2;
+
+    /**
+     * Descripcion de cada ID de producto visto, por ID de catalogo.
+     */
+    private final MapaEnterosLargos descripciones = new MapaEnterosLargos();
+
+    /**
+     * Posicion de cada clave de producto en los arreglos de ventas.
+     */
+    private final Map<String, Integer> posiciones = new HashMap<>();
+
+    /**
+     * Primer producto visto con cada clave, que la representa en el reporte.
+     */
+    Producto[] representantes = new Producto[PRODUCTOS_INICIALES];
+
+    /**
+     * Unidades vendidas de cada clave.
+     */
+    long[] unidades = new long[PRODUCTOS_INICIALES];
+
+    /**
+     * Ingresos de cada clave, en centavos.
+     */
+    long[] ingresos = new long[PRODUCTOS_INICIALES];
+
+    /**
+     * Numero de claves con ventas.
+     */
+    int productos;
+
+    /**
+     * Posicion de la clave de cada descripcion en los arreglos de ventas.
+     */
+    private int[] claves = new int[PRODUCTOS_INICIALES];
+
+    /**
+     * Precio de cada descripcion, en centavos.
+     */
+    private long[] precios = new long[PRODUCTOS_INICIALES];
+
+    /**
+     * Celda de categoria de cada descripcion; null para los combos.
+     */
+    private long[][] categorias = new long[PRODUCTOS_INICIALES][];
+
+    /**
+     * Marcas de cada descripcion.
+     */
+    private byte[] marcas = new byte[PRODUCTOS_INICIALES];
+
+    /**
+     * Reparto de cada descripcion que es un combo; null para los demas productos.
+     */
+    private Reparto[] repartos = new Reparto[PRODUCTOS_INICIALES];
+
+    /**
+     * Numero de descripciones creadas.
+     */
+    private int descritos;
+
+    /**
+     * Ingresos de comidas por tipo, en centavos, incluidas las partes de combos.
+     */
+    final Map<String, long[]> comidasPorTipo = new HashMap<>();
+
+    /**
+     * Ingresos de bebidas por tamano, en centavos, incluidas las partes de combos.
+     */
+    final Map<String, long[]> bebidasPorTamano = new HashMap<>();
+
+    /**
+     * Ingresos de las lineas de combos, en centavos.
+     */
+    long ingresosCombos;
+
+    /**
+     * Ingresos de todas las lineas, en centavos.
+     */
+    long ingresosLineas;
+
+    /**
+     * Ingresos de las comidas vegetarianas, incluidas las partes de combos, en centavos.
+     */
+    long ingresosVegetarianos;
+
+    /**
+     * Ingresos de las bebidas con alcohol, incluidas las partes de combos, en centavos.
+     */
+    long ingresosConAlcohol;
+
+    /**
+     * Facturas vigentes acumuladas.
+     */
+    long facturas;
+
+    /**
+     * Facturas anuladas vistas, que no suman.
+     */
+    long anuladas;
+
+    /**
+     * Suma de los totales de las facturas vigentes, en centavos.
+     */
+    long totalFacturas;
+
+    /**
+     * Suma una factura. Las anuladas solo se cuentan.
+     *
+     * @param factura la factura
+     */
+    void acumular(Factura factura) {
+        if (factura.isAnulada()) {
+            anuladas++;
+            return;
+        }
+        facturas++;
+        totalFacturas += factura.getTotalCentavos();
+        factura.recorrerLineas(this);
+    }
+
+    /**
+     * Suma una linea de la factura. Se invoca desde {@link Factura#recorrerLineas(ConsumidorLineaPedido)}.
+     *
+     * @param producto el producto de la linea
+     * @param cantidad las unidades
+     */
+    @Override
+    public void aceptar(Producto producto, int cantidad) {
+        int descripcion = descripcion(producto);
+        long importe = Dinero.multiplicar(precios[descripcion], cantidad);
+        int clave = claves[descripcion];
+        unidades[clave] += cantidad;
+        ingresos[clave] += importe;
+        ingresosLineas += importe;
+        Reparto reparto = repartos[descripcion];
+        if (reparto == null) {
+            sumarEnCategoria(categorias[descripcion], marcas[descripcion], importe);
+            return;
+        }
+        ingresosCombos += importe;
+        // Las partes de una unidad suman exactamente su precio, asi que no hay redondeo
+        for (int i = 0; i < reparto.partes.length; i++) {
+            sumarEnCategoria(reparto.categorias[i], reparto.marcas[i], Dinero.multiplicar(reparto.partes[i], cantidad));
+        }
+    }
+
+    /**
+     * Suma un importe en una celda de categoria y en la participacion de sus marcas.
+     *
+     * @param categoria la celda de categoria
+     * @param marca las marcas del producto
+     * @param importe el importe en centavos
+     */
+    private void sumarEnCategoria(long[] categoria, byte marca, long importe) {
+        categoria[0] += importe;
+        if (marca == VEGETARIANO) {
+            ingresosVegetarianos += importe;
+        } else if (marca == CON_ALCOHOL) {
+            ingresosConAlcohol += importe;
+        }
+    }
+
+    /**
+     * Obtiene la descripcion de un producto, creandola si su ID es nuevo.
+     *
+     * @param producto el producto
+     * @return la posicion de su descripcion
+     */
+    private int descripcion(Producto producto) {
+        long descripcion = descripciones.obtener(producto.getId());
+        if (descripcion != MapaEnterosLargos.AUSENTE) {
+            return (int) descripcion;
+        }
+        if (descritos == claves.length) {
+            claves = Arrays.copyOf(claves, descritos * 2);
+            precios = Arrays.copyOf(precios, descritos * 2);
+            categorias = Arrays.copyOf(categorias, descritos * 2);
+            marcas = Arrays.copyOf(marcas, descritos * 2);
+            repartos = Arrays.copyOf(repartos, descritos * 2);
+        }
+        int nueva = descritos++;
+        claves[nueva] = posicion(producto);
+        precios[nueva] = producto.calcularPrecioCentavos();
+        if (producto instanceof Combo) {
+            repartos[nueva] = repartir((Combo) producto);
+        } else {
+            categorias[nueva] = categoria(producto);
+            marcas[nueva] = marca(producto);
+        }
+        descripciones.poner(producto.getId(), nueva);
+        return nueva;
+    }
+
+    /**
+     * Obtiene la celda de categoria de un producto que no es combo.
+     *
+     * @param producto el producto
+     * @return la celda de su tipo de comida o tamano de bebida, o una celda propia
+     *         para otros productos, que solo suman en el total de lineas
+     */
+    private long[] categoria(Producto producto) {
+        if (producto instanceof Comida) {
+            return comidasPorTipo.computeIfAbsent(((Comida) producto).getTipo(), t -> new long[1]);
+        }
+        if (producto instanceof Bebida) {
+            return bebidasPorTamano.computeIfAbsent(((Bebida) producto).getTamano(), t -> new long[1]);
+        }
+        return new long[1];
+    }
+
+    /**
+     * Obtiene las marcas de un producto que no es combo.
+     *
+     * @param producto el producto
+     * @return las marcas del producto
+     */
+    private static byte marca(Producto producto) {
+        if (producto instanceof Comida) {
+            return ((Comida) producto).isEsVegetariano() ? VEGETARIANO : 0;
+        }
+        if (producto instanceof Bebida) {
+            return ((Bebida) producto).isConAlcohol() ? CON_ALCOHOL : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Reparte el precio de una unidad de un combo entre sus productos, descomponiendo
+     * los combos anidados.
+     *
+     * @param combo el combo
+     * @return el reparto del combo
+     */
+    private Reparto repartir(Combo combo) {
+        List<Producto> hojas = new ArrayList<>();
+        List<Long> partes = new ArrayList<>();
+        repartir(combo, combo.calcularPrecioCentavos(), hojas, partes);
+        Reparto reparto = new Reparto(hojas.size());
+        for (int i = 0; i < hojas.size(); i++) {
+            reparto.partes[i] = partes.get(i);
+            reparto.categorias[i] = categoria(hojas.get(i));
+            reparto.marcas[i] = marca(hojas.get(i));
+        }
+        return reparto;
+    }
+
+    /**
+     * Reparte un importe entre los productos de un combo en proporcion a sus
+     * precios. Cada parte se redondea hacia abajo y el resto queda en el ultimo
+     * producto, de modo que las partes suman exactamente el importe.
+     *
+     * @param combo el combo
+     * @param importe el importe a repartir, en centavos
+     * @param hojas la lista donde se agregan los productos que no son combos
+     * @param partes la lista donde se agrega la parte de cada uno, en centavos
+     */
+    private static void repartir(Combo combo, long importe, List<Producto> hojas, List<Long> partes) {
+        List<Producto> componentes = combo.getProductos();
+        long suma = 0;
+        for (Producto componente : componentes) {
+            suma += componente.calcularPrecioCentavos();
+        }
+        long restante = importe;
+        for (int i = 0; i < componentes.size(); i++) {
+            Producto componente = componentes.get(i);
+            long parte;
+            if (i == componentes.size() - 1) {
+                parte = restante;
+            } else if (suma == 0) {
+                parte = 0;
+            } else {
+                parte = Math.multiplyExact(importe, componente.calcularPrecioCentavos()) / suma;
+            }
+            restante -= parte;
+            if (componente instanceof Combo) {
+                repartir((Combo) componente, parte, hojas, partes);
+            } else {
+                hojas.add(componente);
+                partes.add(parte);
+            }
+        }
+    }
+
+    /**
+     * Suma a este acumulador los valores de otro.
+     *
+     * @param otro el acumulador a combinar
+     */
+    void combinar(AcumuladorVentas otro) {
+        for (int i = 0; i < otro.productos; i++) {
+            int posicion = posicion(otro.representantes[i]);
+            unidades[posicion] += otro.unidades[i];
+            ingresos[posicion] += otro.ingresos[i];
+        }
+        combinar(comidasPorTipo, otro.comidasPorTipo);
+        combinar(bebidasPorTamano, otro.bebidasPorTamano);
+        ingresosCombos += otro.ingresosCombos;
+        ingresosLineas += otro.ingresosLineas;
+        ingresosVegetarianos += otro.ingresosVegetarianos;
+        ingresosConAlcohol += otro.ingresosConAlcohol;
+        facturas += otro.facturas;
+        anuladas += otro.anuladas;
+        totalFacturas += otro.totalFacturas;
+    }
+
+    /**
+     * Obtiene la posicion de la clave de un producto en los arreglos de ventas,
+     * asignandole una si es nueva.
+     *
+     * @param producto el producto
+     * @return la posicion de su clave
+     */
+    private int posicion(Producto producto) {
+        Integer posicion = posiciones.get(producto.getClave());
+        if (posicion != null) {
+            return posicion;
+        }
+        if (productos == representantes.length) {
+            representantes = Arrays.copyOf(representantes, productos * 2);
+            unidades = Arrays.copyOf(unidades, productos * 2);
+            ingresos = Arrays.copyOf(ingresos, productos * 2);
+        }
+        representantes[productos] = producto;
+        posiciones.put(producto.getClave(), productos);
+        return productos++;
+    }
+
+    /**
+     * Suma las celdas de categoria de otro acumulador a las de este.
+     *
+     * @param destino las celdas de este acumulador
+     * @param origen las celdas del otro acumulador
+     */
+    private static void combinar(Map<String, long[]> destino, Map<String, long[]> origen) {
+        for (Map.Entry<String, long[]> entrada : origen.entrySet()) {
+            destino.computeIfAbsent(entrada.getKey(), k -> new long[1])[0] += entrada.getValue()[0];
+        }
+    }
+
+    /**
+     * Reparto de una unidad de un combo entre los productos que lo componen.
+     */
+    private static final class Reparto {
+
+        /**
+         * Parte del precio de una unidad que corresponde a cada producto, en centavos.
+         */
+        final long[] partes;
+
+        /**
+         * Celda de categoria de cada producto.
+         */
+        final long[][] categorias;
+
+        /**
+         * Marcas de cada producto.
+         */
+        final byte[] marcas;
+
+        /**
+         * Constructor de un reparto vacio.
+         *
+         * @param productos el numero de productos del combo, ya descompuesto
+         */
+        Reparto(int productos) {
+            this.partes = new long[productos];
+            this.categorias = new long[productos][];
+            this.marcas = new byte[productos];
+        }
+    }
+}
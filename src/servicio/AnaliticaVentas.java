@@ -0,0 +1,111 @@
+package servicio;
+
+import modelo.Factura;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Motor de analitica de ventas: calcula en una sola pasada paralela sobre las
+ * facturas los productos mas vendidos, los ingresos por categoria, la
+ * participacion de comidas vegetarianas y bebidas con alcohol y el ticket promedio.
+ *
+ * La pasada usa fork-join: las facturas se dividen en bloques y cada hilo suma los
+ * bloques que ejecuta en su propio acumulador, sin sincronizar. Al terminar se
+ * combinan los acumuladores, uno por hilo, por lo que el costo de combinar no
+ * crece con el numero de facturas.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class AnaliticaVentas {
+
+    /**
+     * Numero de facturas por debajo del cual un bloque se procesa sin dividirlo.
+     */
+    private static final int UMBRAL = 2048;
+
+    /**
+     * Gestor cuyas facturas se analizan.
+     */
+    private final GestorFacturas gestorFacturas;
+
+    /**
+     * Constructor de la analitica sobre las facturas de un gestor.
+     *
+     * @param gestorFacturas el gestor de facturas
+     */
+    public AnaliticaVentas(GestorFacturas gestorFacturas) {
+        this.gestorFacturas = gestorFacturas;
+    }
+
+    /**
+     * Analiza las facturas usando el pool comun de fork-join.
+     *
+     * @return el reporte de ventas
+     */
+    public ReporteVentas analizar() {
+        return analizar(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analiza las facturas usando un pool de fork-join dado, por ejemplo para
+     * limitar el numero de hilos.
+     *
+     * @param pool el pool donde se ejecuta la pasada
+     * @return el reporte de ventas
+     * @throws IllegalArgumentException si el pool es nulo
+     */
+    public ReporteVentas analizar(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo.");
+        }
+        List<Factura> facturas = gestorFacturas.getTodasLasFacturas();
+        ConcurrentHashMap<Thread, AcumuladorVentas> porHilo = new ConcurrentHashMap<>();
+        pool.invoke(new Bloque(facturas, 0, facturas.size(), porHilo));
+
+        AcumuladorVentas total = new AcumuladorVentas();
+        for (AcumuladorVentas parcial : porHilo.values()) {
+            total.combinar(parcial);
+        }
+        return new ReporteVentas(total);
+    }
+
+    /**
+     * Bloque de facturas que se divide en mitades hasta llegar al umbral.
+     */
+    private static final class Bloque extends RecursiveAction {
+
+        /**
+         * Numero de version serial; RecursiveAction es Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        private final List<Factura> facturas;
+        private final int desde;
+        private final int hasta;
+        private final ConcurrentHashMap<Thread, AcumuladorVentas> porHilo;
+
+        Bloque(List<Factura> facturas, int desde, int hasta, ConcurrentHashMap<Thread, AcumuladorVentas> porHilo) {
+            this.facturas = facturas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.porHilo = porHilo;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                AcumuladorVentas acumulador = porHilo.computeIfAbsent(Thread.currentThread(), h -> new AcumuladorVentas());
+                for (int i = desde; i < hasta; i++) {
+                    acumulador.acumular(facturas.get(i));
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Bloque(facturas, desde, medio, porHilo), new Bloque(facturas, medio, hasta, porHilo));
+        }
+    }
+}
\ No newline at end of file
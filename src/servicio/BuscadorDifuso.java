@@ -0,0 +1,373 @@
+package servicio;
+
+import modelo.Producto;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busqueda aproximada de productos por nombre, tolerante a errores de tipeo y a
+ * acentos ("hamburgesa" encuentra "Hamburguesa Clasica", "tiramisú" encuentra
+ * "Tiramisu").
+ *
+ * Los nombres se normalizan (sin acentos, en minusculas, solo letras y digitos) y
+ * se indexan por trigramas en un indice invertido. Una busqueda cuenta los
+ * trigramas que cada nombre comparte con la consulta, toma los candidatos que mas
+ * comparten y los ordena por distancia de edicion acotada contra el nombre completo
+ * o contra las palabras consecutivas del nombre que mejor coinciden. Se descartan
+ * los candidatos que superan la distancia maxima tolerada para el largo de la
+ * consulta, y se dejan de evaluar candidatos cuando los trigramas que comparten
+ * ya no alcanzan para mejorar los resultados encontrados.
+ *
+ * El indice se actualiza al agregar cada producto. No es seguro para uso
+ * concurrente; el gestor que lo contiene sincroniza el acceso.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see GestorProductos#buscarDifuso(String, int)
+ */
+public class BuscadorDifuso {
+
+    /**
+     * Largo minimo de la consulta para tolerar errores; las mas cortas deben coincidir
+     * exactamente con una palabra o con el nombre, porque con una o dos letras casi
+     * cualquier palabra queda a distancia uno.
+     */
+    private static final int LARGO_MINIMO_TOLERANCIA = 4;
+
+    /**
+     * Productos indexados, por posicion.
+     */
+    private final List<Producto> productos;
+
+    /**
+     * Nombre normalizado de cada producto y posicion de inicio de cada una de sus
+     * palabras, con el largo del nombre mas uno al final; por posicion.
+     */
+    private final List<String> nombres;
+    private final List<int[]> inicios;
+
+    /**
+     * Largo del nombre normalizado mas largo, para dimensionar la tabla de distancias.
+     */
+    private int largoMaximo;
+
+    /**
+     * Posiciones de los productos que contienen cada trigrama.
+     */
+    private final Map<Long, Posiciones> indice;
+
+    /**
+     * Constructor que crea un buscador vacio.
+     */
+    public BuscadorDifuso() {
+        this.productos = new ArrayList<>();
+        this.nombres = new ArrayList<>();
+        this.inicios = new ArrayList<>();
+        this.indice = new HashMap<>();
+    }
+
+    /**
+     * Normaliza un texto para compararlo: quita los acentos, pasa a minusculas y
+     * reemplaza lo que no es letra ni digito por un espacio simple.
+     *
+     * @param texto el texto a normalizar
+     * @return el texto normalizado, sin espacios al inicio ni al final
+     */
+    public static String normalizar(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder resultado = new StringBuilder(descompuesto.length());
+        boolean espacio = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (espacio && resultado.length() > 0) {
+                    resultado.append(' ');
+                }
+                resultado.append(Character.toLowerCase(c));
+                espacio = false;
+            } else {
+                espacio = true;
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Agrega un producto al indice.
+     *
+     * @param producto el producto a agregar
+     * @throws IllegalArgumentException si el producto es nulo
+     */
+    public void agregar(Producto producto) {
+        if (producto == null) {
+            throw new IllegalArgumentException("El producto no puede ser nulo.");
+        }
+        String nombre = normalizar(producto.getNombre());
+        int posicion = productos.size();
+        productos.add(producto);
+        nombres.add(nombre);
+        inicios.add(iniciosDePalabras(nombre));
+        largoMaximo = Math.max(largoMaximo, nombre.length());
+        for (long trigrama : trigramas(nombre)) {
+            indice.computeIfAbsent(trigrama, t -> new Posiciones()).agregar(posicion);
+        }
+    }
+
+    /**
+     * Busca los productos cuyo nombre se parece a la consulta.
+     *
+     * @param consulta el texto buscado, posiblemente con errores o acentos
+     * @param limite el numero maximo de productos a devolver
+     * @return lista con a lo sumo limite productos, del mas parecido al menos parecido
+     * @throws IllegalArgumentException si la consulta es nula o el limite es negativo
+     */
+    public List<Producto> buscar(String consulta, int limite) {
+        if (consulta == null) {
+            throw new IllegalArgumentException("La consulta no puede ser nula.");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("El limite no puede ser negativo.");
+        }
+        String normalizada = normalizar(consulta);
+        if (normalizada.isEmpty() || limite == 0) {
+            return new ArrayList<>();
+        }
+
+        // Contar los trigramas compartidos por cada producto
+        long[] trigramasConsulta = trigramas(normalizada);
+        int[] compartidos = new int[productos.size()];
+        int[] tocados = new int[64];
+        int cantidadTocados = 0;
+        for (long trigrama : trigramasConsulta) {
+            Posiciones posiciones = indice.get(trigrama);
+            if (posiciones == null) {
+                continue;
+            }
+            for (int i = 0; i < posiciones.tamano; i++) {
+                int posicion = posiciones.valores[i];
+                if (compartidos[posicion]++ == 0) {
+                    if (cantidadTocados == tocados.length) {
+                        tocados = Arrays.copyOf(tocados, cantidadTocados * 2);
+                    }
+                    tocados[cantidadTocados++] = posicion;
+                }
+            }
+        }
+
+        // Agrupar los candidatos por trigramas compartidos, de mas a menos
+        int[] inicioGrupo = new int[trigramasConsulta.length + 2];
+        for (int i = 0; i < cantidadTocados; i++) {
+            inicioGrupo[trigramasConsulta.length - compartidos[tocados[i]] + 1]++;
+        }
+        for (int i = 1; i < inicioGrupo.length; i++) {
+            inicioGrupo[i] += inicioGrupo[i - 1];
+        }
+        int[] candidatos = new int[cantidadTocados];
+        int[] siguiente = Arrays.copyOf(inicioGrupo, inicioGrupo.length);
+        for (int i = 0; i < cantidadTocados; i++) {
+            candidatos[siguiente[trigramasConsulta.length - compartidos[tocados[i]]]++] = tocados[i];
+        }
+
+        // Cada edicion destruye a lo sumo tres trigramas de la consulta, por lo que un
+        // candidato que comparte c trigramas esta a distancia al menos (t - c) / 3.
+        // Se evaluan los grupos de mas a menos trigramas y se corta cuando ningun
+        // candidato restante puede entrar entre los limite mejores.
+        int palabrasConsulta = iniciosDePalabras(normalizada).length - 1;
+        int tolerancia = normalizada.length() < LARGO_MINIMO_TOLERANCIA ? 0 : Math.max(1, normalizada.length() / 4);
+        int[][] filas = new int[2][largoMaximo + 1];
+        int[] porDistancia = new int[tolerancia + 1];
+        List<Coincidencia> coincidencias = new ArrayList<>();
+        for (int grupo = 0; grupo < trigramasConsulta.length; grupo++) {
+            int compartidosGrupo = trigramasConsulta.length - grupo;
+            int cotaDistancia = (grupo + 2) / 3;
+            if (cotaDistancia > tolerancia) {
+                break;
+            }
+            Arrays.sort(candidatos, inicioGrupo[grupo], inicioGrupo[grupo + 1]);
+            for (int i = inicioGrupo[grupo]; i < inicioGrupo[grupo + 1]; i++) {
+                if (coincidencias.size() >= limite && peorDistancia(porDistancia, limite) <= cotaDistancia) {
+                    break;
+                }
+                int posicion = candidatos[i];
+                int distancia = distanciaANombre(normalizada, palabrasConsulta, nombres.get(posicion),
+                                                 inicios.get(posicion), tolerancia, filas);
+                if (distancia <= tolerancia) {
+                    coincidencias.add(new Coincidencia(posicion, distancia, compartidosGrupo));
+                    porDistancia[distancia]++;
+                }
+            }
+        }
+        coincidencias.sort((a, b) -> a.distancia != b.distancia ? Integer.compare(a.distancia, b.distancia)
+                                   : a.compartidos != b.compartidos ? Integer.compare(b.compartidos, a.compartidos)
+                                   : Integer.compare(a.posicion, b.posicion));
+
+        List<Producto> resultado = new ArrayList<>(Math.min(limite, coincidencias.size()));
+        for (int i = 0; i < coincidencias.size() && i < limite; i++) {
+            resultado.add(productos.get(coincidencias.get(i).posicion));
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el numero de productos indexados.
+     *
+     * @return el conteo de productos
+     */
+    public int tamano() {
+        return productos.size();
+    }
+
+    /**
+     * Obtiene la distancia de la peor coincidencia entre las limite mejores encontradas.
+     */
+    private static int peorDistancia(int[] porDistancia, int limite) {
+        int acumuladas = 0;
+        for (int distancia = 0; distancia < porDistancia.length; distancia++) {
+            acumuladas += porDistancia[distancia];
+            if (acumuladas >= limite) {
+                return distancia;
+            }
+        }
+        return porDistancia.length;
+    }
+
+    /**
+     * Calcula la menor distancia entre la consulta y el nombre completo o cualquier
+     * secuencia de palabras consecutivas del nombre con tantas palabras como la consulta.
+     */
+    private static int distanciaANombre(String consulta, int palabrasConsulta, String nombre, int[] inicios,
+                                        int tolerancia, int[][] filas) {
+        int mejor = distanciaAcotada(consulta, nombre, 0, nombre.length(), tolerancia, filas);
+        int palabrasNombre = inicios.length - 1;
+        for (int palabra = 0; palabra + palabrasConsulta <= palabrasNombre && mejor > 0; palabra++) {
+            int fin = inicios[palabra + palabrasConsulta] - 1;
+            mejor = Math.min(mejor, distanciaAcotada(consulta, nombre, inicios[palabra], fin, Math.min(mejor, tolerancia), filas));
+        }
+        return mejor;
+    }
+
+    /**
+     * Distancia de Levenshtein entre a y el tramo [desde, hasta) de b, limitada a una
+     * banda alrededor de la diagonal. Usa las dos filas dadas como tabla.
+     *
+     * @return la distancia, o tolerancia + 1 si la supera
+     */
+    static int distanciaAcotada(String a, String b, int desde, int hasta, int tolerancia, int[][] filas) {
+        int largo = hasta - desde;
+        int infinito = tolerancia + 1;
+        if (Math.abs(a.length() - largo) > tolerancia) {
+            return infinito;
+        }
+        int[] anterior = filas[0];
+        int[] actual = filas[1];
+        for (int j = 0; j <= largo; j++) {
+            anterior[j] = j <= tolerancia ? j : infinito;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int primera = Math.max(1, i - tolerancia);
+            int ultima = Math.min(largo, i + tolerancia);
+            actual[0] = i <= tolerancia ? i : infinito;
+            if (primera > 1) {
+                actual[primera - 1] = infinito;
+            }
+            char letra = a.charAt(i - 1);
+            int minimoFila = actual[0];
+            for (int j = primera; j <= ultima; j++) {
+                int costo = letra == b.charAt(desde + j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                actual[j] = Math.min(valor, infinito);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (ultima < largo) {
+                actual[ultima + 1] = infinito;
+            }
+            if (minimoFila > tolerancia) {
+                return infinito;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return Math.min(anterior[largo], infinito);
+    }
+
+    /**
+     * Obtiene la posicion de inicio de cada palabra de un texto normalizado, seguida
+     * del largo del texto mas uno, de modo que la palabra k ocupa [inicios[k], inicios[k + 1] - 1).
+     */
+    private static int[] iniciosDePalabras(String texto) {
+        int palabras = texto.isEmpty() ? 0 : 1;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == ' ') {
+                palabras++;
+            }
+        }
+        int[] inicios = new int[palabras + 1];
+        int palabra = 1;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == ' ') {
+                inicios[palabra++] = i + 1;
+            }
+        }
+        inicios[palabras] = texto.length() + 1;
+        return inicios;
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un texto normalizado, rellenado con un
+     * espacio a cada lado. Cada trigrama se codifica en 16 bits por caracter.
+     */
+    private static long[] trigramas(String texto) {
+        String relleno = " " + texto + " ";
+        long[] resultado = new long[Math.max(0, relleno.length() - 2)];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = (long) relleno.charAt(i) << 32 | (long) relleno.charAt(i + 1) << 16 | relleno.charAt(i + 2);
+        }
+        Arrays.sort(resultado);
+        int distintos = 0;
+        for (int i = 0; i < resultado.length; i++) {
+            if (i == 0 || resultado[i] != resultado[i - 1]) {
+                resultado[distintos++] = resultado[i];
+            }
+        }
+        return Arrays.copyOf(resultado, distintos);
+    }
+
+    /**
+     * Lista creciente de posiciones de productos que contienen un trigrama.
+     */
+    private static final class Posiciones {
+        private int[] valores = new int[4];
+        private int tamano;
+
+        void agregar(int posicion) {
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = posicion;
+        }
+    }
+
+    /**
+     * Candidato que quedo dentro de la tolerancia.
+     */
+    private static final class Coincidencia {
+        private final int posicion;
+        private final int distancia;
+        private final int compartidos;
+
+        Coincidencia(int posicion, int distancia, int compartidos) {
+            this.posicion = posicion;
+            this.distancia = distancia;
+            this.compartidos = compartidos;
+        }
+    }
+}
\ No newline at end of file
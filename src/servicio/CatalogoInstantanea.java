@@ -0,0 +1,321 @@
+package servicio;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Producto;
+import persistencia.LectorCatalogo;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Instantanea inmutable y versionada del catalogo de productos. El gestor publica
+ * una instantanea nueva en cada alta y los lectores de cualquier hilo obtienen la
+ * vigente sin copiar ni bloquear; una instantanea obtenida no cambia aunque
+ * despues se agreguen productos.
+ *
+ * Como el catalogo solo crece, instantaneas sucesivas comparten los mismos arreglos:
+ * cada una ve solo las posiciones que existian al publicarla y las altas escriben en
+ * posiciones que ninguna instantanea anterior ve. Los arreglos se copian solo al
+ * llenarse, de modo que agregar cuesta tiempo constante amortizado.
+ *
+ * Una instantanea creada desde un archivo de catalogo no construye los productos
+ * cargados: las primeras posiciones se piden al {@link LectorCatalogo}, que construye
+ * cada producto la primera vez que se lee, y solo las altas posteriores se guardan
+ * en los arreglos.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see GestorProductos#getInstantanea()
+ */
+public final class CatalogoInstantanea {
+
+    /**
+     * Tipos de producto de las particiones, como los recibe getProductosPorTipo.
+     */
+    private static final String[] TIPOS = {"Comida", "Bebida", "Combo"};
+
+    /**
+     * Capacidad inicial de los arreglos.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Numero de publicacion de la instantanea.
+     */
+    private final long version;
+
+    /**
+     * Archivo del que se cargaron las primeras posiciones, o null si no hay.
+     */
+    private final LectorCatalogo origen;
+
+    /**
+     * Numero de posiciones que se leen del archivo de origen.
+     */
+    private final int cargados;
+
+    /**
+     * Productos agregados despues de los cargados, en orden de alta; la posicion p del
+     * catalogo esta en p - cargados. Solo las primeras tamano - cargados posiciones
+     * pertenecen a esta instantanea.
+     */
+    private final Producto[] productos;
+
+    /**
+     * Numero de productos que ve esta instantanea, cargados y agregados.
+     */
+    private final int tamano;
+
+    /**
+     * Posiciones en el catalogo de los productos de cada tipo, en el orden de TIPOS.
+     * Los arreglos se comparten con las instantaneas siguientes.
+     */
+    private final int[][] porTipo;
+
+    /**
+     * Cuantas posiciones de cada arreglo de porTipo ve esta instantanea.
+     */
+    private final int[] tamanosPorTipo;
+
+    /**
+     * Vista de solo lectura de todo el catalogo, creada una vez por instantanea.
+     */
+    private final List<Producto> vista;
+
+    /**
+     * Vistas de solo lectura de cada tipo, en el orden de TIPOS.
+     */
+    private final List<Producto>[] vistasPorTipo;
+
+    /**
+     * Constructor que crea las vistas sobre los arreglos dados, sin copiarlos.
+     *
+     * @param version el numero de publicacion
+     * @param origen el archivo de las primeras posiciones, o null
+     * @param cargados el numero de posiciones del archivo
+     * @param productos los productos agregados despues de los cargados
+     * @param tamano el numero de productos que ve la instantanea
+     * @param porTipo las posiciones de cada tipo
+     * @param tamanosPorTipo cuantas posiciones de cada tipo ve la instantanea
+     */
+    private CatalogoInstantanea(long version, LectorCatalogo origen, int cargados, Producto[] productos, int tamano,
+                                int[][] porTipo, int[] tamanosPorTipo) {
+        this.version = version;
+        this.origen = origen;
+        this.cargados = cargados;
+        this.productos = productos;
+        this.tamano = tamano;
+        this.porTipo = porTipo;
+        this.tamanosPorTipo = tamanosPorTipo;
+        this.vista = new Vista(null, tamano);
+        this.vistasPorTipo = nuevasVistas(TIPOS.length);
+        for (int i = 0; i < TIPOS.length; i++) {
+            vistasPorTipo[i] = new Vista(porTipo[i], tamanosPorTipo[i]);
+        }
+    }
+
+    /**
+     * Crea la instantanea de un catalogo vacio, con version 0.
+     *
+     * @return la instantanea vacia
+     */
+    static CatalogoInstantanea vacia() {
+        int[][] porTipo = new int[TIPOS.length][];
+        for (int i = 0; i < TIPOS.length; i++) {
+            porTipo[i] = new int[CAPACIDAD_INICIAL];
+        }
+        return new CatalogoInstantanea(0, null, 0, new Producto[CAPACIDAD_INICIAL], 0, porTipo, new int[TIPOS.length]);
+    }
+
+    /**
+     * Crea la instantanea de un catalogo cargado desde archivo, con version 1, sin
+     * construir ningun producto.
+     *
+     * @param lector el lector del archivo de catalogo
+     * @return la instantanea con los productos del archivo
+     */
+    static CatalogoInstantanea desde(LectorCatalogo lector) {
+        int[][] porTipo = new int[TIPOS.length][];
+        int[] tamanosPorTipo = new int[TIPOS.length];
+        for (int i = 0; i < TIPOS.length; i++) {
+            porTipo[i] = lector.getPosicionesDeTipo(TIPOS[i]);
+            tamanosPorTipo[i] = porTipo[i].length;
+        }
+        return new CatalogoInstantanea(1, lector, lector.getCantidad(), new Producto[CAPACIDAD_INICIAL],
+                                       lector.getCantidad(), porTipo, tamanosPorTipo);
+    }
+
+    /**
+     * Crea la instantanea siguiente con los productos agregados al final.
+     * Solo se puede invocar sobre la instantanea vigente y desde un unico escritor,
+     * porque escribe en las posiciones libres de los arreglos compartidos.
+     *
+     * @param nuevos los productos a agregar
+     * @return la nueva instantanea, con la version siguiente
+     */
+    CatalogoInstantanea agregar(Collection<? extends Producto> nuevos) {
+        Producto[] siguientes = crecer(productos, tamano - cargados + nuevos.size());
+        int[][] siguientesPorTipo = porTipo.clone();
+        int[] siguientesTamanos = tamanosPorTipo.clone();
+        int posicion = tamano;
+        for (Producto producto : nuevos) {
+            siguientes[posicion - cargados] = producto;
+            int tipo = tipoDe(producto);
+            if (tipo >= 0) {
+                int cantidad = siguientesTamanos[tipo];
+                siguientesPorTipo[tipo] = crecer(siguientesPorTipo[tipo], cantidad + 1);
+                siguientesPorTipo[tipo][cantidad] = posicion;
+                siguientesTamanos[tipo] = cantidad + 1;
+            }
+            posicion++;
+        }
+        return new CatalogoInstantanea(version + 1, origen, cargados, siguientes, posicion, siguientesPorTipo,
+                                       siguientesTamanos);
+    }
+
+    /**
+     * Obtiene la version de la instantanea; aumenta en uno con cada publicacion.
+     *
+     * @return la version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene el numero de productos de la instantanea.
+     *
+     * @return el conteo de productos
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el producto de una posicion del catalogo.
+     *
+     * @param posicion la posicion, en orden de alta
+     * @return el producto
+     * @throws IndexOutOfBoundsException si la posicion esta fuera del catalogo
+     */
+    public Producto getProducto(int posicion) {
+        return vista.get(posicion);
+    }
+
+    /**
+     * Obtiene los productos del catalogo, sin copiarlos.
+     *
+     * @return lista de solo lectura en orden de alta
+     */
+    public List<Producto> getProductos() {
+        return vista;
+    }
+
+    /**
+     * Obtiene los productos de un tipo, sin copiarlos.
+     *
+     * @param tipo el tipo de producto ("Comida", "Bebida", "Combo")
+     * @return lista de solo lectura en orden de alta, vacia si el tipo no existe
+     */
+    public List<Producto> getProductosPorTipo(String tipo) {
+        int indice = indiceDeTipo(tipo);
+        return indice >= 0 ? vistasPorTipo[indice] : List.of();
+    }
+
+    /**
+     * Obtiene la posicion de un nombre de tipo en TIPOS, o -1 si no esta.
+     */
+    private static int indiceDeTipo(String tipo) {
+        for (int i = 0; i < TIPOS.length; i++) {
+            if (TIPOS[i].equals(tipo)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene la posicion de un producto en TIPOS, o -1 si no es de ninguno.
+     */
+    private static int tipoDe(Producto producto) {
+        if (producto instanceof Comida) {
+            return 0;
+        }
+        if (producto instanceof Bebida) {
+            return 1;
+        }
+        return producto instanceof Combo ? 2 : -1;
+    }
+
+    /**
+     * Crea el arreglo de vistas por tipo. Java no permite crear arreglos de un tipo
+     * generico; la conversion es segura porque el arreglo es privado y solo guarda vistas.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Producto>[] nuevasVistas(int cantidad) {
+        return (List<Producto>[]) new List<?>[cantidad];
+    }
+
+    /**
+     * Devuelve el mismo arreglo si alcanza para la capacidad pedida, o una copia
+     * de al menos el doble de largo si no.
+     */
+    private static Producto[] crecer(Producto[] arreglo, int capacidad) {
+        if (capacidad <= arreglo.length) {
+            return arreglo;
+        }
+        return Arrays.copyOf(arreglo, Math.max(capacidad, arreglo.length * 2));
+    }
+
+    /**
+     * Devuelve el mismo arreglo de posiciones si alcanza para la capacidad pedida,
+     * o una copia de al menos el doble de largo si no.
+     */
+    private static int[] crecer(int[] arreglo, int capacidad) {
+        if (capacidad <= arreglo.length) {
+            return arreglo;
+        }
+        return Arrays.copyOf(arreglo, Math.max(capacidad, arreglo.length * 2));
+    }
+
+    /**
+     * Lista de solo lectura sobre las primeras posiciones del catalogo, o sobre las
+     * primeras entradas de un arreglo compartido de posiciones.
+     */
+    private final class Vista extends AbstractList<Producto> implements RandomAccess {
+
+        /**
+         * Posiciones del catalogo que recorre la vista, o null para recorrerlo en orden.
+         */
+        private final int[] posiciones;
+
+        /**
+         * Numero de elementos de la vista.
+         */
+        private final int tamano;
+
+        Vista(int[] posiciones, int tamano) {
+            this.posiciones = posiciones;
+            this.tamano = tamano;
+        }
+
+        @Override
+        public Producto get(int indice) {
+            if (indice < 0 || indice >= tamano) {
+                throw new IndexOutOfBoundsException("Posicion " + indice + " fuera del catalogo de " + tamano);
+            }
+            int posicion = posiciones == null ? indice : posiciones[indice];
+            return posicion < cargados ? origen.getProducto(posicion) : productos[posicion - cargados];
+        }
+
+        @Override
+        public int size() {
+            return tamano;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package servicio;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de prioridad acotada de tickets para una estacion de cocina.
+ * Cuando la cola esta llena no acepta mas tickets (contrapresion) en lugar de
+ * acumularlos sin limite. Quien despacha toma el candado de la cola con
+ * {@link #bloquear()}, comprueba el espacio con {@link #disponibles()} y agrega
+ * sus tickets, de modo que puede reservar espacio en varias estaciones a la vez.
+ * Registra las metricas de espera y rendimiento.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see DespachoCocina
+ */
+class ColaEstacion {
+    
+    /**
+     * Estacion atendida por esta cola.
+     */
+    private final EstacionCocina estacion;
+    
+    /**
+     * Capacidad maxima de tickets en espera.
+     */
+    private final int capacidad;
+    
+    /**
+     * Tickets en espera, ordenados por prioridad.
+     */
+    private final PriorityQueue<TicketCocina> tickets;
+    
+    /**
+     * Candado que protege la cola.
+     */
+    private final ReentrantLock candado;
+    
+    /**
+     * Condicion senalada cuando la cola deja de estar vacia.
+     */
+    private final Condition noVacia;
+    
+    /**
+     * Tickets atendidos desde la creacion de la cola.
+     */
+    private final LongAdder atendidos;
+    
+    /**
+     * Suma de los tiempos de espera de los tickets atendidos, en nanosegundos.
+     */
+    private final LongAdder esperaTotalNanos;
+    
+    /**
+     * Mayor tiempo de espera observado, en nanosegundos.
+     */
+    private volatile long esperaMaximaNanos;
+    
+    /**
+     * Instante de creacion de la cola, para calcular el rendimiento.
+     */
+    private final long inicioNanos;
+    
+    /**
+     * Constructor de la cola de una estacion.
+     * 
+     * @param estacion la estacion atendida
+     * @param capacidad la capacidad maxima de tickets en espera
+     */
+    ColaEstacion(EstacionCocina estacion, int capacidad) {
+        this.estacion = estacion;
+        this.capacidad = capacidad;
+        this.tickets = new PriorityQueue<>();
+        this.candado = new ReentrantLock();
+        this.noVacia = candado.newCondition();
+        this.atendidos = new LongAdder();
+        this.esperaTotalNanos = new LongAdder();
+        this.inicioNanos = System.nanoTime();
+    }
+    
+    /**
+     * Obtiene la capacidad maxima de tickets en espera.
+     * 
+     * @return la capacidad de la cola
+     */
+    int getCapacidad() {
+        return capacidad;
+    }
+    
+    /**
+     * Toma el candado de la cola. Si se toman los de varias colas, debe ser en el
+     * orden de sus estaciones, para no bloquearse con otro despacho.
+     */
+    void bloquear() {
+        candado.lock();
+    }
+    
+    /**
+     * Libera el candado de la cola.
+     */
+    void desbloquear() {
+        candado.unlock();
+    }
+    
+    /**
+     * Obtiene el espacio libre de la cola (llamado con el candado tomado).
+     * 
+     * @return cuantos tickets mas caben en la cola
+     */
+    int disponibles() {
+        return capacidad - tickets.size();
+    }
+    
+    /**
+     * Agrega un ticket (llamado con el candado tomado y tras comprobar que hay espacio).
+     * 
+     * @param ticket el ticket a agregar
+     */
+    void agregar(TicketCocina ticket) {
+        ticket.setEncoladoNanos(System.nanoTime());
+        tickets.add(ticket);
+        noVacia.signal();
+    }
+    
+    /**
+     * Extrae el ticket de mayor prioridad, esperando hasta el tiempo indicado.
+     * 
+     * @param espera el tiempo maximo de espera
+     * @param unidad la unidad del tiempo de espera
+     * @return el ticket extraido, o null si se agoto la espera
+     * @throws InterruptedException si el hilo es interrumpido mientras espera
+     */
+    TicketCocina extraer(long espera, TimeUnit unidad) throws InterruptedException {
+        long restante = unidad.toNanos(espera);
+        candado.lockInterruptibly();
+        try {
+            while (tickets.isEmpty()) {
+                if (restante <= 0) {
+                    return null;
+                }
+                restante = noVacia.awaitNanos(restante);
+            }
+            TicketCocina ticket = tickets.poll();
+            registrarEspera(System.nanoTime() - ticket.getEncoladoNanos());
+            return ticket;
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    /**
+     * Marca un ticket como atendido para las metricas de rendimiento.
+     */
+    void registrarAtendido() {
+        atendidos.increment();
+    }
+    
+    /**
+     * Obtiene una instantanea de las metricas de la estacion.
+     * 
+     * @return las estadisticas actuales
+     */
+    EstadisticasEstacion getEstadisticas() {
+        int profundidad;
+        candado.lock();
+        try {
+            profundidad = tickets.size();
+        } finally {
+            candado.unlock();
+        }
+        long totalAtendidos = atendidos.sum();
+        double segundos = (System.nanoTime() - inicioNanos) / 1_000_000_000.0;
+        return new EstadisticasEstacion(estacion, profundidad, capacidad, totalAtendidos,
+                                        totalAtendidos == 0 ? 0 : esperaTotalNanos.sum() / totalAtendidos / 1_000_000.0,
+                                        esperaMaximaNanos / 1_000_000.0,
+                                        segundos > 0 ? totalAtendidos / segundos : 0);
+    }
+    
+    /**
+     * Acumula el tiempo de espera de un ticket extraido (llamado con el candado tomado).
+     * 
+     * @param esperaNanos el tiempo de espera en nanosegundos
+     */
+    private void registrarEspera(long esperaNanos) {
+        esperaTotalNanos.add(esperaNanos);
+        if (esperaNanos > esperaMaximaNanos) {
+            esperaMaximaNanos = esperaNanos;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package servicio;
+
+import modelo.Factura;
+import modelo.RenderizadorFactura;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola de impresion de facturas atendida por un hilo en segundo plano.
+ * Quien factura solo encola la factura y sigue; el hilo de impresion toma todas
+ * las facturas pendientes (hasta un maximo por lote), las renderiza juntas y las
+ * escribe en el destino con una sola escritura por lote.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class ColaImpresion {
+
+    /**
+     * Maximo de facturas escritas en un mismo lote.
+     */
+    private static final int MAXIMO_LOTE = 64;
+
+    /**
+     * Tiempo maximo que el hilo espera una factura antes de revisar si debe terminar.
+     */
+    private static final long ESPERA_MS = 200;
+
+    /**
+     * Facturas pendientes de imprimir.
+     */
+    private final LinkedBlockingQueue<Factura> pendientes;
+
+    /**
+     * Destino de la impresion (por ejemplo, System.out o un Writer de la impresora).
+     */
+    private final Appendable destino;
+
+    /**
+     * Hilo que imprime los lotes.
+     */
+    private final Thread impresor;
+
+    /**
+     * Numero de facturas impresas.
+     */
+    private final AtomicLong impresas;
+
+    /**
+     * Numero de lotes escritos en el destino.
+     */
+    private final AtomicLong lotes;
+
+    /**
+     * Indica si la cola sigue aceptando facturas.
+     */
+    private volatile boolean activa;
+
+    /**
+     * Constructor que crea la cola e inicia su hilo de impresion.
+     *
+     * @param destino el destino de la impresion; si es Flushable se vacia tras cada lote
+     * @throws IllegalArgumentException si el destino es nulo
+     */
+    public ColaImpresion(Appendable destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("El destino de impresion no puede ser nulo.");
+        }
+        this.pendientes = new LinkedBlockingQueue<>();
+        this.destino = destino;
+        this.impresas = new AtomicLong();
+        this.lotes = new AtomicLong();
+        this.activa = true;
+        this.impresor = new Thread(this::imprimir, "cola-impresion");
+        impresor.setDaemon(true);
+        impresor.start();
+    }
+
+    /**
+     * Encola una factura para imprimirla. No bloquea.
+     *
+     * @param factura la factura a imprimir
+     * @throws IllegalArgumentException si la factura es nula
+     * @throws IllegalStateException si la cola ya fue cerrada
+     */
+    public void encolar(Factura factura) {
+        if (factura == null) {
+            throw new IllegalArgumentException("La factura no puede ser nula.");
+        }
+        if (!activa) {
+            throw new IllegalStateException("La cola de impresion esta cerrada.");
+        }
+        pendientes.add(factura);
+    }
+
+    /**
+     * Obtiene el numero de facturas pendientes de imprimir.
+     *
+     * @return el conteo de facturas en cola
+     */
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Obtiene el numero de facturas impresas.
+     *
+     * @return el conteo de facturas impresas
+     */
+    public long getImpresas() {
+        return impresas.get();
+    }
+
+    /**
+     * Obtiene el numero de lotes escritos en el destino.
+     *
+     * @return el conteo de lotes
+     */
+    public long getLotes() {
+        return lotes.get();
+    }
+
+    /**
+     * Cierra la cola: deja de aceptar facturas y espera a que se impriman las pendientes.
+     *
+     * @param espera el tiempo maximo de espera
+     * @param unidad la unidad del tiempo de espera
+     * @return true si se imprimieron todas las pendientes, false si vencio la espera
+     * @throws InterruptedException si el hilo es interrumpido mientras espera
+     */
+    public boolean cerrar(long espera, TimeUnit unidad) throws InterruptedException {
+        activa = false;
+        impresor.join(unidad.toMillis(espera));
+        return !impresor.isAlive();
+    }
+
+    /**
+     * Ciclo del hilo de impresion: espera una factura, junta las demas pendientes
+     * y las escribe como un lote. Termina cuando la cola esta cerrada y vacia.
+     */
+    private void imprimir() {
+        RenderizadorFactura renderizador = new RenderizadorFactura();
+        StringBuilder texto = new StringBuilder(MAXIMO_LOTE * 512);
+        List<Factura> lote = new ArrayList<>(MAXIMO_LOTE);
+        while (activa || !pendientes.isEmpty()) {
+            try {
+                Factura primera = pendientes.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                pendientes.drainTo(lote, MAXIMO_LOTE - 1);
+                renderizador.renderizarLote(lote, texto);
+                destino.append(texto);
+                if (destino instanceof Flushable) {
+                    ((Flushable) destino).flush();
+                }
+                impresas.addAndGet(lote.size());
+                lotes.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error al imprimir " + lote.size() + " facturas: " + e.getMessage());
+            } finally {
+                lote.clear();
+                texto.setLength(0);
+            }
+        }
+    }
+}
\ No newline at end of file
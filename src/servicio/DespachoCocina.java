@@ -0,0 +1,387 @@
+package servicio;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Pedido;
+import modelo.Producto;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Clase servicio que despacha los pedidos a las estaciones de la cocina.
+ * Divide cada pedido en tickets por estacion: las comidas segun su tipo
+ * (entrada, principal, postre), las bebidas a la barra y los combos se
+ * descomponen en sus productos. Cada estacion tiene una cola de prioridad
+ * acotada atendida por sus propios hilos de trabajo y expone metricas de
+ * profundidad, espera y rendimiento. Los tickets de un pedido se encolan todos
+ * juntos o ninguno: {@link #ofrecer(Pedido)} rechaza el pedido sin esperar si
+ * alguna estacion no tiene espacio, y {@link #despachar(Pedido)} espera a que lo haya.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class DespachoCocina {
+    
+    /**
+     * Prioridad normal de un pedido.
+     */
+    public static final int PRIORIDAD_NORMAL = 0;
+    
+    /**
+     * Capacidad por defecto de la cola de cada estacion.
+     */
+    private static final int CAPACIDAD_POR_DEFECTO = 256;
+    
+    /**
+     * Hilos de trabajo por defecto para cada estacion.
+     */
+    private static final int TRABAJADORES_POR_DEFECTO = 2;
+    
+    /**
+     * Intervalo maximo de cada espera, en milisegundos, tras el cual se revisa si el
+     * despacho sigue activo.
+     */
+    private static final long INTERVALO_ESPERA_MS = 200;
+    
+    /**
+     * Cola de tickets de cada estacion.
+     */
+    private final Map<EstacionCocina, ColaEstacion> colas;
+    
+    /**
+     * Hilos de trabajo de todas las estaciones.
+     */
+    private final List<Thread> trabajadores;
+    
+    /**
+     * Accion que prepara cada ticket (por ejemplo, mostrarlo en la pantalla de la estacion).
+     */
+    private final Consumer<TicketCocina> preparador;
+    
+    /**
+     * Secuencia global de llegada de tickets.
+     */
+    private final AtomicLong secuencia;
+    
+    /**
+     * Indica si el despacho sigue aceptando y atendiendo tickets.
+     */
+    private volatile boolean activo;
+    
+    /**
+     * Monitor donde los despachos bloqueantes esperan a que se libere espacio.
+     */
+    private final Object avisoEspacio;
+    
+    /**
+     * Despachos bloqueantes que esperan espacio, para que los trabajadores solo
+     * los avisen cuando hay alguno.
+     */
+    private final AtomicInteger esperandoEspacio;
+    
+    /**
+     * Constructor con la capacidad y el numero de trabajadores por defecto.
+     * 
+     * @param preparador la accion que prepara cada ticket
+     */
+    public DespachoCocina(Consumer<TicketCocina> preparador) {
+        this(CAPACIDAD_POR_DEFECTO, TRABAJADORES_POR_DEFECTO, preparador);
+    }
+    
+    /**
+     * Constructor que crea las colas de todas las estaciones e inicia sus trabajadores.
+     * 
+     * @param capacidadPorEstacion la capacidad maxima de cada cola
+     * @param trabajadoresPorEstacion los hilos de trabajo de cada estacion
+     * @param preparador la accion que prepara cada ticket
+     * @throws IllegalArgumentException si la capacidad o los trabajadores no son positivos,
+     *         o si el preparador es nulo
+     */
+    public DespachoCocina(int capacidadPorEstacion, int trabajadoresPorEstacion, Consumer<TicketCocina> preparador) {
+        if (capacidadPorEstacion <= 0 || trabajadoresPorEstacion <= 0) {
+            throw new IllegalArgumentException("La capacidad y los trabajadores deben ser positivos.");
+        }
+        if (preparador == null) {
+            throw new IllegalArgumentException("El preparador no puede ser nulo.");
+        }
+        this.colas = new EnumMap<>(EstacionCocina.class);
+        this.trabajadores = new ArrayList<>();
+        this.preparador = preparador;
+        this.secuencia = new AtomicLong();
+        this.activo = true;
+        this.avisoEspacio = new Object();
+        this.esperandoEspacio = new AtomicInteger();
+        
+        for (EstacionCocina estacion : EstacionCocina.values()) {
+            ColaEstacion cola = new ColaEstacion(estacion, capacidadPorEstacion);
+            colas.put(estacion, cola);
+            for (int i = 0; i < trabajadoresPorEstacion; i++) {
+                Thread hilo = new Thread(() -> atender(cola), "cocina-" + estacion.name().toLowerCase() + "-" + i);
+                hilo.setDaemon(true);
+                trabajadores.add(hilo);
+                hilo.start();
+            }
+        }
+    }
+    
+    /**
+     * Despacha un pedido con prioridad normal.
+     * 
+     * @param pedido el pedido a despachar
+     * @return el numero de tickets generados
+     * @throws InterruptedException si el hilo es interrumpido esperando espacio en una cola
+     */
+    public int despachar(Pedido pedido) throws InterruptedException {
+        return despachar(pedido, PRIORIDAD_NORMAL);
+    }
+    
+    /**
+     * Divide un pedido en tickets y los encola en sus estaciones.
+     * Si alguna estacion no tiene espacio para sus tickets, espera a que lo haya;
+     * los tickets se encolan todos juntos, por lo que si la espera se interrumpe no
+     * queda ninguno encolado. No debe llamarse desde el hilo de la interfaz: para
+     * eso esta {@link #ofrecer(Pedido, int)}.
+     * 
+     * @param pedido el pedido a despachar
+     * @param prioridad la prioridad de sus tickets (mayor se atiende antes)
+     * @return el numero de tickets generados
+     * @throws InterruptedException si el hilo es interrumpido esperando espacio en una cola
+     * @throws IllegalArgumentException si el pedido es nulo o tiene para una estacion
+     *         mas tickets de los que caben en su cola
+     * @throws IllegalStateException si el despacho ya fue detenido
+     */
+    public int despachar(Pedido pedido, int prioridad) throws InterruptedException {
+        Map<EstacionCocina, List<TicketCocina>> tickets = generarTicketsPorEstacion(pedido, prioridad);
+        esperandoEspacio.incrementAndGet();
+        try {
+            synchronized (avisoEspacio) {
+                while (!encolarTodos(tickets)) {
+                    avisoEspacio.wait(INTERVALO_ESPERA_MS);
+                }
+            }
+        } finally {
+            esperandoEspacio.decrementAndGet();
+        }
+        return contarTickets(tickets);
+    }
+    
+    /**
+     * Ofrece un pedido a la cocina con prioridad normal, sin esperar.
+     * 
+     * @param pedido el pedido a despachar
+     * @return true si se encolaron sus tickets, false si alguna estacion esta llena
+     */
+    public boolean ofrecer(Pedido pedido) {
+        return ofrecer(pedido, PRIORIDAD_NORMAL);
+    }
+    
+    /**
+     * Divide un pedido en tickets y los encola en sus estaciones solo si todas tienen
+     * espacio para ellos; si alguna esta llena no encola ninguno y no espera, por lo
+     * que puede llamarse desde el hilo de la interfaz.
+     * 
+     * @param pedido el pedido a despachar
+     * @param prioridad la prioridad de sus tickets (mayor se atiende antes)
+     * @return true si se encolaron sus tickets, false si alguna estacion esta llena
+     * @throws IllegalArgumentException si el pedido es nulo o tiene para una estacion
+     *         mas tickets de los que caben en su cola
+     * @throws IllegalStateException si el despacho ya fue detenido
+     */
+    public boolean ofrecer(Pedido pedido, int prioridad) {
+        return encolarTodos(generarTicketsPorEstacion(pedido, prioridad));
+    }
+    
+    /**
+     * Obtiene las metricas actuales de cada estacion.
+     * 
+     * @return mapa de estacion a sus estadisticas
+     */
+    public Map<EstacionCocina, EstadisticasEstacion> getEstadisticas() {
+        Map<EstacionCocina, EstadisticasEstacion> resultado = new EnumMap<>(EstacionCocina.class);
+        for (Map.Entry<EstacionCocina, ColaEstacion> entrada : colas.entrySet()) {
+            resultado.put(entrada.getKey(), entrada.getValue().getEstadisticas());
+        }
+        return resultado;
+    }
+    
+    /**
+     * Obtiene la estacion que es el cuello de botella actual: la de cola mas profunda
+     * y, a igual profundidad, la de mayor espera promedio.
+     * 
+     * @return la estacion cuello de botella
+     */
+    public EstacionCocina getCuelloDeBotella() {
+        EstadisticasEstacion peor = null;
+        for (EstadisticasEstacion actual : getEstadisticas().values()) {
+            if (peor == null || actual.getProfundidad() > peor.getProfundidad() ||
+                (actual.getProfundidad() == peor.getProfundidad() && 
+                 actual.getEsperaPromedioMs() > peor.getEsperaPromedioMs())) {
+                peor = actual;
+            }
+        }
+        return peor.getEstacion();
+    }
+    
+    /**
+     * Detiene el despacho: deja de aceptar pedidos e interrumpe a los trabajadores.
+     * Los tickets que queden en cola se descartan.
+     */
+    public void detener() {
+        activo = false;
+        for (Thread hilo : trabajadores) {
+            hilo.interrupt();
+        }
+    }
+    
+    /**
+     * Divide un pedido en tickets agrupados por estacion.
+     * 
+     * @param pedido el pedido a dividir
+     * @param prioridad la prioridad de los tickets
+     * @return los tickets de cada estacion, en el orden de las estaciones
+     * @throws IllegalArgumentException si el pedido es nulo o tiene para una estacion
+     *         mas tickets de los que caben en su cola
+     * @throws IllegalStateException si el despacho ya fue detenido
+     */
+    private Map<EstacionCocina, List<TicketCocina>> generarTicketsPorEstacion(Pedido pedido, int prioridad) {
+        if (pedido == null) {
+            throw new IllegalArgumentException("El pedido no puede ser nulo.");
+        }
+        if (!activo) {
+            throw new IllegalStateException("El despacho de cocina esta detenido.");
+        }
+        List<TicketCocina> tickets = new ArrayList<>();
+        pedido.recorrerLineas((producto, cantidad) -> {
+            for (int i = 0; i < cantidad; i++) {
+                generarTickets(pedido.getId(), producto, prioridad, tickets);
+            }
+        });
+        Map<EstacionCocina, List<TicketCocina>> porEstacion = new EnumMap<>(EstacionCocina.class);
+        for (TicketCocina ticket : tickets) {
+            porEstacion.computeIfAbsent(ticket.getEstacion(), e -> new ArrayList<>()).add(ticket);
+        }
+        for (Map.Entry<EstacionCocina, List<TicketCocina>> entrada : porEstacion.entrySet()) {
+            if (entrada.getValue().size() > colas.get(entrada.getKey()).getCapacidad()) {
+                throw new IllegalArgumentException("El pedido #" + pedido.getId() + " tiene mas tickets para " +
+                                                   entrada.getKey() + " de los que caben en su cola.");
+            }
+        }
+        return porEstacion;
+    }
+    
+    /**
+     * Encola los tickets de un pedido si todas sus estaciones tienen espacio.
+     * Toma los candados de las colas en el orden de las estaciones, para que dos
+     * despachos simultaneos no se bloqueen entre si.
+     * 
+     * @param porEstacion los tickets de cada estacion, en el orden de las estaciones
+     * @return true si se encolaron todos, false si alguna estacion esta llena
+     * @throws IllegalStateException si el despacho ya fue detenido
+     */
+    private boolean encolarTodos(Map<EstacionCocina, List<TicketCocina>> porEstacion) {
+        if (!activo) {
+            throw new IllegalStateException("El despacho de cocina esta detenido.");
+        }
+        List<ColaEstacion> tomadas = new ArrayList<>(porEstacion.size());
+        try {
+            for (Map.Entry<EstacionCocina, List<TicketCocina>> entrada : porEstacion.entrySet()) {
+                ColaEstacion cola = colas.get(entrada.getKey());
+                cola.bloquear();
+                tomadas.add(cola);
+                if (cola.disponibles() < entrada.getValue().size()) {
+                    return false;
+                }
+            }
+            for (Map.Entry<EstacionCocina, List<TicketCocina>> entrada : porEstacion.entrySet()) {
+                ColaEstacion cola = colas.get(entrada.getKey());
+                for (TicketCocina ticket : entrada.getValue()) {
+                    cola.agregar(ticket);
+                }
+            }
+            return true;
+        } finally {
+            for (ColaEstacion cola : tomadas) {
+                cola.desbloquear();
+            }
+        }
+    }
+    
+    /**
+     * Cuenta los tickets de un pedido.
+     * 
+     * @param porEstacion los tickets de cada estacion
+     * @return el total de tickets
+     */
+    private static int contarTickets(Map<EstacionCocina, List<TicketCocina>> porEstacion) {
+        int total = 0;
+        for (List<TicketCocina> tickets : porEstacion.values()) {
+            total += tickets.size();
+        }
+        return total;
+    }
+    
+    /**
+     * Genera los tickets de un producto; los combos se descomponen en sus productos.
+     * 
+     * @param idPedido el ID del pedido
+     * @param producto el producto a convertir en tickets
+     * @param prioridad la prioridad de los tickets
+     * @param destino la lista donde se agregan los tickets
+     */
+    private void generarTickets(int idPedido, Producto producto, int prioridad, List<TicketCocina> destino) {
+        if (producto instanceof Combo) {
+            for (Producto componente : ((Combo) producto).getProductos()) {
+                generarTickets(idPedido, componente, prioridad, destino);
+            }
+            return;
+        }
+        EstacionCocina estacion;
+        if (producto instanceof Bebida) {
+            estacion = EstacionCocina.BAR;
+        } else if (producto instanceof Comida) {
+            estacion = EstacionCocina.paraTipoComida(((Comida) producto).getTipo());
+        } else {
+            estacion = EstacionCocina.PRINCIPALES;
+        }
+        destino.add(new TicketCocina(idPedido, producto, estacion, prioridad, secuencia.getAndIncrement()));
+    }
+    
+    /**
+     * Ciclo de un hilo de trabajo: extrae tickets de su cola y los prepara.
+     * 
+     * @param cola la cola de la estacion atendida
+     */
+    private void atender(ColaEstacion cola) {
+        while (activo) {
+            try {
+                TicketCocina ticket = cola.extraer(INTERVALO_ESPERA_MS, TimeUnit.MILLISECONDS);
+                if (ticket == null) {
+                    continue;
+                }
+                if (esperandoEspacio.get() > 0) {
+                    synchronized (avisoEspacio) {
+                        avisoEspacio.notifyAll();
+                    }
+                }
+                try {
+                    preparador.accept(ticket);
+                } catch (RuntimeException e) {
+                    System.err.println("Error al preparar " + ticket + ": " + e.getMessage());
+                } finally {
+                    cola.registrarAtendido();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
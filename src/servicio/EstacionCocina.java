@@ -0,0 +1,54 @@
+package servicio;
+
+/**
+ * Enumeracion de las estaciones de trabajo de la cocina.
+ * Cada producto de un pedido se prepara en la estacion que le corresponde.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see DespachoCocina
+ */
+public enum EstacionCocina {
+    
+    /**
+     * Estacion de entradas (comidas de tipo "entrada").
+     */
+    ENTRADAS,
+    
+    /**
+     * Estacion de platos principales (comidas de tipo "principal").
+     */
+    PRINCIPALES,
+    
+    /**
+     * Estacion de postres (comidas de tipo "postre").
+     */
+    POSTRES,
+    
+    /**
+     * Barra, donde se preparan todas las bebidas.
+     */
+    BAR;
+    
+    /**
+     * Obtiene la estacion que prepara una comida segun su tipo.
+     * Los tipos desconocidos se envian a la estacion de principales.
+     * 
+     * @param tipo el tipo de comida (entrada, principal, postre)
+     * @return la estacion correspondiente
+     */
+    public static EstacionCocina paraTipoComida(String tipo) {
+        if (tipo == null) {
+            return PRINCIPALES;
+        }
+        switch (tipo.toLowerCase()) {
+            case "entrada":
+                return ENTRADAS;
+            case "postre":
+                return POSTRES;
+            default:
+                return PRINCIPALES;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package servicio;
+
+/**
+ * Instantanea de las metricas de una estacion de cocina: profundidad de la cola,
+ * tiempos de espera y rendimiento. Permite detectar el cuello de botella durante
+ * las horas pico.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see DespachoCocina#getEstadisticas()
+ */
+public class EstadisticasEstacion {
+    
+    /**
+     * Estacion medida.
+     */
+    private final EstacionCocina estacion;
+    
+    /**
+     * Tickets en espera al momento de la medicion.
+     */
+    private final int profundidad;
+    
+    /**
+     * Capacidad maxima de la cola.
+     */
+    private final int capacidad;
+    
+    /**
+     * Tickets atendidos desde el inicio.
+     */
+    private final long atendidos;
+    
+    /**
+     * Tiempo de espera promedio en cola, en milisegundos.
+     */
+    private final double esperaPromedioMs;
+    
+    /**
+     * Mayor tiempo de espera en cola, en milisegundos.
+     */
+    private final double esperaMaximaMs;
+    
+    /**
+     * Rendimiento de la estacion en tickets por segundo.
+     */
+    private final double ticketsPorSegundo;
+    
+    /**
+     * Constructor de la instantanea de metricas.
+     * 
+     * @param estacion la estacion medida
+     * @param profundidad los tickets en espera
+     * @param capacidad la capacidad de la cola
+     * @param atendidos los tickets atendidos
+     * @param esperaPromedioMs la espera promedio en milisegundos
+     * @param esperaMaximaMs la espera maxima en milisegundos
+     * @param ticketsPorSegundo el rendimiento en tickets por segundo
+     */
+    EstadisticasEstacion(EstacionCocina estacion, int profundidad, int capacidad, long atendidos,
+                         double esperaPromedioMs, double esperaMaximaMs, double ticketsPorSegundo) {
+        this.estacion = estacion;
+        this.profundidad = profundidad;
+        this.capacidad = capacidad;
+        this.atendidos = atendidos;
+        this.esperaPromedioMs = esperaPromedioMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.ticketsPorSegundo = ticketsPorSegundo;
+    }
+    
+    /**
+     * Obtiene la estacion medida.
+     * 
+     * @return la estacion de cocina
+     */
+    public EstacionCocina getEstacion() {
+        return estacion;
+    }
+    
+    /**
+     * Obtiene el numero de tickets en espera.
+     * 
+     * @return la profundidad de la cola
+     */
+    public int getProfundidad() {
+        return profundidad;
+    }
+    
+    /**
+     * Obtiene la capacidad maxima de la cola.
+     * 
+     * @return la capacidad de la cola
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+    
+    /**
+     * Obtiene el numero de tickets atendidos.
+     * 
+     * @return los tickets atendidos
+     */
+    public long getAtendidos() {
+        return atendidos;
+    }
+    
+    /**
+     * Obtiene el tiempo de espera promedio en cola.
+     * 
+     * @return la espera promedio en milisegundos
+     */
+    public double getEsperaPromedioMs() {
+        return esperaPromedioMs;
+    }
+    
+    /**
+     * Obtiene el mayor tiempo de espera en cola observado.
+     * 
+     * @return la espera maxima en milisegundos
+     */
+    public double getEsperaMaximaMs() {
+        return esperaMaximaMs;
+    }
+    
+    /**
+     * Obtiene el rendimiento de la estacion.
+     * 
+     * @return los tickets atendidos por segundo
+     */
+    public double getTicketsPorSegundo() {
+        return ticketsPorSegundo;
+    }
+    
+    /**
+     * Representacion en String de las metricas.
+     * 
+     * @return String con profundidad, espera y rendimiento
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d en cola - espera prom. %.1f ms (max %.1f ms) - %.1f tickets/s", 
+                           estacion, profundidad, capacidad, esperaPromedioMs, esperaMaximaMs, ticketsPorSegundo);
+    }
+}
@@ -0,0 +1,123 @@
+package servicio;
+
+import modelo.Factura;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de facturacion asincrona: valida y factura en un ejecutor propio y
+ * envia cada factura a una cola de impresion, de modo que quien la solicita (por
+ * ejemplo, el hilo de eventos de Swing) no se bloquea ni por la facturacion ni
+ * por la impresion.
+ *
+ * Las facturas se generan en un solo hilo, en el orden en que se solicitan.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see ColaImpresion
+ */
+public class FacturacionAsincrona {
+
+    /**
+     * Tiempo maximo que se espera al cerrar a que terminen las facturaciones y la impresion.
+     */
+    private static final long ESPERA_CIERRE_SEGUNDOS = 5;
+
+    /**
+     * Gestor que valida y genera las facturas.
+     */
+    private final GestorFacturas gestorFacturas;
+
+    /**
+     * Cola donde se envia cada factura generada para imprimirla.
+     */
+    private final ColaImpresion colaImpresion;
+
+    /**
+     * Hilo unico de facturacion, que genera las facturas en orden de solicitud.
+     */
+    private final ExecutorService ejecutor;
+
+    /**
+     * Constructor que imprime las facturas en la consola.
+     *
+     * @param gestorFacturas el gestor que genera las facturas
+     */
+    public FacturacionAsincrona(GestorFacturas gestorFacturas) {
+        this(gestorFacturas, new ColaImpresion(System.out));
+    }
+
+    /**
+     * Constructor con una cola de impresion dada.
+     *
+     * @param gestorFacturas el gestor que genera las facturas
+     * @param colaImpresion la cola donde se envian las facturas generadas
+     * @throws IllegalArgumentException si algun parametro es nulo
+     */
+    public FacturacionAsincrona(GestorFacturas gestorFacturas, ColaImpresion colaImpresion) {
+        if (gestorFacturas == null || colaImpresion == null) {
+            throw new IllegalArgumentException("El gestor de facturas y la cola de impresion no pueden ser nulos.");
+        }
+        this.gestorFacturas = gestorFacturas;
+        this.colaImpresion = colaImpresion;
+        this.ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "facturacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Genera la factura de un pedido en segundo plano y la encola para imprimirla.
+     * Los errores de validacion de {@link GestorFacturas#generarFactura(int, String)}
+     * completan el futuro excepcionalmente con la misma excepcion.
+     *
+     * @param idPedido el ID del pedido a facturar
+     * @param cliente el nombre del cliente
+     * @return futuro que se completa con la factura generada
+     */
+    public CompletableFuture<Factura> generarFactura(int idPedido, String cliente) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                Factura factura = gestorFacturas.generarFactura(idPedido, cliente);
+                colaImpresion.encolar(factura);
+                return factura;
+            }, ejecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("El servicio de facturacion esta cerrado."));
+        }
+    }
+
+    /**
+     * Obtiene la cola de impresion del servicio.
+     *
+     * @return la cola de impresion
+     */
+    public ColaImpresion getColaImpresion() {
+        return colaImpresion;
+    }
+
+    /**
+     * Cierra el servicio: deja de aceptar facturaciones, espera a que terminen las
+     * pendientes y a que se impriman sus facturas.
+     *
+     * @return true si todas las facturas se generaron e imprimieron, false si vencio
+     *         la espera o el hilo fue interrumpido y quedaron facturas sin imprimir
+     */
+    public boolean cerrar() {
+        ejecutor.shutdown();
+        try {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA_CIERRE_SEGUNDOS);
+            boolean facturadas = ejecutor.awaitTermination(ESPERA_CIERRE_SEGUNDOS, TimeUnit.SECONDS);
+            boolean impresas = colaImpresion.cerrar(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return facturadas && impresas;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package servicio;
+
+import java.util.BitSet;
+import java.util.function.Function;
+
+/**
+ * Filtro sobre los atributos de los productos del catalogo. Los filtros basicos
+ * (tipo de producto, tipo de comida, vegetariano, tamano de bebida, con alcohol)
+ * se combinan con {@link #y(FiltroProductos)}, {@link #o(FiltroProductos)} y
+ * {@link #no()}, y {@link GestorProductos#filtrar(FiltroProductos)} los resuelve
+ * con operaciones de bits sobre el indice de atributos.
+ *
+ * Por ejemplo, las comidas principales vegetarianas son
+ * {@code FiltroProductos.tipoComida("principal").y(FiltroProductos.vegetarianos())} y
+ * las bebidas grandes sin alcohol son
+ * {@code FiltroProductos.tamanoBebida("grande").y(FiltroProductos.conAlcohol().no())}.
+ *
+ * Los filtros son inmutables y se pueden reutilizar.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public final class FiltroProductos {
+
+    /**
+     * Calcula el conjunto de posiciones que cumplen el filtro. Devuelve siempre un
+     * conjunto nuevo, que el llamador puede modificar.
+     */
+    private final Function<IndiceAtributos, BitSet> evaluacion;
+
+    private FiltroProductos(Function<IndiceAtributos, BitSet> evaluacion) {
+        this.evaluacion = evaluacion;
+    }
+
+    /**
+     * Filtro que acepta todos los productos.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos todos() {
+        return new FiltroProductos(indice -> {
+            BitSet todos = new BitSet(indice.tamano);
+            todos.set(0, indice.tamano);
+            return todos;
+        });
+    }
+
+    /**
+     * Filtro de las comidas.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos comidas() {
+        return new FiltroProductos(indice -> (BitSet) indice.comidas.clone());
+    }
+
+    /**
+     * Filtro de las bebidas.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos bebidas() {
+        return new FiltroProductos(indice -> (BitSet) indice.bebidas.clone());
+    }
+
+    /**
+     * Filtro de los combos.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos combos() {
+        return new FiltroProductos(indice -> (BitSet) indice.combos.clone());
+    }
+
+    /**
+     * Filtro de los productos individuales, es decir, que no son combos.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos individuales() {
+        return combos().no();
+    }
+
+    /**
+     * Filtro de las comidas de un tipo, sin distinguir mayusculas.
+     *
+     * @param tipo el tipo de comida (entrada, principal, postre)
+     * @return el filtro
+     * @throws IllegalArgumentException si el tipo es nulo
+     */
+    public static FiltroProductos tipoComida(String tipo) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo de comida no puede ser nulo.");
+        }
+        return new FiltroProductos(indice -> (BitSet) indice.comidasDeTipo(tipo).clone());
+    }
+
+    /**
+     * Filtro de las comidas vegetarianas.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos vegetarianos() {
+        return new FiltroProductos(indice -> (BitSet) indice.vegetarianos.clone());
+    }
+
+    /**
+     * Filtro de las bebidas de un tamano, sin distinguir mayusculas.
+     *
+     * @param tamano el tamano de bebida (pequeno, mediano, grande)
+     * @return el filtro
+     * @throws IllegalArgumentException si el tamano es nulo
+     */
+    public static FiltroProductos tamanoBebida(String tamano) {
+        if (tamano == null) {
+            throw new IllegalArgumentException("El tamano de bebida no puede ser nulo.");
+        }
+        return new FiltroProductos(indice -> (BitSet) indice.bebidasDeTamano(tamano).clone());
+    }
+
+    /**
+     * Filtro de las bebidas con alcohol. Su negacion incluye a las comidas y combos;
+     * para las bebidas sin alcohol se combina con {@link #bebidas()} o con un tamano.
+     *
+     * @return el filtro
+     */
+    public static FiltroProductos conAlcohol() {
+        return new FiltroProductos(indice -> (BitSet) indice.conAlcohol.clone());
+    }
+
+    /**
+     * Combina este filtro con otro: acepta los productos que cumplen ambos.
+     *
+     * @param otro el otro filtro
+     * @return el filtro combinado
+     * @throws IllegalArgumentException si el otro filtro es nulo
+     */
+    public FiltroProductos y(FiltroProductos otro) {
+        validar(otro);
+        return new FiltroProductos(indice -> {
+            BitSet resultado = evaluar(indice);
+            resultado.and(otro.evaluar(indice));
+            return resultado;
+        });
+    }
+
+    /**
+     * Combina este filtro con otro: acepta los productos que cumplen alguno.
+     *
+     * @param otro el otro filtro
+     * @return el filtro combinado
+     * @throws IllegalArgumentException si el otro filtro es nulo
+     */
+    public FiltroProductos o(FiltroProductos otro) {
+        validar(otro);
+        return new FiltroProductos(indice -> {
+            BitSet resultado = evaluar(indice);
+            resultado.or(otro.evaluar(indice));
+            return resultado;
+        });
+    }
+
+    /**
+     * Niega este filtro: acepta los productos del catalogo que no lo cumplen.
+     *
+     * @return el filtro negado
+     */
+    public FiltroProductos no() {
+        return new FiltroProductos(indice -> {
+            BitSet resultado = evaluar(indice);
+            resultado.flip(0, indice.tamano);
+            return resultado;
+        });
+    }
+
+    /**
+     * Calcula las posiciones del catalogo que cumplen el filtro.
+     *
+     * @param indice el indice de atributos del catalogo
+     * @return conjunto nuevo con un bit por producto aceptado
+     */
+    BitSet evaluar(IndiceAtributos indice) {
+        return evaluacion.apply(indice);
+    }
+
+    private static void validar(FiltroProductos otro) {
+        if (otro == null) {
+            throw new IllegalArgumentException("El filtro no puede ser nulo.");
+        }
+    }
+}
\ No newline at end of file
@@ -2,9 +2,24 @@ package servicio;
 
 import modelo.Factura;
 import modelo.Pedido;
+import persistencia.ExportadorFacturas;
+import utilidades.ArbolOrdenEstadistico;
+import utilidades.Dinero;
+import utilidades.MapaEnteros;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 
 /**
  * Clase servicio para gestionar todas las operaciones relacionadas con facturas.
@@ -15,9 +30,52 @@ import java.util.Optional;
  * @since 2025
  */
 public class GestorFacturas {
+    /**
+     * Orden de las facturas por monto; a igual monto, por numero.
+     */
+    private static final Comparator<Factura> POR_MONTO =
+        Comparator.comparingLong(Factura::getTotalCentavos).thenComparingInt(Factura::getNumero);
+    
+    /**
+     * Facturas en orden de emision. Su monitor protege tambien los indices y los
+     * agregados, para que una factura aparezca en todos a la vez.
+     */
     private List<Factura> facturas;
     private GestorPedidos gestorPedidos;
     
+    /**
+     * Indice de numero de factura a factura.
+     */
+    private final MapaEnteros<Factura> indicePorNumero;
+    
+    /**
+     * Indice de ID de pedido a su factura; impide facturar dos veces el mismo pedido.
+     */
+    private final MapaEnteros<Factura> indicePorPedido;
+    
+    /**
+     * Cuentas por cliente (facturas y total acumulado), con el nombre en minusculas como clave.
+     */
+    private final ConcurrentHashMap<String, CuentaCliente> cuentasPorCliente;
+    
+    /**
+     * Facturas vigentes (no anuladas) ordenadas por monto, para mayores, menores y percentiles.
+     */
+    private final ArbolOrdenEstadistico<Factura> facturasPorMonto;
+    
+    /**
+     * Todas las facturas, incluidas las anuladas, ordenadas por fecha de emision.
+     * Es una estructura concurrente: las consultas por rango de tiempo no toman el
+     * candado de las facturas y no bloquean la facturacion.
+     */
+    private final ConcurrentSkipListMap<ClaveTiempo, Factura> facturasPorFecha;
+    
+    /**
+     * Total acumulado de las facturas vigentes, en centavos. Al ser entero, la suma
+     * es exacta sin importar cuantas facturas se acumulen.
+     */
+    private volatile long totalFacturadoCentavos;
+    
     /**
      * Constructor que inicializa la lista de facturas.
      * 
@@ -26,6 +84,11 @@ public class GestorFacturas {
     public GestorFacturas(GestorPedidos gestorPedidos) {
         this.facturas = new ArrayList<>();
         this.gestorPedidos = gestorPedidos;
+        this.indicePorNumero = new MapaEnteros<>();
+        this.indicePorPedido = new MapaEnteros<>();
+        this.cuentasPorCliente = new ConcurrentHashMap<>();
+        this.facturasPorMonto = new ArbolOrdenEstadistico<>(POR_MONTO);
+        this.facturasPorFecha = new ConcurrentSkipListMap<>();
     }
     
     /**
@@ -33,8 +96,9 @@ public class GestorFacturas {
      * 
      * @param idPedido el ID del pedido a facturar
      * @param cliente el nombre del cliente
-     * @return la factura generada, o null si el pedido no puede ser facturado
+     * @return la factura generada
      * @throws IllegalArgumentException si el cliente esta vacio o el pedido no existe
+     * @throws IllegalStateException si el pedido ya fue facturado o no puede ser facturado
      */
     public Factura generarFactura(int idPedido, String cliente) {
         if (cliente == null || cliente.trim().isEmpty()) {
@@ -46,15 +110,53 @@ public class GestorFacturas {
             throw new IllegalArgumentException("El pedido con ID " + idPedido + " no existe.");
         }
         
+        if (indicePorPedido.contiene(idPedido)) {
+            throw new IllegalStateException("El pedido #" + idPedido + " ya fue facturado.");
+        }
+        
         if (!gestorPedidos.pedidoPuedeSerFacturado(idPedido)) {
-            throw new IllegalStateException("El pedido no puede ser facturado. Verifique que este pendiente y tenga productos.");
+            throw new IllegalStateException("El pedido no puede ser facturado. Verifique que no este finalizado y tenga productos.");
         }
         
+        // La factura completa el pedido de forma atomica (ver el constructor de Factura):
+        // de dos facturaciones simultaneas del mismo pedido solo una llega aqui
         Factura factura = new Factura(pedido.get(), cliente.trim());
-        facturas.add(factura);
+        if (indicePorPedido.ponerSiAusente(idPedido, factura) != null) {
+            throw new IllegalStateException("El pedido #" + idPedido + " ya fue facturado.");
+        }
+        synchronized (facturas) {
+            indicePorNumero.poner(factura.getNumero(), factura);
+            cuentasPorCliente.computeIfAbsent(claveCliente(factura.getCliente()), c -> new CuentaCliente())
+                             .agregar(factura);
+            facturas.add(factura);
+            facturasPorMonto.insertar(factura);
+            facturasPorFecha.put(new ClaveTiempo(factura.getFecha(), factura.getNumero()), factura);
+            totalFacturadoCentavos += factura.getTotalCentavos();
+        }
         return factura;
     }
     
+    /**
+     * Anula una factura: se conserva para auditoria, pero deja de contar en los
+     * totales, en los mayores y menores montos y en los percentiles.
+     * El pedido asociado sigue facturado y no puede volver a facturarse.
+     * 
+     * @param numero el numero de la factura a anular
+     * @return true si se anulo, false si no existe o ya estaba anulada
+     */
+    public boolean anularFactura(int numero) {
+        synchronized (facturas) {
+            Factura factura = indicePorNumero.obtener(numero);
+            if (factura == null || !factura.anular()) {
+                return false;
+            }
+            facturasPorMonto.eliminar(factura);
+            totalFacturadoCentavos -= factura.getTotalCentavos();
+            cuentasPorCliente.get(claveCliente(factura.getCliente())).anular(factura);
+            return true;
+        }
+    }
+    
     /**
      * Busca una factura por su numero.
      * 
@@ -62,9 +164,7 @@ public class GestorFacturas {
      * @return Optional con la factura encontrada o vacio si no existe
      */
     public Optional<Factura> buscarFacturaPorNumero(int numero) {
-        return facturas.stream()
-            .filter(f -> f.getNumero() == numero)
-            .findFirst();
+        return Optional.ofNullable(indicePorNumero.obtener(numero));
     }
     
     /**
@@ -73,7 +173,76 @@ public class GestorFacturas {
      * @return lista completa de facturas
      */
     public List<Factura> getTodasLasFacturas() {
-        return new ArrayList<>(facturas);
+        synchronized (facturas) {
+            return new ArrayList<>(facturas);
+        }
+    }
+    
+    /**
+     * Recorre todas las facturas en orden de emision sin copiar la lista.
+     * El recorrido se hace con el candado de las facturas tomado, por lo que el
+     * consumidor debe ser breve y no debe facturar ni anular.
+     * 
+     * @param consumidor el consumidor que recibe cada factura
+     */
+    public void recorrerFacturas(Consumer<Factura> consumidor) {
+        synchronized (facturas) {
+            for (Factura factura : facturas) {
+                consumidor.accept(factura);
+            }
+        }
+    }
+    
+    /**
+     * Obtiene las facturas emitidas en un rango de tiempo, incluidas las anuladas,
+     * en orden de emision. Cuesta O(log n + k) para k facturas en el rango.
+     * 
+     * @param desde el inicio del rango, inclusive
+     * @param hasta el fin del rango, exclusivo
+     * @return lista de facturas del rango
+     * @throws IllegalArgumentException si algun limite es nulo o hasta es anterior a desde
+     */
+    public List<Factura> getFacturasEntre(LocalDateTime desde, LocalDateTime hasta) {
+        return new ArrayList<>(rango(desde, hasta).values());
+    }
+    
+    /**
+     * Genera el reporte Z de un turno: ventas, anulaciones y desglose por hora de
+     * las facturas emitidas entre dos instantes. Cuesta O(log n + k) para k facturas
+     * en el turno y no bloquea la facturacion; las facturas emitidas o anuladas
+     * mientras se genera pueden aparecer o no en el reporte.
+     * 
+     * @param desde el inicio del turno, inclusive
+     * @param hasta el fin del turno, exclusivo
+     * @return el reporte del turno
+     * @throws IllegalArgumentException si algun limite es nulo o hasta es anterior a desde
+     */
+    public ReporteZ generarReporteZ(LocalDateTime desde, LocalDateTime hasta) {
+        ReporteZ reporte = new ReporteZ(desde, hasta);
+        for (Factura factura : rango(desde, hasta).values()) {
+            reporte.agregar(factura);
+        }
+        return reporte;
+    }
+    
+    /**
+     * Genera el reporte Z de un turno dado por su dia y sus horas de inicio y fin.
+     * Si la hora de fin no es posterior a la de inicio, el turno termina al dia
+     * siguiente (por ejemplo, de 22:00 a 02:00).
+     * 
+     * @param dia el dia en que empieza el turno
+     * @param inicio la hora de inicio, inclusive
+     * @param fin la hora de fin, exclusiva
+     * @return el reporte del turno
+     * @throws IllegalArgumentException si algun parametro es nulo
+     */
+    public ReporteZ generarReporteZ(LocalDate dia, LocalTime inicio, LocalTime fin) {
+        if (dia == null || inicio == null || fin == null) {
+            throw new IllegalArgumentException("El dia y las horas del turno no pueden ser nulos.");
+        }
+        LocalDateTime desde = dia.atTime(inicio);
+        LocalDateTime hasta = fin.isAfter(inicio) ? dia.atTime(fin) : dia.plusDays(1).atTime(fin);
+        return generarReporteZ(desde, hasta);
     }
     
     /**
@@ -83,40 +252,68 @@ public class GestorFacturas {
      * @return lista de facturas del cliente especificado
      */
     public List<Factura> getFacturasPorCliente(String cliente) {
-        List<Factura> resultado = new ArrayList<>();
-        for (Factura factura : facturas) {
-            if (factura.getCliente().equalsIgnoreCase(cliente)) {
-                resultado.add(factura);
-            }
-        }
-        return resultado;
+        CuentaCliente cuenta = buscarCuenta(cliente);
+        return cuenta == null ? new ArrayList<>() : cuenta.getFacturas();
     }
     
     /**
-     * Calcula el total facturado en todas las facturas.
+     * Obtiene el total facturado en todas las facturas vigentes, en tiempo constante.
      * 
-     * @return la suma total de todas las facturas
+     * @return la suma total de las facturas no anuladas
      */
     public double getTotalFacturado() {
-        double total = 0;
-        for (Factura factura : facturas) {
-            total += factura.getTotal();
+        return Dinero.aDecimal(totalFacturadoCentavos);
+    }
+    
+    /**
+     * Obtiene el total facturado en todas las facturas vigentes en centavos, exacto
+     * y en tiempo constante.
+     * 
+     * @return la suma total de las facturas no anuladas, en centavos
+     */
+    public long getTotalFacturadoCentavos() {
+        return totalFacturadoCentavos;
+    }
+    
+    /**
+     * Exporta las facturas emitidas en un dia a un archivo columnar. Primero copia
+     * las facturas del dia desde el indice por fecha, que no bloquea la facturacion,
+     * y luego escribe el archivo sin ningun candado tomado.
+     * 
+     * @param dia el dia a exportar
+     * @param directorio el directorio de exportacion
+     * @return el numero de facturas exportadas
+     * @throws IllegalArgumentException si el dia es nulo
+     * @throws IOException si no se puede escribir el archivo
+     * @see persistencia.LectorFacturas
+     */
+    public int exportarDia(LocalDate dia, Path directorio) throws IOException {
+        if (dia == null) {
+            throw new IllegalArgumentException("El dia no puede ser nulo.");
         }
-        return total;
+        List<Factura> delDia = getFacturasEntre(dia.atStartOfDay(), dia.plusDays(1).atStartOfDay());
+        return ExportadorFacturas.exportarDia(delDia::forEach, dia, directorio);
     }
     
     /**
      * Calcula el total facturado para un cliente especifico.
      * 
      * @param cliente el nombre del cliente
-     * @return la suma total facturada al cliente
+     * @return la suma total facturada al cliente, sin las facturas anuladas
      */
     public double getTotalFacturadoPorCliente(String cliente) {
-        double total = 0;
-        for (Factura factura : getFacturasPorCliente(cliente)) {
-            total += factura.getTotal();
-        }
-        return total;
+        return Dinero.aDecimal(getTotalFacturadoPorClienteCentavos(cliente));
+    }
+    
+    /**
+     * Calcula el total facturado para un cliente especifico en centavos.
+     * 
+     * @param cliente el nombre del cliente
+     * @return la suma total facturada al cliente en centavos, sin las facturas anuladas
+     */
+    public long getTotalFacturadoPorClienteCentavos(String cliente) {
+        CuentaCliente cuenta = buscarCuenta(cliente);
+        return cuenta == null ? 0 : cuenta.getTotal();
     }
     
     /**
@@ -125,45 +322,77 @@ public class GestorFacturas {
      * @return el conteo total de facturas
      */
     public int getTotalFacturas() {
-        return facturas.size();
+        return indicePorNumero.tamano();
     }
     
     /**
-     * Obtiene la factura con el monto mas alto.
+     * Obtiene la factura vigente con el monto mas alto.
      * 
      * @return la factura con el mayor total, o null si no hay facturas
      */
     public Factura getFacturaMayorMonto() {
-        if (facturas.isEmpty()) {
-            return null;
-        }
-        
-        Factura mayor = facturas.get(0);
-        for (Factura factura : facturas) {
-            if (factura.getTotal() > mayor.getTotal()) {
-                mayor = factura;
-            }
+        synchronized (facturas) {
+            return facturasPorMonto.ultimo();
         }
-        return mayor;
     }
     
     /**
-     * Obtiene la factura con el monto mas bajo.
+     * Obtiene la factura vigente con el monto mas bajo.
      * 
      * @return la factura con el menor total, o null si no hay facturas
      */
     public Factura getFacturaMenorMonto() {
-        if (facturas.isEmpty()) {
-            return null;
+        synchronized (facturas) {
+            return facturasPorMonto.primero();
         }
-        
-        Factura menor = facturas.get(0);
-        for (Factura factura : facturas) {
-            if (factura.getTotal() < menor.getTotal()) {
-                menor = factura;
+    }
+    
+    /**
+     * Obtiene las K facturas vigentes de mayor monto, de mayor a menor.
+     * 
+     * @param k el numero de facturas
+     * @return lista con a lo sumo k facturas
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<Factura> getFacturasMayorMonto(int k) {
+        synchronized (facturas) {
+            return facturasPorMonto.mayores(k);
+        }
+    }
+    
+    /**
+     * Obtiene las K facturas vigentes de menor monto, de menor a mayor.
+     * 
+     * @param k el numero de facturas
+     * @return lista con a lo sumo k facturas
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<Factura> getFacturasMenorMonto(int k) {
+        synchronized (facturas) {
+            return facturasPorMonto.menores(k);
+        }
+    }
+    
+    /**
+     * Obtiene un percentil del monto de las facturas vigentes (por ejemplo, 50 para
+     * la mediana o 95 para el p95), por el metodo del rango mas cercano.
+     * 
+     * @param percentil el percentil, entre 0 y 100
+     * @return el monto del percentil, o 0 si no hay facturas
+     * @throws IllegalArgumentException si el percentil esta fuera de rango
+     */
+    public double getPercentilMonto(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100.");
+        }
+        synchronized (facturas) {
+            int cantidad = facturasPorMonto.tamano();
+            if (cantidad == 0) {
+                return 0;
             }
+            int rango = (int) Math.ceil(percentil / 100 * cantidad);
+            return facturasPorMonto.obtener(Math.max(rango, 1) - 1).getTotal();
         }
-        return menor;
     }
     
     /**
@@ -173,11 +402,99 @@ public class GestorFacturas {
      * @return true si ya existe una factura para el pedido, false en caso contrario
      */
     public boolean existeFacturaParaPedido(int idPedido) {
-        for (Factura factura : facturas) {
-            if (factura.getPedido().getId() == idPedido) {
-                return true;
-            }
+        return indicePorPedido.contiene(idPedido);
+    }
+    
+    /**
+     * Busca la factura de un pedido.
+     * 
+     * @param idPedido el ID del pedido
+     * @return Optional con la factura del pedido o vacio si no fue facturado
+     */
+    public Optional<Factura> buscarFacturaPorPedido(int idPedido) {
+        return Optional.ofNullable(indicePorPedido.obtener(idPedido));
+    }
+    
+    /**
+     * Obtiene la vista del indice por fecha entre dos instantes.
+     * 
+     * @param desde el inicio, inclusive
+     * @param hasta el fin, exclusivo
+     * @return la vista del rango
+     */
+    private ConcurrentNavigableMap<ClaveTiempo, Factura> rango(LocalDateTime desde, LocalDateTime hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Los limites del rango no pueden ser nulos.");
+        }
+        if (hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("El fin del rango no puede ser anterior al inicio.");
+        }
+        return facturasPorFecha.subMap(new ClaveTiempo(desde, Integer.MIN_VALUE), 
+                                       new ClaveTiempo(hasta, Integer.MIN_VALUE));
+    }
+    
+    /**
+     * Busca la cuenta de un cliente sin distinguir mayusculas y minusculas.
+     * 
+     * @param cliente el nombre del cliente
+     * @return la cuenta del cliente, o null si no tiene facturas
+     */
+    private CuentaCliente buscarCuenta(String cliente) {
+        return cliente == null ? null : cuentasPorCliente.get(claveCliente(cliente));
+    }
+    
+    /**
+     * Normaliza el nombre de un cliente para usarlo como clave del indice.
+     * 
+     * @param cliente el nombre del cliente
+     * @return el nombre en minusculas
+     */
+    private static String claveCliente(String cliente) {
+        return cliente.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Facturas de un cliente con su total acumulado, actualizados al facturar y al anular.
+     */
+    private static final class CuentaCliente {
+        private final List<Factura> facturas = new ArrayList<>();
+        private long total;
+        
+        synchronized void agregar(Factura factura) {
+            facturas.add(factura);
+            total += factura.getTotalCentavos();
+        }
+        
+        synchronized void anular(Factura factura) {
+            total -= factura.getTotalCentavos();
+        }
+        
+        synchronized List<Factura> getFacturas() {
+            return new ArrayList<>(facturas);
+        }
+        
+        synchronized long getTotal() {
+            return total;
+        }
+    }
+    
+    /**
+     * Clave del indice por fecha: la fecha de emision y, para desempatar facturas
+     * emitidas en el mismo instante, el numero.
+     */
+    private static final class ClaveTiempo implements Comparable<ClaveTiempo> {
+        private final LocalDateTime fecha;
+        private final int numero;
+        
+        ClaveTiempo(LocalDateTime fecha, int numero) {
+            this.fecha = fecha;
+            this.numero = numero;
+        }
+        
+        @Override
+        public int compareTo(ClaveTiempo otra) {
+            int comparacion = fecha.compareTo(otra.fecha);
+            return comparacion != 0 ? comparacion : Integer.compare(numero, otra.numero);
         }
-        return false;
     }
 }
\ No newline at end of file
@@ -1,27 +1,217 @@
 package servicio;
 
+import modelo.EstadoPedido;
+import modelo.ObservadorEstadoPedido;
 import modelo.Pedido;
 import modelo.Producto;
+import persistencia.AlmacenPedidosDisco;
+import persistencia.DiarioPedidos;
+import utilidades.MapaEnteros;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * Clase servicio para gestionar todas las operaciones relacionadas con pedidos.
  * Proporciona metodos para crear, buscar y administrar pedidos del restaurante.
+ * Es seguro para uso concurrente desde varias terminales: las escrituras usan
+ * bloqueo por franjas o por pedido y los listados se leen sin candados.
+ * Opcionalmente mantiene en memoria solo los pedidos pendientes y mueve en segundo
+ * plano los finalizados a un {@link AlmacenPedidosDisco}, de forma transparente
+ * para las consultas. Tambien puede registrar cada modificacion en un
+ * {@link DiarioPedidos} y reconstruir los pedidos a partir de el al iniciar.
+ * Si tiene un {@link DespachoCocina}, cada pedido que se envia a la cocina con
+ * {@link #enviarACocina(int)} se despacha a sus estaciones antes de pasar a en
+ * preparacion.
  * 
  * @author Grupo 1 Desarrollo Software
  * @version 2.1
  * @since 2025
  */
 public class GestorPedidos {
-    private List<Pedido> pedidos;
     
     /**
-     * Constructor que inicializa la lista de pedidos.
+     * Intervalo en segundos entre cada traslado de pedidos finalizados a disco.
+     */
+    private static final long INTERVALO_TRASLADO_SEGUNDOS = 5;
+    
+    /**
+     * Eventos que debe tener el diario para que valga la pena compactarlo.
+     */
+    private static final long EVENTOS_MINIMOS_COMPACTACION = 4096;
+    
+    /**
+     * Estados finales cuyos pedidos se trasladan a disco.
+     */
+    private static final EstadoPedido[] ESTADOS_FINALES = {EstadoPedido.COMPLETADO, EstadoPedido.CANCELADO};
+    
+    /**
+     * Indice de los pedidos en memoria por ID con claves primitivas para busquedas O(1).
+     */
+    private MapaEnteros<Pedido> indicePorId;
+    
+    /**
+     * Particion viva de pedidos por estado, actualizada en cada transicion,
+     * para listar y contar por estado sin recorrer todos los pedidos.
+     */
+    private Map<EstadoPedido, MapaEnteros<Pedido>> particiones;
+    
+    /**
+     * Sello de publicacion de lotes. Un lote se publica con el sello de escritura
+     * tomado; las consultas leen en forma optimista, sin candado, y solo si un lote
+     * se publico mientras tanto repiten la lectura con el sello de lectura. Asi
+     * ninguna consulta ve una parte de un lote.
+     */
+    private final StampedLock publicacion = new StampedLock();
+    
+    /**
+     * Observador que mueve cada pedido a la particion de su nuevo estado.
+     */
+    private ObservadorEstadoPedido observadorParticiones;
+    
+    /**
+     * Almacen en disco de los pedidos finalizados, o null si todo queda en memoria.
+     */
+    private AlmacenPedidosDisco almacenDisco;
+    
+    /**
+     * Hilo de fondo que traslada los pedidos finalizados a disco.
+     */
+    private ScheduledExecutorService trasladador;
+    
+    /**
+     * Diario donde se registra cada modificacion de pedidos, o null si no se registran.
+     */
+    private DiarioPedidos diario;
+    
+    /**
+     * Error que dejo al diario sin un cambio de estado, o null si no hubo ninguno.
+     * Desde ese momento el diario ya no refleja los pedidos y no se escribe mas en el.
+     */
+    private volatile IOException errorDiario;
+    
+    /**
+     * Eventos que quedaron en el diario tras la ultima compactacion (o al abrirlo).
+     */
+    private volatile long eventosTrasCompactar;
+    
+    /**
+     * Primer ID de pedido de esta sesion: los pedidos con ID menor vienen de
+     * ejecuciones anteriores (del diario o del almacen en disco).
+     */
+    private int idInicioSesion;
+    
+    /**
+     * Despacho al que se envian los pedidos que pasan a en preparacion, o null si no hay cocina.
+     */
+    private volatile DespachoCocina despachoCocina;
+    
+    /**
+     * Constructor que inicializa el indice de pedidos y las particiones por estado.
+     * Todos los pedidos se mantienen en memoria.
      */
     public GestorPedidos() {
-        this.pedidos = new ArrayList<>();
+        this.indicePorId = new MapaEnteros<>();
+        this.particiones = new EnumMap<>(EstadoPedido.class);
+        for (EstadoPedido estado : EstadoPedido.values()) {
+            particiones.put(estado, new MapaEnteros<>());
+        }
+        this.observadorParticiones = (pedido, anterior, nuevo) -> {
+            // Se ejecuta con el monitor del pedido tomado, asi que las transiciones de un
+            // pedido se aplican en orden. El estado ya cambio y no se puede deshacer:
+            // mover primero las particiones para que coincidan con el, y despues registrarlo
+            particiones.get(nuevo).poner(pedido.getId(), pedido);
+            particiones.get(anterior).quitar(pedido.getId());
+            try {
+                registrarEnDiario(d -> d.registrarEstado(pedido.getId(), nuevo));
+            } catch (UncheckedIOException e) {
+                marcarDiarioDanado(e.getCause());
+            }
+        };
+    }
+    
+    /**
+     * Constructor que activa el almacenamiento por niveles: los pedidos pendientes
+     * quedan en memoria y los finalizados se trasladan periodicamente al almacen en disco.
+     * 
+     * @param almacenDisco el almacen donde se guardan los pedidos finalizados
+     * @throws IllegalArgumentException si el almacen es nulo
+     */
+    public GestorPedidos(AlmacenPedidosDisco almacenDisco) {
+        this(requerirAlmacen(almacenDisco), null);
+    }
+    
+    /**
+     * Constructor completo: opcionalmente activa el almacenamiento por niveles y el
+     * diario de eventos. Si hay diario, primero se reproduce para reconstruir los
+     * pedidos registrados y luego se registra en el cada nueva modificacion.
+     * 
+     * @param almacenDisco el almacen de pedidos finalizados, o null para mantenerlos en memoria
+     * @param diario el diario de eventos, o null para no registrar las modificaciones
+     * @throws UncheckedIOException si falla la reproduccion del diario
+     */
+    public GestorPedidos(AlmacenPedidosDisco almacenDisco, DiarioPedidos diario) {
+        this();
+        if (diario != null) {
+            recuperarDesdeDiario(diario);
+            this.diario = diario;
+            this.eventosTrasCompactar = diario.getEventos();
+        }
+        if (almacenDisco != null) {
+            activarAlmacenDisco(almacenDisco);
+        }
+        this.idInicioSesion = Pedido.getSiguienteId();
+    }
+    
+    /**
+     * Activa el traslado periodico de pedidos finalizados al almacen en disco.
+     * El almacen puede traer pedidos de ejecuciones anteriores, por lo que los
+     * IDs nuevos continuan despues del mayor ID almacenado, y el primer traslado
+     * se hace de inmediato para no contar dos veces los pedidos recuperados del
+     * diario que ya estaban en disco.
+     * 
+     * @param almacenDisco el almacen donde se guardan los pedidos finalizados
+     */
+    private void activarAlmacenDisco(AlmacenPedidosDisco almacenDisco) {
+        this.almacenDisco = almacenDisco;
+        int idMaximo = almacenDisco.getIdMaximo();
+        if (idMaximo > 0) {
+            Pedido.avanzarContadorIds(idMaximo);
+        }
+        this.trasladador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "traslado-pedidos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        trasladador.scheduleWithFixedDelay(() -> {
+            try {
+                trasladarFinalizadosADisco();
+            } catch (UncheckedIOException e) {
+                System.err.println("Error al trasladar pedidos a disco: " + e.getMessage());
+            }
+        }, 0, INTERVALO_TRASLADO_SEGUNDOS, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Establece el despacho de cocina que recibe los pedidos enviados a la cocina.
+     * Los pedidos recuperados del diario que ya estaban en preparacion no se vuelven a despachar.
+     * 
+     * @param despachoCocina el despacho de cocina, o null para no despachar
+     */
+    public void setDespachoCocina(DespachoCocina despachoCocina) {
+        this.despachoCocina = despachoCocina;
     }
     
     /**
@@ -31,51 +221,169 @@ public class GestorPedidos {
      */
     public Pedido crearPedido() {
         Pedido nuevoPedido = new Pedido();
-        pedidos.add(nuevoPedido);
+        registrarEnDiario(d -> d.registrarCreacion(nuevoPedido));
+        registrarPedido(nuevoPedido);
         return nuevoPedido;
     }
     
+    /**
+     * Ingresa un lote de pedidos completos.
+     * Valida todos los pedidos en una pasada, reserva un bloque contiguo de IDs
+     * para los validos y los construye fuera de las estructuras compartidas. Si hay
+     * diario, todo el lote se registra en un solo evento y se espera a que este en
+     * disco antes de publicar: tras una caida se recupera el lote completo o ninguno
+     * de sus pedidos, y si no se puede escribir el evento no se publica ninguno (sus
+     * IDs reservados quedan sin usar). Los pedidos se publican todos juntos: una
+     * consulta simultanea ve el lote completo o no ve ninguno de sus pedidos.
+     * 
+     * @param lote lista de pedidos, cada uno expresado como su lista de productos
+     * @return el resultado de cada pedido y el rendimiento de la ingesta
+     * @throws IllegalArgumentException si el lote es nulo
+     * @throws UncheckedIOException si no se puede registrar el lote en el diario
+     */
+    public ResultadoLote ingresarLote(List<List<Producto>> lote) {
+        if (lote == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo.");
+        }
+        long inicio = System.nanoTime();
+        
+        // Validar todo el lote en una sola pasada
+        String[] motivos = new String[lote.size()];
+        int validos = 0;
+        for (int i = 0; i < lote.size(); i++) {
+            motivos[i] = validarLineas(lote.get(i));
+            if (motivos[i] == null) {
+                validos++;
+            }
+        }
+        
+        // Reservar IDs contiguos y construir los pedidos fuera de las estructuras compartidas
+        ResultadoLote resultado = new ResultadoLote(lote.size());
+        Pedido[] nuevos = new Pedido[validos];
+        int siguienteId = validos > 0 ? Pedido.reservarIds(validos) : 0;
+        int n = 0;
+        for (int i = 0; i < lote.size(); i++) {
+            if (motivos[i] == null) {
+                Pedido pedido = new Pedido(siguienteId++);
+                pedido.agregarProductos(lote.get(i));
+                nuevos[n++] = pedido;
+                resultado.agregarAceptado(pedido.getId());
+            } else {
+                resultado.agregarRechazado(motivos[i]);
+            }
+        }
+        
+        // Registrar todo el lote en un solo evento y esperar a que llegue a disco
+        DiarioPedidos actual = diario;
+        if (validos > 0 && actual != null) {
+            long[] posicion = new long[1];
+            registrarEnDiario(d -> posicion[0] = d.registrarLote(Arrays.asList(nuevos)));
+            try {
+                // Si se interrumpe la espera, el lote ya quedo escrito y se publica igual
+                actual.esperarDurable(posicion[0]);
+            } catch (IOException e) {
+                marcarDiarioDanado(e);
+            }
+        }
+        long sello = publicacion.writeLock();
+        try {
+            for (Pedido pedido : nuevos) {
+                registrarPedido(pedido);
+            }
+        } finally {
+            publicacion.unlockWrite(sello);
+        }
+        
+        resultado.setDuracionNanos(System.nanoTime() - inicio);
+        return resultado;
+    }
+    
+    /**
+     * Ingresa un lote de pedidos por el camino de uno a uno: cada pedido se crea con
+     * {@link #crearPedido()} y cada producto se agrega con
+     * {@link #agregarProductoAPedido(int, Producto)}. Valida y responde igual que
+     * {@link #ingresarLote(List)}, pero sin sus garantias de lote (los pedidos se
+     * ven a medida que se crean), y sirve para comparar el rendimiento de ambos
+     * caminos con {@link ResultadoLote#getAceleracion(ResultadoLote)}.
+     * 
+     * @param lote lista de pedidos, cada uno expresado como su lista de productos
+     * @return el resultado de cada pedido y el rendimiento de la ingesta
+     * @throws IllegalArgumentException si el lote es nulo
+     * @throws UncheckedIOException si no se puede registrar un pedido en el diario
+     */
+    public ResultadoLote ingresarUnoAUno(List<List<Producto>> lote) {
+        if (lote == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo.");
+        }
+        long inicio = System.nanoTime();
+        ResultadoLote resultado = new ResultadoLote(lote.size());
+        for (List<Producto> productos : lote) {
+            String motivo = validarLineas(productos);
+            if (motivo != null) {
+                resultado.agregarRechazado(motivo);
+                continue;
+            }
+            Pedido pedido = crearPedido();
+            for (Producto producto : productos) {
+                agregarProductoAPedido(pedido.getId(), producto);
+            }
+            resultado.agregarAceptado(pedido.getId());
+        }
+        resultado.setDuracionNanos(System.nanoTime() - inicio);
+        return resultado;
+    }
+    
     /**
      * Agrega un producto a un pedido existente.
      * 
      * @param idPedido el ID del pedido
      * @param producto el producto a agregar
-     * @return true si se agrego exitosamente, false si el pedido no existe
+     * @return true si se agrego exitosamente, false si el pedido no existe o ya no esta pendiente
      */
     public boolean agregarProductoAPedido(int idPedido, Producto producto) {
-        Optional<Pedido> pedido = buscarPedidoPorId(idPedido);
-        if (pedido.isPresent() && producto != null) {
-            pedido.get().agregarProducto(producto);
-            return true;
+        Pedido pedido = obtenerPublicado(idPedido);
+        if (pedido == null || producto == null) {
+            return false;
         }
-        return false;
+        // El monitor del pedido mantiene juntos el registro en el diario y el cambio
+        synchronized (pedido) {
+            if (pedido.getEstadoPedido() != EstadoPedido.PENDIENTE) {
+                return false;
+            }
+            registrarEnDiario(d -> d.registrarProducto(idPedido, producto));
+            pedido.agregarProducto(producto);
+        }
+        return true;
     }
     
     /**
      * Busca un pedido por su ID.
+     * Si el pedido ya fue trasladado a disco se lee desde el almacen.
      * 
      * @param id el ID del pedido a buscar
      * @return Optional con el pedido encontrado o vacio si no existe
+     * @throws UncheckedIOException si falla la lectura desde disco
      */
     public Optional<Pedido> buscarPedidoPorId(int id) {
-        return pedidos.stream()
-            .filter(p -> p.getId() == id)
-            .findFirst();
+        Pedido pedido = obtenerPublicado(id);
+        if (pedido != null || almacenDisco == null) {
+            return Optional.ofNullable(pedido);
+        }
+        try {
+            return almacenDisco.cargar(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
     
     /**
      * Obtiene todos los pedidos pendientes.
+     * Solo recorre la particion de pendientes, no el historial completo.
      * 
      * @return lista de pedidos con estado "pendiente"
      */
     public List<Pedido> getPedidosPendientes() {
-        List<Pedido> pendientes = new ArrayList<>();
-        for (Pedido pedido : pedidos) {
-            if ("pendiente".equals(pedido.getEstado())) {
-                pendientes.add(pedido);
-            }
-        }
-        return pendientes;
+        return getPedidosPorEstado(EstadoPedido.PENDIENTE);
     }
     
     /**
@@ -84,22 +392,45 @@ public class GestorPedidos {
      * @return lista de pedidos con estado "completado"
      */
     public List<Pedido> getPedidosCompletados() {
-        List<Pedido> completados = new ArrayList<>();
-        for (Pedido pedido : pedidos) {
-            if ("completado".equals(pedido.getEstado())) {
-                completados.add(pedido);
-            }
+        return getPedidosPorEstado(EstadoPedido.COMPLETADO);
+    }
+    
+    /**
+     * Obtiene los pedidos que se encuentran en un estado, ordenados por ID.
+     * 
+     * @param estado el estado a consultar
+     * @return lista de pedidos en el estado indicado
+     */
+    public List<Pedido> getPedidosPorEstado(EstadoPedido estado) {
+        List<Pedido> resultado = leerPublicado(() -> particiones.get(estado).valores());
+        if (almacenDisco != null && estado.esFinal()) {
+            agregarDesdeDisco(resultado, estado, 0);
         }
-        return completados;
+        return ordenarSinDuplicados(resultado);
     }
     
     /**
-     * Obtiene todos los pedidos del sistema.
+     * Obtiene todos los pedidos del sistema, incluidos los trasladados a disco.
+     * Con almacen en disco decodifica todo el historial, incluido el de ejecuciones
+     * anteriores; para listados que se refrescan seguido esta
+     * {@link #getPedidosDeLaSesion()}.
      * 
-     * @return lista completa de pedidos
+     * @return lista completa de pedidos ordenada por ID
      */
     public List<Pedido> getTodosLosPedidos() {
-        return new ArrayList<>(pedidos);
+        return listarDesde(0);
+    }
+    
+    /**
+     * Obtiene los pedidos de esta sesion: los que estan en memoria (incluidos los
+     * pendientes recuperados de una ejecucion anterior) y los finalizados en disco
+     * que se crearon en esta sesion. Solo lee de disco los pedidos de la sesion, por
+     * lo que su costo no crece con el historial.
+     * 
+     * @return lista de pedidos de la sesion ordenada por ID
+     */
+    public List<Pedido> getPedidosDeLaSesion() {
+        return listarDesde(idInicioSesion);
     }
     
     /**
@@ -114,19 +445,81 @@ public class GestorPedidos {
     }
     
     /**
-     * Cambia el estado de un pedido.
+     * Calcula el total de un pedido especifico en centavos.
+     * 
+     * @param idPedido el ID del pedido
+     * @return el total del pedido en centavos, o 0 si el pedido no existe
+     */
+    public long calcularTotalPedidoCentavos(int idPedido) {
+        Optional<Pedido> pedido = buscarPedidoPorId(idPedido);
+        return pedido.isPresent() ? pedido.get().calcularTotalCentavos() : 0;
+    }
+    
+    /**
+     * Cambia el estado de un pedido. El paso a en preparacion se hace con
+     * {@link #enviarACocina(int)}, por lo que tambien despacha el pedido a la cocina.
      * 
      * @param idPedido el ID del pedido
      * @param nuevoEstado el nuevo estado del pedido
-     * @return true si se cambio exitosamente, false si el pedido no existe
+     * @return true si se cambio exitosamente, false si el pedido no existe,
+     *         el estado no es valido, la transicion no esta permitida o la
+     *         cocina no puede recibir el pedido
      */
     public boolean cambiarEstadoPedido(int idPedido, String nuevoEstado) {
         Optional<Pedido> pedido = buscarPedidoPorId(idPedido);
-        if (pedido.isPresent()) {
-            pedido.get().setEstado(nuevoEstado);
-            return true;
+        if (pedido.isEmpty()) {
+            return false;
+        }
+        EstadoPedido destino;
+        try {
+            destino = EstadoPedido.desdeNombre(nuevoEstado);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (destino == EstadoPedido.EN_PREPARACION) {
+            try {
+                enviarACocina(idPedido);
+                return true;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return false;
+            }
+        }
+        return pedido.get().cambiarEstado(destino);
+    }
+    
+    /**
+     * Envia un pedido pendiente a la cocina y lo pasa a en preparacion.
+     * Si hay despacho de cocina, primero le ofrece el pedido sin esperar: si alguna
+     * estacion esta llena el pedido sigue pendiente y se informa el rechazo, para
+     * que quien llama (por ejemplo, la interfaz) pueda reintentar mas tarde. Como
+     * el despacho encola todos los tickets o ninguno, nunca queda un pedido a
+     * medio despachar.
+     * 
+     * @param idPedido el ID del pedido a enviar
+     * @throws IllegalArgumentException si el pedido no existe o tiene para una
+     *         estacion mas productos de los que caben en su cola
+     * @throws IllegalStateException si el pedido no esta pendiente, esta vacio,
+     *         la cocina esta saturada o su despacho esta detenido
+     */
+    public void enviarACocina(int idPedido) {
+        Pedido pedido = buscarPedidoPorId(idPedido).orElseThrow(
+                () -> new IllegalArgumentException("El pedido con ID " + idPedido + " no existe."));
+        // El monitor del pedido ordena este envio con los demas cambios de estado:
+        // el pedido sigue pendiente mientras se despacha
+        synchronized (pedido) {
+            if (pedido.getEstadoPedido() != EstadoPedido.PENDIENTE) {
+                throw new IllegalStateException("El pedido #" + idPedido + " no esta pendiente.");
+            }
+            if (pedido.estaVacio()) {
+                throw new IllegalStateException("El pedido #" + idPedido + " no tiene productos.");
+            }
+            DespachoCocina despacho = despachoCocina;
+            if (despacho != null && !despacho.ofrecer(pedido)) {
+                throw new IllegalStateException("La cocina esta saturada; el pedido #" + idPedido +
+                                                " sigue pendiente.");
+            }
+            pedido.cambiarEstado(EstadoPedido.EN_PREPARACION);
         }
-        return false;
     }
     
     /**
@@ -135,7 +528,7 @@ public class GestorPedidos {
      * @return el conteo total de pedidos
      */
     public int getTotalPedidos() {
-        return pedidos.size();
+        return leerPublicado(indicePorId::tamano) + (almacenDisco != null ? almacenDisco.tamano() : 0);
     }
     
     /**
@@ -144,11 +537,11 @@ public class GestorPedidos {
      * @return el conteo de pedidos pendientes
      */
     public int getTotalPedidosPendientes() {
-        return getPedidosPendientes().size();
+        return leerPublicado(() -> particiones.get(EstadoPedido.PENDIENTE).tamano());
     }
     
     /**
-     * Verifica si un pedido puede ser facturado (esta pendiente y tiene productos).
+     * Verifica si un pedido puede ser facturado (no esta finalizado y tiene productos).
      * 
      * @param idPedido el ID del pedido a verificar
      * @return true si el pedido puede ser facturado, false en caso contrario
@@ -156,7 +549,299 @@ public class GestorPedidos {
     public boolean pedidoPuedeSerFacturado(int idPedido) {
         Optional<Pedido> pedido = buscarPedidoPorId(idPedido);
         return pedido.isPresent() && 
-               "pendiente".equals(pedido.get().getEstado()) && 
-               !pedido.get().getProductos().isEmpty();
+               !pedido.get().getEstadoPedido().esFinal() && 
+               !pedido.get().estaVacio();
+    }
+    
+    /**
+     * Traslada a disco los pedidos finalizados que siguen en memoria.
+     * Cada pedido se escribe en disco antes de quitarlo de memoria, de modo que
+     * siempre se puede encontrar en alguno de los dos niveles. Se ejecuta
+     * periodicamente en segundo plano, pero tambien puede invocarse directamente.
+     * Si hay diario y crecio al doble desde la ultima compactacion, se compacta
+     * descartando los pedidos que ya estan en disco, para que el proximo inicio
+     * no reproduzca todo el historial.
+     * 
+     * @return el numero de pedidos trasladados
+     * @throws UncheckedIOException si falla la escritura en disco o la compactacion
+     */
+    public int trasladarFinalizadosADisco() {
+        if (almacenDisco == null) {
+            return 0;
+        }
+        int trasladados = 0;
+        try {
+            for (EstadoPedido estado : ESTADOS_FINALES) {
+                MapaEnteros<Pedido> particion = particiones.get(estado);
+                for (Pedido pedido : particion.valores()) {
+                    almacenDisco.guardar(pedido);
+                    particion.quitar(pedido.getId());
+                    indicePorId.quitar(pedido.getId());
+                    trasladados++;
+                }
+            }
+            DiarioPedidos actual = diario;
+            if (trasladados > 0 && actual != null && errorDiario == null &&
+                actual.getEventos() >= Math.max(EVENTOS_MINIMOS_COMPACTACION, 2 * eventosTrasCompactar)) {
+                // El diario solo puede olvidar los pedidos que ya estan en disco de forma duradera
+                almacenDisco.sincronizar();
+                actual.compactar(almacenDisco::contiene);
+                eventosTrasCompactar = actual.getEventos();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return trasladados;
+    }
+    
+    /**
+     * Verifica si el diario quedo danado porque no se pudo registrar un cambio de estado.
+     * Un diario danado ya no se escribe, y cada modificacion que lo requiera falla.
+     * 
+     * @return true si el diario esta danado, false si esta sano o no hay diario
+     */
+    public boolean isDiarioDanado() {
+        return errorDiario != null;
+    }
+    
+    /**
+     * Detiene el traslado en segundo plano y cierra el almacen en disco y el diario, si existen.
+     * 
+     * @throws UncheckedIOException si falla el cierre del almacen o del diario
+     */
+    public void cerrar() {
+        if (trasladador != null) {
+            trasladador.shutdownNow();
+        }
+        try {
+            if (almacenDisco != null) {
+                almacenDisco.close();
+            }
+            if (diario != null) {
+                diario.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Registra un pedido recien creado en el indice y en la particion de su estado.
+     * 
+     * @param pedido el pedido a registrar
+     */
+    private void registrarPedido(Pedido pedido) {
+        pedido.setObservador(observadorParticiones);
+        particiones.get(pedido.getEstadoPedido()).poner(pedido.getId(), pedido);
+        indicePorId.poner(pedido.getId(), pedido);
+    }
+    
+    /**
+     * Busca un pedido en memoria sin ver los pedidos de un lote que se esta publicando.
+     * 
+     * @param id el ID del pedido
+     * @return el pedido, o null si no esta en memoria o su lote aun no se publico
+     */
+    private Pedido obtenerPublicado(int id) {
+        long sello = publicacion.tryOptimisticRead();
+        if (sello != 0) {
+            Pedido pedido = indicePorId.obtener(id);
+            if (publicacion.validate(sello)) {
+                return pedido;
+            }
+        }
+        sello = publicacion.readLock();
+        try {
+            return indicePorId.obtener(id);
+        } finally {
+            publicacion.unlockRead(sello);
+        }
+    }
+    
+    /**
+     * Ejecuta una lectura de las estructuras en memoria que no ve partes de un lote:
+     * primero sin candado y, si se publico un lote mientras tanto, de nuevo con el
+     * sello de lectura.
+     * 
+     * @param <T> el tipo del resultado
+     * @param lectura la lectura, que no debe modificar nada
+     * @return el resultado de la lectura
+     */
+    private <T> T leerPublicado(Supplier<T> lectura) {
+        long sello = publicacion.tryOptimisticRead();
+        if (sello != 0) {
+            T resultado = lectura.get();
+            if (publicacion.validate(sello)) {
+                return resultado;
+            }
+        }
+        sello = publicacion.readLock();
+        try {
+            return lectura.get();
+        } finally {
+            publicacion.unlockRead(sello);
+        }
+    }
+    
+    /**
+     * Lista los pedidos en memoria y los finalizados en disco desde un ID.
+     * 
+     * @param idMinimoDisco el menor ID de los pedidos que se leen de disco
+     * @return lista de pedidos ordenada por ID
+     * @throws UncheckedIOException si falla la lectura desde disco
+     */
+    private List<Pedido> listarDesde(int idMinimoDisco) {
+        List<Pedido> resultado = leerPublicado(indicePorId::valores);
+        if (almacenDisco != null) {
+            for (EstadoPedido estado : ESTADOS_FINALES) {
+                agregarDesdeDisco(resultado, estado, idMinimoDisco);
+            }
+        }
+        return ordenarSinDuplicados(resultado);
+    }
+    
+    /**
+     * Agrega a una lista los pedidos de un estado guardados en disco.
+     * 
+     * @param destino la lista donde se agregan los pedidos
+     * @param estado el estado a cargar
+     * @param idMinimo el menor ID a cargar
+     * @throws UncheckedIOException si falla la lectura desde disco
+     */
+    private void agregarDesdeDisco(List<Pedido> destino, EstadoPedido estado, int idMinimo) {
+        try {
+            destino.addAll(almacenDisco.cargarPorEstado(estado, idMinimo));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Ordena una lista de pedidos por ID y descarta los repetidos, que pueden
+     * aparecer si un pedido se consulta justo mientras se traslada a disco.
+     * 
+     * @param pedidos la lista a ordenar
+     * @return la lista ordenada sin IDs repetidos
+     */
+    private static List<Pedido> ordenarSinDuplicados(List<Pedido> pedidos) {
+        pedidos.sort(Comparator.comparingInt(Pedido::getId));
+        List<Pedido> resultado = new ArrayList<>(pedidos.size());
+        for (Pedido pedido : pedidos) {
+            if (resultado.isEmpty() || resultado.get(resultado.size() - 1).getId() != pedido.getId()) {
+                resultado.add(pedido);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Valida las lineas de un pedido del lote.
+     * 
+     * @param lineas los productos del pedido
+     * @return el motivo del rechazo, o null si el pedido es valido
+     */
+    private String validarLineas(List<Producto> lineas) {
+        if (lineas == null || lineas.isEmpty()) {
+            return "El pedido no tiene productos.";
+        }
+        for (Producto producto : lineas) {
+            if (producto == null) {
+                return "El pedido contiene un producto nulo.";
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Reconstruye los pedidos reproduciendo los eventos del diario.
+     * Se ejecuta antes de asignar el diario, por lo que no se vuelve a registrar nada.
+     * 
+     * @param diario el diario a reproducir
+     * @throws UncheckedIOException si un evento no se puede leer
+     */
+    private void recuperarDesdeDiario(DiarioPedidos diario) {
+        try {
+            diario.reproducir(new DiarioPedidos.Receptor() {
+                @Override
+                public void pedidoCreado(int idPedido, LocalDateTime fecha) {
+                    registrarPedido(new Pedido(idPedido, fecha, EstadoPedido.PENDIENTE));
+                    Pedido.avanzarContadorIds(idPedido);
+                }
+                
+                @Override
+                public void productoAgregado(int idPedido, Producto producto, int cantidad) {
+                    Pedido pedido = indicePorId.obtener(idPedido);
+                    if (pedido != null) {
+                        pedido.agregarProducto(producto, cantidad);
+                    }
+                }
+                
+                @Override
+                public void estadoCambiado(int idPedido, EstadoPedido estado) {
+                    Pedido pedido = indicePorId.obtener(idPedido);
+                    if (pedido != null) {
+                        pedido.cambiarEstado(estado);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Ejecuta una escritura en el diario si esta activo.
+     * 
+     * @param escritura la escritura a realizar
+     * @throws UncheckedIOException si falla la escritura o el diario esta danado
+     */
+    private void registrarEnDiario(EscrituraDiario escritura) {
+        DiarioPedidos actual = diario;
+        if (actual != null) {
+            IOException error = errorDiario;
+            if (error != null) {
+                throw new UncheckedIOException("El diario de pedidos esta danado y no registra mas modificaciones.", error);
+            }
+            try {
+                escritura.escribir(actual);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    /**
+     * Marca el diario como danado tras perder un cambio de estado que ya se aplico.
+     * Solo se conserva el primer error.
+     * 
+     * @param error el error de escritura
+     */
+    private synchronized void marcarDiarioDanado(IOException error) {
+        if (errorDiario == null) {
+            errorDiario = error;
+            System.err.println("El diario de pedidos no pudo registrar un cambio de estado y deja de usarse: " + 
+                               error.getMessage());
+        }
+    }
+    
+    /**
+     * Verifica que el almacen en disco no sea nulo.
+     * 
+     * @param almacenDisco el almacen a verificar
+     * @return el mismo almacen
+     * @throws IllegalArgumentException si el almacen es nulo
+     */
+    private static AlmacenPedidosDisco requerirAlmacen(AlmacenPedidosDisco almacenDisco) {
+        if (almacenDisco == null) {
+            throw new IllegalArgumentException("El almacen en disco no puede ser nulo.");
+        }
+        return almacenDisco;
+    }
+    
+    /**
+     * Escritura en el diario que puede fallar con una excepcion de E/S.
+     */
+    private interface EscrituraDiario {
+        void escribir(DiarioPedidos diario) throws IOException;
     }
 }
\ No newline at end of file
@@ -4,35 +4,192 @@ import modelo.Bebida;
 import modelo.Combo;
 import modelo.Comida;
 import modelo.Producto;
+import persistencia.EscritorCatalogo;
+import persistencia.LectorCatalogo;
+import utilidades.TriePrefijos;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Clase servicio para gestionar todas las operaciones relacionadas con productos.
  * Proporciona metodos para agregar, buscar y administrar productos del restaurante.
  * 
+ * El catalogo se publica como {@link CatalogoInstantanea}: cada alta crea una
+ * instantanea inmutable nueva y la reemplaza de forma atomica, de modo que la lista
+ * de productos y las particiones por tipo se leen desde cualquier hilo sin copiar
+ * ni bloquear, y un alta nunca detiene a quien esta tomando un pedido.
+ * 
+ * Los nombres se indexan al agregar cada producto: un mapa por nombre plegado
+ * (sin distinguir mayusculas) resuelve las busquedas exactas y un trie de
+ * prefijos resuelve el autocompletado al tomar pedidos. Ademas, cada producto se
+ * agrega a los conjuntos de bits de sus atributos, sobre los que se resuelven los
+ * filtros de {@link FiltroProductos}, y al {@link BuscadorDifuso} que tolera
+ * errores de tipeo y acentos. Estos indices se modifican en el lugar, por lo que
+ * las busquedas los leen bajo un candado de lectura y se actualizan bajo el de
+ * escritura, que tambien ordena a los escritores entre si.
+ * 
+ * El catalogo puede guardarse en un archivo binario y cargarse al iniciar en lugar
+ * de los productos de ejemplo (ver {@link #GestorProductos(Path)}). La carga solo
+ * mapea el archivo: los productos se construyen al leerlos y los indices de
+ * busqueda se arman en la primera busqueda que los necesita, de modo que el
+ * catalogo queda disponible enseguida aunque sea grande y, si nunca se busca, sus
+ * productos no se construyen solo para indexarlos.
+ * 
  * @author Grupo 1 Desarrollo Software
  * @version 2.1
  * @since 2025
  */
 public class GestorProductos {
-    private List<Producto> productosDisponibles;
+    /**
+     * Numero de posiciones que se indexan por cada toma del candado de escritura,
+     * para que un catalogo grande no bloquee de una vez las busquedas ni las altas.
+     */
+    private static final int LOTE_INDEXACION = 512;
+    
+    /**
+     * Instantanea vigente del catalogo.
+     */
+    private final AtomicReference<CatalogoInstantanea> instantanea;
+    
+    /**
+     * Candado de los indices de busqueda; el de escritura lo toman las altas.
+     */
+    private final ReadWriteLock candadoIndices;
+    
+    /**
+     * Primer producto agregado con cada nombre, por nombre plegado.
+     */
+    private Map<String, Producto> productosPorNombre;
+    
+    /**
+     * Productos por prefijo de nombre, para el autocompletado.
+     */
+    private TriePrefijos<Producto> prefijos;
+    
+    /**
+     * Atributos de los productos por posicion en el catalogo.
+     */
+    private IndiceAtributos atributos;
+    
+    /**
+     * Indice de trigramas para la busqueda aproximada por nombre.
+     */
+    private BuscadorDifuso buscadorDifuso;
+    
+    /**
+     * Cuantas posiciones del catalogo estan en los indices de busqueda; las siguientes
+     * se indexan antes de la proxima busqueda.
+     */
+    private volatile int indexados;
+    
+    /**
+     * Tiempo que tomo cargar el catalogo inicial.
+     */
+    private Duration duracionCarga;
     
     /**
-     * Constructor que inicializa la lista de productos disponibles.
+     * Constructor que inicializa la lista de productos disponibles con los productos de ejemplo.
      */
     public GestorProductos() {
-        this.productosDisponibles = new ArrayList<>();
+        this(CatalogoInstantanea.vacia());
+        long inicio = System.nanoTime();
         inicializarProductosEjemplo();
+        this.duracionCarga = Duration.ofNanos(System.nanoTime() - inicio);
+    }
+    
+    /**
+     * Constructor que carga el catalogo desde un archivo guardado con
+     * {@link #guardarCatalogo(Path)} (su generacion vigente), o con los productos de
+     * ejemplo si el catalogo nunca se guardo.
+     * Al cargar desde archivo, los indices de busqueda se arman en la primera busqueda.
+     * 
+     * @param archivoCatalogo la ruta del archivo de catalogo
+     * @throws IllegalArgumentException si la ruta es nula
+     * @throws IOException si el archivo existe pero no se puede leer o no es valido
+     */
+    public GestorProductos(Path archivoCatalogo) throws IOException {
+        this(CatalogoInstantanea.vacia());
+        if (archivoCatalogo == null) {
+            throw new IllegalArgumentException("La ruta del catalogo no puede ser nula.");
+        }
+        long inicio = System.nanoTime();
+        Optional<Path> vigente = LectorCatalogo.buscarVigente(archivoCatalogo);
+        if (vigente.isPresent()) {
+            instantanea.set(CatalogoInstantanea.desde(new LectorCatalogo(vigente.get())));
+        } else {
+            inicializarProductosEjemplo();
+        }
+        this.duracionCarga = Duration.ofNanos(System.nanoTime() - inicio);
+    }
+    
+    /**
+     * Constructor que inicializa los indices vacios a partir de una instantanea inicial.
+     * 
+     * @param inicial la instantanea inicial, sin productos indexados
+     */
+    private GestorProductos(CatalogoInstantanea inicial) {
+        this.instantanea = new AtomicReference<>(inicial);
+        this.candadoIndices = new ReentrantReadWriteLock();
+        this.productosPorNombre = new HashMap<>();
+        this.prefijos = new TriePrefijos<>();
+        this.atributos = new IndiceAtributos();
+        this.buscadorDifuso = new BuscadorDifuso();
+    }
+    
+    /**
+     * Obtiene el tiempo que tomo cargar el catalogo inicial, desde el archivo o con
+     * los productos de ejemplo.
+     * 
+     * @return la duracion de la carga
+     */
+    public Duration getDuracionCarga() {
+        return duracionCarga;
+    }
+    
+    /**
+     * Guarda el catalogo vigente en un archivo binario que {@link #GestorProductos(Path)}
+     * puede cargar al iniciar.
+     * 
+     * @param archivo la ruta del catalogo; se escribe una generacion nueva sin
+     *        reemplazar la que este mapeada
+     * @throws IllegalArgumentException si la ruta es nula
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void guardarCatalogo(Path archivo) throws IOException {
+        if (archivo == null) {
+            throw new IllegalArgumentException("La ruta del catalogo no puede ser nula.");
+        }
+        EscritorCatalogo.guardar(instantanea.get().getProductos(), archivo);
     }
     
     /**
      * Obtiene la lista completa de productos disponibles.
+     * Para recorrer el catalogo sin copiarlo esta {@link #getInstantanea()}.
      * 
-     * @return Lista de productos disponibles
+     * @return copia modificable de los productos disponibles
      */
     public List<Producto> getProductosDisponibles() {
-        return new ArrayList<>(productosDisponibles);
+        return new ArrayList<>(instantanea.get().getProductos());
+    }
+    
+    /**
+     * Obtiene la instantanea vigente del catalogo, sin copiar ni bloquear.
+     * 
+     * @return la instantanea vigente
+     */
+    public CatalogoInstantanea getInstantanea() {
+        return instantanea.get();
     }
     
     /**
@@ -46,7 +203,7 @@ public class GestorProductos {
      */
     public void agregarComida(String nombre, double precio, String tipo, boolean esVegetariano) {
         validarProducto(nombre, precio);
-        productosDisponibles.add(new Comida(nombre, precio, tipo, esVegetariano));
+        publicar(List.of(new Comida(nombre, precio, tipo, esVegetariano)));
     }
     
     /**
@@ -60,7 +217,7 @@ public class GestorProductos {
      */
     public void agregarBebida(String nombre, double precio, String tamano, boolean conAlcohol) {
         validarProducto(nombre, precio);
-        productosDisponibles.add(new Bebida(nombre, precio, tamano, conAlcohol));
+        publicar(List.of(new Bebida(nombre, precio, tamano, conAlcohol)));
     }
     
     /**
@@ -79,7 +236,34 @@ public class GestorProductos {
         }
         
         Combo combo = new Combo(nombre, descuento);
-        productosDisponibles.add(combo);
+        publicar(List.of(combo));
+    }
+    
+    /**
+     * Agrega varios productos ya construidos publicando una sola instantanea, por
+     * ejemplo al cargar el menu completo. Si algun producto no es valido no se
+     * agrega ninguno.
+     * 
+     * @param productos los productos a agregar, en orden
+     * @throws IllegalArgumentException si la coleccion o algun producto es nulo, si algun
+     *         nombre esta vacio o si alguna comida o bebida no tiene precio positivo
+     */
+    public void agregarProductos(Collection<? extends Producto> productos) {
+        if (productos == null) {
+            throw new IllegalArgumentException("La coleccion de productos no puede ser nula.");
+        }
+        List<Producto> nuevos = new ArrayList<>(productos);
+        for (Producto producto : nuevos) {
+            if (producto == null) {
+                throw new IllegalArgumentException("El producto no puede ser nulo.");
+            }
+            if (producto instanceof Combo) {
+                validarProducto(producto.getNombre(), 1);
+            } else {
+                validarProducto(producto.getNombre(), producto.getPrecio());
+            }
+        }
+        publicar(nuevos);
     }
     
     /**
@@ -89,45 +273,173 @@ public class GestorProductos {
      * @return el producto encontrado o null si no existe
      */
     public Producto buscarProductoPorNombre(String nombre) {
-        return productosDisponibles.stream()
-            .filter(p -> p.getNombre().equalsIgnoreCase(nombre))
-            .findFirst()
-            .orElse(null);
+        if (nombre == null) {
+            return null;
+        }
+        String clave = TriePrefijos.plegar(nombre);
+        indexarPendientes();
+        candadoIndices.readLock().lock();
+        try {
+            return productosPorNombre.get(clave);
+        } finally {
+            candadoIndices.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Busca los productos cuyo nombre empieza con un prefijo, sin distinguir mayusculas.
+     * Pensado para autocompletar mientras se toma un pedido.
+     * 
+     * @param prefijo el prefijo del nombre
+     * @param limite el numero maximo de productos a devolver
+     * @return lista con a lo sumo limite productos, en orden alfabetico
+     * @throws IllegalArgumentException si el prefijo es nulo o el limite es negativo
+     */
+    public List<Producto> buscarPorPrefijo(String prefijo, int limite) {
+        indexarPendientes();
+        candadoIndices.readLock().lock();
+        try {
+            return prefijos.buscarPorPrefijo(prefijo, limite);
+        } finally {
+            candadoIndices.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Busca los productos cuyo nombre se parece al texto dado, tolerando errores de
+     * tipeo, acentos y mayusculas.
+     * 
+     * @param consulta el texto buscado
+     * @param limite el numero maximo de productos a devolver
+     * @return lista con a lo sumo limite productos, del mas parecido al menos parecido
+     * @throws IllegalArgumentException si la consulta es nula o el limite es negativo
+     */
+    public List<Producto> buscarDifuso(String consulta, int limite) {
+        indexarPendientes();
+        candadoIndices.readLock().lock();
+        try {
+            return buscadorDifuso.buscar(consulta, limite);
+        } finally {
+            candadoIndices.readLock().unlock();
+        }
     }
     
     /**
      * Obtiene productos filtrados por tipo.
+     * Para recorrerlos sin copiarlos esta {@link CatalogoInstantanea#getProductosPorTipo(String)}.
      * 
      * @param tipo el tipo de producto a filtrar ("Comida", "Bebida", "Combo")
-     * @return lista de productos del tipo especificado
+     * @return copia modificable de los productos del tipo especificado
      */
     public List<Producto> getProductosPorTipo(String tipo) {
-        List<Producto> resultado = new ArrayList<>();
-        
-        for (Producto producto : productosDisponibles) {
-            switch (tipo) {
-                case "Comida":
-                    if (producto instanceof Comida) resultado.add(producto);
-                    break;
-                case "Bebida":
-                    if (producto instanceof Bebida) resultado.add(producto);
-                    break;
-                case "Combo":
-                    if (producto instanceof Combo) resultado.add(producto);
-                    break;
-            }
+        return new ArrayList<>(instantanea.get().getProductosPorTipo(tipo));
+    }
+    
+    /**
+     * Obtiene los productos que cumplen un filtro de atributos.
+     * 
+     * @param filtro el filtro a aplicar
+     * @return lista de productos aceptados, en el orden del catalogo
+     * @throws IllegalArgumentException si el filtro es nulo
+     */
+    public List<Producto> filtrar(FiltroProductos filtro) {
+        BitSet aceptados;
+        CatalogoInstantanea catalogo;
+        indexarPendientes();
+        candadoIndices.readLock().lock();
+        try {
+            aceptados = evaluar(filtro);
+            catalogo = instantanea.get();
+        } finally {
+            candadoIndices.readLock().unlock();
+        }
+        List<Producto> resultado = new ArrayList<>(aceptados.cardinality());
+        for (int i = aceptados.nextSetBit(0); i >= 0; i = aceptados.nextSetBit(i + 1)) {
+            resultado.add(catalogo.getProducto(i));
         }
-        
         return resultado;
     }
     
+    /**
+     * Cuenta los productos que cumplen un filtro de atributos.
+     * 
+     * @param filtro el filtro a aplicar
+     * @return el conteo de productos aceptados
+     * @throws IllegalArgumentException si el filtro es nulo
+     */
+    public int contar(FiltroProductos filtro) {
+        indexarPendientes();
+        candadoIndices.readLock().lock();
+        try {
+            return evaluar(filtro).cardinality();
+        } finally {
+            candadoIndices.readLock().unlock();
+        }
+    }
+    
     /**
      * Obtiene el numero total de productos disponibles.
      * 
      * @return el conteo de productos disponibles
      */
     public int getTotalProductos() {
-        return productosDisponibles.size();
+        return instantanea.get().tamano();
+    }
+    
+    /**
+     * Publica la instantanea que incluye los productos agregados. Se indexan en la
+     * proxima busqueda.
+     * 
+     * @param nuevos los productos a agregar
+     */
+    private void publicar(List<Producto> nuevos) {
+        candadoIndices.writeLock().lock();
+        try {
+            instantanea.set(instantanea.get().agregar(nuevos));
+        } finally {
+            candadoIndices.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Agrega a los indices las posiciones de la instantanea vigente que aun no estan,
+     * construyendo los productos cargados desde archivo que no se hayan leido. Las
+     * busquedas lo invocan antes de tomar el candado de lectura; si no hay pendientes
+     * no bloquea.
+     * 
+     * Se indexa por lotes de {@link #LOTE_INDEXACION} posiciones, soltando el candado
+     * de escritura entre lotes: mientras la primera busqueda indexa un catalogo recien
+     * cargado, las altas esperan a lo sumo un lote, y las busquedas simultaneas
+     * ayudan a terminar en lugar de esperar la pasada completa.
+     */
+    private void indexarPendientes() {
+        while (indexados < instantanea.get().tamano()) {
+            candadoIndices.writeLock().lock();
+            try {
+                CatalogoInstantanea catalogo = instantanea.get();
+                int fin = Math.min(catalogo.tamano(), indexados + LOTE_INDEXACION);
+                for (int i = indexados; i < fin; i++) {
+                    Producto producto = catalogo.getProducto(i);
+                    atributos.registrar(producto);
+                    buscadorDifuso.agregar(producto);
+                    productosPorNombre.putIfAbsent(TriePrefijos.plegar(producto.getNombre()), producto);
+                    prefijos.insertar(producto.getNombre(), producto);
+                }
+                indexados = fin;
+            } finally {
+                candadoIndices.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Evalua un filtro sobre el indice de atributos.
+     */
+    private BitSet evaluar(FiltroProductos filtro) {
+        if (filtro == null) {
+            throw new IllegalArgumentException("El filtro no puede ser nulo.");
+        }
+        return filtro.evaluar(atributos);
     }
     
     /**
@@ -166,6 +478,6 @@ public class GestorProductos {
         comboFamiliar.agregarProducto(new Comida("Pizza Familiar", 25.99, "principal", true));
         comboFamiliar.agregarProducto(new Bebida("Refresco", 3.50, "grande", false));
         comboFamiliar.agregarProducto(new Comida("Helado", 4.99, "postre", true));
-        productosDisponibles.add(comboFamiliar);
+        publicar(List.of(comboFamiliar));
     }
 }
\ No newline at end of file
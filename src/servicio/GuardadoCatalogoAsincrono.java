@@ -0,0 +1,123 @@
+package servicio;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio que guarda el catalogo en segundo plano, de modo que quien agrega un
+ * producto (por ejemplo, el hilo de eventos de Swing) no espera a que se escriba
+ * y sincronice el archivo.
+ *
+ * Las solicitudes se agrupan: mientras haya un guardado pendiente que aun no empezo,
+ * las solicitudes nuevas no encolan otro, porque ese guardado ya tomara la
+ * instantanea vigente del catalogo. Asi, varias altas seguidas producen un solo
+ * guardado.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see GestorProductos#guardarCatalogo(Path)
+ */
+public class GuardadoCatalogoAsincrono {
+
+    /**
+     * Tiempo maximo que se espera al cerrar a que termine el guardado pendiente.
+     */
+    private static final long ESPERA_CIERRE_SEGUNDOS = 5;
+
+    /**
+     * Gestor cuyo catalogo se guarda.
+     */
+    private final GestorProductos gestorProductos;
+
+    /**
+     * Ruta del catalogo, sin sufijo de generacion.
+     */
+    private final Path archivo;
+
+    /**
+     * Hilo unico que escribe el catalogo, para que dos guardados no se solapen.
+     */
+    private final ExecutorService ejecutor;
+
+    /**
+     * Indica si hay un guardado encolado que aun no empezo.
+     */
+    private final AtomicBoolean pendiente;
+
+    /**
+     * Constructor que prepara el hilo de guardado.
+     *
+     * @param gestorProductos el gestor cuyo catalogo se guarda
+     * @param archivo la ruta del catalogo
+     * @throws IllegalArgumentException si algun parametro es nulo
+     */
+    public GuardadoCatalogoAsincrono(GestorProductos gestorProductos, Path archivo) {
+        if (gestorProductos == null || archivo == null) {
+            throw new IllegalArgumentException("El gestor de productos y la ruta del catalogo no pueden ser nulos.");
+        }
+        this.gestorProductos = gestorProductos;
+        this.archivo = archivo;
+        this.pendiente = new AtomicBoolean();
+        this.ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "guardado-catalogo");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Solicita guardar el catalogo vigente. No bloquea; si ya hay un guardado
+     * pendiente, esta solicitud queda incluida en el.
+     *
+     * @return true si se encolo un guardado nuevo, false si se agrupo con uno pendiente
+     *         o si el servicio esta cerrado
+     */
+    public boolean solicitar() {
+        if (!pendiente.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            ejecutor.execute(this::guardar);
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendiente.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * Cierra el servicio: deja de aceptar solicitudes y espera a que termine el
+     * guardado pendiente.
+     *
+     * @return true si no quedo ningun guardado sin terminar, false si vencio la espera
+     */
+    public boolean cerrar() {
+        ejecutor.shutdown();
+        try {
+            return ejecutor.awaitTermination(ESPERA_CIERRE_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la instantanea vigente. La marca de pendiente se baja antes de leer el
+     * catalogo, para que un alta posterior encole otro guardado. Si falla, el catalogo
+     * sigue disponible en esta sesion y se reintenta en la proxima solicitud.
+     */
+    private void guardar() {
+        pendiente.set(false);
+        try {
+            gestorProductos.guardarCatalogo(archivo);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("No se pudo guardar el catalogo de productos: " + e.getMessage());
+        }
+    }
+}
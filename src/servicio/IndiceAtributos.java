@@ -0,0 +1,93 @@
+package servicio;
+
+import modelo.Bebida;
+import modelo.Combo;
+import modelo.Comida;
+import modelo.Producto;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Indice de atributos del catalogo: un conjunto de bits por atributo, donde el bit
+ * i corresponde al producto en la posicion i del catalogo. Los filtros se resuelven
+ * combinando estos conjuntos con operaciones de bits en lugar de recorrer los productos.
+ *
+ * Los tipos de comida y los tamanos de bebida se indexan sin distinguir mayusculas.
+ * No es seguro para uso concurrente; el gestor que lo contiene sincroniza el acceso.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see FiltroProductos
+ */
+final class IndiceAtributos {
+
+    final BitSet comidas = new BitSet();
+    final BitSet bebidas = new BitSet();
+    final BitSet combos = new BitSet();
+    final BitSet vegetarianos = new BitSet();
+    final BitSet conAlcohol = new BitSet();
+
+    /**
+     * Comidas por tipo y bebidas por tamano, con la clave en minusculas.
+     */
+    private final Map<String, BitSet> comidasPorTipo = new HashMap<>();
+    private final Map<String, BitSet> bebidasPorTamano = new HashMap<>();
+
+    /**
+     * Numero de posiciones indexadas.
+     */
+    int tamano;
+
+    /**
+     * Indexa el producto de la siguiente posicion del catalogo.
+     *
+     * @param producto el producto agregado
+     */
+    void registrar(Producto producto) {
+        int ranura = tamano++;
+        if (producto instanceof Comida) {
+            Comida comida = (Comida) producto;
+            comidas.set(ranura);
+            comidasPorTipo.computeIfAbsent(clave(comida.getTipo()), t -> new BitSet()).set(ranura);
+            if (comida.isEsVegetariano()) {
+                vegetarianos.set(ranura);
+            }
+        } else if (producto instanceof Bebida) {
+            Bebida bebida = (Bebida) producto;
+            bebidas.set(ranura);
+            bebidasPorTamano.computeIfAbsent(clave(bebida.getTamano()), t -> new BitSet()).set(ranura);
+            if (bebida.isConAlcohol()) {
+                conAlcohol.set(ranura);
+            }
+        } else if (producto instanceof Combo) {
+            combos.set(ranura);
+        }
+    }
+
+    /**
+     * Obtiene las comidas de un tipo.
+     *
+     * @param tipo el tipo de comida
+     * @return el conjunto de bits indexado, o uno vacio si no hay comidas de ese tipo
+     */
+    BitSet comidasDeTipo(String tipo) {
+        return comidasPorTipo.getOrDefault(clave(tipo), new BitSet());
+    }
+
+    /**
+     * Obtiene las bebidas de un tamano.
+     *
+     * @param tamanoBebida el tamano de bebida
+     * @return el conjunto de bits indexado, o uno vacio si no hay bebidas de ese tamano
+     */
+    BitSet bebidasDeTamano(String tamanoBebida) {
+        return bebidasPorTamano.getOrDefault(clave(tamanoBebida), new BitSet());
+    }
+
+    private static String clave(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package servicio;
+
+import modelo.Producto;
+import utilidades.Dinero;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Clase que representa el resultado de un analisis de ventas sobre las facturas
+ * vigentes: productos mas vendidos, ingresos por categoria, participacion de
+ * comidas vegetarianas y bebidas con alcohol y ticket promedio. Los montos se
+ * expresan en centavos; las facturas anuladas no suman.
+ *
+ * Los productos se agrupan por su clave (tipo y nombre), asi que las versiones de
+ * un producto con distinto precio suman juntas. Las categorias de comida y bebida
+ * se agrupan sin distinguir mayusculas. Los combos aparecen como tales entre los
+ * productos vendidos, pero sus ingresos se reparten entre las categorias y las
+ * participaciones de sus productos, en proporcion a sus precios. Las
+ * participaciones se calculan sobre los ingresos de todas las lineas.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see AnaliticaVentas
+ */
+public class ReporteVentas {
+
+    /**
+     * Ventas de cada producto, de la mas vendida a la menos vendida.
+     */
+    private List<VentaProducto> productos;
+
+    /**
+     * Ingresos de comidas por tipo en minusculas, en centavos.
+     */
+    private Map<String, Long> comidasPorTipo;
+
+    /**
+     * Ingresos de bebidas por tamano en minusculas, en centavos.
+     */
+    private Map<String, Long> bebidasPorTamano;
+
+    /**
+     * Ingresos de las lineas de combos, en centavos.
+     */
+    private long ingresosCombos;
+
+    /**
+     * Ingresos de todas las lineas, en centavos.
+     */
+    private long ingresosLineas;
+
+    /**
+     * Ingresos de las comidas vegetarianas, en centavos.
+     */
+    private long ingresosVegetarianos;
+
+    /**
+     * Ingresos de las bebidas con alcohol, en centavos.
+     */
+    private long ingresosConAlcohol;
+
+    /**
+     * Facturas vigentes analizadas.
+     */
+    private long facturas;
+
+    /**
+     * Facturas anuladas, que no se incluyen en el analisis.
+     */
+    private long anuladas;
+
+    /**
+     * Suma de los totales de las facturas vigentes, en centavos.
+     */
+    private long totalFacturas;
+
+    /**
+     * Constructor que arma el reporte a partir de los acumulados combinados.
+     *
+     * @param acumulado los acumulados de todas las facturas
+     */
+    ReporteVentas(AcumuladorVentas acumulado) {
+        this.productos = new ArrayList<>(acumulado.productos);
+        for (int i = 0; i < acumulado.productos; i++) {
+            productos.add(new VentaProducto(acumulado.representantes[i], acumulado.unidades[i], acumulado.ingresos[i]));
+        }
+        productos.sort((a, b) -> a.unidades != b.unidades ? Long.compare(b.unidades, a.unidades)
+                                                          : Long.compare(b.ingresos, a.ingresos));
+        this.comidasPorTipo = agrupar(acumulado.comidasPorTipo);
+        this.bebidasPorTamano = agrupar(acumulado.bebidasPorTamano);
+        this.ingresosCombos = acumulado.ingresosCombos;
+        this.ingresosLineas = acumulado.ingresosLineas;
+        this.ingresosVegetarianos = acumulado.ingresosVegetarianos;
+        this.ingresosConAlcohol = acumulado.ingresosConAlcohol;
+        this.facturas = acumulado.facturas;
+        this.anuladas = acumulado.anuladas;
+        this.totalFacturas = acumulado.totalFacturas;
+    }
+
+    /**
+     * Obtiene los productos mas vendidos por unidades; a igual cantidad, por ingresos.
+     * Cada producto se representa con la primera version vista de su clave.
+     *
+     * @param k el numero de productos, no puede ser negativo
+     * @return lista con a lo sumo k productos, del mas vendido al menos vendido
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<VentaProducto> getProductosMasVendidos(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K no puede ser negativo.");
+        }
+        return new ArrayList<>(productos.subList(0, Math.min(k, productos.size())));
+    }
+
+    /**
+     * Obtiene los ingresos de las comidas por tipo (entrada, principal, postre).
+     *
+     * @return mapa ordenado de tipo en minusculas a ingresos en centavos
+     */
+    public Map<String, Long> getIngresosComidaPorTipoCentavos() {
+        return Collections.unmodifiableMap(comidasPorTipo);
+    }
+
+    /**
+     * Obtiene los ingresos de las bebidas por tamano (pequeno, mediano, grande).
+     *
+     * @return mapa ordenado de tamano en minusculas a ingresos en centavos
+     */
+    public Map<String, Long> getIngresosBebidaPorTamanoCentavos() {
+        return Collections.unmodifiableMap(bebidasPorTamano);
+    }
+
+    /**
+     * Obtiene los ingresos de las lineas de combos. Estos ingresos tambien estan
+     * incluidos, repartidos, en las categorias de comida y bebida.
+     *
+     * @return los ingresos en centavos
+     */
+    public long getIngresosCombosCentavos() {
+        return ingresosCombos;
+    }
+
+    /**
+     * Obtiene los ingresos de todas las lineas vendidas.
+     *
+     * @return los ingresos en centavos
+     */
+    public long getIngresosTotalesCentavos() {
+        return ingresosLineas;
+    }
+
+    /**
+     * Calcula la participacion de las comidas vegetarianas en los ingresos.
+     *
+     * @return la fraccion entre 0 y 1, o 0 si no hay ventas
+     */
+    public double getParticipacionVegetariana() {
+        return ingresosLineas == 0 ? 0 : (double) ingresosVegetarianos / ingresosLineas;
+    }
+
+    /**
+     * Calcula la participacion de las bebidas con alcohol en los ingresos.
+     *
+     * @return la fraccion entre 0 y 1, o 0 si no hay ventas
+     */
+    public double getParticipacionAlcohol() {
+        return ingresosLineas == 0 ? 0 : (double) ingresosConAlcohol / ingresosLineas;
+    }
+
+    /**
+     * Obtiene el numero de facturas vigentes analizadas.
+     *
+     * @return el conteo de facturas no anuladas
+     */
+    public long getFacturas() {
+        return facturas;
+    }
+
+    /**
+     * Obtiene el numero de facturas anuladas, que no se incluyen en el analisis.
+     *
+     * @return el conteo de facturas anuladas
+     */
+    public long getAnuladas() {
+        return anuladas;
+    }
+
+    /**
+     * Obtiene el total de las facturas vigentes.
+     *
+     * @return el total en centavos
+     */
+    public long getTotalFacturadoCentavos() {
+        return totalFacturas;
+    }
+
+    /**
+     * Calcula el ticket promedio de las facturas vigentes.
+     *
+     * @return el total dividido por el numero de facturas, o 0 si no hay
+     */
+    public double getTicketPromedio() {
+        return facturas == 0 ? 0 : Dinero.aDecimal(totalFacturas) / facturas;
+    }
+
+    /**
+     * Representacion en String del reporte.
+     *
+     * @return String con las facturas, el total y el ticket promedio
+     */
+    @Override
+    public String toString() {
+        return String.format("Ventas: %d facturas, $%.2f, ticket promedio $%.2f",
+                           facturas, Dinero.aDecimal(totalFacturas), getTicketPromedio());
+    }
+
+    /**
+     * Agrupa los ingresos por categoria sin distinguir mayusculas.
+     */
+    private static Map<String, Long> agrupar(Map<String, long[]> ingresos) {
+        Map<String, Long> agrupados = new TreeMap<>();
+        for (Map.Entry<String, long[]> entrada : ingresos.entrySet()) {
+            agrupados.merge(entrada.getKey().toLowerCase(Locale.ROOT), entrada.getValue()[0], Long::sum);
+        }
+        return agrupados;
+    }
+
+    /**
+     * Ventas acumuladas de un producto.
+     */
+    public static class VentaProducto {
+
+        /**
+         * Producto vendido.
+         */
+        private Producto producto;
+
+        /**
+         * Unidades vendidas.
+         */
+        private long unidades;
+
+        /**
+         * Ingresos del producto en centavos.
+         */
+        private long ingresos;
+
+        /**
+         * Constructor de las ventas de un producto.
+         *
+         * @param producto el producto
+         * @param unidades las unidades vendidas
+         * @param ingresos los ingresos en centavos
+         */
+        VentaProducto(Producto producto, long unidades, long ingresos) {
+            this.producto = producto;
+            this.unidades = unidades;
+            this.ingresos = ingresos;
+        }
+
+        /**
+         * Obtiene el producto.
+         *
+         * @return el producto vendido
+         */
+        public Producto getProducto() {
+            return producto;
+        }
+
+        /**
+         * Obtiene las unidades vendidas.
+         *
+         * @return las unidades
+         */
+        public long getUnidades() {
+            return unidades;
+        }
+
+        /**
+         * Obtiene los ingresos del producto.
+         *
+         * @return los ingresos en centavos
+         */
+        public long getIngresosCentavos() {
+            return ingresos;
+        }
+
+        /**
+         * Representacion en String de las ventas del producto.
+         *
+         * @return String con el nombre, las unidades y los ingresos
+         */
+        @Override
+        public String toString() {
+            return String.format("%s: %d unidades, $%.2f", producto.getNombre(), unidades, Dinero.aDecimal(ingresos));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,240 @@
+package servicio;
+
+import modelo.Factura;
+import utilidades.Dinero;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Clase que representa el reporte Z de un turno: las ventas facturadas entre dos
+ * instantes, con el desglose por hora. Las facturas anuladas se informan aparte y
+ * no suman en el total.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see GestorFacturas#generarReporteZ(LocalDateTime, LocalDateTime)
+ */
+public class ReporteZ {
+
+    /**
+     * Inicio del turno, inclusive.
+     */
+    private LocalDateTime desde;
+
+    /**
+     * Fin del turno, exclusivo.
+     */
+    private LocalDateTime hasta;
+
+    /**
+     * Inicio de la primera hora del desglose.
+     */
+    private LocalDateTime primeraHora;
+
+    /**
+     * Numero de facturas vigentes emitidas en el turno.
+     */
+    private int facturas;
+
+    /**
+     * Numero de facturas del turno que fueron anuladas.
+     */
+    private int anuladas;
+
+    /**
+     * Total de las facturas vigentes, en centavos.
+     */
+    private long total;
+
+    /**
+     * Total de las facturas anuladas, en centavos.
+     */
+    private long totalAnulado;
+
+    /**
+     * Facturas vigentes por hora, desde la primera hora del turno.
+     */
+    private int[] facturasPorHora;
+
+    /**
+     * Total de las facturas vigentes por hora en centavos, desde la primera hora del turno.
+     */
+    private long[] totalPorHora;
+
+    /**
+     * Constructor que crea un reporte vacio para un turno.
+     *
+     * @param desde el inicio del turno, inclusive
+     * @param hasta el fin del turno, exclusivo
+     */
+    ReporteZ(LocalDateTime desde, LocalDateTime hasta) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.primeraHora = desde.truncatedTo(ChronoUnit.HOURS);
+        int horas = (int) Math.max(1, Duration.between(primeraHora, hasta.minusNanos(1)).toHours() + 1);
+        this.facturasPorHora = new int[horas];
+        this.totalPorHora = new long[horas];
+    }
+
+    /**
+     * Suma una factura del turno al reporte.
+     *
+     * @param factura la factura, emitida entre desde y hasta
+     */
+    void agregar(Factura factura) {
+        if (factura.isAnulada()) {
+            anuladas++;
+            totalAnulado += factura.getTotalCentavos();
+            return;
+        }
+        int hora = (int) Duration.between(primeraHora, factura.getFecha()).toHours();
+        facturas++;
+        total += factura.getTotalCentavos();
+        facturasPorHora[hora]++;
+        totalPorHora[hora] += factura.getTotalCentavos();
+    }
+
+    /**
+     * Obtiene el inicio del turno.
+     *
+     * @return el inicio, inclusive
+     */
+    public LocalDateTime getDesde() {
+        return desde;
+    }
+
+    /**
+     * Obtiene el fin del turno.
+     *
+     * @return el fin, exclusivo
+     */
+    public LocalDateTime getHasta() {
+        return hasta;
+    }
+
+    /**
+     * Obtiene el numero de facturas vigentes del turno.
+     *
+     * @return el conteo de facturas no anuladas
+     */
+    public int getFacturas() {
+        return facturas;
+    }
+
+    /**
+     * Obtiene el numero de facturas anuladas del turno.
+     *
+     * @return el conteo de facturas anuladas
+     */
+    public int getAnuladas() {
+        return anuladas;
+    }
+
+    /**
+     * Obtiene el total vendido en el turno.
+     *
+     * @return la suma de las facturas no anuladas
+     */
+    public double getTotal() {
+        return Dinero.aDecimal(total);
+    }
+
+    /**
+     * Obtiene el total vendido en el turno en centavos.
+     *
+     * @return la suma exacta de las facturas no anuladas, en centavos
+     */
+    public long getTotalCentavos() {
+        return total;
+    }
+
+    /**
+     * Obtiene el total de las facturas anuladas del turno.
+     *
+     * @return la suma de las facturas anuladas
+     */
+    public double getTotalAnulado() {
+        return Dinero.aDecimal(totalAnulado);
+    }
+
+    /**
+     * Obtiene el total de las facturas anuladas del turno en centavos.
+     *
+     * @return la suma exacta de las facturas anuladas, en centavos
+     */
+    public long getTotalAnuladoCentavos() {
+        return totalAnulado;
+    }
+
+    /**
+     * Calcula el ticket promedio del turno.
+     *
+     * @return el total dividido por el numero de facturas vigentes, o 0 si no hay
+     */
+    public double getTicketPromedio() {
+        return facturas == 0 ? 0 : getTotal() / facturas;
+    }
+
+    /**
+     * Obtiene el numero de horas del desglose. La primera y la ultima pueden estar
+     * incompletas si el turno no empieza o termina en punto.
+     *
+     * @return el numero de horas
+     */
+    public int getHoras() {
+        return facturasPorHora.length;
+    }
+
+    /**
+     * Obtiene el inicio de una hora del desglose.
+     *
+     * @param hora la posicion de la hora, entre 0 y getHoras() - 1
+     * @return el inicio de esa hora, en punto
+     */
+    public LocalDateTime getInicioHora(int hora) {
+        return primeraHora.plusHours(hora);
+    }
+
+    /**
+     * Obtiene el numero de facturas vigentes de una hora del desglose.
+     *
+     * @param hora la posicion de la hora, entre 0 y getHoras() - 1
+     * @return el conteo de facturas de esa hora
+     */
+    public int getFacturasEnHora(int hora) {
+        return facturasPorHora[hora];
+    }
+
+    /**
+     * Obtiene el total vendido en una hora del desglose.
+     *
+     * @param hora la posicion de la hora, entre 0 y getHoras() - 1
+     * @return el total de esa hora
+     */
+    public double getTotalEnHora(int hora) {
+        return Dinero.aDecimal(totalPorHora[hora]);
+    }
+
+    /**
+     * Obtiene el total vendido en una hora del desglose en centavos.
+     *
+     * @param hora la posicion de la hora, entre 0 y getHoras() - 1
+     * @return el total de esa hora, en centavos
+     */
+    public long getTotalEnHoraCentavos(int hora) {
+        return totalPorHora[hora];
+    }
+
+    /**
+     * Representacion en String del reporte.
+     *
+     * @return String con el turno, las facturas y los totales
+     */
+    @Override
+    public String toString() {
+        return String.format("Reporte Z %s - %s: %d facturas, $%.2f (%d anuladas, $%.2f)",
+                           desde, hasta, facturas, getTotal(), anuladas, getTotalAnulado());
+    }
+}
\ No newline at end of file
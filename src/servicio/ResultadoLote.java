@@ -0,0 +1,200 @@
+package servicio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que representa el resultado de una ingesta de pedidos por lotes.
+ * Contiene el resultado individual de cada pedido del lote y mide el
+ * rendimiento de la ingesta en pedidos por segundo, que puede compararse con
+ * el de otra ingesta (por ejemplo, el mismo lote ingresado uno a uno).
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see GestorPedidos#ingresarLote(List)
+ * @see GestorPedidos#ingresarUnoAUno(List)
+ */
+public class ResultadoLote {
+    
+    /**
+     * Resultado de cada pedido del lote, en el mismo orden de entrada.
+     */
+    private List<Resultado> resultados;
+    
+    /**
+     * Numero de pedidos aceptados y publicados.
+     */
+    private int aceptados;
+    
+    /**
+     * Duracion total de la ingesta en nanosegundos.
+     */
+    private long duracionNanos;
+    
+    /**
+     * Constructor que crea un resultado vacio con capacidad para el lote.
+     * 
+     * @param tamanoLote el numero de pedidos del lote
+     */
+    ResultadoLote(int tamanoLote) {
+        this.resultados = new ArrayList<>(tamanoLote);
+    }
+    
+    /**
+     * Registra un pedido aceptado.
+     * 
+     * @param idPedido el ID asignado al pedido
+     */
+    void agregarAceptado(int idPedido) {
+        resultados.add(new Resultado(idPedido, null));
+        aceptados++;
+    }
+    
+    /**
+     * Registra un pedido rechazado.
+     * 
+     * @param motivo el motivo del rechazo
+     */
+    void agregarRechazado(String motivo) {
+        resultados.add(new Resultado(-1, motivo));
+    }
+    
+    /**
+     * Establece la duracion de la ingesta.
+     * 
+     * @param duracionNanos la duracion en nanosegundos
+     */
+    void setDuracionNanos(long duracionNanos) {
+        this.duracionNanos = duracionNanos;
+    }
+    
+    /**
+     * Obtiene el resultado de cada pedido del lote.
+     * 
+     * @return lista de resultados en el orden de entrada
+     */
+    public List<Resultado> getResultados() {
+        return new ArrayList<>(resultados);
+    }
+    
+    /**
+     * Obtiene el numero de pedidos aceptados.
+     * 
+     * @return el conteo de pedidos aceptados
+     */
+    public int getAceptados() {
+        return aceptados;
+    }
+    
+    /**
+     * Obtiene el numero de pedidos rechazados.
+     * 
+     * @return el conteo de pedidos rechazados
+     */
+    public int getRechazados() {
+        return resultados.size() - aceptados;
+    }
+    
+    /**
+     * Obtiene la duracion de la ingesta.
+     * 
+     * @return la duracion en nanosegundos
+     */
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+    
+    /**
+     * Calcula el rendimiento de la ingesta.
+     * 
+     * @return los pedidos procesados por segundo
+     */
+    public double getPedidosPorSegundo() {
+        if (duracionNanos <= 0) {
+            return 0;
+        }
+        return resultados.size() * 1_000_000_000.0 / duracionNanos;
+    }
+    
+    /**
+     * Compara el rendimiento de esta ingesta con el de otra.
+     * 
+     * @param otra la ingesta de referencia, por ejemplo la de uno a uno
+     * @return cuantas veces mas pedidos por segundo proceso esta ingesta, o 0 si
+     *         alguna de las dos no tiene rendimiento medido
+     * @throws IllegalArgumentException si la otra ingesta es nula
+     */
+    public double getAceleracion(ResultadoLote otra) {
+        if (otra == null) {
+            throw new IllegalArgumentException("La ingesta de referencia no puede ser nula.");
+        }
+        double referencia = otra.getPedidosPorSegundo();
+        return referencia == 0 ? 0 : getPedidosPorSegundo() / referencia;
+    }
+    
+    /**
+     * Representacion en String del resultado del lote.
+     * 
+     * @return String con aceptados, rechazados y rendimiento
+     */
+    @Override
+    public String toString() {
+        return String.format("Lote: %d aceptados, %d rechazados - %.0f pedidos/s", 
+                           aceptados, getRechazados(), getPedidosPorSegundo());
+    }
+    
+    /**
+     * Resultado individual de un pedido dentro del lote.
+     */
+    public static class Resultado {
+        
+        /**
+         * ID asignado al pedido, o -1 si fue rechazado.
+         */
+        private int idPedido;
+        
+        /**
+         * Motivo del rechazo, o null si fue aceptado.
+         */
+        private String motivo;
+        
+        /**
+         * Constructor del resultado individual.
+         * 
+         * @param idPedido el ID asignado, o -1 si fue rechazado
+         * @param motivo el motivo del rechazo, o null si fue aceptado
+         */
+        Resultado(int idPedido, String motivo) {
+            this.idPedido = idPedido;
+            this.motivo = motivo;
+        }
+        
+        /**
+         * Verifica si el pedido fue aceptado.
+         * 
+         * @return true si fue aceptado, false si fue rechazado
+         */
+        public boolean isAceptado() {
+            return motivo == null;
+        }
+        
+        /**
+         * Obtiene el ID asignado al pedido.
+         * 
+         * @return el ID del pedido, o -1 si fue rechazado
+         */
+        public int getIdPedido() {
+            return idPedido;
+        }
+        
+        /**
+         * Obtiene el motivo del rechazo.
+         * 
+         * @return el motivo, o null si fue aceptado
+         */
+        public String getMotivo() {
+            return motivo;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package servicio;
+
+import modelo.Producto;
+
+/**
+ * Clase que representa un ticket de preparacion enviado a una estacion de cocina.
+ * Cada ticket corresponde a una unidad de producto de un pedido. Los tickets se
+ * ordenan por prioridad (mayor primero) y, a igual prioridad, por orden de llegada.
+ * 
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ * @see DespachoCocina
+ */
+public class TicketCocina implements Comparable<TicketCocina> {
+    
+    /**
+     * ID del pedido al que pertenece el ticket.
+     */
+    private final int idPedido;
+    
+    /**
+     * Producto a preparar.
+     */
+    private final Producto producto;
+    
+    /**
+     * Estacion que debe preparar el producto.
+     */
+    private final EstacionCocina estacion;
+    
+    /**
+     * Prioridad del ticket; un valor mayor se atiende antes.
+     */
+    private final int prioridad;
+    
+    /**
+     * Numero de secuencia para desempatar por orden de llegada.
+     */
+    private final long secuencia;
+    
+    /**
+     * Instante (System.nanoTime) en que el ticket entro a la cola.
+     */
+    private long encoladoNanos;
+    
+    /**
+     * Constructor para crear un nuevo ticket.
+     * 
+     * @param idPedido el ID del pedido
+     * @param producto el producto a preparar
+     * @param estacion la estacion destino
+     * @param prioridad la prioridad del ticket
+     * @param secuencia el numero de secuencia de llegada
+     */
+    TicketCocina(int idPedido, Producto producto, EstacionCocina estacion, int prioridad, long secuencia) {
+        this.idPedido = idPedido;
+        this.producto = producto;
+        this.estacion = estacion;
+        this.prioridad = prioridad;
+        this.secuencia = secuencia;
+    }
+    
+    /**
+     * Obtiene el ID del pedido al que pertenece el ticket.
+     * 
+     * @return el ID del pedido
+     */
+    public int getIdPedido() {
+        return idPedido;
+    }
+    
+    /**
+     * Obtiene el producto a preparar.
+     * 
+     * @return el producto del ticket
+     */
+    public Producto getProducto() {
+        return producto;
+    }
+    
+    /**
+     * Obtiene la estacion destino del ticket.
+     * 
+     * @return la estacion de cocina
+     */
+    public EstacionCocina getEstacion() {
+        return estacion;
+    }
+    
+    /**
+     * Obtiene la prioridad del ticket.
+     * 
+     * @return la prioridad (mayor se atiende antes)
+     */
+    public int getPrioridad() {
+        return prioridad;
+    }
+    
+    /**
+     * Obtiene el instante en que el ticket entro a la cola.
+     * 
+     * @return el instante en nanosegundos (System.nanoTime)
+     */
+    long getEncoladoNanos() {
+        return encoladoNanos;
+    }
+    
+    /**
+     * Registra el instante en que el ticket entra a la cola.
+     * 
+     * @param encoladoNanos el instante en nanosegundos (System.nanoTime)
+     */
+    void setEncoladoNanos(long encoladoNanos) {
+        this.encoladoNanos = encoladoNanos;
+    }
+    
+    /**
+     * Compara tickets por prioridad descendente y luego por orden de llegada.
+     * 
+     * @param otro el ticket a comparar
+     * @return negativo si este ticket debe atenderse antes
+     */
+    @Override
+    public int compareTo(TicketCocina otro) {
+        if (prioridad != otro.prioridad) {
+            return Integer.compare(otro.prioridad, prioridad);
+        }
+        return Long.compare(secuencia, otro.secuencia);
+    }
+    
+    /**
+     * Representacion en String del ticket.
+     * 
+     * @return String con estacion, pedido y producto
+     */
+    @Override
+    public String toString() {
+        return String.format("[%s] Pedido #%d - %s", estacion, idPedido, producto.getNombre());
+    }
+}
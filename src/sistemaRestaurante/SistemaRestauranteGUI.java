@@ -1,14 +1,28 @@
 package sistemaRestaurante;
 
 import modelo.*;
+import servicio.CatalogoInstantanea;
+import servicio.DespachoCocina;
+import servicio.FacturacionAsincrona;
 import servicio.GestorFacturas;
 import servicio.GestorPedidos;
 import servicio.GestorProductos;
+import servicio.GuardadoCatalogoAsincrono;
+import servicio.TicketCocina;
+import persistencia.AlmacenPedidosDisco;
+import persistencia.DiarioPedidos;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Sistema principal con interfaz grafica para gestion de restaurante.
@@ -26,6 +40,29 @@ public class SistemaRestauranteGUI extends JFrame {
      * Requerido para la serializacion de objetos Swing.
      */
     private static final long serialVersionUID = 1L;
+    
+    /**
+     * Archivo del diario de pedidos, usado para recuperar los pedidos del dia
+     * despues de un cierre o una caida del sistema.
+     */
+    private static final Path ARCHIVO_DIARIO = Path.of("pedidos.diario");
+
+    /**
+     * Directorio donde se guardan los pedidos finalizados, para que no ocupen
+     * memoria durante el dia y sigan disponibles en el proximo inicio.
+     */
+    private static final Path DIRECTORIO_PEDIDOS = Path.of("pedidos");
+
+    /**
+     * Archivo del catalogo de productos, cargado al iniciar en lugar de los productos
+     * de ejemplo y guardado en cada alta.
+     */
+    private static final Path ARCHIVO_CATALOGO = Path.of("catalogo.bin");
+    
+    /**
+     * Maximo de lineas que conserva el monitor de cocina; las mas antiguas se descartan.
+     */
+    private static final int MAXIMO_LINEAS_COCINA = 500;
 
     /**
      * Gestor de productos para administrar comidas, bebidas y combos.
@@ -33,6 +70,12 @@ public class SistemaRestauranteGUI extends JFrame {
      */
     private GestorProductos gestorProductos;
     
+    /**
+     * Servicio que guarda el catalogo en segundo plano despues de cada alta,
+     * agrupando las altas seguidas en un solo guardado.
+     */
+    private GuardadoCatalogoAsincrono guardadoCatalogo;
+    
     /**
      * Gestor de pedidos para crear y administrar pedidos del restaurante.
      * Maneja el ciclo de vida completo de los pedidos.
@@ -45,6 +88,27 @@ public class SistemaRestauranteGUI extends JFrame {
      */
     private GestorFacturas gestorFacturas;
     
+    /**
+     * Servicio que factura e imprime en segundo plano para no congelar la ventana.
+     */
+    private FacturacionAsincrona facturacion;
+    
+    /**
+     * Despacho que reparte los pedidos enviados a la cocina entre sus estaciones.
+     */
+    private DespachoCocina despachoCocina;
+    
+    /**
+     * Indica si los servicios ya se cerraron, para cerrarlos una sola vez aunque
+     * se salga con el boton y ademas se cierre la ventana.
+     */
+    private final AtomicBoolean serviciosCerrados = new AtomicBoolean();
+    
+    /**
+     * Monitor de cocina donde se muestran los tickets que preparan las estaciones.
+     */
+    private JTextArea areaCocina;
+    
     /**
      * Panel con pestañas para organizar las diferentes secciones del sistema.
      * Permite navegar entre las distintas funcionalidades.
@@ -100,9 +164,62 @@ public class SistemaRestauranteGUI extends JFrame {
      * Este metodo sigue el principio de Inversion de Dependencias.
      */
     private void inicializarServicios() {
-        this.gestorProductos = new GestorProductos();
-        this.gestorPedidos = new GestorPedidos();
+        try {
+            this.gestorProductos = new GestorProductos(ARCHIVO_CATALOGO);
+        } catch (IOException e) {
+            System.err.println("No se pudo cargar el catalogo de productos: " + e.getMessage());
+            this.gestorProductos = new GestorProductos();
+        }
+        this.guardadoCatalogo = new GuardadoCatalogoAsincrono(gestorProductos, ARCHIVO_CATALOGO);
+        AlmacenPedidosDisco almacenPedidos = null;
+        try {
+            almacenPedidos = new AlmacenPedidosDisco(DIRECTORIO_PEDIDOS);
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el almacen de pedidos: " + e.getMessage());
+        }
+        try {
+            // Reconstruir los pedidos registrados y registrar los nuevos en el diario
+            this.gestorPedidos = new GestorPedidos(almacenPedidos, new DiarioPedidos(ARCHIVO_DIARIO));
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el diario de pedidos: " + e.getMessage());
+            this.gestorPedidos = new GestorPedidos(almacenPedidos, null);
+        }
+        // Cada pedido enviado a la cocina se reparte entre sus estaciones, y cada ticket
+        // preparado se muestra en el monitor de cocina desde el hilo de eventos
+        this.despachoCocina = new DespachoCocina(ticket -> SwingUtilities.invokeLater(() -> mostrarTicketCocina(ticket)));
+        gestorPedidos.setDespachoCocina(despachoCocina);
         this.gestorFacturas = new GestorFacturas(gestorPedidos);
+        // Facturar e imprimir fuera del hilo de eventos de Swing
+        this.facturacion = new FacturacionAsincrona(gestorFacturas);
+    }
+    
+    /**
+     * Solicita guardar el catalogo de productos para cargarlo en el proximo inicio.
+     * El guardado corre fuera del hilo de eventos; si no se puede guardar, el
+     * producto sigue disponible en esta sesion.
+     */
+    private void guardarCatalogo() {
+        guardadoCatalogo.solicitar();
+    }
+    
+    /**
+     * Termina de facturar, imprimir y guardar el catalogo, detiene la cocina y cierra
+     * el diario de pedidos. Solo la primera llamada tiene efecto.
+     */
+    private void cerrarServicios() {
+        if (!serviciosCerrados.compareAndSet(false, true)) {
+            return;
+        }
+        if (!facturacion.cerrar()) {
+            System.err.println("Quedaron facturas sin imprimir al salir (" + 
+                               facturacion.getColaImpresion().getPendientes() + " en cola).");
+        }
+        if (!guardadoCatalogo.cerrar()) {
+            System.err.println("El ultimo guardado del catalogo no termino antes de salir.");
+        }
+        gestorPedidos.setDespachoCocina(null);
+        despachoCocina.detener();
+        gestorPedidos.cerrar();
     }
     
     /**
@@ -116,6 +233,14 @@ public class SistemaRestauranteGUI extends JFrame {
         setSize(900, 600);
         setLocationRelativeTo(null); // Centrar en la pantalla
         
+        // Terminar de facturar, imprimir y guardar lo pendiente antes de salir
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cerrarServicios();
+            }
+        });
+        
         // Usar look and feel del sistema para mejor integracion
         try {
             UIManager.setLookAndFeel(UIManager.getLookAndFeel());
@@ -137,6 +262,7 @@ public class SistemaRestauranteGUI extends JFrame {
         tabbedPane.addTab("Productos", crearPanelProductos());
         tabbedPane.addTab("Pedidos", crearPanelPedidos());
         tabbedPane.addTab("Facturas", crearPanelFacturas());
+        tabbedPane.addTab("Cocina", crearPanelCocina());
         tabbedPane.addTab("Salir", crearPanelSalir());
         
         add(tabbedPane);
@@ -178,7 +304,7 @@ public class SistemaRestauranteGUI extends JFrame {
      * @return JPanel con las estadisticas configuradas
      */
     private JPanel crearPanelEstadisticas() {
-        JPanel panelStats = new JPanel(new GridLayout(3, 2, 10, 10));
+        JPanel panelStats = new JPanel(new GridLayout(4, 2, 10, 10));
         panelStats.setBorder(BorderFactory.createTitledBorder("Estadisticas del Sistema"));
         
         JLabel lblProductos = new JLabel("Productos Disponibles:");
@@ -199,6 +325,9 @@ public class SistemaRestauranteGUI extends JFrame {
         panelStats.add(lblPedidosCount);
         panelStats.add(lblFacturas);
         panelStats.add(lblFacturasCount);
+        panelStats.add(new JLabel("Carga del Catalogo:"));
+        panelStats.add(new JLabel(gestorProductos.getTotalProductos() + " productos en "
+                                  + gestorProductos.getDuracionCarga().toMillis() + " ms"));
         
         return panelStats;
     }
@@ -388,15 +517,18 @@ public class SistemaRestauranteGUI extends JFrame {
         JPanel panelBotones = new JPanel(new FlowLayout());
         
         JButton btnNuevoPedido = new JButton("Nuevo Pedido");
+        JButton btnEnviarCocina = new JButton("Enviar a Cocina");
         JButton btnGenerarFactura = new JButton("Generar Factura");
         JButton btnActualizar = new JButton("Actualizar");
         
         // Configurar acciones de los botones
         btnNuevoPedido.addActionListener(e -> mostrarDialogoNuevoPedido());
+        btnEnviarCocina.addActionListener(e -> enviarACocinaDesdeSeleccion());
         btnGenerarFactura.addActionListener(e -> generarFacturaDesdeSeleccion());
         btnActualizar.addActionListener(e -> actualizarTablaPedidos());
         
         panelBotones.add(btnNuevoPedido);
+        panelBotones.add(btnEnviarCocina);
         panelBotones.add(btnGenerarFactura);
         panelBotones.add(btnActualizar);
         
@@ -426,6 +558,47 @@ public class SistemaRestauranteGUI extends JFrame {
         return panel;
     }
     
+    /**
+     * Crea el panel del monitor de cocina, donde aparecen los tickets a medida que
+     * las estaciones los preparan.
+     * 
+     * @return JPanel con el monitor de cocina
+     */
+    private JPanel crearPanelCocina() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        
+        areaCocina = new JTextArea();
+        areaCocina.setEditable(false);
+        areaCocina.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        
+        JButton btnLimpiar = new JButton("Limpiar");
+        btnLimpiar.addActionListener(e -> areaCocina.setText(""));
+        
+        panel.add(new JScrollPane(areaCocina), BorderLayout.CENTER);
+        panel.add(btnLimpiar, BorderLayout.SOUTH);
+        
+        return panel;
+    }
+    
+    /**
+     * Agrega un ticket preparado al monitor de cocina (en el hilo de eventos) y
+     * descarta las lineas mas antiguas si se supera el maximo.
+     * 
+     * @param ticket el ticket preparado
+     */
+    private void mostrarTicketCocina(TicketCocina ticket) {
+        areaCocina.append(ticket + "\n");
+        int sobrantes = areaCocina.getLineCount() - 1 - MAXIMO_LINEAS_COCINA;
+        if (sobrantes > 0) {
+            try {
+                areaCocina.replaceRange("", 0, areaCocina.getLineEndOffset(sobrantes - 1));
+            } catch (BadLocationException e) {
+                areaCocina.setText("");
+            }
+        }
+    }
+    
     /**
      * Crea y configura el panel de salida del sistema.
      * Proporciona un boton para cerrar la aplicacion de manera controlada.
@@ -469,6 +642,7 @@ public class SistemaRestauranteGUI extends JFrame {
                 "Sistema Cerrado",
                 JOptionPane.INFORMATION_MESSAGE
             );
+            cerrarServicios();
             System.exit(0);
         }
     }
@@ -518,6 +692,7 @@ public class SistemaRestauranteGUI extends JFrame {
                 
                 // Usar el GestorProductos para agregar la comida
                 gestorProductos.agregarComida(nombre, precio, tipo, vegetariano);
+                guardarCatalogo();
                 actualizarTablaProductos();
                 JOptionPane.showMessageDialog(this, "Comida agregada exitosamente!");
                 
@@ -574,6 +749,7 @@ public class SistemaRestauranteGUI extends JFrame {
                 
                 // Usar el GestorProductos para agregar la bebida
                 gestorProductos.agregarBebida(nombre, precio, tamano, alcohol);
+                guardarCatalogo();
                 actualizarTablaProductos();
                 JOptionPane.showMessageDialog(this, "Bebida agregada exitosamente!");
                 
@@ -622,6 +798,7 @@ public class SistemaRestauranteGUI extends JFrame {
                 
                 // Usar el GestorProductos para agregar el combo
                 gestorProductos.agregarCombo(nombre, descuento);
+                guardarCatalogo();
                 actualizarTablaProductos();
                 JOptionPane.showMessageDialog(this, "Combo agregado exitosamente!");
                 
@@ -649,13 +826,19 @@ public class SistemaRestauranteGUI extends JFrame {
         Pedido nuevoPedido = gestorPedidos.crearPedido();
         boolean continuar = true;
         
+        CatalogoInstantanea catalogo = null;
+        String[] opcionesProductos = null;
+        
         while (continuar) {
-            // Obtener lista de productos disponibles
-            List<Producto> productos = gestorProductos.getProductosDisponibles();
-            String[] opcionesProductos = new String[productos.size()];
-            
-            for (int i = 0; i < productos.size(); i++) {
-                opcionesProductos[i] = productos.get(i).toString();
+            // Tomar la instantanea vigente del catalogo; las descripciones solo se
+            // vuelven a armar si se agregaron productos desde la vuelta anterior
+            CatalogoInstantanea vigente = gestorProductos.getInstantanea();
+            if (vigente != catalogo) {
+                catalogo = vigente;
+                opcionesProductos = new String[catalogo.tamano()];
+                for (int i = 0; i < opcionesProductos.length; i++) {
+                    opcionesProductos[i] = catalogo.getProducto(i).getDescripcion();
+                }
             }
             
             String productoSeleccionado = (String) JOptionPane.showInputDialog(
@@ -670,8 +853,9 @@ public class SistemaRestauranteGUI extends JFrame {
             
             if (productoSeleccionado != null) {
                 // Buscar el producto seleccionado y agregarlo al pedido
-                for (Producto producto : productos) {
-                    if (producto.toString().equals(productoSeleccionado)) {
+                for (int i = 0; i < opcionesProductos.length; i++) {
+                    if (opcionesProductos[i].equals(productoSeleccionado)) {
+                        Producto producto = catalogo.getProducto(i);
                         gestorPedidos.agregarProductoAPedido(nuevoPedido.getId(), producto);
                         JOptionPane.showMessageDialog(this, 
                             "Producto agregado: " + producto.getNombre() +
@@ -694,7 +878,7 @@ public class SistemaRestauranteGUI extends JFrame {
         }
         
         // Verificar si el pedido tiene productos antes de confirmar
-        if (!nuevoPedido.getProductos().isEmpty()) {
+        if (!nuevoPedido.estaVacio()) {
             actualizarTablaPedidos();
             JOptionPane.showMessageDialog(this, 
                 "Pedido creado exitosamente!\nID: " + nuevoPedido.getId() + 
@@ -705,10 +889,35 @@ public class SistemaRestauranteGUI extends JFrame {
         }
     }
     
+    /**
+     * Envia a la cocina el pedido seleccionado en la tabla, pasandolo a en preparacion.
+     * Solo los pedidos pendientes y con productos pueden enviarse; si la cocina
+     * esta saturada el pedido sigue pendiente y se informa, sin bloquear la ventana.
+     */
+    private void enviarACocinaDesdeSeleccion() {
+        int filaSeleccionada = tablaPedidos.getSelectedRow();
+        if (filaSeleccionada == -1) {
+            JOptionPane.showMessageDialog(this, "Seleccione un pedido primero.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        int idPedido = (Integer) modelPedidos.getValueAt(filaSeleccionada, 0);
+        
+        try {
+            gestorPedidos.enviarACocina(idPedido);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        actualizarTablaPedidos();
+        JOptionPane.showMessageDialog(this, "Pedido #" + idPedido + " enviado a la cocina.");
+    }
+    
     /**
      * Genera una factura para el pedido seleccionado en la tabla.
-     * Valida que el pedido este pendiente y solicita el nombre del cliente usando el GestorFacturas.
-     * Implementa validacion de estado del pedido y manejo de excepciones.
+     * Valida que el pedido no este finalizado y solicita el nombre del cliente usando el GestorFacturas.
+     * La facturacion y la impresion corren en segundo plano; el resultado se muestra
+     * de vuelta en el hilo de eventos para no congelar la ventana.
      */
     private void generarFacturaDesdeSeleccion() {
         int filaSeleccionada = tablaPedidos.getSelectedRow();
@@ -721,21 +930,27 @@ public class SistemaRestauranteGUI extends JFrame {
         
         String cliente = JOptionPane.showInputDialog(this, "Nombre del cliente:");
         if (cliente != null && !cliente.trim().isEmpty()) {
-            try {
-                // Usar el GestorFacturas para generar la factura
-                Factura factura = gestorFacturas.generarFactura(idPedido, cliente.trim());
-                actualizarTablaPedidos();
-                
-                // Mostrar factura en consola
-                factura.imprimirFactura();
-                JOptionPane.showMessageDialog(this, 
-                    "Factura generada exitosamente!\nNumero: " + factura.getNumero() +
-                    "\nTotal: $" + String.format("%.2f", factura.getTotal()));
-                    
-            } catch (IllegalArgumentException | IllegalStateException e) {
-                JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            facturacion.generarFactura(idPedido, cliente.trim()).whenComplete((factura, error) ->
+                SwingUtilities.invokeLater(() -> mostrarResultadoFactura(factura, error)));
+        }
+    }
+    
+    /**
+     * Muestra el resultado de una facturacion en segundo plano. Se ejecuta en el hilo de eventos.
+     *
+     * @param factura la factura generada, o null si fallo
+     * @param error la excepcion de la facturacion, o null si tuvo exito
+     */
+    private void mostrarResultadoFactura(Factura factura, Throwable error) {
+        actualizarTablaPedidos();
+        if (error != null) {
+            Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            JOptionPane.showMessageDialog(this, causa.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+        JOptionPane.showMessageDialog(this, 
+            "Factura generada exitosamente!\nNumero: " + factura.getNumero() +
+            "\nTotal: $" + String.format("%.2f", factura.getTotal()));
     }
     
     /**
@@ -778,13 +993,15 @@ public class SistemaRestauranteGUI extends JFrame {
     }
     
     /**
-     * Actualiza la tabla de pedidos con los datos actuales del GestorPedidos.
+     * Actualiza la tabla de pedidos con los pedidos de la sesion actual.
+     * Los finalizados en ejecuciones anteriores quedan en disco y no se listan, para
+     * que cada refresco no decodifique todo el historial.
      * Muestra informacion resumida de cada pedido.
      * Formatea los totales y cuenta la cantidad de productos.
      */
     private void actualizarTablaPedidos() {
         modelPedidos.setRowCount(0);
-        List<Pedido> pedidos = gestorPedidos.getTodosLosPedidos();
+        List<Pedido> pedidos = gestorPedidos.getPedidosDeLaSesion();
         
         // Usar for-each para recorrer todos los pedidos
         for (Pedido pedido : pedidos) {
@@ -792,7 +1009,7 @@ public class SistemaRestauranteGUI extends JFrame {
                 pedido.getId(),
                 String.format("$%.2f", pedido.calcularTotal()),
                 pedido.getEstado(),
-                pedido.getProductos().size() + " productos"
+                pedido.getCantidadProductos() + " productos"
             });
         }
     }
@@ -0,0 +1,92 @@
+package servicio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilidad de las pruebas de concurrencia: ejecuta la misma tarea en varios
+ * hilos que arrancan a la vez, para maximizar la contencion.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+final class EjecucionParalela {
+
+    /**
+     * Hilos por defecto de las pruebas: al menos 32, y cuatro por procesador en
+     * equipos grandes, para que siempre haya mas escritores que nucleos.
+     */
+    static final int HILOS = Math.max(32, 4 * Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Tiempo maximo que se espera a cada hilo.
+     */
+    private static final long ESPERA_SEGUNDOS = 60;
+
+    /**
+     * Tarea que ejecuta cada hilo.
+     */
+    @FunctionalInterface
+    interface Tarea {
+
+        /**
+         * Ejecuta la tarea de un hilo.
+         *
+         * @param hilo el numero del hilo, de 0 a la cantidad de hilos menos uno
+         * @throws Exception si la tarea falla
+         */
+        void ejecutar(int hilo) throws Exception;
+    }
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private EjecucionParalela() {
+    }
+
+    /**
+     * Ejecuta la tarea en {@link #HILOS} hilos.
+     *
+     * @param tarea la tarea de cada hilo
+     * @throws Exception si algun hilo falla o no termina a tiempo
+     */
+    static void ejecutar(Tarea tarea) throws Exception {
+        ejecutar(HILOS, tarea);
+    }
+
+    /**
+     * Ejecuta la tarea en varios hilos, soltandolos a la vez, y propaga el primer
+     * error de cualquiera de ellos.
+     *
+     * @param hilos la cantidad de hilos
+     * @param tarea la tarea de cada hilo
+     * @throws Exception si algun hilo falla o no termina a tiempo
+     */
+    static void ejecutar(int hilos, Tarea tarea) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            CountDownLatch salida = new CountDownLatch(1);
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                resultados.add(ejecutor.submit(() -> {
+                    salida.await();
+                    tarea.ejecutar(hilo);
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
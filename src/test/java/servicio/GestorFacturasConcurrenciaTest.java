@@ -0,0 +1,112 @@
+package servicio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelo.Comida;
+import modelo.EstadoPedido;
+import modelo.Factura;
+import modelo.Pedido;
+import modelo.Producto;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de la facturacion concurrente: varias cajas que facturan los mismos
+ * pedidos a la vez deben producir una sola factura por pedido, y los intentos
+ * rechazados no deben consumir numeros de factura.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+class GestorFacturasConcurrenciaTest {
+
+    /**
+     * Producto de prueba.
+     */
+    private static final Producto MILANESA = new Comida("Milanesa", 12.75, "principal", false);
+
+    /**
+     * Verifica que de varias facturaciones simultaneas del mismo pedido solo una
+     * tiene exito y las demas se rechazan por estado.
+     *
+     * @throws Exception si alguna caja falla de otra forma
+     */
+    @Test
+    void facturarElMismoPedidoEnParaleloGeneraUnaSolaFactura() throws Exception {
+        GestorPedidos pedidos = new GestorPedidos();
+        GestorFacturas facturas = new GestorFacturas(pedidos);
+        Pedido pedido = pedidos.crearPedido();
+        pedidos.agregarProductoAPedido(pedido.getId(), MILANESA);
+        AtomicInteger exitos = new AtomicInteger();
+        AtomicInteger rechazos = new AtomicInteger();
+
+        EjecucionParalela.ejecutar(caja -> {
+            try {
+                facturas.generarFactura(pedido.getId(), "Cliente");
+                exitos.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rechazos.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, exitos.get());
+        assertEquals(EjecucionParalela.HILOS - 1, rechazos.get());
+        assertEquals(1, facturas.getTotalFacturas());
+        assertEquals(EstadoPedido.COMPLETADO, pedido.getEstadoPedido());
+        assertEquals(MILANESA.calcularPrecioCentavos(), facturas.getTotalFacturadoCentavos());
+        assertTrue(facturas.existeFacturaParaPedido(pedido.getId()));
+    }
+
+    /**
+     * Verifica que cuando todas las cajas intentan facturar todos los pedidos, cada
+     * pedido queda con exactamente una factura y los numeros emitidos son
+     * consecutivos, sin huecos dejados por los intentos rechazados.
+     *
+     * @throws Exception si alguna caja falla de otra forma
+     */
+    @Test
+    void facturarPedidosEnParaleloNumeraSinHuecos() throws Exception {
+        GestorPedidos pedidos = new GestorPedidos();
+        GestorFacturas facturas = new GestorFacturas(pedidos);
+        int cantidad = 2000;
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Pedido pedido = pedidos.crearPedido();
+            pedidos.agregarProductoAPedido(pedido.getId(), MILANESA);
+            ids.add(pedido.getId());
+        }
+        ConcurrentLinkedQueue<Factura> emitidas = new ConcurrentLinkedQueue<>();
+
+        EjecucionParalela.ejecutar(caja -> {
+            // Todas las cajas recorren los pedidos en el mismo orden, para chocar en cada uno
+            for (int id : ids) {
+                try {
+                    emitidas.add(facturas.generarFactura(id, "Cliente " + (id % 7)));
+                } catch (IllegalStateException e) {
+                    // Otra caja ya facturo este pedido
+                }
+            }
+        });
+
+        assertEquals(cantidad, emitidas.size());
+        assertEquals(cantidad, facturas.getTotalFacturas());
+        assertEquals(cantidad * MILANESA.calcularPrecioCentavos(), facturas.getTotalFacturadoCentavos());
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        for (Factura factura : emitidas) {
+            minimo = Math.min(minimo, factura.getNumero());
+            maximo = Math.max(maximo, factura.getNumero());
+        }
+        // Numeros distintos en un rango de exactamente tantos valores como facturas: sin huecos
+        assertEquals(cantidad - 1, maximo - minimo);
+        assertEquals(cantidad, emitidas.stream().mapToInt(Factura::getNumero).distinct().count());
+        for (int id : ids) {
+            assertEquals(id, facturas.buscarFacturaPorPedido(id).orElseThrow().getIdPedido());
+        }
+    }
+}
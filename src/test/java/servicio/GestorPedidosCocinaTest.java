@@ -0,0 +1,130 @@
+package servicio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import modelo.Bebida;
+import modelo.Comida;
+import modelo.EstadoPedido;
+import modelo.Pedido;
+import modelo.Producto;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Pruebas del envio de pedidos a la cocina: un pedido se encola en todas sus
+ * estaciones o en ninguna, y si la cocina esta saturada sigue pendiente.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+class GestorPedidosCocinaTest {
+
+    /**
+     * Comida de prueba, preparada en la estacion de principales.
+     */
+    private static final Producto LOMO = new Comida("Lomo", 15.0, "principal", false);
+
+    /**
+     * Bebida de prueba, preparada en la barra.
+     */
+    private static final Producto JUGO = new Bebida("Jugo", 2.0, "mediano", false);
+
+    /**
+     * Verifica que si la barra esta llena, un pedido con platos y bebidas se rechaza
+     * sin encolar sus platos, sigue pendiente y se acepta cuando hay espacio.
+     *
+     * @throws Exception si la espera se interrumpe
+     */
+    @Test
+    void cocinaSaturadaRechazaElPedidoCompletoYLoDejaPendiente() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        DespachoCocina cocina = new DespachoCocina(2, 1, ticket -> esperar(liberar));
+        GestorPedidos gestor = new GestorPedidos();
+        gestor.setDespachoCocina(cocina);
+        try {
+            // El trabajador de la barra toma un jugo y queda preparando; el otro espera en cola
+            gestor.enviarACocina(crearPedido(gestor, 0, 2).getId());
+            while (profundidad(cocina, EstacionCocina.BAR) != 1) {
+                Thread.sleep(5);
+            }
+
+            Pedido saturado = crearPedido(gestor, 1, 2);
+            assertThrows(IllegalStateException.class, () -> gestor.enviarACocina(saturado.getId()));
+            assertEquals(EstadoPedido.PENDIENTE, saturado.getEstadoPedido());
+            assertEquals(0, profundidad(cocina, EstacionCocina.PRINCIPALES));
+            assertEquals(1, profundidad(cocina, EstacionCocina.BAR));
+            assertFalse(gestor.cambiarEstadoPedido(saturado.getId(), EstadoPedido.EN_PREPARACION.getNombre()));
+
+            liberar.countDown();
+            assertEquals(3, cocina.despachar(saturado));
+        } finally {
+            liberar.countDown();
+            cocina.detener();
+        }
+    }
+
+    /**
+     * Verifica que un pedido con mas productos de una estacion de los que caben en
+     * su cola se rechaza de entrada en lugar de esperar para siempre.
+     */
+    @Test
+    void pedidoMayorQueLaColaSeRechaza() {
+        DespachoCocina cocina = new DespachoCocina(2, 1, ticket -> { });
+        GestorPedidos gestor = new GestorPedidos();
+        gestor.setDespachoCocina(cocina);
+        try {
+            Pedido grande = crearPedido(gestor, 0, 3);
+            assertThrows(IllegalArgumentException.class, () -> gestor.enviarACocina(grande.getId()));
+            assertThrows(IllegalArgumentException.class, () -> cocina.despachar(grande));
+            assertEquals(EstadoPedido.PENDIENTE, grande.getEstadoPedido());
+        } finally {
+            cocina.detener();
+        }
+    }
+
+    /**
+     * Crea un pedido con platos principales y bebidas.
+     *
+     * @param gestor el gestor donde se crea
+     * @param platos la cantidad de platos principales
+     * @param bebidas la cantidad de bebidas
+     * @return el pedido creado
+     */
+    private static Pedido crearPedido(GestorPedidos gestor, int platos, int bebidas) {
+        Pedido pedido = gestor.crearPedido();
+        for (int i = 0; i < platos; i++) {
+            gestor.agregarProductoAPedido(pedido.getId(), LOMO);
+        }
+        for (int i = 0; i < bebidas; i++) {
+            gestor.agregarProductoAPedido(pedido.getId(), JUGO);
+        }
+        return pedido;
+    }
+
+    /**
+     * Obtiene los tickets en espera de una estacion.
+     *
+     * @param cocina el despacho de cocina
+     * @param estacion la estacion
+     * @return la profundidad de su cola
+     */
+    private static int profundidad(DespachoCocina cocina, EstacionCocina estacion) {
+        return cocina.getEstadisticas().get(estacion).getProfundidad();
+    }
+
+    /**
+     * Espera a que se libere la cocina, simulando una preparacion lenta.
+     *
+     * @param liberar el aviso de liberacion
+     */
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
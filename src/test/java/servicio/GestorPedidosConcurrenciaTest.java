@@ -0,0 +1,97 @@
+package servicio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelo.Bebida;
+import modelo.Comida;
+import modelo.Pedido;
+import modelo.Producto;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Prueba de estres de la toma de pedidos desde muchas terminales a la vez:
+ * ningun ID se repite y ningun producto agregado se pierde.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+class GestorPedidosConcurrenciaTest {
+
+    /**
+     * Pedidos que crea cada terminal.
+     */
+    private static final int PEDIDOS_POR_TERMINAL = 300;
+
+    /**
+     * Comida de prueba.
+     */
+    private static final Producto HAMBURGUESA = new Comida("Hamburguesa", 8.5, "principal", false);
+
+    /**
+     * Bebida de prueba.
+     */
+    private static final Producto AGUA = new Bebida("Agua", 1.25, "pequeno", false);
+
+    /**
+     * Verifica que los pedidos creados en paralelo reciben IDs distintos, quedan
+     * todos indexados y conservan sus productos y totales.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void crearPedidosEnParaleloAsignaIdsUnicos() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        ConcurrentLinkedQueue<Integer> ids = new ConcurrentLinkedQueue<>();
+
+        EjecucionParalela.ejecutar(terminal -> {
+            for (int i = 0; i < PEDIDOS_POR_TERMINAL; i++) {
+                Pedido pedido = gestor.crearPedido();
+                assertTrue(gestor.agregarProductoAPedido(pedido.getId(), HAMBURGUESA));
+                assertTrue(gestor.agregarProductoAPedido(pedido.getId(), AGUA));
+                ids.add(pedido.getId());
+            }
+        });
+
+        int esperados = EjecucionParalela.HILOS * PEDIDOS_POR_TERMINAL;
+        assertEquals(esperados, ids.size());
+        assertEquals(esperados, new HashSet<>(ids).size());
+        assertEquals(esperados, gestor.getTotalPedidos());
+        assertEquals(esperados, gestor.getPedidosPendientes().size());
+        long totalEsperado = HAMBURGUESA.calcularPrecioCentavos() + AGUA.calcularPrecioCentavos();
+        for (int id : ids) {
+            Pedido pedido = gestor.buscarPedidoPorId(id).orElseThrow();
+            assertEquals(2, pedido.getCantidadProductos());
+            assertEquals(totalEsperado, pedido.calcularTotalCentavos());
+        }
+    }
+
+    /**
+     * Verifica que los productos agregados al mismo pedido desde todas las
+     * terminales no se pierden y que el total incremental coincide con el recalculado.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void agregarAlMismoPedidoEnParaleloNoPierdeProductos() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        Pedido pedido = gestor.crearPedido();
+
+        EjecucionParalela.ejecutar(terminal -> {
+            for (int i = 0; i < PEDIDOS_POR_TERMINAL; i++) {
+                assertTrue(gestor.agregarProductoAPedido(pedido.getId(), i % 2 == 0 ? HAMBURGUESA : AGUA));
+            }
+        });
+
+        int mitad = EjecucionParalela.HILOS * PEDIDOS_POR_TERMINAL / 2;
+        assertEquals(2 * mitad, pedido.getCantidadProductos());
+        assertEquals(mitad, pedido.getCantidad(HAMBURGUESA));
+        assertEquals(mitad, pedido.getCantidad(AGUA));
+        assertEquals(pedido.recalcularTotalCentavos(), pedido.calcularTotalCentavos());
+        assertEquals(mitad * (HAMBURGUESA.calcularPrecioCentavos() + AGUA.calcularPrecioCentavos()),
+                     pedido.calcularTotalCentavos());
+    }
+}
@@ -0,0 +1,141 @@
+package servicio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelo.Comida;
+import modelo.EstadoPedido;
+import modelo.Pedido;
+import modelo.Producto;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas de la maquina de estados de los pedidos bajo concurrencia: las
+ * particiones por estado deben coincidir siempre con el estado real de cada
+ * pedido, aunque varias terminales cambien los mismos pedidos a la vez.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+class GestorPedidosEstadosTest {
+
+    /**
+     * Producto de prueba.
+     */
+    private static final Producto EMPANADA = new Comida("Empanada", 2.5, "entrada", false);
+
+    /**
+     * Verifica que cuando varias terminales intentan cancelar y completar los mismos
+     * pedidos a la vez, cada pedido cambia de estado una sola vez.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void transicionesFinalesSimultaneasSeAplicanUnaSolaVez() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        List<Integer> ids = crearPedidos(gestor, 2000);
+        AtomicInteger exitos = new AtomicInteger();
+
+        EjecucionParalela.ejecutar(terminal -> {
+            String destino = terminal % 2 == 0 ? "completado" : "cancelado";
+            for (int id : ids) {
+                if (gestor.cambiarEstadoPedido(id, destino)) {
+                    exitos.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(ids.size(), exitos.get());
+        assertEquals(0, gestor.getTotalPedidosPendientes());
+        verificarParticiones(gestor, ids.size());
+    }
+
+    /**
+     * Verifica que las transiciones en dos pasos (pendiente, en preparacion,
+     * completado) hechas por terminales distintas sobre los mismos pedidos dejan
+     * cada pedido en la particion de su estado real, sin pedidos varados en una
+     * particion intermedia.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void transicionesEnDosPasosDejanLasParticionesAlDia() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        List<Integer> ids = crearPedidos(gestor, 20000);
+
+        EjecucionParalela.ejecutar(terminal -> {
+            EstadoPedido destino = terminal % 2 == 0 ? EstadoPedido.EN_PREPARACION : EstadoPedido.COMPLETADO;
+            for (int id : ids) {
+                gestor.cambiarEstadoPedido(id, destino.getNombre());
+            }
+        });
+
+        assertEquals(0, gestor.getTotalPedidosPendientes());
+        assertEquals(ids.size(), gestor.getPedidosPorEstado(EstadoPedido.COMPLETADO).size());
+        verificarParticiones(gestor, ids.size());
+    }
+
+    /**
+     * Verifica que una transicion no permitida se rechaza y no mueve el pedido.
+     */
+    @Test
+    void transicionNoPermitidaSeRechaza() {
+        GestorPedidos gestor = new GestorPedidos();
+        int id = crearPedidos(gestor, 1).get(0);
+
+        assertTrue(gestor.cambiarEstadoPedido(id, "cancelado"));
+        assertFalse(gestor.cambiarEstadoPedido(id, "completado"));
+        assertFalse(gestor.cambiarEstadoPedido(id, "pendiente"));
+        assertEquals(1, gestor.getPedidosPorEstado(EstadoPedido.CANCELADO).size());
+        verificarParticiones(gestor, 1);
+    }
+
+    /**
+     * Crea pedidos pendientes con un producto cada uno.
+     *
+     * @param gestor el gestor donde se crean
+     * @param cantidad la cantidad de pedidos
+     * @return los IDs de los pedidos creados
+     */
+    private static List<Integer> crearPedidos(GestorPedidos gestor, int cantidad) {
+        List<Integer> ids = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Pedido pedido = gestor.crearPedido();
+            gestor.agregarProductoAPedido(pedido.getId(), EMPANADA);
+            ids.add(pedido.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Verifica que cada pedido aparece exactamente en la particion de su estado real.
+     *
+     * @param gestor el gestor a verificar
+     * @param total el total de pedidos del gestor
+     */
+    private static void verificarParticiones(GestorPedidos gestor, int total) {
+        Map<EstadoPedido, Integer> reales = new EnumMap<>(EstadoPedido.class);
+        for (Pedido pedido : gestor.getTodosLosPedidos()) {
+            reales.merge(pedido.getEstadoPedido(), 1, Integer::sum);
+        }
+        Set<Integer> vistos = new HashSet<>();
+        for (EstadoPedido estado : EstadoPedido.values()) {
+            List<Pedido> particion = gestor.getPedidosPorEstado(estado);
+            assertEquals(reales.getOrDefault(estado, 0).intValue(), particion.size(), "particion " + estado);
+            for (Pedido pedido : particion) {
+                assertEquals(estado, pedido.getEstadoPedido());
+                assertTrue(vistos.add(pedido.getId()));
+            }
+        }
+        assertEquals(total, vistos.size());
+    }
+}
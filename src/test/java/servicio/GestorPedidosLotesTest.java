@@ -0,0 +1,143 @@
+package servicio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelo.Comida;
+import modelo.Producto;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas del ingreso de pedidos por lotes: los lotes simultaneos no repiten IDs,
+ * los pedidos rechazados no se publican y ninguna consulta ve un lote a medias.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+class GestorPedidosLotesTest {
+
+    /**
+     * Pedidos de cada lote de prueba.
+     */
+    private static final int PEDIDOS_POR_LOTE = 50;
+
+    /**
+     * Producto de prueba.
+     */
+    private static final Producto PIZZA = new Comida("Pizza", 9.0, "principal", false);
+
+    /**
+     * Verifica que lotes y pedidos sueltos ingresados a la vez reciben IDs distintos
+     * y que los pedidos rechazados de cada lote no quedan publicados.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void lotesSimultaneosAsignanIdsUnicosYNoPublicanRechazados() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        ConcurrentLinkedQueue<Integer> ids = new ConcurrentLinkedQueue<>();
+        int lotesPorTerminal = 20;
+
+        EjecucionParalela.ejecutar(terminal -> {
+            for (int i = 0; i < lotesPorTerminal; i++) {
+                if (terminal % 4 == 0) {
+                    ids.add(gestor.crearPedido().getId());
+                    continue;
+                }
+                ResultadoLote resultado = gestor.ingresarLote(crearLote(true));
+                assertEquals(PEDIDOS_POR_LOTE, resultado.getAceptados());
+                assertEquals(1, resultado.getRechazados());
+                for (ResultadoLote.Resultado r : resultado.getResultados()) {
+                    if (r.isAceptado()) {
+                        ids.add(r.getIdPedido());
+                    }
+                }
+            }
+        });
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(ids.size(), gestor.getTotalPedidos());
+        for (int id : ids) {
+            assertTrue(gestor.buscarPedidoPorId(id).isPresent());
+        }
+    }
+
+    /**
+     * Verifica que una terminal que consulta mientras otras ingresan lotes ve cada
+     * lote completo o ninguno de sus pedidos.
+     *
+     * @throws Exception si alguna terminal falla
+     */
+    @Test
+    void unaConsultaVeCadaLoteCompletoONada() throws Exception {
+        GestorPedidos gestor = new GestorPedidos();
+        int escritores = EjecucionParalela.HILOS - 1;
+        AtomicInteger activos = new AtomicInteger(escritores);
+
+        EjecucionParalela.ejecutar(terminal -> {
+            if (terminal == escritores) {
+                while (activos.get() > 0) {
+                    // Los lotes son contiguos y de igual tamano: los pedidos en memoria
+                    // deben formar lotes enteros
+                    assertEquals(0, gestor.getTotalPedidos() % PEDIDOS_POR_LOTE);
+                    assertEquals(0, gestor.getTotalPedidosPendientes() % PEDIDOS_POR_LOTE);
+                }
+                return;
+            }
+            try {
+                for (int i = 0; i < 40; i++) {
+                    gestor.ingresarLote(crearLote(false));
+                }
+            } finally {
+                activos.decrementAndGet();
+            }
+        });
+
+        assertEquals(escritores * 40 * PEDIDOS_POR_LOTE, gestor.getTotalPedidos());
+    }
+
+    /**
+     * Verifica que el ingreso uno a uno acepta y rechaza los mismos pedidos que el
+     * ingreso por lote y que ambos resultados pueden compararse.
+     */
+    @Test
+    void ingresoUnoAUnoSeComparaConElLote() {
+        GestorPedidos gestor = new GestorPedidos();
+        List<List<Producto>> lote = crearLote(true);
+
+        ResultadoLote porLote = gestor.ingresarLote(lote);
+        ResultadoLote unoAUno = gestor.ingresarUnoAUno(lote);
+
+        assertEquals(porLote.getAceptados(), unoAUno.getAceptados());
+        assertEquals(porLote.getRechazados(), unoAUno.getRechazados());
+        assertFalse(unoAUno.getResultados().get(0).isAceptado());
+        assertEquals(2 * PEDIDOS_POR_LOTE, gestor.getTotalPedidos());
+        assertTrue(porLote.getAceleracion(unoAUno) > 0);
+    }
+
+    /**
+     * Crea un lote de pedidos de dos pizzas cada uno.
+     *
+     * @param conRechazado si el lote empieza con un pedido vacio, que debe rechazarse
+     * @return el lote
+     */
+    private static List<List<Producto>> crearLote(boolean conRechazado) {
+        List<List<Producto>> lote = new ArrayList<>(PEDIDOS_POR_LOTE + 1);
+        if (conRechazado) {
+            lote.add(Collections.emptyList());
+        }
+        for (int i = 0; i < PEDIDOS_POR_LOTE; i++) {
+            lote.add(Arrays.asList(PIZZA, PIZZA));
+        }
+        return lote;
+    }
+}
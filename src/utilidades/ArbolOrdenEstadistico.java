@@ -0,0 +1,280 @@
+package utilidades;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Arbol de orden estadistico: un treap (arbol binario de busqueda con prioridades
+ * aleatorias) donde cada nodo guarda el tamano de su subarbol. Permite insertar,
+ * eliminar y obtener el k-esimo elemento en tiempo logaritmico esperado, lo que
+ * sirve para consultas de los K mayores o menores y de percentiles.
+ *
+ * Los elementos deben ser distintos segun el comparador. No es seguro para uso
+ * concurrente; el llamador debe sincronizar el acceso.
+ *
+ * @param <T> el tipo de los elementos
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class ArbolOrdenEstadistico<T> {
+
+    /**
+     * Comparador que define el orden de los elementos.
+     */
+    private final Comparator<? super T> comparador;
+
+    /**
+     * Generador de las prioridades de los nodos.
+     */
+    private final SplittableRandom aleatorio;
+
+    /**
+     * Raiz del arbol, o null si esta vacio.
+     */
+    private Nodo<T> raiz;
+
+    /**
+     * Constructor que crea un arbol vacio.
+     *
+     * @param comparador el comparador de los elementos
+     */
+    public ArbolOrdenEstadistico(Comparator<? super T> comparador) {
+        this.comparador = comparador;
+        this.aleatorio = new SplittableRandom();
+    }
+
+    /**
+     * Inserta un elemento. Si ya existe uno igual segun el comparador, no se inserta.
+     *
+     * @param elemento el elemento a insertar
+     * @return true si se inserto, false si ya existia
+     */
+    public boolean insertar(T elemento) {
+        int antes = tamano();
+        raiz = insertar(raiz, elemento);
+        return tamano() > antes;
+    }
+
+    /**
+     * Elimina un elemento.
+     *
+     * @param elemento el elemento a eliminar
+     * @return true si se elimino, false si no existia
+     */
+    public boolean eliminar(T elemento) {
+        int antes = tamano();
+        raiz = eliminar(raiz, elemento);
+        return tamano() < antes;
+    }
+
+    /**
+     * Obtiene el numero de elementos del arbol.
+     *
+     * @return el conteo de elementos
+     */
+    public int tamano() {
+        return tamano(raiz);
+    }
+
+    /**
+     * Obtiene el elemento en una posicion del orden (0 es el menor).
+     *
+     * @param posicion la posicion, entre 0 y tamano() - 1
+     * @return el elemento en esa posicion
+     * @throws IndexOutOfBoundsException si la posicion esta fuera de rango
+     */
+    public T obtener(int posicion) {
+        if (posicion < 0 || posicion >= tamano()) {
+            throw new IndexOutOfBoundsException("Posicion fuera de rango: " + posicion);
+        }
+        Nodo<T> nodo = raiz;
+        while (true) {
+            int izquierda = tamano(nodo.izquierdo);
+            if (posicion < izquierda) {
+                nodo = nodo.izquierdo;
+            } else if (posicion == izquierda) {
+                return nodo.elemento;
+            } else {
+                posicion -= izquierda + 1;
+                nodo = nodo.derecho;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el menor elemento.
+     *
+     * @return el menor elemento, o null si el arbol esta vacio
+     */
+    public T primero() {
+        return raiz == null ? null : obtener(0);
+    }
+
+    /**
+     * Obtiene el mayor elemento.
+     *
+     * @return el mayor elemento, o null si el arbol esta vacio
+     */
+    public T ultimo() {
+        return raiz == null ? null : obtener(tamano() - 1);
+    }
+
+    /**
+     * Obtiene los K menores elementos en orden ascendente.
+     *
+     * @param k el numero de elementos, no puede ser negativo
+     * @return lista nueva con a lo sumo k elementos
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<T> menores(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K no puede ser negativo.");
+        }
+        List<T> resultado = new ArrayList<>(Math.min(k, tamano()));
+        recorrerAscendente(raiz, resultado, k);
+        return resultado;
+    }
+
+    /**
+     * Obtiene los K mayores elementos en orden descendente.
+     *
+     * @param k el numero de elementos, no puede ser negativo
+     * @return lista nueva con a lo sumo k elementos
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<T> mayores(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K no puede ser negativo.");
+        }
+        List<T> resultado = new ArrayList<>(Math.min(k, tamano()));
+        recorrerDescendente(raiz, resultado, k);
+        return resultado;
+    }
+
+    private Nodo<T> insertar(Nodo<T> nodo, T elemento) {
+        if (nodo == null) {
+            return new Nodo<>(elemento, aleatorio.nextInt());
+        }
+        int comparacion = comparador.compare(elemento, nodo.elemento);
+        if (comparacion == 0) {
+            return nodo;
+        }
+        if (comparacion < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, elemento);
+            if (nodo.izquierdo.prioridad > nodo.prioridad) {
+                nodo = rotarDerecha(nodo);
+            }
+        } else {
+            nodo.derecho = insertar(nodo.derecho, elemento);
+            if (nodo.derecho.prioridad > nodo.prioridad) {
+                nodo = rotarIzquierda(nodo);
+            }
+        }
+        actualizar(nodo);
+        return nodo;
+    }
+
+    private Nodo<T> eliminar(Nodo<T> nodo, T elemento) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = comparador.compare(elemento, nodo.elemento);
+        if (comparacion < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, elemento);
+        } else if (comparacion > 0) {
+            nodo.derecho = eliminar(nodo.derecho, elemento);
+        } else {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        actualizar(nodo);
+        return nodo;
+    }
+
+    /**
+     * Une dos subarboles donde todos los elementos del izquierdo son menores.
+     */
+    private Nodo<T> unir(Nodo<T> izquierdo, Nodo<T> derecho) {
+        if (izquierdo == null) {
+            return derecho;
+        }
+        if (derecho == null) {
+            return izquierdo;
+        }
+        if (izquierdo.prioridad > derecho.prioridad) {
+            izquierdo.derecho = unir(izquierdo.derecho, derecho);
+            actualizar(izquierdo);
+            return izquierdo;
+        }
+        derecho.izquierdo = unir(izquierdo, derecho.izquierdo);
+        actualizar(derecho);
+        return derecho;
+    }
+
+    private void recorrerAscendente(Nodo<T> nodo, List<T> destino, int limite) {
+        if (nodo == null || destino.size() >= limite) {
+            return;
+        }
+        recorrerAscendente(nodo.izquierdo, destino, limite);
+        if (destino.size() < limite) {
+            destino.add(nodo.elemento);
+            recorrerAscendente(nodo.derecho, destino, limite);
+        }
+    }
+
+    private void recorrerDescendente(Nodo<T> nodo, List<T> destino, int limite) {
+        if (nodo == null || destino.size() >= limite) {
+            return;
+        }
+        recorrerDescendente(nodo.derecho, destino, limite);
+        if (destino.size() < limite) {
+            destino.add(nodo.elemento);
+            recorrerDescendente(nodo.izquierdo, destino, limite);
+        }
+    }
+
+    private Nodo<T> rotarDerecha(Nodo<T> nodo) {
+        Nodo<T> nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private Nodo<T> rotarIzquierda(Nodo<T> nodo) {
+        Nodo<T> nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    private static void actualizar(Nodo<?> nodo) {
+        nodo.tamano = 1 + tamano(nodo.izquierdo) + tamano(nodo.derecho);
+    }
+
+    private static int tamano(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    /**
+     * Nodo del treap con su prioridad y el tamano de su subarbol.
+     */
+    private static final class Nodo<T> {
+        final T elemento;
+        final int prioridad;
+        int tamano;
+        Nodo<T> izquierdo;
+        Nodo<T> derecho;
+
+        Nodo(T elemento, int prioridad) {
+            this.elemento = elemento;
+            this.prioridad = prioridad;
+            this.tamano = 1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package utilidades;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Operaciones sobre montos de dinero representados como centavos en un long.
+ * A diferencia de double, la suma de centavos es exacta sin importar cuantos
+ * montos se acumulen, y a diferencia de BigDecimal no crea objetos.
+ *
+ * Los porcentajes se expresan en puntos basicos (1% = 100 puntos basicos) y el
+ * resultado se redondea al centavo mas cercano, con las mitades alejandose de
+ * cero (redondeo comercial).
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public final class Dinero {
+
+    /**
+     * Centavos en una unidad monetaria.
+     */
+    public static final long CENTAVOS_POR_UNIDAD = 100;
+
+    /**
+     * Puntos basicos en el 100%.
+     */
+    public static final long PUNTOS_BASICOS = 10_000;
+
+    /**
+     * Constructor privado: clase utilitaria sin instancias.
+     */
+    private Dinero() {
+    }
+
+    /**
+     * Convierte un monto decimal a centavos, redondeando al centavo mas cercano.
+     * Se usa en los bordes del sistema (constructores de productos, entrada de la
+     * interfaz); toma el valor decimal que representa el double (por ejemplo, 2.675
+     * y no 2.67499999...) para que el redondeo sea el esperado.
+     *
+     * @param monto el monto en unidades, por ejemplo 12.5
+     * @return el monto en centavos, por ejemplo 1250
+     * @throws IllegalArgumentException si el monto no es finito o no cabe en un long
+     */
+    public static long deDecimal(double monto) {
+        if (!Double.isFinite(monto)) {
+            throw new IllegalArgumentException("El monto debe ser un numero finito: " + monto);
+        }
+        try {
+            return BigDecimal.valueOf(monto).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El monto excede el rango representable: " + monto, e);
+        }
+    }
+
+    /**
+     * Convierte centavos a un monto decimal, para mostrarlo o para las APIs que
+     * todavia trabajan con double.
+     *
+     * @param centavos el monto en centavos
+     * @return el monto en unidades
+     */
+    public static double aDecimal(long centavos) {
+        return centavos / (double) CENTAVOS_POR_UNIDAD;
+    }
+
+    /**
+     * Convierte un porcentaje decimal a puntos basicos, redondeando al punto mas cercano.
+     *
+     * @param porcentaje el porcentaje, por ejemplo 12.5
+     * @return los puntos basicos, por ejemplo 1250
+     */
+    public static long puntosBasicos(double porcentaje) {
+        return Math.round(porcentaje * 100);
+    }
+
+    /**
+     * Aplica una proporcion en puntos basicos a un monto: 10000 lo deja igual,
+     * 12000 le suma un 20% y 8500 le resta un 15%. El resultado se redondea al
+     * centavo con las mitades alejandose de cero.
+     *
+     * @param centavos el monto en centavos
+     * @param puntosBasicos la proporcion en puntos basicos
+     * @return el monto resultante en centavos
+     * @throws ArithmeticException si el producto intermedio desborda un long
+     */
+    public static long aplicar(long centavos, long puntosBasicos) {
+        return dividirRedondeando(Math.multiplyExact(centavos, puntosBasicos), PUNTOS_BASICOS);
+    }
+
+    /**
+     * Multiplica un monto por una cantidad de unidades.
+     *
+     * @param centavos el monto de una unidad en centavos
+     * @param unidades la cantidad de unidades
+     * @return el monto total en centavos
+     * @throws ArithmeticException si el resultado desborda un long
+     */
+    public static long multiplicar(long centavos, int unidades) {
+        return Math.multiplyExact(centavos, unidades);
+    }
+
+    /**
+     * Divide redondeando al entero mas cercano, con las mitades alejandose de cero.
+     */
+    private static long dividirRedondeando(long dividendo, long divisor) {
+        long cociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        if (2 * Math.abs(resto) >= divisor) {
+            cociente += Long.signum(dividendo);
+        }
+        return cociente;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,311 @@
+package utilidades;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mapa hash de direccionamiento abierto con claves enteras primitivas.
+ * Evita el boxing de las claves (a diferencia de HashMap&lt;Integer, V&gt;) y
+ * garantiza busquedas en tiempo constante promedio.
+ *
+ * Es seguro para uso concurrente: las claves se reparten en segmentos, cada uno
+ * con su propio candado para escrituras (bloqueo por franjas), mientras que las
+ * lecturas no toman ningun candado.
+ *
+ * @param <V> el tipo de los valores almacenados
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class MapaEnteros<V> {
+
+    /**
+     * Capacidad inicial por defecto de cada segmento (potencia de dos).
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Marca de una entrada eliminada. La posicion conserva su clave hasta la
+     * siguiente reconstruccion de la tabla, para que los lectores sin candado
+     * nunca vean una clave cambiar bajo un valor.
+     */
+    private static final Object BORRADO = new Object();
+
+    /**
+     * Segmentos del mapa; cada uno protege sus escrituras con su propio candado.
+     */
+    private final Segmento[] segmentos;
+
+    /**
+     * Mascara para seleccionar el segmento de una clave.
+     */
+    private final int mascaraSegmentos;
+
+    /**
+     * Constructor que crea un mapa vacio con un segmento por cada nucleo disponible
+     * (redondeado a potencia de dos) para que las escrituras escalen con los nucleos.
+     */
+    public MapaEnteros() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        int numeroSegmentos = Integer.highestOneBit(Math.max(1, nucleos * 2 - 1)) << 1;
+        this.segmentos = new Segmento[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            segmentos[i] = new Segmento();
+        }
+        this.mascaraSegmentos = numeroSegmentos - 1;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave sin tomar ningun candado.
+     *
+     * @param clave la clave a buscar
+     * @return el valor asociado, o null si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V obtener(int clave) {
+        int h = dispersar(clave);
+        return (V) segmentoDe(h).obtener(clave, h);
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el valor anterior si existia.
+     *
+     * @param clave la clave
+     * @param valor el valor a asociar, no puede ser nulo
+     * @return el valor anterior, o null si la clave no existia
+     * @throws IllegalArgumentException si el valor es nulo
+     */
+    @SuppressWarnings("unchecked")
+    public V poner(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser nulo.");
+        }
+        int h = dispersar(clave);
+        return (V) segmentoDe(h).poner(clave, h, valor, false);
+    }
+    
+    /**
+     * Asocia un valor a una clave solo si la clave no existe. La verificacion y la
+     * insercion son una unica operacion atomica.
+     *
+     * @param clave la clave
+     * @param valor el valor a asociar, no puede ser nulo
+     * @return el valor existente si la clave ya existia (sin reemplazarlo), o null si se inserto
+     * @throws IllegalArgumentException si el valor es nulo
+     */
+    @SuppressWarnings("unchecked")
+    public V ponerSiAusente(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser nulo.");
+        }
+        int h = dispersar(clave);
+        return (V) segmentoDe(h).poner(clave, h, valor, true);
+    }
+
+    /**
+     * Elimina la entrada asociada a una clave.
+     *
+     * @param clave la clave a eliminar
+     * @return el valor eliminado, o null si la clave no existia
+     */
+    @SuppressWarnings("unchecked")
+    public V quitar(int clave) {
+        int h = dispersar(clave);
+        return (V) segmentoDe(h).quitar(clave, h);
+    }
+
+    /**
+     * Verifica si existe una entrada para la clave.
+     *
+     * @param clave la clave a verificar
+     * @return true si la clave existe, false en caso contrario
+     */
+    public boolean contiene(int clave) {
+        return obtener(clave) != null;
+    }
+
+    /**
+     * Obtiene el numero de entradas del mapa.
+     *
+     * @return el conteo de entradas
+     */
+    public int tamano() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            total += segmento.tamano;
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene una lista con todos los valores del mapa (sin orden garantizado).
+     * La lectura no bloquea a los escritores y refleja un estado reciente del mapa.
+     *
+     * @return lista nueva con los valores
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> valores() {
+        List<V> resultado = new ArrayList<>(tamano());
+        for (Segmento segmento : segmentos) {
+            AtomicReferenceArray<Object> valores = segmento.tabla.valores;
+            for (int i = 0; i < valores.length(); i++) {
+                Object valor = valores.get(i);
+                if (valor != null && valor != BORRADO) {
+                    resultado.add((V) valor);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Selecciona el segmento responsable de un hash.
+     *
+     * @param h el hash dispersado de la clave
+     * @return el segmento correspondiente
+     */
+    private Segmento segmentoDe(int h) {
+        return segmentos[(h >>> 24) & mascaraSegmentos];
+    }
+
+    /**
+     * Mezcla los bits de la clave para repartir claves consecutivas.
+     *
+     * @param clave la clave original
+     * @return el valor dispersado
+     */
+    private static int dispersar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Tabla de un segmento. Las claves se escriben antes que su valor, y el valor
+     * se publica con escritura volatil, de modo que un lector que ve un valor no
+     * nulo tambien ve su clave.
+     */
+    private static final class Tabla {
+        final int[] claves;
+        final AtomicReferenceArray<Object> valores;
+
+        Tabla(int capacidad) {
+            this.claves = new int[capacidad];
+            this.valores = new AtomicReferenceArray<>(capacidad);
+        }
+    }
+
+    /**
+     * Segmento del mapa con su propia tabla de direccionamiento abierto.
+     */
+    private static final class Segmento {
+
+        /**
+         * Tabla actual; se reemplaza completa al redimensionar.
+         */
+        volatile Tabla tabla = new Tabla(CAPACIDAD_INICIAL);
+
+        /**
+         * Numero de entradas vivas del segmento.
+         */
+        volatile int tamano;
+
+        /**
+         * Posiciones usadas de la tabla actual, incluidas las borradas.
+         */
+        int ocupadas;
+
+        Object obtener(int clave, int h) {
+            Tabla t = tabla;
+            int mascara = t.claves.length - 1;
+            int i = h & mascara;
+            Object valor;
+            while ((valor = t.valores.get(i)) != null) {
+                if (t.claves[i] == clave) {
+                    return valor == BORRADO ? null : valor;
+                }
+                i = (i + 1) & mascara;
+            }
+            return null;
+        }
+
+        synchronized Object poner(int clave, int h, Object valor, boolean soloSiAusente) {
+            Tabla t = tabla;
+            int mascara = t.claves.length - 1;
+            int i = h & mascara;
+            Object actual;
+            while ((actual = t.valores.get(i)) != null) {
+                if (t.claves[i] == clave) {
+                    if (actual != BORRADO && soloSiAusente) {
+                        return actual;
+                    }
+                    // Cada clave ocupa a lo sumo una posicion por tabla; si estaba
+                    // borrada se reutiliza la misma posicion
+                    t.valores.set(i, valor);
+                    if (actual == BORRADO) {
+                        tamano++;
+                        return null;
+                    }
+                    return actual;
+                }
+                i = (i + 1) & mascara;
+            }
+            t.claves[i] = clave;
+            t.valores.set(i, valor);
+            tamano++;
+            ocupadas++;
+            // Mantener el factor de carga por debajo de 0.5
+            if (ocupadas * 2 > t.claves.length) {
+                reconstruir(t);
+            }
+            return null;
+        }
+
+        synchronized Object quitar(int clave, int h) {
+            Tabla t = tabla;
+            int mascara = t.claves.length - 1;
+            int i = h & mascara;
+            Object actual;
+            while ((actual = t.valores.get(i)) != null) {
+                if (t.claves[i] == clave) {
+                    if (actual == BORRADO) {
+                        return null;
+                    }
+                    t.valores.set(i, BORRADO);
+                    tamano--;
+                    return actual;
+                }
+                i = (i + 1) & mascara;
+            }
+            return null;
+        }
+
+        /**
+         * Construye una tabla nueva sin las entradas borradas y la publica completa.
+         * La capacidad se ajusta a las entradas vivas, por lo que tambien puede reducirse.
+         *
+         * @param anterior la tabla actual
+         */
+        private void reconstruir(Tabla anterior) {
+            int capacidad = CAPACIDAD_INICIAL;
+            while (capacidad < tamano * 4) {
+                capacidad <<= 1;
+            }
+            Tabla nueva = new Tabla(capacidad);
+            int mascara = capacidad - 1;
+            for (int j = 0; j < anterior.claves.length; j++) {
+                Object valor = anterior.valores.get(j);
+                if (valor != null && valor != BORRADO) {
+                    int i = dispersar(anterior.claves[j]) & mascara;
+                    while (nueva.valores.get(i) != null) {
+                        i = (i + 1) & mascara;
+                    }
+                    nueva.claves[i] = anterior.claves[j];
+                    nueva.valores.set(i, valor);
+                }
+            }
+            ocupadas = tamano;
+            tabla = nueva;
+        }
+    }
+}
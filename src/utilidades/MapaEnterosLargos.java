@@ -0,0 +1,151 @@
+package utilidades;
+
+import java.util.Arrays;
+
+/**
+ * Mapa hash de direccionamiento abierto de claves int a valores long, ambos primitivos.
+ * Pensado para indices compactos (por ejemplo, posiciones en disco) donde un
+ * HashMap&lt;Integer, Long&gt; costaria dos objetos por entrada.
+ * No es seguro para uso concurrente; el llamador debe sincronizar el acceso.
+ *
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class MapaEnterosLargos {
+
+    /**
+     * Valor devuelto cuando la clave no existe.
+     */
+    public static final long AUSENTE = -1L;
+
+    /**
+     * Capacidad inicial por defecto (potencia de dos).
+     */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /**
+     * Claves almacenadas en cada posicion de la tabla.
+     */
+    private int[] claves;
+
+    /**
+     * Valores almacenados; AUSENTE marca una posicion libre.
+     */
+    private long[] valores;
+
+    /**
+     * Numero de entradas almacenadas.
+     */
+    private int tamano;
+
+    /**
+     * Constructor que crea un mapa vacio con la capacidad por defecto.
+     */
+    public MapaEnterosLargos() {
+        this.claves = new int[CAPACIDAD_INICIAL];
+        this.valores = nuevosValores(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param clave la clave a buscar
+     * @return el valor asociado, o {@link #AUSENTE} si la clave no existe
+     */
+    public long obtener(int clave) {
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (valores[i] != AUSENTE) {
+            if (claves[i] == clave) {
+                return valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el valor anterior si existia.
+     *
+     * @param clave la clave
+     * @param valor el valor a asociar, no puede ser negativo
+     * @throws IllegalArgumentException si el valor es negativo
+     */
+    public void poner(int clave, long valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("El valor no puede ser negativo.");
+        }
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (valores[i] != AUSENTE) {
+            if (claves[i] == clave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        tamano++;
+        // Mantener el factor de carga por debajo de 0.5
+        if (tamano * 2 > claves.length) {
+            redimensionar(claves.length * 2);
+        }
+    }
+
+    /**
+     * Obtiene el numero de entradas del mapa.
+     *
+     * @return el conteo de entradas
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Reconstruye la tabla con una nueva capacidad.
+     *
+     * @param nuevaCapacidad la nueva capacidad (potencia de dos)
+     */
+    private void redimensionar(int nuevaCapacidad) {
+        int[] clavesAnteriores = claves;
+        long[] valoresAnteriores = valores;
+        claves = new int[nuevaCapacidad];
+        valores = nuevosValores(nuevaCapacidad);
+        int mascara = nuevaCapacidad - 1;
+        for (int j = 0; j < valoresAnteriores.length; j++) {
+            if (valoresAnteriores[j] != AUSENTE) {
+                int i = dispersar(clavesAnteriores[j]) & mascara;
+                while (valores[i] != AUSENTE) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[j];
+                valores[i] = valoresAnteriores[j];
+            }
+        }
+    }
+
+    /**
+     * Crea un arreglo de valores con todas las posiciones libres.
+     *
+     * @param capacidad la capacidad del arreglo
+     * @return el arreglo inicializado
+     */
+    private static long[] nuevosValores(int capacidad) {
+        long[] arreglo = new long[capacidad];
+        Arrays.fill(arreglo, AUSENTE);
+        return arreglo;
+    }
+
+    /**
+     * Mezcla los bits de la clave para repartir claves consecutivas.
+     *
+     * @param clave la clave original
+     * @return el valor dispersado
+     */
+    private static int dispersar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,172 @@
+package utilidades;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trie de prefijos sin distinguir mayusculas: asocia valores a claves de texto y
+ * devuelve los primeros valores cuyas claves empiezan con un prefijo. El costo de
+ * una busqueda depende del largo del prefijo y del numero de resultados pedidos,
+ * no del numero de claves, por lo que sirve para autocompletar mientras se escribe.
+ *
+ * Los hijos de cada nodo se guardan en arreglos ordenados por caracter, por lo que
+ * los resultados salen en orden alfabetico de la clave plegada; los valores con la
+ * misma clave salen en el orden en que se insertaron. No es seguro para uso
+ * concurrente; el llamador debe sincronizar el acceso.
+ *
+ * @param <V> el tipo de los valores
+ * @author Grupo 1 Desarrollo Software
+ * @version 2.1
+ * @since 2025
+ */
+public class TriePrefijos<V> {
+
+    /**
+     * Raiz del trie, correspondiente al prefijo vacio.
+     */
+    private final Nodo<V> raiz;
+
+    /**
+     * Numero de valores almacenados.
+     */
+    private int tamano;
+
+    /**
+     * Constructor que crea un trie vacio.
+     */
+    public TriePrefijos() {
+        this.raiz = new Nodo<>();
+    }
+
+    /**
+     * Pliega un texto para compararlo sin distinguir mayusculas, con el mismo
+     * criterio caracter a caracter que {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param texto el texto a plegar
+     * @return el texto plegado, del mismo largo que el original
+     */
+    public static String plegar(String texto) {
+        char[] letras = texto.toCharArray();
+        for (int i = 0; i < letras.length; i++) {
+            letras[i] = plegar(letras[i]);
+        }
+        return new String(letras);
+    }
+
+    /**
+     * Inserta un valor bajo una clave.
+     *
+     * @param clave la clave del valor
+     * @param valor el valor a insertar
+     * @throws IllegalArgumentException si la clave es nula
+     */
+    public void insertar(String clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave no puede ser nula.");
+        }
+        Nodo<V> nodo = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            nodo = nodo.hijoOCrear(plegar(clave.charAt(i)));
+        }
+        if (nodo.valores == null) {
+            nodo.valores = new ArrayList<>(1);
+        }
+        nodo.valores.add(valor);
+        tamano++;
+    }
+
+    /**
+     * Busca los primeros valores cuyas claves empiezan con un prefijo.
+     *
+     * @param prefijo el prefijo a buscar; el vacio coincide con todas las claves
+     * @param limite el numero maximo de valores a devolver
+     * @return lista con a lo sumo limite valores, en orden alfabetico de la clave
+     * @throws IllegalArgumentException si el prefijo es nulo o el limite es negativo
+     */
+    public List<V> buscarPorPrefijo(String prefijo, int limite) {
+        if (prefijo == null) {
+            throw new IllegalArgumentException("El prefijo no puede ser nulo.");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("El limite no puede ser negativo.");
+        }
+        List<V> resultado = new ArrayList<>(Math.min(limite, 16));
+        Nodo<V> nodo = raiz;
+        for (int i = 0; i < prefijo.length() && nodo != null; i++) {
+            nodo = nodo.hijo(plegar(prefijo.charAt(i)));
+        }
+        if (nodo != null) {
+            recolectar(nodo, limite, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el numero de valores almacenados.
+     *
+     * @return el conteo de valores
+     */
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Agrega los valores del subarbol en orden hasta completar el limite.
+     */
+    private static <V> void recolectar(Nodo<V> nodo, int limite, List<V> resultado) {
+        if (nodo.valores != null) {
+            for (int i = 0; i < nodo.valores.size() && resultado.size() < limite; i++) {
+                resultado.add(nodo.valores.get(i));
+            }
+        }
+        for (int i = 0; i < nodo.cantidadHijos && resultado.size() < limite; i++) {
+            recolectar(nodo.hijos[i], limite, resultado);
+        }
+    }
+
+    private static char plegar(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Nodo del trie. Los hijos se guardan en arreglos paralelos ordenados por
+     * caracter para buscarlos por biseccion sin crear objetos por caracter.
+     */
+    private static final class Nodo<V> {
+        private char[] letras = new char[0];
+        private Nodo<V>[] hijos = nuevosHijos(0);
+        private int cantidadHijos;
+        private List<V> valores;
+
+        Nodo<V> hijo(char letra) {
+            int i = Arrays.binarySearch(letras, 0, cantidadHijos, letra);
+            return i >= 0 ? hijos[i] : null;
+        }
+
+        Nodo<V> hijoOCrear(char letra) {
+            int i = Arrays.binarySearch(letras, 0, cantidadHijos, letra);
+            if (i >= 0) {
+                return hijos[i];
+            }
+            int posicion = -i - 1;
+            if (cantidadHijos == letras.length) {
+                int capacidad = Math.max(2, cantidadHijos * 2);
+                letras = Arrays.copyOf(letras, capacidad);
+                hijos = Arrays.copyOf(hijos, capacidad);
+            }
+            System.arraycopy(letras, posicion, letras, posicion + 1, cantidadHijos - posicion);
+            System.arraycopy(hijos, posicion, hijos, posicion + 1, cantidadHijos - posicion);
+            Nodo<V> nuevo = new Nodo<>();
+            letras[posicion] = letra;
+            hijos[posicion] = nuevo;
+            cantidadHijos++;
+            return nuevo;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Nodo<V>[] nuevosHijos(int capacidad) {
+            return (Nodo<V>[]) new Nodo<?>[capacidad];
+        }
+    }
+}
\ No newline at end of file